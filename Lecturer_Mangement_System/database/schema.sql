@@ -1,31 +1,57 @@
--- Create the database
+-- The schema Util.DatabaseSetup creates, as one script for setting up a server by hand.
+-- Keep in step with DatabaseSetup.MIGRATIONS: the schema_version rows at the end
+-- tell the application that all the migrations listed there are already applied.
+-- Safe to run again: tables are only created if missing and rows that are already
+-- there are skipped (MySQL has no CREATE INDEX IF NOT EXISTS, so the indexes are
+-- declared with their tables).
 CREATE DATABASE IF NOT EXISTS lecturer_management;
 USE lecturer_management;
 
--- Users table for login authentication
-CREATE TABLE IF NOT EXISTS users (
-    user_id INT PRIMARY KEY AUTO_INCREMENT,
+CREATE TABLE IF NOT EXISTS schema_version (
+    version INT PRIMARY KEY,
+    description VARCHAR(200) NOT NULL,
+    applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    duration_millis INT NOT NULL
+);
+
+-- 1: admin table (passwords are PasswordHasher hashes)
+CREATE TABLE IF NOT EXISTS admin (
+    id INT PRIMARY KEY AUTO_INCREMENT,
     username VARCHAR(50) NOT NULL UNIQUE,
-    password VARCHAR(255) NOT NULL,  -- Will store hashed passwords
-    email VARCHAR(100) UNIQUE,
-    role ENUM('ADMIN', 'LECTURER') NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    password VARCHAR(100) NOT NULL
 );
 
--- Lecturers table
+-- The default admin, password MSI@2025 (change it after the first login)
+INSERT IGNORE INTO admin (username, password) VALUES
+('Admin', '$scrypt$ln=14,r=8,p=1$ZJTwez0bQQ4Nx/2PwWePsQ$R4jY02a+grXU/CKdOVngQHTjhtZ6bhdkKjxC9YTMIx8');
+
+-- 2: lecturers table
 CREATE TABLE IF NOT EXISTS lecturers (
     lecturer_id INT PRIMARY KEY AUTO_INCREMENT,
     first_name VARCHAR(50) NOT NULL,
     last_name VARCHAR(50) NOT NULL,
-    email VARCHAR(100) UNIQUE NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    department VARCHAR(100) NOT NULL,
     phone VARCHAR(20),
-    department VARCHAR(100),
     specialty VARCHAR(100),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- 7: bumped by every update, so an edit based on an old version is refused
+    version INT NOT NULL DEFAULT 0,
+    -- 3: lets other desks fetch only the lecturers changed since their last poll
+    KEY idx_lecturers_updated_at (updated_at),
+    -- 8: the dashboard's headcounts per department and specialty are read from this index alone
+    KEY idx_lecturers_department_specialty (department, specialty)
+);
+
+-- 4: one row per deleted lecturer, so other desks can see deletes when they poll
+CREATE TABLE IF NOT EXISTS lecturer_tombstones (
+    lecturer_id INT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    KEY idx_lecturer_tombstones_deleted_at (deleted_at)
 );
 
--- Courses table
+-- 5: courses table with the sample courses
 CREATE TABLE IF NOT EXISTS courses (
     course_id INT PRIMARY KEY AUTO_INCREMENT,
     course_code VARCHAR(20) NOT NULL UNIQUE,
@@ -36,29 +62,39 @@ CREATE TABLE IF NOT EXISTS courses (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
--- Lecturer-Course assignments (many-to-many relationship)
+INSERT IGNORE INTO courses (course_code, title, description, credits) VALUES
+('CS101', 'Introduction to Programming', 'Basic programming concepts using Java', 3),
+('CS202', 'Data Structures', 'Lists, trees, hash tables and their costs', 3),
+('MATH101', 'Mathematics', 'Calculus and linear algebra foundations', 4),
+('PHYS101', 'Physics', 'Mechanics, waves and thermodynamics', 4),
+('CHEM101', 'Chemistry', 'Atoms, bonding and reactions', 4),
+('BIO101', 'Biology', 'Cells, genetics and evolution', 3),
+('PSY101', 'Psychology', 'Introduction to human behaviour', 3),
+('ENG101', 'Engineering', 'Engineering design and problem solving', 3),
+('LIT101', 'English Literature', 'Reading and analysing English texts', 3),
+('HIST101', 'History', 'Modern world history', 3),
+('ECON101', 'Economics', 'Micro- and macroeconomics basics', 3);
+
+-- 6: lecturer-course assignments per semester
+-- The primary key serves "courses of a lecturer in a semester",
+-- idx_lecturer_courses_course serves "lecturers of a course"
 CREATE TABLE IF NOT EXISTS lecturer_courses (
-    lecturer_id INT,
-    course_id INT,
+    lecturer_id INT NOT NULL,
+    course_id INT NOT NULL,
     semester VARCHAR(20) NOT NULL,  -- e.g., 'FALL_2025'
     assigned_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    PRIMARY KEY (lecturer_id, course_id, semester),
+    PRIMARY KEY (lecturer_id, semester, course_id),
+    KEY idx_lecturer_courses_course (course_id),
     FOREIGN KEY (lecturer_id) REFERENCES lecturers(lecturer_id) ON DELETE CASCADE,
     FOREIGN KEY (course_id) REFERENCES courses(course_id) ON DELETE CASCADE
 );
 
--- Insert sample admin user (password: admin123)
-INSERT INTO users (username, password, email, role) VALUES 
-('admin', 'admin123', 'admin@university.edu', 'ADMIN');
-
--- Insert sample lecturer
-INSERT INTO lecturers (first_name, last_name, email, phone, department, specialty) VALUES
-('John', 'Doe', 'john.doe@university.edu', '123-456-7890', 'Computer Science', 'Software Engineering');
-
--- Insert sample course
-INSERT INTO courses (course_code, title, description, credits) VALUES
-('CS101', 'Introduction to Programming', 'Basic programming concepts using Java', 3);
-
--- Assign the sample course to the sample lecturer
-INSERT INTO lecturer_courses (lecturer_id, course_id, semester) VALUES
-(1, 1, 'FALL_2025');
\ No newline at end of file
+INSERT IGNORE INTO schema_version (version, description, duration_millis) VALUES
+(1, 'admin table with the default admin', 0),
+(2, 'lecturers table', 0),
+(3, 'index on lecturers.updated_at', 0),
+(4, 'lecturer_tombstones table', 0),
+(5, 'courses table with the sample courses', 0),
+(6, 'lecturer_courses table with semesters', 0),
+(7, 'lecturers.version for optimistic locking', 0),
+(8, 'index on lecturers (department, specialty)', 0);
@@ -0,0 +1,180 @@
+package Data;
+
+import Util.DatabaseConnection;
+import Util.PasswordHasher;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Login latency (p50 / p99) with 10k rows in the admin table
+ *
+ * Compares the previous checkLogin (a full "SELECT username, password FROM
+ * admin" scan plus a second plain-text query, on two connections) with the
+ * current AdminDAO.login for a valid login, a wrong password, an unknown
+ * username and a username that is locked out. The lookup alone is also
+ * timed, since a login is now almost entirely the deliberate hashing cost.
+ * Sample-time mode, so JMH reports the percentiles.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=AdminLoginBenchmark
+ *
+ * Only rows whose username starts with "bench_admin_" are touched, and they
+ * are deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class AdminLoginBenchmark {
+    private static final String USER_PREFIX = "bench_admin_";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param("10000")
+    private int admins;
+
+    private final AdminDAO adminDAO = new AdminDAO();
+    private String victim;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        cleanUp();
+        seed();
+        // Locked out before the first measurement; every further guess keeps it so
+        victim = USER_PREFIX + (admins - 1);
+        for (int i = 0; i <= LoginThrottle.FREE_ATTEMPTS; i++) {
+            adminDAO.login(victim, "guess " + i);
+        }
+        // Only for this client: the victim can still log in from another one
+        BenchmarkDatabase.check(adminDAO.login(victim, PASSWORD, "other desk").isSuccess(),
+                "a lockout from one client also locked out another");
+        BenchmarkDatabase.check(adminDAO.login(victim, PASSWORD).isLocked(), "the lockout was cleared by another client");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        cleanUp();
+        DatabaseConnection.shutdown();
+    }
+
+    private String nextAdmin() {
+        return USER_PREFIX + Math.floorMod(counter++ * 7919, admins - 1);
+    }
+
+    @Benchmark
+    public boolean previousCheckLogin() throws SQLException {
+        return previousCheckLogin(nextAdmin(), PASSWORD);
+    }
+
+    @Benchmark
+    public String lookupOnly() throws SQLException {
+        return lookup(nextAdmin());
+    }
+
+    @Benchmark
+    public LoginResult loginValid() throws SQLException {
+        return adminDAO.login(nextAdmin(), PASSWORD);
+    }
+
+    /** A different username each time, so none of them reach the lockout */
+    @Benchmark
+    public LoginResult loginWrongPassword() throws SQLException {
+        return adminDAO.login(nextAdmin(), "wrong password");
+    }
+
+    @Benchmark
+    public LoginResult loginUnknownUsername() throws SQLException {
+        return adminDAO.login("nobody_" + counter++, PASSWORD);
+    }
+
+    @Benchmark
+    public LoginResult loginLockedOut() throws SQLException {
+        return adminDAO.login(victim, "guess " + counter++);
+    }
+
+    /**
+     * The queries the old AdminDAO.checkLogin ran (without its console output)
+     */
+    private static boolean previousCheckLogin(String username, String password) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement checkStmt = conn.createStatement();
+             ResultSet checkRs = checkStmt.executeQuery("SELECT username, password FROM admin")) {
+            while (checkRs.next()) {
+                checkRs.getString("username");
+                checkRs.getString("password");
+            }
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM admin WHERE username = ? AND password = ?")) {
+            stmt.setString(1, username);
+            stmt.setString(2, password);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * The single indexed query AdminDAO.login sends, without the hash check
+     */
+    private static String lookup(String username) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT password FROM admin WHERE username = ?")) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Insert the admins in one batch; they share one hash since hashing 10k
+     * passwords would take minutes and doesn't change the lookup cost
+     */
+    private void seed() throws SQLException {
+        String hash = PasswordHasher.hash(PASSWORD);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("INSERT INTO admin (username, password) VALUES (?, ?)")) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < admins; i++) {
+                stmt.setString(1, USER_PREFIX + i);
+                stmt.setString(2, hash);
+                stmt.addBatch();
+                if (i % 1000 == 999) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM admin WHERE username LIKE ?")) {
+            stmt.setString(1, USER_PREFIX + "%");
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package Data;
+
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Database set-up shared by the benchmarks
+ *
+ * Every benchmark forks with H2_URL, H2_USER, H2_PASSWORD and QUIET, so it
+ * runs against an embedded H2 database in MySQL mode and the data layer
+ * only logs warnings. To run against the configured MySQL server instead,
+ * override them on the command line:
+ *   mvn -Pbenchmarks verify -Djmh.args="DataAccess -jvmArgsAppend -Dlms.db.url=jdbc:mysql://..."
+ *
+ * Benchmarks only touch lecturers whose email ends in their own suffix,
+ * and delete them when done.
+ */
+final class BenchmarkDatabase {
+    static final String H2_URL = "-Dlms.db.url=jdbc:h2:mem:lms;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String H2_USER = "-Dlms.db.user=sa";
+    static final String H2_PASSWORD = "-Dlms.db.password=";
+    static final String QUIET = "-Dlms.log.level=WARN";
+
+    static final String ADMIN_USER = "Admin";
+    static final String ADMIN_PASSWORD = "MSI@2025";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * The tables and indexes the migrations create, written so that H2's
+     * MySQL mode accepts them too, plus the default admin
+     */
+    static void createSchema() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            createSchema(conn);
+        }
+    }
+
+    static void createSchema(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS lecturers (" +
+                        "lecturer_id INT PRIMARY KEY AUTO_INCREMENT," +
+                        "first_name VARCHAR(50) NOT NULL," +
+                        "last_name VARCHAR(50) NOT NULL," +
+                        "email VARCHAR(100) NOT NULL UNIQUE," +
+                        "department VARCHAR(100) NOT NULL," +
+                        "phone VARCHAR(20)," +
+                        "specialty VARCHAR(100)," +
+                        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                        "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+                        "version INT NOT NULL DEFAULT 0" +
+                        ")");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_lecturers_department_specialty ON lecturers (department, specialty)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_lecturers_updated_at ON lecturers (updated_at)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS lecturer_tombstones (" +
+                        "lecturer_id INT PRIMARY KEY," +
+                        "deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+                        ")");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_lecturer_tombstones_deleted_at ON lecturer_tombstones (deleted_at)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS admin (" +
+                        "id INT PRIMARY KEY AUTO_INCREMENT," +
+                        "username VARCHAR(50) NOT NULL UNIQUE," +
+                        "password VARCHAR(100) NOT NULL" +
+                        ")");
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM admin WHERE username = '" + ADMIN_USER + "'")) {
+                rs.next();
+                if (rs.getInt(1) == 0) {
+                    stmt.executeUpdate("INSERT INTO admin (username, password) VALUES ('" + ADMIN_USER + "', '"
+                            + ADMIN_PASSWORD + "')");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert lecturers First<i> Last<i>, lecturer<i><emailSuffix> in
+     * batches, the departments taken in turn
+     * @return their ids, in insertion order
+     */
+    static int[] seed(int count, String emailSuffix, String... departments) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO lecturers (first_name, last_name, email, department) VALUES (?, ?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "First" + i);
+                stmt.setString(2, "Last" + i);
+                stmt.setString(3, "lecturer" + i + emailSuffix);
+                stmt.setString(4, departments[i % departments.length]);
+                stmt.addBatch();
+                if (i % 1000 == 999 || i == count - 1) {
+                    stmt.executeBatch();
+                }
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        return ids(emailSuffix);
+    }
+
+    /** Ids of the lecturers whose email ends in emailSuffix, in id order */
+    static int[] ids(String emailSuffix) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT lecturer_id FROM lecturers WHERE email LIKE ? ORDER BY lecturer_id")) {
+            stmt.setString(1, "%" + emailSuffix);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int[] ids = new int[16];
+                int count = 0;
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getInt(1);
+                }
+                return Arrays.copyOf(ids, count);
+            }
+        }
+    }
+
+    /**
+     * Delete the benchmark's lecturers and every tombstone, and empty the
+     * lecturer cache
+     */
+    static void cleanUp(String emailSuffix) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM lecturers WHERE email LIKE ?");
+             Statement tombstones = conn.createStatement()) {
+            stmt.setString(1, "%" + emailSuffix);
+            stmt.executeUpdate();
+            tombstones.executeUpdate("DELETE FROM lecturer_tombstones");
+        }
+        LecturerDAO.invalidateCache();
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /** Heap in use after a few full GCs */
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
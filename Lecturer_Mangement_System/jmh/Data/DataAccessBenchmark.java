@@ -0,0 +1,136 @@
+package Data;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the data-access and model layers
+ *
+ * Covers LecturerDAO CRUD, AdminDAO.checkLogin, Lecturer.toCardModel() and the
+ * LectureCardModel(title, office, course) string-splitting constructor.
+ * Login latency percentiles are measured separately by AdminLoginBenchmark.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=DataAccessBenchmark
+ *
+ * Only rows whose email ends in @dao.bench are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class DataAccessBenchmark {
+    private static final String EMAIL_DOMAIN = "@dao.bench";
+    private static final int SEED_ROWS = 1_000;
+
+    private final Lecturer lecturer = new Lecturer(42, "Ada", "Lovelace", "ada" + EMAIL_DOMAIN,
+            "Computer Science", "555-0100", "Algorithms");
+    private final LecturerDAO dao = new LecturerDAO();
+    private final AdminDAO adminDAO = new AdminDAO();
+    private int[] ids;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(SEED_ROWS, EMAIL_DOMAIN,
+                "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        System.out.println("Connection pool: " + DatabaseConnection.getPoolStats());
+        System.out.println("Lecturer cache: " + LecturerDAO.getCacheStats());
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        DatabaseConnection.shutdown();
+    }
+
+    // ---- Model layer ----
+
+    @Benchmark
+    public LectureCardModel toCardModel() {
+        return lecturer.toCardModel();
+    }
+
+    @Benchmark
+    public LectureCardModel cardModelFromStrings() {
+        return new LectureCardModel("Ada Lovelace", "Computer Science Department", "ada" + EMAIL_DOMAIN);
+    }
+
+    // ---- LecturerDAO ----
+
+    @Benchmark
+    public boolean addThenDeleteLecturer() throws SQLException {
+        int n = counter++;
+        int id = dao.addLecturer("Bench", "Row" + n, "crud" + n + EMAIL_DOMAIN, "Physics", "555-0101", "Optics").getId();
+        return dao.deleteLecturer(id);
+    }
+
+    @Benchmark
+    public boolean updateLecturer() throws SQLException {
+        int n = counter++;
+        int id = ids[n % ids.length];
+        return dao.updateLecturer(id, "Seed", "Updated" + n, "updated" + id + EMAIL_DOMAIN,
+                "Mathematics", "555-0102", "Topology");
+    }
+
+    @Benchmark
+    public Lecturer getLecturerCached() throws SQLException {
+        return dao.getLecturer(ids[counter++ % ids.length]);
+    }
+
+    @Benchmark
+    public Lecturer getLecturerDatabase() throws SQLException {
+        LecturerDAO.invalidateCache();
+        return dao.getLecturer(ids[counter++ % ids.length]);
+    }
+
+    @Benchmark
+    public List<Lecturer> getLecturersPage200() throws SQLException {
+        LecturerDAO.invalidateCache();
+        return dao.getLecturersPage(0, 200);
+    }
+
+    @Benchmark
+    public List<Lecturer> getAllLecturersDatabase() throws SQLException {
+        LecturerDAO.invalidateCache();
+        return dao.getAllLecturers();
+    }
+
+    @Benchmark
+    public List<Lecturer> getAllLecturersCached() throws SQLException {
+        return dao.getAllLecturers();
+    }
+
+    // ---- AdminDAO ----
+
+    @Benchmark
+    public boolean checkLoginValid() throws SQLException {
+        return adminDAO.checkLogin(BenchmarkDatabase.ADMIN_USER, BenchmarkDatabase.ADMIN_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean checkLoginLockedOut() throws SQLException {
+        return adminDAO.checkLogin("Locked", "wrong");
+    }
+}
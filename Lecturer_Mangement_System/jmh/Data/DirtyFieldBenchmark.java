@@ -0,0 +1,196 @@
+package Data;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * What saving only the changed fields of a lecturer saves
+ *
+ * Times a save from the edit screen when nothing was changed and when one
+ * field was changed, writing all six columns like the edit screen used to
+ * and through LectureCardModel.updateInDatabase(), which writes the changed
+ * columns only and skips a save with no changes.
+ *
+ * Then 8 threads each change a field of the same card and save it as fast
+ * as they can (repeated clicks on Save), the old way and through
+ * updateInDatabase(). Saves refused as conflicts with the same card's own
+ * earlier save are counted next to the timings, and how many writes reached
+ * the database (the row's version counts them) is printed at the end.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=DirtyFieldBenchmark
+ *
+ * Only rows whose email ends in "@dirty.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class DirtyFieldBenchmark {
+    private static final String EMAIL_DOMAIN = "@dirty.bench";
+    private static final int SEED_ROWS = 1_000;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private int[] ids;
+    private LectureCardModel[] cards;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(SEED_ROWS, EMAIL_DOMAIN, "Physics");
+        cards = new LectureCardModel[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            cards[i] = dao.getLecturer(ids[i]).toCardModel();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public UpdateResult nothingChangedAllColumns() throws SQLException {
+        LectureCardModel card = cards[counter++ % cards.length];
+        UpdateResult result = dao.updateLecturer(card.toLecturer(), card.getVersion());
+        card.rebase(result.getCurrent());
+        return result;
+    }
+
+    @Benchmark
+    public UpdateResult nothingChangedChangedFields() throws SQLException {
+        return cards[counter++ % cards.length].updateInDatabase();
+    }
+
+    @Benchmark
+    public UpdateResult phoneChangedAllColumns() throws SQLException {
+        int n = counter++;
+        LectureCardModel card = cards[n % cards.length];
+        card.setPhone("555-" + n);
+        UpdateResult result = dao.updateLecturer(card.toLecturer(), card.getVersion());
+        card.rebase(result.getCurrent());
+        return result;
+    }
+
+    @Benchmark
+    public UpdateResult phoneChangedChangedFields() throws SQLException {
+        int n = counter++;
+        LectureCardModel card = cards[n % cards.length];
+        card.setPhone("555-" + n);
+        return card.updateInDatabase();
+    }
+
+    /** One card, saved by every thread of the concurrent benchmarks */
+    @State(Scope.Benchmark)
+    public static class SharedCard {
+        private LecturerDAO dao;
+        private int id;
+        private int versionBefore;
+        private LectureCardModel card;
+
+        @Setup(Level.Trial)
+        public void load(DirtyFieldBenchmark benchmark) throws SQLException {
+            dao = benchmark.dao;
+            id = benchmark.ids[0];
+            card = dao.getLecturer(id).toCardModel();
+            versionBefore = card.getVersion();
+        }
+
+        /** The last value typed must have been written by some save */
+        @TearDown(Level.Trial)
+        public void checkLastValue(BenchmarkParams params) throws SQLException {
+            boolean changedFields = params.getBenchmark().endsWith("ChangedFields");
+            String last = card.getSpecialty();
+            if (changedFields && card.updateInDatabase().getStatus() != UpdateResult.Status.UNCHANGED) {
+                throw new IllegalStateException("The last change was not written");
+            }
+            LecturerDAO.invalidateCache();
+            Lecturer stored = dao.getLecturer(id);
+            System.out.printf("%d writes reached the database%n", stored.getVersion() - versionBefore);
+            if (changedFields && !last.equals(stored.getSpecialty())) {
+                throw new IllegalStateException("Stored " + stored.getSpecialty() + ", expected " + last);
+            }
+        }
+    }
+
+    /** One saving thread: its number and what its saves ran into */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Saver {
+        private int thread;
+        private int saves;
+        public long conflicts;
+        public long errors;
+
+        @Setup(Level.Trial)
+        public void number(ThreadParams params) {
+            thread = params.getThreadIndex();
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+            errors = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void concurrentSavesAllColumns(SharedCard shared, Saver saver) {
+        LectureCardModel card = shared.card;
+        try {
+            synchronized (card) {
+                card.setSpecialty("Thread " + saver.thread + " save " + saver.saves++);
+            }
+            UpdateResult result = shared.dao.updateLecturer(card.toLecturer(), card.getVersion());
+            if (result.isUpdated()) {
+                card.rebase(result.getCurrent());
+            } else if (result.isConflict()) {
+                saver.conflicts++;
+            }
+        } catch (SQLException e) {
+            saver.errors++;
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void concurrentSavesChangedFields(SharedCard shared, Saver saver) {
+        LectureCardModel card = shared.card;
+        try {
+            synchronized (card) {
+                card.setSpecialty("Thread " + saver.thread + " save " + saver.saves++);
+            }
+            if (card.updateInDatabase().isConflict()) {
+                saver.conflicts++;
+            }
+        } catch (SQLException e) {
+            saver.errors++;
+        }
+    }
+}
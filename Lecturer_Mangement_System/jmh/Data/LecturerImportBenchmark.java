@@ -0,0 +1,95 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare bulk import against one addLecturer() call per row
+ *
+ * Each measurement is one whole import into an empty table; the rows are
+ * generated before it and deleted after it.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args="LecturerImportBenchmark -p batchSize=500"
+ *
+ * Only rows whose email ends in @import.bench are touched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class LecturerImportBenchmark {
+    private static final String EMAIL_DOMAIN = "@import.bench";
+
+    @Param({ "10000", "100000" })
+    private int rows;
+
+    /** LecturerImporter.DEFAULT_BATCH_SIZE */
+    @Param("1000")
+    private int batchSize;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private List<Lecturer> lecturers;
+
+    @Setup(Level.Trial)
+    public void createSchema() throws SQLException {
+        BenchmarkDatabase.createSchema();
+    }
+
+    @Setup(Level.Invocation)
+    public void generate() throws SQLException {
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        String[] departments = { "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology" };
+        lecturers = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            lecturers.add(new Lecturer(0, "First" + i, "Last" + i, "row" + i + EMAIL_DOMAIN,
+                    departments[i % departments.length], "555-" + (1000 + i % 9000), "Specialty " + (i % 40)));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void cleanUp() throws SQLException {
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public AddResult rowByRow() throws SQLException {
+        AddResult last = null;
+        for (Lecturer l : lecturers) {
+            last = dao.addLecturer(l.getFirstName(), l.getLastName(), l.getEmail(),
+                                   l.getDepartment(), l.getPhone(), l.getSpecialty());
+        }
+        return last;
+    }
+
+    @Benchmark
+    public ImportResult bulk() throws SQLException {
+        ImportResult result = new LecturerImporter(batchSize).importLecturers(lecturers);
+        BenchmarkDatabase.check(result.getErrors().isEmpty(), result.getErrors().size() + " rows rejected");
+        return result;
+    }
+}
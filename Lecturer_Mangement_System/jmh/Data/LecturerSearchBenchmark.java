@@ -0,0 +1,148 @@
+package Data;
+
+import Model.Lecturer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Type-ahead search benchmark at 100k lecturers (no database needed)
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LecturerSearchBenchmark
+ *
+ * Times typical queries with the same result limit as the Faculty
+ * Lecturers search box, keeping the index up to date on a write, and
+ * building the whole index. The heap used by the index is printed when
+ * the fork starts, after checking that lecturers queued offline (temporary
+ * negative ids) are found by multi-word queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LecturerSearchBenchmark {
+    private static final String[] FIRST_NAMES = { "Ada", "Alan", "Grace", "John", "Mary", "Linus", "Barbara",
+            "Edsger", "Donald", "Margaret", "Ken", "Dennis", "Frances", "Tim", "Radia", "Niklaus" };
+    private static final String[] LAST_NAMES = { "Lovelace", "Turing", "Hopper", "Smith", "Johnson", "Torvalds",
+            "Liskov", "Dijkstra", "Knuth", "Hamilton", "Thompson", "Ritchie", "Allen", "Berners-Lee", "Perlman", "Wirth" };
+    private static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry",
+            "Biology", "Psychology", "Engineering", "English Literature", "History", "Economics" };
+    private static final String[] SPECIALTIES = { "Algorithms", "Databases", "Networks", "Topology", "Optics",
+            "Organic Chemistry", "Genetics", "Cognition", "Robotics", "Poetry", "Medieval History", "Econometrics" };
+    private static final int LIMIT = 500;
+
+    @Param("100000")
+    private int lecturers;
+
+    /** The free-text queries, only varied for search() */
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({ "a", "ada", "ada lov", "comp sci algo", "hopper phys", "zzz" })
+        private String text;
+    }
+
+    private List<Lecturer> all;
+    private LecturerSearchIndex index;
+    private String email;
+    private String emailLocalPart;
+    private final Random random = new Random(7);
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        checkTemporaryIds();
+        all = generate(lecturers);
+        index = new LecturerSearchIndex();
+        long heapBefore = BenchmarkDatabase.usedHeap();
+        index.buildFrom(all);
+        long heapAfter = BenchmarkDatabase.usedHeap();
+        System.out.printf("Indexed %d lecturers, ~%.1f MB heap for the index%n",
+                index.size(), (heapAfter - heapBefore) / (1024.0 * 1024.0));
+
+        email = all.get(12_344).getEmail();
+        emailLocalPart = email.substring(0, email.indexOf('@') + 1);
+    }
+
+    @Benchmark
+    public List<Lecturer> search(Query query) {
+        return index.search(query.text, LIMIT);
+    }
+
+    @Benchmark
+    public List<Lecturer> searchFullEmail() {
+        return index.search(email, LIMIT);
+    }
+
+    @Benchmark
+    public List<Lecturer> searchEmailLocalPart() {
+        return index.search(emailLocalPart, LIMIT);
+    }
+
+    /** Incremental maintenance cost, as paid by LecturerDAO writes */
+    @Benchmark
+    public Lecturer put() {
+        Lecturer l = all.get(random.nextInt(all.size()));
+        Lecturer moved = new Lecturer(l.getId(), l.getFirstName(), l.getLastName(), l.getEmail(),
+                DEPARTMENTS[random.nextInt(DEPARTMENTS.length)], l.getPhone(), l.getSpecialty());
+        index.put(moved);
+        return moved;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LecturerSearchIndex build() {
+        LecturerSearchIndex built = new LecturerSearchIndex();
+        built.buildFrom(all);
+        return built;
+    }
+
+    /** A queued add (negative id) next to saved lecturers, found and then replaced by its real id */
+    private static void checkTemporaryIds() {
+        LecturerSearchIndex small = new LecturerSearchIndex();
+        List<Lecturer> some = new ArrayList<>(generate(50));
+        some.add(new Lecturer(-3, "Alan", "Turing", "alan.turing@uni.edu", "Computer Science", null, "Algorithms"));
+        small.buildFrom(some);
+        BenchmarkDatabase.check(containsId(small.search("alan comp", LIMIT), -3), "queued lecturer -3 not found");
+
+        small.remove(-3);
+        small.put(new Lecturer(51, "Alan", "Turing", "alan.turing@uni.edu", "Computer Science", null, "Algorithms"));
+        List<Lecturer> found = small.search("alan comp algo", LIMIT);
+        BenchmarkDatabase.check(containsId(found, 51) && !containsId(found, -3), "queued lecturer not replaced");
+    }
+
+    private static boolean containsId(List<Lecturer> found, int id) {
+        for (Lecturer lecturer : found) {
+            if (lecturer.getId() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Lecturer> generate(int count) {
+        Random random = new Random(42);
+        List<Lecturer> lecturers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = first.toLowerCase() + "." + last.toLowerCase() + i + "@uni.edu";
+            lecturers.add(new Lecturer(i, first, last, email, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    "555-" + (1000 + i % 9000), SPECIALTIES[random.nextInt(SPECIALTIES.length)]));
+        }
+        return lecturers;
+    }
+}
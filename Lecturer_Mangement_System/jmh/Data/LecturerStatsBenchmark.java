@@ -0,0 +1,246 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Cost of opening the dashboard: counting on screen vs GROUP BY vs LecturerStats' counters
+ *
+ * Seeds the lecturers table, then times:
+ * - getAllLecturers() and counting per department and specialty in Java,
+ *   the only way to get headcounts before the dashboard
+ * - the GROUP BY LecturerStats runs when it has to count
+ * - getCounts() once the counters are loaded, which is what opening the
+ *   dashboard costs from then on
+ * - patching the counters for one write that moves a lecturer
+ *
+ * In concurrentWrites, 4 threads add, edit (moving lecturers between
+ * departments and specialties) and delete lecturers through LecturerDAO
+ * while another thread keeps reading the counts. After each run the
+ * counters are checked against a fresh GROUP BY, and how many writes were
+ * applied as deltas and how many needed a recount is printed.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LecturerStatsBenchmark
+ *
+ * Only rows whose email ends in "@stats.bench" are touched, and they are
+ * deleted when done; the counts cover the whole table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class LecturerStatsBenchmark {
+    private static final String EMAIL_SUFFIX = "@stats.bench";
+    private static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry",
+            "Biology", "Psychology", "Engineering", "English Literature", "History", "Economics" };
+    private static final String[] SPECIALTIES = { "Algorithms", "Databases", "Networks", "Topology", "Optics",
+            "Organic Chemistry", "Genetics", "Cognition", "Robotics", "Poetry", "Medieval History", null };
+
+    @Param("100000")
+    private int lecturers;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private final LecturerStats stats = LecturerStats.getInstance();
+    private int[] ids;
+    private long recountsBefore;
+    private long deltasBefore;
+    // Moved back and forth by patchOneMove, one version at a time as a real edit would
+    private Lecturer moved = new Lecturer(1, "Ada", "Lovelace", "ada" + EMAIL_SUFFIX, "Mathematics", null, "Algorithms", 0);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        cleanUp();
+        ids = seed(lecturers);
+        LecturerCounts counted = stats.getCounts();
+        BenchmarkDatabase.check(sameCounts(counted, countOnScreen()),
+                "GROUP BY counts differ from counting every lecturer: " + counted);
+        System.out.printf("%d lecturers, %d departments, %d specialties%n",
+                counted.getTotal(), counted.getByDepartment().size(), counted.getBySpecialty().size());
+        recountsBefore = stats.getRecounts();
+        deltasBefore = stats.getDeltas();
+    }
+
+    /** The counters must still match a fresh GROUP BY */
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws SQLException {
+        try {
+            System.out.printf("applied as deltas: %d, recounts: %d%n",
+                    stats.getDeltas() - deltasBefore, stats.getRecounts() - recountsBefore);
+            if (params.getBenchmark().endsWith(".patchOneMove")) {
+                // The moves were of a lecturer that isn't in the table
+                stats.invalidate();
+            }
+            LecturerCounts counters = stats.getCounts();
+            LecturerCounts fresh = countByDatabase();
+            BenchmarkDatabase.check(sameCounts(counters, fresh), "counters " + counters + " differ from GROUP BY " + fresh);
+        } finally {
+            cleanUp();
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LecturerCounts countOnScreen() throws SQLException {
+        Map<String, Long> departments = new HashMap<>();
+        Map<String, Long> specialties = new HashMap<>();
+        List<Lecturer> all = dao.getAllLecturers();
+        for (Lecturer lecturer : all) {
+            departments.merge(lecturer.getDepartment(), 1L, Long::sum);
+            String specialty = lecturer.getSpecialty();
+            specialties.merge(specialty == null || specialty.isBlank() ? null : specialty, 1L, Long::sum);
+        }
+        return new LecturerCounts(all.size(), departments, specialties);
+    }
+
+    @Benchmark
+    public LecturerCounts groupByRecount() throws SQLException {
+        stats.invalidate();
+        return stats.getCounts();
+    }
+
+    @Benchmark
+    public LecturerCounts getCounts() throws SQLException {
+        return stats.getCounts();
+    }
+
+    @Benchmark
+    public Lecturer patchOneMove() {
+        Lecturer before = moved;
+        moved = new Lecturer(1, "Ada", "Lovelace", "ada" + EMAIL_SUFFIX,
+                before.getDepartment().equals("Mathematics") ? "Computer Science" : "Mathematics",
+                null, "Algorithms", before.getVersion() + 1);
+        stats.updated(before, moved);
+        return moved;
+    }
+
+    /** One writing thread's random choices */
+    @State(Scope.Thread)
+    public static class Writer {
+        private Random random;
+        private int thread;
+        private int added;
+
+        @Setup(Level.Trial)
+        public void seed(ThreadParams params) {
+            thread = params.getThreadIndex();
+            random = new Random(thread);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentWrites")
+    @GroupThreads(4)
+    public void write(Writer writer) throws SQLException {
+        Random random = writer.random;
+        int id = ids[random.nextInt(ids.length)];
+        int op = random.nextInt(10);
+        if (op == 0) {
+            dao.addLecturer("New", "Lecturer", "new-" + writer.thread + "-" + writer.added++ + EMAIL_SUFFIX,
+                    pick(DEPARTMENTS, random), null, pick(SPECIALTIES, random));
+        } else if (op == 1) {
+            dao.deleteLecturer(id);
+        } else {
+            // The edited row, as LectureCardModel.toLecturer() would build it
+            Lecturer current = dao.getLecturer(id);
+            if (current != null) {
+                Lecturer edited = new Lecturer(id, current.getFirstName(), current.getLastName(),
+                        current.getEmail(), pick(DEPARTMENTS, random), current.getPhone(),
+                        pick(SPECIALTIES, random), current.getVersion());
+                dao.updateLecturer(edited, edited.getVersion());
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentWrites")
+    @GroupThreads(1)
+    public LecturerCounts read() throws SQLException {
+        return stats.getCounts();
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** The GROUP BY alone, bypassing LecturerStats */
+    private LecturerCounts countByDatabase() throws SQLException {
+        Map<String, Long> departments = new HashMap<>();
+        Map<String, Long> specialties = new HashMap<>();
+        long[] total = { 0 };
+        dao.countByDepartmentAndSpecialty((department, specialty, count) -> {
+            departments.merge(department, count, Long::sum);
+            specialties.merge(specialty == null || specialty.isBlank() ? null : specialty, count, Long::sum);
+            total[0] += count;
+        });
+        return new LecturerCounts(total[0], departments, specialties);
+    }
+
+    private static boolean sameCounts(LecturerCounts a, LecturerCounts b) {
+        return a.getTotal() == b.getTotal()
+                && a.getByDepartment().equals(b.getByDepartment())
+                && a.getBySpecialty().equals(b.getBySpecialty());
+    }
+
+    /**
+     * Insert the lecturers in batches, with random departments and
+     * specialties
+     * @return their ids
+     */
+    private static int[] seed(int count) throws SQLException {
+        Random random = new Random(42);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO lecturers (first_name, last_name, email, department, specialty) VALUES (?, ?, ?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "First" + i);
+                stmt.setString(2, "Last" + i);
+                stmt.setString(3, "lecturer" + i + EMAIL_SUFFIX);
+                stmt.setString(4, pick(DEPARTMENTS, random));
+                stmt.setString(5, pick(SPECIALTIES, random));
+                stmt.addBatch();
+                if (i % 1000 == 999 || i == count - 1) {
+                    stmt.executeBatch();
+                }
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        return BenchmarkDatabase.ids(EMAIL_SUFFIX);
+    }
+
+    private static void cleanUp() throws SQLException {
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        LecturerStats.getInstance().invalidate();
+    }
+}
@@ -0,0 +1,219 @@
+package Data;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap used by 100k lecturers as objects and in a CompactLecturerStore (no database needed)
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LecturerStoreBenchmark
+ *
+ * Lecturers are generated the way the JDBC driver hands them over: every
+ * row gets its own String objects, even for a department shared by
+ * thousands of rows. When the fork starts, retained heap (measured after
+ * GC) is printed per 100k lecturers for:
+ * - a List<Lecturer>, as the Faculty Lecturers list used to hold
+ * - the same list plus a LectureCardModel per lecturer, as the screen
+ *   held before cards were recycled
+ * - a trimmed CompactLecturerStore
+ *
+ * It then checks the store against a TreeMap through random puts and
+ * removes (which also exercise text compaction). The benchmarks time
+ * binding a card the old way (toCardModel() then the card's getters)
+ * against reading a Row, looking a lecturer up by id and updating one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LecturerStoreBenchmark {
+    private static final String[] FIRST_NAMES = { "Ada", "Alan", "Grace", "John", "Mary", "Linus", "Barbara",
+            "Edsger", "Donald", "Margaret", "Ken", "Dennis", "Frances", "Tim", "Radia", "Zoë", "Łukasz" };
+    private static final String[] LAST_NAMES = { "Lovelace", "Turing", "Hopper", "Smith", "Johnson", "Torvalds",
+            "Liskov", "Dijkstra", "Knuth", "Hamilton", "Thompson", "Ritchie", "Allen", "Perlman", "Müller" };
+    private static final String[] DEPARTMENTS = { "Computer Science", "Mathematics", "Physics", "Chemistry",
+            "Biology", "Psychology", "Engineering", "English Literature", "History", "Economics" };
+    private static final String[] SPECIALTIES = { "Algorithms", "Databases", "Networks", "Topology", "Optics",
+            "Organic Chemistry", "Genetics", "Cognition", "Robotics", "Poetry", "Medieval History", "Econometrics" };
+    private static final int SAMPLE = 1_000;
+
+    @Param("100000")
+    private int lecturers;
+
+    private CompactLecturerStore store;
+    private final List<Lecturer> sample = new ArrayList<>();
+    private final Random updates = new Random(7);
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        // Each holder is measured on its own, and only it is reachable when measured
+        long base = BenchmarkDatabase.usedHeap();
+        List<Lecturer> list = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 1; i <= lecturers; i++) {
+            list.add(lecturer(i, random));
+        }
+        long listBytes = BenchmarkDatabase.usedHeap() - base;
+
+        List<LectureCardModel> cards = new ArrayList<>(lecturers);
+        for (Lecturer lecturer : list) {
+            cards.add(lecturer.toCardModel());
+        }
+        long cardBytes = BenchmarkDatabase.usedHeap() - base;
+        BenchmarkDatabase.check(cards.size() == lecturers, "cards");
+        cards = null;
+        list = null;
+
+        base = BenchmarkDatabase.usedHeap();
+        store = new CompactLecturerStore();
+        random = new Random(42);
+        for (int i = 1; i <= lecturers; i++) {
+            store.put(lecturer(i, random));
+        }
+        store.trimToSize();
+        long storeBytes = BenchmarkDatabase.usedHeap() - base;
+
+        System.out.printf("Retained heap for %d lecturers (per 100k):%n", lecturers);
+        print("List<Lecturer>", listBytes);
+        print("List<Lecturer> + LectureCardModels", cardBytes);
+        print("CompactLecturerStore", storeBytes);
+        System.out.printf("  store arrays: %.1f MB, %d departments, %d specialties%n",
+                store.getArrayBytes() / (1024.0 * 1024.0), store.getDepartmentCount(), store.getSpecialtyCount());
+
+        // Every row reads back as it went in
+        random = new Random(42);
+        for (int i = 1; i <= lecturers; i++) {
+            checkSame(lecturer(i, random), store.toLecturer(i - 1));
+        }
+        checkAgainstMap(lecturers);
+
+        random = new Random(42);
+        for (int i = 1; i <= SAMPLE; i++) {
+            sample.add(lecturer(i, random));
+        }
+    }
+
+    @Benchmark
+    public int bindCardModel() {
+        LectureCardModel card = sample.get(counter++ % SAMPLE).toCardModel();
+        return bind(card.getFirstName(), card.getLastName(), card.getLecturerId(), card.getDepartment(),
+                card.getEmail(), card.getPhone(), card.getSpecialty());
+    }
+
+    @Benchmark
+    public int bindRow() {
+        CompactLecturerStore.Row row = store.row(counter++ % SAMPLE);
+        return bind(row.getFirstName(), row.getLastName(), row.getId(), row.getDepartment(),
+                row.getEmail(), row.getPhone(), row.getSpecialty());
+    }
+
+    @Benchmark
+    public CompactLecturerStore.Row find() {
+        return store.find(1 + counter++ % lecturers);
+    }
+
+    /** Update one lecturer */
+    @Benchmark
+    public int put() {
+        int id = 1 + updates.nextInt(lecturers);
+        return store.put(new Lecturer(id, "Grace", "Hopper", "grace.hopper" + id + "@uni.edu",
+                DEPARTMENTS[updates.nextInt(DEPARTMENTS.length)], "555-0100", null, 1));
+    }
+
+    /** The label texts FacultyLecturers2 builds for one card */
+    private static int bind(String firstName, String lastName, int id, String department, String email,
+                            String phone, String specialty) {
+        return (firstName + " " + lastName).length() + ("Staff Number: " + id).length()
+                + ("Office Number: " + department).length() + ("Building Location: " + email).length()
+                + ("Phone: " + (phone != null ? phone : "Not provided")).length()
+                + ("Specialty: " + (specialty != null ? specialty : "Not provided")).length();
+    }
+
+    /**
+     * Random inserts (in and out of id order), updates and removes, checked
+     * against a TreeMap of the same lecturers
+     */
+    private static void checkAgainstMap(int count) {
+        int operations = Math.max(count, 10_000);
+        Random random = new Random(11);
+        CompactLecturerStore store = new CompactLecturerStore();
+        TreeMap<Integer, Lecturer> expected = new TreeMap<>();
+        CompactLecturerStore.Row watched = null;
+        for (int n = 0; n < operations; n++) {
+            int id = random.nextInt(operations / 4) - 10;   // a few temporary negative ids too
+            if (random.nextInt(4) == 0) {
+                BenchmarkDatabase.check(store.remove(id) == (expected.remove(id) != null), "remove " + id);
+            } else {
+                Lecturer lecturer = lecturer(id, random);
+                store.put(lecturer);
+                expected.put(id, lecturer);
+            }
+            if (watched == null && store.size() > 0) {
+                watched = store.row(store.size() / 2);
+            }
+        }
+        BenchmarkDatabase.check(store.size() == expected.size(), "size " + store.size() + " != " + expected.size());
+        int index = 0;
+        for (Lecturer lecturer : expected.values()) {
+            checkSame(lecturer, store.toLecturer(index++));
+        }
+        // A row handed out earlier still finds its lecturer after rows moved around
+        if (watched != null && expected.containsKey(watched.getId())) {
+            checkSame(expected.get(watched.getId()), watched.toLecturer());
+        }
+        System.out.printf("%d random puts and removes match a TreeMap (%d rows left)%n", operations, store.size());
+    }
+
+    /**
+     * A lecturer with its own copy of every String, as read from a ResultSet
+     * Some have no phone or specialty, since those columns are nullable.
+     */
+    private static Lecturer lecturer(int id, Random random) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = first.toLowerCase() + "." + last.toLowerCase() + id + "@uni.edu";
+        String phone = random.nextInt(10) == 0 ? null : "555-" + (1000 + Math.floorMod(id, 9000));
+        String specialty = random.nextInt(10) == 0 ? null : SPECIALTIES[random.nextInt(SPECIALTIES.length)];
+        return new Lecturer(id, new String(first), new String(last), email,
+                new String(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]), phone,
+                specialty == null ? null : new String(specialty), random.nextInt(5));
+    }
+
+    private static void checkSame(Lecturer expected, Lecturer actual) {
+        BenchmarkDatabase.check(expected.getId() == actual.getId()
+                && expected.getVersion() == actual.getVersion()
+                && Objects.equals(expected.getFirstName(), actual.getFirstName())
+                && Objects.equals(expected.getLastName(), actual.getLastName())
+                && Objects.equals(expected.getEmail(), actual.getEmail())
+                && Objects.equals(expected.getDepartment(), actual.getDepartment())
+                && Objects.equals(expected.getPhone(), actual.getPhone())
+                && Objects.equals(expected.getSpecialty(), actual.getSpecialty()),
+                "lecturer " + expected.getId() + " reads back as " + actual.getFullName());
+    }
+
+    private void print(String what, long bytes) {
+        System.out.printf("  %-36s %7.1f MB  %5d bytes/lecturer%n",
+                what, bytes * (100_000.0 / lecturers) / (1024.0 * 1024.0), bytes / lecturers);
+    }
+}
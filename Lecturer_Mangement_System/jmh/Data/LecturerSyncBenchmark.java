@@ -0,0 +1,185 @@
+package Data;
+
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one LecturerSyncService poll compared with re-reading the table
+ *
+ * Seeds the lecturers table, then plays "another desk" by updating,
+ * inserting and deleting rows with plain SQL (bypassing this client's
+ * LecturerDAO, so nothing is known locally). poll times the poll that
+ * picks up 0, 10 or 1000 updated rows and checks each arrives as exactly
+ * one event. Before measuring, it also checks that rows in the overlap
+ * window aren't reported twice, that inserts and deletes arrive as
+ * INSERTED and DELETED events and that our own writes aren't reported again.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LecturerSyncBenchmark
+ *
+ * Only rows whose email ends in "@sync.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class LecturerSyncBenchmark {
+    private static final String EMAIL_SUFFIX = "@sync.bench";
+
+    @Param("100000")
+    private int lecturers;
+
+    private final List<LecturerChangeEvent> events = new ArrayList<>();
+    private final LecturerEvents.Listener listener = events::add;
+    private final LecturerDAO dao = new LecturerDAO();
+    private LecturerSyncService sync;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        ids = BenchmarkDatabase.seed(lecturers, EMAIL_SUFFIX, "Computer Science");
+        // Written an hour ago, well before the first poll's overlap window
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE lecturers SET created_at = ?, updated_at = ? WHERE email LIKE ?")) {
+            Timestamp hourAgo = new Timestamp(System.currentTimeMillis() - 60 * 60_000);
+            stmt.setTimestamp(1, hourAgo);
+            stmt.setTimestamp(2, hourAgo);
+            stmt.setString(3, "%" + EMAIL_SUFFIX);
+            stmt.executeUpdate();
+        }
+        LecturerEvents.subscribe(listener);
+        sync = new LecturerSyncService(0);
+        sync.poll();   // sets the high-water mark
+        checkEvents();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        System.out.println("Sync: " + sync.getStats());
+        LecturerEvents.unsubscribe(listener);
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        DatabaseConnection.shutdown();
+    }
+
+    private void checkEvents() throws SQLException {
+        // The overlap window re-reads the same rows; they must not be reported twice
+        updateElsewhere(10);
+        sync.poll();
+        events.clear();
+        sync.poll();
+        BenchmarkDatabase.check(events.isEmpty(), "rows in the overlap were reported again");
+
+        events.clear();
+        insertElsewhere(5);
+        deleteElsewhere(5);
+        sync.poll();
+        long inserted = events.stream().filter(e -> e.getType() == LecturerChangeEvent.Type.INSERTED).count();
+        long deleted = events.stream().filter(e -> e.getType() == LecturerChangeEvent.Type.DELETED).count();
+        BenchmarkDatabase.check(inserted == 5 && deleted == 5, "expected 5 INSERTED and 5 DELETED events, got " + events);
+
+        // Our own writes come back from the poll but are already known
+        events.clear();
+        dao.updateLecturer(ids[200], "Own", "Edit", "own" + EMAIL_SUFFIX, "Physics", null, null);
+        int ownEvents = events.size();
+        sync.poll();
+        BenchmarkDatabase.check(events.size() == ownEvents, "own write was reported twice");
+    }
+
+    /** Rows changed at another desk since the previous poll */
+    @State(Scope.Benchmark)
+    public static class Changes {
+        @Param({ "0", "10", "1000" })
+        private int changes;
+
+        private LecturerSyncBenchmark benchmark;
+
+        @Setup(Level.Invocation)
+        public void updateElsewhere(LecturerSyncBenchmark benchmark) throws SQLException {
+            this.benchmark = benchmark;
+            benchmark.events.clear();
+            benchmark.updateElsewhere(changes);
+        }
+
+        @TearDown(Level.Invocation)
+        public void checkOneEventEach() {
+            BenchmarkDatabase.check(benchmark.events.size() == changes,
+                    "expected one event per updated row, got " + benchmark.events.size() + " for " + changes);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int fullReread() throws SQLException {
+        return dao.forEachLecturer(lecturer -> { });
+    }
+
+    @Benchmark
+    public int poll(Changes changes) throws SQLException {
+        return sync.poll();
+    }
+
+    private void updateElsewhere(int count) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE lecturers SET specialty = ?, updated_at = CURRENT_TIMESTAMP WHERE lecturer_id = ?")) {
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "Specialty " + System.nanoTime());
+                stmt.setInt(2, ids[1_000 + i]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void insertElsewhere(int count) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "INSERT INTO lecturers (first_name, last_name, email, department) VALUES ('New', 'Lecturer', ?, 'Biology')")) {
+            for (int i = 0; i < count; i++) {
+                stmt.setString(1, "new" + i + EMAIL_SUFFIX);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /** What another desk's LecturerDAO.deleteLecturer does */
+    private void deleteElsewhere(int count) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM lecturers WHERE lecturer_id = ?");
+             PreparedStatement tombstone = conn.prepareStatement(
+                 "INSERT INTO lecturer_tombstones (lecturer_id, deleted_at) VALUES (?, CURRENT_TIMESTAMP)")) {
+            for (int i = 0; i < count; i++) {
+                delete.setInt(1, ids[100 + i]);
+                delete.executeUpdate();
+                tombstone.setInt(1, ids[100 + i]);
+                tombstone.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package Data;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LecturerDAO with and without the LocalReplica
+ *
+ * Times reads that miss the cache and writes, straight against the server
+ * (replica=false) and against the primed replica (replica=true). With the
+ * replica, priming it and the WriteBehindQueue round that replays the
+ * queued writes are timed once and printed. Before measuring, checks the
+ * things that must not go wrong:
+ *   - a lecturer added locally gets its server id, announced as one
+ *     DELETED + INSERTED event pair, and an edit made before that folds
+ *     into the queued INSERT
+ *   - a lecturer added and deleted before the flush is never sent
+ *   - a queued update to a lecturer changed meanwhile at "another desk" is
+ *     not sent; the server's version stays and a conflict is recorded
+ *   - a queued update the server rejects (its email was taken meanwhile) is
+ *     recorded as a conflict and doesn't hold up the writes queued with it
+ *   - an edit based on an older version is refused before it is queued
+ *   - an add or edit reusing another lecturer's email (in any case) is
+ *     refused before it is queued, with MySQL's duplicate key error
+ *   - only the fields a save changed are replayed
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LocalReplicaBenchmark
+ *
+ * An in-memory "server" has no network round trip, so there the replica
+ * only shows its own cost; point lms.db.url at the real MySQL server to see
+ * what it saves. The replica is a throwaway file in the temp directory
+ * unless -Dlms.replica.url is given.
+ *
+ * Only rows whose email ends in "@replica.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class LocalReplicaBenchmark {
+    private static final String EMAIL_SUFFIX = "@replica.bench";
+    /** Updates go round this many lecturers, so the queue coalesces them */
+    private static final int UPDATED = 100;
+
+    @Param("20000")
+    private int lecturers;
+
+    @Param({ "false", "true" })
+    private boolean replica;
+
+    private final List<LecturerChangeEvent> events = new ArrayList<>();
+    private final LecturerEvents.Listener listener = events::add;
+    private final Random random = new Random(1);
+    private File replicaDir;
+    private LocalReplica local;
+    private WriteBehindQueue flusher;
+    private LecturerDAO dao;
+    private int[] ids;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Before anything touches LocalReplica, which reads it once
+        replicaDir = new File(System.getProperty("java.io.tmpdir"), "lms-replica-bench-" + System.nanoTime());
+        if (System.getProperty("lms.replica.url") == null) {
+            System.setProperty("lms.replica.url", "jdbc:h2:file:" + new File(replicaDir, "replica").getAbsolutePath());
+        }
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        ids = BenchmarkDatabase.seed(lecturers, EMAIL_SUFFIX, "Computer Science");
+        dao = new LecturerDAO();
+        local = LocalReplica.getInstance();
+        LecturerEvents.subscribe(listener);
+        if (!replica) {
+            return;
+        }
+
+        BenchmarkDatabase.check(local.open(), "Could not open the local replica (is the h2 jar on the classpath?)");
+        long start = System.nanoTime();
+        int copied = local.prime();
+        System.out.printf("prime (%d rows): %.1f ms%n", copied, (System.nanoTime() - start) / 1e6);
+        BenchmarkDatabase.check(local.isReady(), "replica not ready after prime");
+        flusher = new WriteBehindQueue(local, 0);
+        checkReplica();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try {
+            if (replica) {
+                // Coalescing: the same lecturers were updated many times, few writes are queued
+                int queued = local.pendingCount();
+                long start = System.nanoTime();
+                int replayed = flusher.flush();
+                System.out.printf("%d writes queued; flush (%d writes): %.1f ms%n", queued, replayed,
+                        (System.nanoTime() - start) / 1e6);
+                BenchmarkDatabase.check(local.pendingCount() == 0, "writes left in the queue after flush");
+                BenchmarkDatabase.check(sameAsServer(ids[7]), "server row differs from the replayed update");
+                System.out.println("Flush: " + flusher.getStats());
+            }
+        } finally {
+            LecturerEvents.unsubscribe(listener);
+            local.close();
+            BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+            deleteTree(replicaDir);
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Lecturer getLecturerCacheMiss() throws SQLException {
+        LecturerDAO.invalidateCache();
+        return dao.getLecturer(ids[random.nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public boolean updateLecturer() throws SQLException {
+        int i = counter++;
+        int n = i % Math.min(UPDATED, ids.length);
+        return dao.updateLecturer(ids[n], "First" + n, "Edit" + i, "lecturer" + n + EMAIL_SUFFIX,
+                "Computer Science", null, null);
+    }
+
+    private void checkReplica() throws SQLException {
+        // A lecturer added locally gets its real id
+        events.clear();
+        AddResult added = dao.addLecturer("Offline", "Added", "offline" + EMAIL_SUFFIX, "Physics", null, null);
+        int tempId = added.getId();
+        BenchmarkDatabase.check(added.isQueued() && tempId < 0, "expected a queued add with a temporary id, got " + added);
+        dao.updateLecturer(tempId, "Offline", "Edited", "offline" + EMAIL_SUFFIX, "Physics", null, null);
+        BenchmarkDatabase.check(local.pendingCount() == 1, "the edit should fold into the queued INSERT");
+        flusher.flush();
+        int serverId = serverIdOf("offline" + EMAIL_SUFFIX);
+        BenchmarkDatabase.check(serverId > 0 && dao.getLecturer(serverId) != null && dao.getLecturer(tempId) == null,
+                "temporary id was not replaced by the server id");
+        BenchmarkDatabase.check("Edited".equals(dao.getLecturer(serverId).getLastName()),
+                "the folded edit did not reach the server");
+        BenchmarkDatabase.check(events.size() == 4 && events.get(2).getType() == LecturerChangeEvent.Type.DELETED
+                && events.get(3).getType() == LecturerChangeEvent.Type.INSERTED,
+                "expected INSERTED, UPDATED, DELETED(temp), INSERTED(real), got " + events);
+
+        // Added and deleted before the flush: nothing is sent
+        int gone = dao.addLecturer("Never", "Sent", "never" + EMAIL_SUFFIX, "Physics", null, null).getId();
+        dao.deleteLecturer(gone);
+        BenchmarkDatabase.check(local.pendingCount() == 0, "a lecturer deleted before its INSERT was sent left writes queued");
+
+        // Conflict: another desk changes a lecturer we have a queued update for
+        int contested = ids[42];
+        dao.updateLecturer(contested, "Local", "Edit", "contested" + EMAIL_SUFFIX, "Physics", null, null);
+        updateElsewhere(contested, "Remote");
+        int conflictsBefore = local.conflictCount();
+        flusher.flush();
+        BenchmarkDatabase.check(local.conflictCount() == conflictsBefore + 1, "conflict was not recorded");
+        BenchmarkDatabase.check("Remote".equals(serverValue(contested, "last_name")),
+                "queued update overwrote the other desk's change");
+        LecturerDAO.invalidateCache();
+        BenchmarkDatabase.check("Remote".equals(dao.getLecturer(contested).getLastName()),
+                "replica did not take the server's version");
+
+        // Rejected: the new email was taken at another desk; the update queued with it still goes through
+        // (lecturers the timed updates leave alone, as the replica doesn't see the other desk's change)
+        int renamed = ids[UPDATED + 1];
+        int neighbour = ids[UPDATED + 2];
+        String taken = "taken" + EMAIL_SUFFIX;
+        dao.updateLecturer(renamed, "First", "Renamed", taken, "Computer Science", null, null);
+        dao.updateLecturer(neighbour, "First", "Neighbour", "neighbour" + EMAIL_SUFFIX, "Computer Science", null, null);
+        setEmailElsewhere(ids[UPDATED + 3], taken);
+        conflictsBefore = local.conflictCount();
+        flusher.flush();
+        BenchmarkDatabase.check(local.pendingCount() == 0 && local.conflictCount() == conflictsBefore + 1,
+                "a rejected update was not settled as a conflict");
+        BenchmarkDatabase.check("Neighbour".equals(serverValue(neighbour, "last_name"))
+                && !taken.equals(serverValue(renamed, "email")), "the round with the rejected update was not replayed");
+        LecturerDAO.invalidateCache();
+        BenchmarkDatabase.check(!"Renamed".equals(dao.getLecturer(renamed).getLastName()),
+                "replica did not take the server's version after a rejected update");
+
+        // An edit based on an older version is refused by the replica before anything is queued
+        Lecturer seen = dao.getLecturer(contested);
+        int pendingBefore = local.pendingCount();
+        BenchmarkDatabase.check(dao.updateLecturer(seen, seen.getVersion() - 1).isConflict()
+                && local.pendingCount() == pendingBefore, "stale edit was not refused by the replica");
+
+        // A duplicate email is refused by the replica, as the server's unique key would
+        String existing = ("lecturer3" + EMAIL_SUFFIX).toUpperCase();
+        pendingBefore = local.pendingCount();
+        BenchmarkDatabase.check(isDuplicate(() -> dao.addLecturer("Dup", "Add", existing, "Physics", null, null))
+                && isDuplicate(() -> dao.updateLecturer(ids[5], "Dup", "Edit", existing, "Physics", null, null))
+                && local.pendingCount() == pendingBefore, "a duplicate email was queued");
+
+        // Only the fields a save changed are replayed: a column changed on
+        // the server without a new version is left alone
+        int partial = ids[77];
+        LectureCardModel card = dao.getLecturer(partial).toCardModel();
+        card.setPhone("555-0177");
+        BenchmarkDatabase.check(card.updateInDatabase().isUpdated(), "phone edit was not saved");
+        BenchmarkDatabase.check(card.updateInDatabase().getStatus() == UpdateResult.Status.UNCHANGED
+                && local.pendingCount() == 1, "a save with nothing changed was queued");
+        updateByScript(partial, "Script");
+        flusher.flush();
+        BenchmarkDatabase.check("555-0177".equals(serverValue(partial, "phone"))
+                && "Script".equals(serverValue(partial, "last_name")),
+                "the replayed update wrote more than the changed field");
+        LecturerDAO.invalidateCache();
+    }
+
+    private static boolean isDuplicate(AsyncDAO.SqlTask<?> write) throws SQLException {
+        try {
+            write.call();
+            return false;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return e.getErrorCode() == 1062;
+        }
+    }
+
+    private static boolean sameAsServer(int id) throws SQLException {
+        String sql = "SELECT " + LecturerDAO.COLUMNS + " FROM lecturers WHERE lecturer_id = ?";
+        Lecturer server;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                server = LecturerDAO.readLecturer(rs);
+            }
+        }
+        LecturerDAO.invalidateCache();
+        return LecturerDAO.sameRow(server, new LecturerDAO().getLecturer(id));
+    }
+
+    private static int serverIdOf(String email) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT lecturer_id FROM lecturers WHERE email = ?")) {
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    private static String serverValue(int id, String column) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT " + column + " FROM lecturers WHERE lecturer_id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    /** What another desk's LecturerDAO.updateLecturer() sends: a new version */
+    private static void updateElsewhere(int id, String lastName) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE lecturers SET last_name = ?, updated_at = ?, version = version + 1 WHERE lecturer_id = ?")) {
+            stmt.setString(1, lastName);
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis() + 2_000));
+            stmt.setInt(3, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void setEmailElsewhere(int id, String email) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE lecturers SET email = ?, version = version + 1 WHERE lecturer_id = ?")) {
+            stmt.setString(1, email);
+            stmt.setInt(2, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** A change made on the server without a new version, as by a hand-run script */
+    private static void updateByScript(int id, String lastName) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("UPDATE lecturers SET last_name = ? WHERE lecturer_id = ?")) {
+            stmt.setString(1, lastName);
+            stmt.setInt(2, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void deleteTree(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+}
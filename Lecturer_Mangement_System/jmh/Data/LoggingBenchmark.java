@@ -0,0 +1,139 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import Util.LogLevel;
+import Util.Logger;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * getAllLecturers() with the old per-row console output and with Logger
+ *
+ * Every run reads the whole table (the lecturer cache is cleared first):
+ *   - printlnPerRow: what getAllLecturers used to do, a synchronous
+ *     System.out.println("Found lecturer: ...") for every row
+ *   - debugPerRowAtInfo: the same line through Logger with the default
+ *     level, i.e. what a hot-path message costs when it is off
+ *   - infoPerRowAsync: the same line through Logger switched on; the
+ *     caller only appends to the ring buffer, and what doesn't fit is dropped
+ *   - getAllLecturers: the method as it is now (two DEBUG messages, off)
+ * Console output goes to a temporary file through an auto-flushing
+ * PrintStream, like a terminal, so the old variant pays for a write per row.
+ * The number of dropped messages and the file size are printed at the end.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=LoggingBenchmark
+ *
+ * Only rows whose email ends in "@log.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class LoggingBenchmark {
+    private static final String EMAIL_SUFFIX = "@log.bench";
+    private static final Logger log = Logger.get(LoggingBenchmark.class);
+
+    @Param("50000")
+    private int lecturers;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private PrintStream report;
+    private File console;
+    private PrintStream consoleStream;
+    private long droppedBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        BenchmarkDatabase.seed(lecturers, EMAIL_SUFFIX, "Computer Science");
+        Logger.setLevel(LoggingBenchmark.class.getName(), LogLevel.INFO);
+
+        report = System.out;
+        console = File.createTempFile("lms-console", ".log");
+        console.deleteOnExit();
+        consoleStream = new PrintStream(new FileOutputStream(console), true);
+        System.setOut(consoleStream);
+        droppedBefore = Logger.getDroppedCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        long dropped = Logger.getDroppedCount() - droppedBefore;
+        Logger.flush(60_000);
+        System.setOut(report);
+        consoleStream.close();
+        System.out.printf("%d messages dropped because the buffer was full, console file %.1f MB%n",
+                dropped, console.length() / 1e6);
+        BenchmarkDatabase.cleanUp(EMAIL_SUFFIX);
+        DatabaseConnection.shutdown();
+    }
+
+    /** The old getAllLecturers */
+    @Benchmark
+    public List<Lecturer> printlnPerRow() throws SQLException {
+        LecturerDAO.invalidateCache();
+        List<Lecturer> all = new ArrayList<>();
+        System.out.println("Attempting to load lecturers from database...");
+        dao.forEachLecturer(lecturer -> {
+            System.out.println("Found lecturer: " + lecturer.getFirstName() + " " + lecturer.getLastName());
+            all.add(lecturer);
+        });
+        System.out.println("Total lecturers found: " + all.size());
+        return all;
+    }
+
+    @Benchmark
+    public List<Lecturer> debugPerRowAtInfo() throws SQLException {
+        return readAll(false);
+    }
+
+    @Benchmark
+    public List<Lecturer> infoPerRowAsync() throws SQLException {
+        return readAll(true);
+    }
+
+    @Benchmark
+    public List<Lecturer> getAllLecturers() throws SQLException {
+        LecturerDAO.invalidateCache();
+        return dao.getAllLecturers();
+    }
+
+    private List<Lecturer> readAll(boolean info) throws SQLException {
+        LecturerDAO.invalidateCache();
+        List<Lecturer> all = new ArrayList<>();
+        dao.forEachLecturer(lecturer -> {
+            if (info) {
+                log.info("Found lecturer", "firstName", lecturer.getFirstName(), "lastName", lecturer.getLastName());
+            } else {
+                log.debug("Found lecturer", "firstName", lecturer.getFirstName(), "lastName", lecturer.getLastName());
+            }
+            all.add(lecturer);
+        });
+        return all;
+    }
+}
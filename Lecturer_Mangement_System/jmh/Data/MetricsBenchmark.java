@@ -0,0 +1,106 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import Util.LatencyTimer;
+import Util.Metrics;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What a LatencyTimer adds to each call it measures
+ *
+ * nanoTimePair is the two clock reads every timed call makes anyway;
+ * timerStop is the full cost of timing a call (clock reads plus
+ * recording). The contended variants run it on 2 and 4 threads recording
+ * into the same timer, the worst case for the shared counters.
+ * getLecturer goes through the instrumented DAO; the timers it fed are
+ * printed at the end, as the metrics log would show them.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=MetricsBenchmark
+ *
+ * Only rows whose email ends in "@metrics.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class MetricsBenchmark {
+    private static final String EMAIL_DOMAIN = "@metrics.bench";
+    private static final int SEED_ROWS = 200;
+
+    private final LatencyTimer timer = Metrics.timer("MetricsBenchmark.overhead");
+    private final LecturerDAO dao = new LecturerDAO();
+    private int[] ids;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(SEED_ROWS, EMAIL_DOMAIN, "Physics");
+        Metrics.report();   // start the next interval from here
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        for (LatencyTimer.Snapshot snapshot : Metrics.snapshots()) {
+            if (snapshot.getName().equals("LecturerDAO.getLecturer")
+                    || snapshot.getName().equals("DatabaseConnection.getConnection")) {
+                System.out.println(snapshot);
+            }
+        }
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public long nanoTimePair() {
+        return System.nanoTime() - System.nanoTime();
+    }
+
+    @Benchmark
+    public void timerStop() {
+        timer.stop(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void timerStop2Threads() {
+        timer.stop(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timerStop4Threads() {
+        timer.stop(System.nanoTime());
+    }
+
+    /** Reads all buckets */
+    @Benchmark
+    public LatencyTimer.Snapshot snapshot() {
+        return timer.snapshot();
+    }
+
+    @Benchmark
+    public Lecturer getLecturer() throws SQLException {
+        return dao.getLecturer(ids[counter++ % ids.length]);
+    }
+}
@@ -0,0 +1,99 @@
+package Data;
+
+import Util.DatabaseConnection;
+import Util.DatabaseSetup;
+import Util.SchemaMigrator;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What start-up spends on the schema
+ *
+ *   - firstStart: every migration on an empty database, a fresh in-memory
+ *     H2 database each time
+ *   - schemaCurrent: the check every later start makes, one query
+ *   - rerunAllDdl: what every start used to do, all CREATE TABLE IF NOT
+ *     EXISTS and metadata checks again
+ * All on one already-open connection; the old start-up also opened four
+ * connections (a root one for CREATE DATABASE, one per table group and one
+ * for testConnection()), which costs a TCP connect and login each on MySQL.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=MigrationBenchmark
+ *
+ * schemaCurrent and rerunAllDdl migrate the configured database first, so
+ * point them at an empty one: they create the application's tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class MigrationBenchmark {
+    private final SchemaMigrator migrator = DatabaseSetup.getMigrator();
+    private Connection conn;
+
+    /** A new, empty in-memory database for each firstStart() */
+    @State(Scope.Thread)
+    public static class EmptyDatabase {
+        private Connection conn;
+        private int opened;
+
+        @Setup(Level.Invocation)
+        public void open() throws SQLException {
+            conn = DriverManager.getConnection("jdbc:h2:mem:empty" + opened++ + ";MODE=MySQL", "sa", "");
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() throws SQLException {
+            conn.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = DatabaseConnection.getConnection();
+        migrator.migrate(conn);
+        BenchmarkDatabase.check(migrator.migrate(conn) == 0, "Second migrate() applied migrations again");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public int firstStart(EmptyDatabase empty) throws SQLException {
+        return migrator.migrate(empty.conn);
+    }
+
+    @Benchmark
+    public int schemaCurrent() throws SQLException {
+        return migrator.migrate(conn);
+    }
+
+    @Benchmark
+    public void rerunAllDdl() throws SQLException {
+        migrator.reapplyAll(conn);
+    }
+}
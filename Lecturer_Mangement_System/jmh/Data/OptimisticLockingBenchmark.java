@@ -0,0 +1,168 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Many desks saving the same lecturers at once
+ *
+ * 64 writer threads each repeatedly read a random lecturer, add one to a
+ * counter kept in its phone column and save it:
+ *   - blind: the old read, then UPDATE ... WHERE lecturer_id = ? with no
+ *     version check; two writers that read the same value both save the
+ *     same +1, so increments are lost
+ *   - optimistic: LecturerDAO.getLecturer() and
+ *     updateLecturer(lecturer, version); on a conflict the writer redoes
+ *     its +1 on the row it got back, like a user merging
+ * Conflicts and errors are reported next to the throughput. At the end the
+ * counters are added up and compared with the number of saves that
+ * reported success: "lost" is the difference, and the optimistic run fails
+ * if it lost any. Run over a few hot rows (heavy contention) and over many
+ * rows.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=OptimisticLockingBenchmark
+ *
+ * Only rows whose email ends in "@occ.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class OptimisticLockingBenchmark {
+    private static final String EMAIL_DOMAIN = "@occ.bench";
+
+    @Param({ "8", "1000" })
+    private int rows;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private final AtomicLong saves = new AtomicLong();
+    private int[] ids;
+
+    /** What went wrong on one writer thread, reported per operation */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long conflicts;
+        public long errors;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+            errors = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(rows, EMAIL_DOMAIN, "Physics");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("UPDATE lecturers SET phone = '0' WHERE email LIKE ?")) {
+            stmt.setString(1, "%" + EMAIL_DOMAIN);
+            stmt.executeUpdate();
+        }
+        LecturerDAO.invalidateCache();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws SQLException {
+        try {
+            long lost = saves.get() - sumCounters();
+            System.out.printf("%d saves, %d lost%n", saves.get(), lost);
+            if (params.getBenchmark().endsWith(".optimistic") && lost != 0) {
+                throw new IllegalStateException("Optimistic run lost " + lost + " increments");
+            }
+        } finally {
+            BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    /** The old way: read, then overwrite whatever is there now */
+    @Benchmark
+    public void blind(Outcomes outcomes) {
+        int id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int counter;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT phone FROM lecturers WHERE lecturer_id = ?")) {
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    counter = Integer.parseInt(rs.getString(1));
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("UPDATE lecturers SET phone = ? WHERE lecturer_id = ?")) {
+                stmt.setString(1, Integer.toString(counter + 1));
+                stmt.setInt(2, id);
+                if (stmt.executeUpdate() > 0) {
+                    saves.incrementAndGet();
+                }
+            }
+        } catch (SQLException e) {
+            outcomes.errors++;
+        }
+    }
+
+    @Benchmark
+    public void optimistic(Outcomes outcomes) {
+        int id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        try {
+            Lecturer lecturer = dao.getLecturer(id);
+            while (lecturer != null) {
+                Lecturer edited = new Lecturer(lecturer.getId(), lecturer.getFirstName(), lecturer.getLastName(),
+                        lecturer.getEmail(), lecturer.getDepartment(),
+                        Integer.toString(Integer.parseInt(lecturer.getPhone()) + 1), lecturer.getSpecialty());
+                UpdateResult result = dao.updateLecturer(edited, lecturer.getVersion());
+                if (result.isUpdated()) {
+                    saves.incrementAndGet();
+                    return;
+                }
+                outcomes.conflicts++;
+                lecturer = result.getCurrent();
+            }
+        } catch (SQLException e) {
+            outcomes.errors++;
+        }
+    }
+
+    private static long sumCounters() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT SUM(CAST(phone AS INT)) FROM lecturers WHERE email LIKE ?")) {
+            stmt.setString(1, "%" + EMAIL_DOMAIN);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
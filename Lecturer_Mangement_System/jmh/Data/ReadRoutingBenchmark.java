@@ -0,0 +1,252 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import Util.ReadRouter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read/write splitting with a primary and two read replicas
+ *
+ * Runs against three in-memory H2 databases: a primary and two replicas
+ * with weights 3 and 1. The benchmark does the replication itself by
+ * copying the primary's rows to each replica, with the department set to
+ * the replica's name, so every lecturer read shows where it was served
+ * from. Before measuring, it checks that:
+ *   - reads are spread over the replicas by weight, none go to the primary
+ *   - right after a write, reads go to the primary and see it; once the
+ *     sticky window is over they go back to the (lagging) replicas
+ *   - a replica that goes away takes no more reads (only reads on
+ *     connections it had already handed out fail); after it is back, a
+ *     health check returns it to service
+ *   - with every replica down, reads fall back to the primary
+ * Then it times getting a read connection against getting a primary one.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=ReadRoutingBenchmark
+ *
+ * With other databases (e.g. two local MySQL servers, no replication
+ * needed) pass -Dlms.db.url, -Dlms.db.user, -Dlms.db.password and
+ * -Dlms.db.replica.N.url for each through -jvmArgsAppend; replicas going
+ * down and coming back is only simulated on H2. Only rows whose email ends
+ * in "@routing.bench" are touched, and they are deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dlms.db.url=jdbc:h2:mem:primary" + ReadRoutingBenchmark.H2, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET,
+        // IFEXISTS: once shut down, a replica stays unreachable until the benchmark recreates it
+        "-Dlms.db.replica.1.url=jdbc:h2:mem:replica1" + ReadRoutingBenchmark.H2 + ";IFEXISTS=TRUE",
+        "-Dlms.db.replica.1.weight=3",
+        "-Dlms.db.replica.2.url=jdbc:h2:mem:replica2" + ReadRoutingBenchmark.H2 + ";IFEXISTS=TRUE",
+        "-Dlms.db.replica.2.weight=1",
+        "-Dlms.db.replica.stickyMillis=" + ReadRoutingBenchmark.STICKY_MILLIS,
+        "-Dlms.db.replica.checkInterval=" + ReadRoutingBenchmark.CHECK_INTERVAL_MILLIS })
+public class ReadRoutingBenchmark {
+    static final String H2 = ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final long STICKY_MILLIS = 300;
+    static final long CHECK_INTERVAL_MILLIS = 100;
+    private static final String EMAIL_DOMAIN = "@routing.bench";
+    private static final int SEED_ROWS = 200;
+    private static final int READS = 4_000;
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, InterruptedException {
+        boolean onH2 = System.getProperty("lms.db.url", "").startsWith("jdbc:h2:");
+        if (onH2) {
+            // Before the read router first connects to them
+            createReplica(1);
+            createReplica(2);
+        }
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(SEED_ROWS, EMAIL_DOMAIN, "Physics");
+        ReadRouter router = DatabaseConnection.getReadRouter();
+        BenchmarkDatabase.check(router != null, "no read replicas configured");
+        int replicas = router.getEndpoints().size();
+        for (int n = 1; n <= replicas; n++) {
+            replicate(n);
+        }
+        Thread.sleep(STICKY_MILLIS);
+
+        // Spread by weight
+        Map<String, Integer> served = readMany();
+        System.out.printf("%d lecturer reads: %s%n", READS, served);
+        BenchmarkDatabase.check(!served.containsKey("Physics") && !served.containsKey("failed"),
+                "reads went to the primary or failed");
+        int totalWeight = 0;
+        for (ReadRouter.Endpoint endpoint : router.getEndpoints()) {
+            totalWeight += endpoint.getWeight();
+        }
+        for (int n = 1; n <= replicas; n++) {
+            double expected = (double) router.getEndpoints().get(n - 1).getWeight() / totalWeight;
+            double share = served.getOrDefault("Replica" + n, 0) / (double) READS;
+            BenchmarkDatabase.check(Math.abs(share - expected) < 0.05, "replica " + n + " got " + share + " of the reads");
+        }
+
+        // Read-your-writes: the replicas don't have this update
+        dao.updateLecturer(ids[0], "First0", "Written", "lecturer0" + EMAIL_DOMAIN, "Physics", null, null);
+        LecturerDAO.invalidateCache();
+        Lecturer fresh = dao.getLecturer(ids[0]);
+        BenchmarkDatabase.check("Written".equals(fresh.getLastName()), "a read right after a write did not see it");
+        Thread.sleep(STICKY_MILLIS + 50);
+        LecturerDAO.invalidateCache();
+        Lecturer later = dao.getLecturer(ids[0]);
+        BenchmarkDatabase.check(later.getDepartment().startsWith("Replica"),
+                "reads stayed on the primary after the sticky window");
+
+        if (onH2) {
+            // Replica 2 goes away; a read on a connection it had already
+            // handed out fails, after that the replica is left alone
+            shutdownReplica(2);
+            served = readMany();
+            System.out.printf("Replica 2 down: %s%n", served);
+            BenchmarkDatabase.check(!served.containsKey("Replica2") && !router.getEndpoints().get(1).isHealthy(),
+                    "reads still went to the stopped replica");
+            BenchmarkDatabase.check(
+                    served.getOrDefault("failed", 0) <= router.getEndpoints().get(1).getPoolStats().getMaxSize(),
+                    "more reads failed than the replica had connections");
+
+            // ... and comes back
+            createReplica(2);
+            replicate(2);
+            Thread.sleep(CHECK_INTERVAL_MILLIS * 3);
+            served = readMany();
+            BenchmarkDatabase.check(router.getEndpoints().get(1).isHealthy() && served.containsKey("Replica2"),
+                    "the replica was not taken back after it recovered");
+
+            // Every replica down: the primary serves the reads
+            shutdownReplica(1);
+            shutdownReplica(2);
+            served = readMany();
+            System.out.printf("All replicas down: %s%n", served);
+            served.remove("failed");
+            BenchmarkDatabase.check(served.size() == 1 && served.containsKey("Physics"),
+                    "reads did not fall back to the primary");
+            createReplica(1);
+            createReplica(2);
+            replicate(1);
+            replicate(2);
+            router.checkAll();
+        }
+        System.out.println("Router: " + router);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public Connection getConnection() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return conn;
+        }
+    }
+
+    @Benchmark
+    public Connection getReadConnection() throws SQLException {
+        try (Connection conn = DatabaseConnection.getReadConnection()) {
+            return conn;
+        }
+    }
+
+    /**
+     * Read lecturers from the database (not the cache), counting where each
+     * came from by its department, and failed reads as "failed"
+     */
+    private Map<String, Integer> readMany() {
+        Map<String, Integer> served = new HashMap<>();
+        for (int i = 0; i < READS; i++) {
+            LecturerDAO.invalidateCache();
+            try {
+                Lecturer lecturer = dao.getLecturer(ids[i % ids.length]);
+                served.merge(lecturer.getDepartment(), 1, Integer::sum);
+            } catch (SQLException e) {
+                served.merge("failed", 1, Integer::sum);
+            }
+        }
+        return served;
+    }
+
+    private static String replicaUrl(int n) {
+        return System.getProperty("lms.db.replica." + n + ".url").replace(";IFEXISTS=TRUE", "");
+    }
+
+    private static Connection replicaConnection(int n) throws SQLException {
+        String prefix = "lms.db.replica." + n + ".";
+        return DriverManager.getConnection(replicaUrl(n),
+                System.getProperty(prefix + "user", DatabaseConnection.USER),
+                System.getProperty(prefix + "password", DatabaseConnection.PASSWORD));
+    }
+
+    private static void createReplica(int n) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:replica" + n + H2, "sa", "")) {
+            BenchmarkDatabase.createSchema(conn);
+        }
+    }
+
+    private static void shutdownReplica(int n) throws SQLException {
+        try (Connection conn = replicaConnection(n);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+    }
+
+    /** Copy the benchmark's rows from the primary, marked as served by replica n */
+    private static void replicate(int n) throws SQLException {
+        try (Connection primary = DatabaseConnection.getConnection();
+             Connection replica = replicaConnection(n);
+             PreparedStatement read = primary.prepareStatement(
+                 "SELECT " + LecturerDAO.COLUMNS + " FROM lecturers WHERE email LIKE ?");
+             PreparedStatement clear = replica.prepareStatement("DELETE FROM lecturers WHERE email LIKE ?");
+             PreparedStatement write = replica.prepareStatement(
+                 "INSERT INTO lecturers (" + LecturerDAO.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            clear.setString(1, "%" + EMAIL_DOMAIN);
+            clear.executeUpdate();
+            read.setString(1, "%" + EMAIL_DOMAIN);
+            try (ResultSet rs = read.executeQuery()) {
+                while (rs.next()) {
+                    Lecturer lecturer = LecturerDAO.readLecturer(rs);
+                    write.setInt(1, lecturer.getId());
+                    write.setString(2, lecturer.getFirstName());
+                    write.setString(3, lecturer.getLastName());
+                    write.setString(4, lecturer.getEmail());
+                    write.setString(5, "Replica" + n);
+                    write.setString(6, lecturer.getPhone());
+                    write.setString(7, lecturer.getSpecialty());
+                    write.setInt(8, lecturer.getVersion());
+                    write.addBatch();
+                }
+            }
+            write.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package Data;
+
+import Util.DatabaseConnection;
+import Util.SqlScriptReader;
+import Util.SqlScriptRunner;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Loading a seed script: the old executeSqlFile() against SqlScriptRunner
+ *
+ * Two generated scripts, each recreating a private script_bench table and
+ * inserting ROWS rows:
+ *   - a tricky one, with ;, -- and '' inside values, comments with ; in
+ *     them and a DELIMITER $$ block; loaded once by both before measuring
+ *     and checked. The old split on ";" breaks nearly every statement of it.
+ *   - a plain one that the old code gets right, for the timings:
+ *     parseOnly (SqlScriptReader alone), old (the removed executeSqlFile():
+ *     whole file read, split on ;, statements executed one by one with
+ *     auto-commit) and runner (batches in one transaction)
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=SqlScriptBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class SqlScriptBenchmark {
+    private static final int ROWS = 20_000;
+    private static final String TRICKY_VALUE = "a;b -- not a comment; it''s \"quoted\"";
+
+    private final SqlScriptRunner runner = new SqlScriptRunner();
+    private Connection conn;
+    private Path script;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        conn = DatabaseConnection.getConnection();
+        Path tricky = Files.createTempFile("script_bench", ".sql");
+        try {
+            writeTrickyScript(tricky);
+            int statements = countStatements(tricky);
+            System.out.println("tricky script, runner: " + runner.run(conn, tricky));
+            check(TRICKY_VALUE.replace("''", "'"));
+            System.out.printf("tricky script, old: %d of %d statements succeeded%n", runOld(tricky), statements);
+        } finally {
+            Files.deleteIfExists(tricky);
+        }
+        script = Files.createTempFile("script_bench", ".sql");
+        writePlainScript(script);
+        System.out.printf("plain script: %d statements, %.1f MB%n", countStatements(script), Files.size(script) / 1e6);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws SQLException, IOException {
+        try {
+            if (!params.getBenchmark().endsWith(".parseOnly")) {
+                check("plain");
+            }
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS script_bench");
+            }
+            conn.close();
+            Files.deleteIfExists(script);
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int parseOnly() throws IOException {
+        return countStatements(script);
+    }
+
+    @Benchmark
+    public int old() throws IOException {
+        return runOld(script);
+    }
+
+    @Benchmark
+    public SqlScriptRunner.Result runner() throws SQLException, IOException {
+        return runner.run(conn, script);
+    }
+
+    private static void writePlainScript(Path script) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(script, StandardCharsets.UTF_8)) {
+            out.write("DROP TABLE IF EXISTS script_bench;\n");
+            out.write("CREATE TABLE script_bench (id INT PRIMARY KEY, note VARCHAR(100) NOT NULL);\n");
+            for (int i = 1; i <= ROWS; i++) {
+                out.write("INSERT INTO script_bench (id, note) VALUES (" + i + ", 'plain');\n");
+            }
+        }
+    }
+
+    private static void writeTrickyScript(Path script) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(script, StandardCharsets.UTF_8)) {
+            out.write("-- Generated by SqlScriptBenchmark; this comment has a ; in it\n");
+            out.write("DROP TABLE IF EXISTS script_bench;\n");
+            out.write("CREATE TABLE script_bench (\n" +
+                      "    id INT PRIMARY KEY,\n" +
+                      "    note VARCHAR(100) NOT NULL  # so does this one;\n" +
+                      ");\n");
+            out.write("/* a block comment;\n   over two lines */\n");
+            out.write("DELIMITER $$\n");
+            out.write("DELETE FROM script_bench WHERE note = 'x;y'$$\n");
+            out.write("DELIMITER ;\n");
+            for (int i = 1; i <= ROWS; i++) {
+                out.write("INSERT INTO script_bench (id, note) VALUES (" + i + ", '" + TRICKY_VALUE + "');\n");
+            }
+        }
+    }
+
+    /** Every row loaded, with its value intact */
+    private void check(String expected) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*), MIN(note), MAX(note) FROM script_bench")) {
+            rs.next();
+            BenchmarkDatabase.check(rs.getInt(1) == ROWS && expected.equals(rs.getString(2)) && expected.equals(rs.getString(3)),
+                    "script loaded " + rs.getInt(1) + " rows, note " + rs.getString(2));
+        }
+    }
+
+    private static int countStatements(Path script) throws IOException {
+        int count = 0;
+        try (SqlScriptReader reader = new SqlScriptReader(Files.newBufferedReader(script, StandardCharsets.UTF_8))) {
+            while (reader.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The old executeSqlFile(): whole file into a String, split on ;,
+     * comment lines skipped, each piece executed on its own with
+     * auto-commit and failures skipped (the old code also logged each one)
+     * @return how many statements succeeded
+     */
+    private int runOld(Path script) throws IOException {
+        String sql = new String(Files.readAllBytes(script), StandardCharsets.UTF_8);
+        int succeeded = 0;
+        for (String statement : sql.split(";")) {
+            String trimmed = statement.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(trimmed);
+                succeeded++;
+            } catch (SQLException e) {
+                // Skipped
+            }
+        }
+        return succeeded;
+    }
+}
@@ -0,0 +1,131 @@
+package Data;
+
+import Model.Lecturer;
+import Util.ConnectionPool;
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What the per-connection PreparedStatement cache saves on each DAO call
+ *
+ * Runs the statements LecturerDAO and AdminDAO send (borrow a connection,
+ * prepare, bind, execute, read, close) through a connection pool with
+ * statementCacheSize 0, which re-prepares the SQL on every call like
+ * before, and with DatabaseConnection's default, which reuses the prepared
+ * statement. "prepareOnly" leaves out the execution, so it shows the parse
+ * cost by itself.
+ *
+ *   mvn -Pbenchmarks verify -Djmh.args=StatementCacheBenchmark
+ *
+ * Against MySQL the default URL also turns on the driver's own cache and
+ * server-side statements, so the uncached pool still skips most server
+ * parsing there; the pool cache then saves the driver work and the
+ * wrapper objects.
+ *
+ * Only rows whose email ends in "@stmt.bench" are touched, and they are
+ * deleted when done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkDatabase.H2_URL, BenchmarkDatabase.H2_USER,
+        BenchmarkDatabase.H2_PASSWORD, BenchmarkDatabase.QUIET })
+public class StatementCacheBenchmark {
+    private static final String EMAIL_DOMAIN = "@stmt.bench";
+    private static final int SEED_ROWS = 1_000;
+
+    private static final String GET_LECTURER_SQL =
+        "SELECT " + LecturerDAO.COLUMNS + " FROM lecturers WHERE lecturer_id = ?";
+    private static final String UPDATE_LECTURER_SQL =
+        "UPDATE lecturers SET first_name = ?, last_name = ?, email = ?, department = ?, phone = ?, specialty = ? WHERE lecturer_id = ?";
+    private static final String FIND_PASSWORD_SQL = "SELECT password FROM admin WHERE username = ?";
+
+    @Param({ "0", "64" })
+    private int statementCacheSize;
+
+    private ConnectionPool pool;
+    private int[] ids;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        ids = BenchmarkDatabase.seed(SEED_ROWS, EMAIL_DOMAIN, "Physics");
+        pool = new ConnectionPool(DatabaseConnection.URL, DatabaseConnection.USER, DatabaseConnection.PASSWORD,
+                1, 2, 5_000, 60_000, 0, statementCacheSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        System.out.println("Pool: " + pool.getStats());
+        pool.shutdown();
+        BenchmarkDatabase.cleanUp(EMAIL_DOMAIN);
+        DatabaseConnection.shutdown();
+    }
+
+    @Benchmark
+    public PreparedStatement prepareOnly() throws SQLException {
+        try (Connection conn = pool.borrow();
+             PreparedStatement stmt = conn.prepareStatement(GET_LECTURER_SQL)) {
+            return stmt;
+        }
+    }
+
+    @Benchmark
+    public Lecturer getLecturerQuery() throws SQLException {
+        try (Connection conn = pool.borrow();
+             PreparedStatement stmt = conn.prepareStatement(GET_LECTURER_SQL)) {
+            stmt.setInt(1, ids[counter++ % ids.length]);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? LecturerDAO.readLecturer(rs) : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public int updateLecturerStatement() throws SQLException {
+        int n = counter++ % ids.length;
+        try (Connection conn = pool.borrow();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_LECTURER_SQL)) {
+            stmt.setString(1, "First" + n);
+            stmt.setString(2, "Updated" + counter);
+            stmt.setString(3, "lecturer" + n + EMAIL_DOMAIN);
+            stmt.setString(4, "Physics");
+            stmt.setString(5, null);
+            stmt.setString(6, null);
+            stmt.setInt(7, ids[n]);
+            return stmt.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public String adminPasswordLookup() throws SQLException {
+        try (Connection conn = pool.borrow();
+             PreparedStatement stmt = conn.prepareStatement(FIND_PASSWORD_SQL)) {
+            stmt.setString(1, BenchmarkDatabase.ADMIN_USER);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+}
@@ -6,9 +6,11 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import Data.LecturerDAO;
-import java.sql.SQLException;
+import Util.Logger;
 
 public class AddLecturerInfo {
+    private static final Logger log = Logger.get(AddLecturerInfo.class);
+
     @FXML private TextField staffNumberField;
     @FXML private TextField officeNumberField;
     @FXML private TextField staffNameField;
@@ -28,22 +30,20 @@ public class AddLecturerInfo {
             return;
         }
 
-        try {
-            String[] names = staffNameField.getText().trim().split(" ", 2);
-            String firstName = names[0];
-            String lastName = names.length > 1 ? names[1] : "";
-
-            // Save to database
-            LecturerDAO lecturerDAO = new LecturerDAO();
-            lecturerDAO.addLecturer(
-                firstName,
-                lastName,
-                staffNumberField.getText().trim(),
-                buildingLocationField.getText().trim(),
-                phoneField.getText().trim(),
-                specialtyField.getText().trim()
-            );
+        String[] names = staffNameField.getText().trim().split(" ", 2);
+        String firstName = names[0];
+        String lastName = names.length > 1 ? names[1] : "";
+        String email = staffNumberField.getText().trim();
+        String department = buildingLocationField.getText().trim();
+        String phone = phoneField.getText().trim();
+        String specialty = specialtyField.getText().trim();
 
+        // Save to database in the background
+        LecturerDAO lecturerDAO = new LecturerDAO();
+        UiTasks.run(this, () -> {
+            lecturerDAO.addLecturer(firstName, lastName, email, department, phone, specialty);
+            return null;
+        }, result -> {
             // Show success message
             Alert successAlert = new Alert(AlertType.INFORMATION);
             successAlert.setTitle("Success");
@@ -51,18 +51,12 @@ public class AddLecturerInfo {
             successAlert.setContentText("Lecturer added successfully!");
             successAlert.showAndWait();
 
-            // Return to faculty screen and refresh
+            // Return to faculty screen; it adds the new card itself (see LecturerEvents)
             NavigationStack.pop();
-            
-            // Get the FacultyLecturers controller and refresh the cards
-            Object currentController = NavigationStack.getCurrentController();
-            if (currentController instanceof FacultyLecturers) {
-                ((FacultyLecturers) currentController).loadLecturerCards();
-            }
-        } catch (SQLException e) {
-            showError("Failed to add lecturer: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            showError("Failed to add lecturer: " + error.getMessage());
+            log.error("Failed to add lecturer", error);
+        });
     }
 
     @FXML
@@ -0,0 +1,49 @@
+package Controller;
+
+import Model.CourseCardModel;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * CourseCardCell - One reusable course card inside the CourseCatalog ListView
+ *
+ * Works like LecturerCardCell: /View/CourseCatalog2.fxml is loaded once per
+ * cell and rebound through CourseCatalog2.setCourse() while scrolling.
+ * When the last loaded course comes into view the cell calls onLastShown,
+ * which CourseCatalog uses to fetch the next page.
+ */
+public class CourseCardCell extends ListCell<CourseCardModel> {
+    private final Node cardView;
+    private final CourseCatalog2 cardController;
+    private final Runnable onLastShown;
+
+    public CourseCardCell(Runnable onLastShown) {
+        this.onLastShown = onLastShown;
+        try {
+            FXMLLoader cardLoader = new FXMLLoader(getClass().getResource("/View/CourseCatalog2.fxml"));
+            cardView = cardLoader.load();
+            cardController = cardLoader.getController();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load course card layout", e);
+        }
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(CourseCardModel course, boolean empty) {
+        super.updateItem(course, empty);
+        if (empty || course == null) {
+            setGraphic(null);
+        } else {
+            cardController.setCourse(course);
+            setGraphic(cardView);
+            if (getIndex() == getListView().getItems().size() - 1) {
+                onLastShown.run();
+            }
+        }
+    }
+}
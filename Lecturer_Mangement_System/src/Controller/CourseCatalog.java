@@ -1,15 +1,21 @@
 package Controller;
-import Data.CourseCatalog2Data;
+import Data.CourseAssignmentDAO;
+import Data.CourseDAO;
+import Model.Course;
 import Model.CourseCardModel;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.VBox;
-import java.io.IOException;
+import javafx.scene.control.ListView;
 import java.net.URL;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import Util.Logger;
 
 /**
  * CourseCatalog - Controller for the course listing screen
@@ -19,70 +25,104 @@ import java.util.ResourceBundle;
  * - Add new courses
  * - Log out
  *
+ * Courses are loaded PAGE_SIZE at a time: the first page when the screen is
+ * shown, the next one when the user scrolls to the end of the list. Each
+ * page costs two queries (the courses, then the lecturer names for all of
+ * them), and only the visible cards are ever built (see CourseCardCell).
+ *
  * Navigation examples:
  * - "Add New Course" button pushes AddCourseInfo screen
  * - "Logout" returns to login (pops back to root)
  *
  * Resource path: /View/CourseCatalog.fxml
  */
-public class CourseCatalog implements Initializable {
+public class CourseCatalog implements Initializable, ReusableScreen {
+    private static final Logger log = Logger.get(CourseCatalog.class);
+
+    /** Courses fetched per query */
+    private static final int PAGE_SIZE = 50;
 
     @FXML
-    private ScrollPane CourseScrollP;
+    private ListView<CourseCardModel> courseList;
 
-    private VBox cardContainer;
+    private int lastCourseId;
+    private boolean loading;
+    private boolean hasMore;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Create a VBox container for vertical layout
-        cardContainer = new VBox();
-        cardContainer.setSpacing(15); // Space between cards
-        cardContainer.setStyle("-fx-padding: 10;"); // Add some padding around the container
-        
-        // Set the VBox as the content of the ScrollPane
-        CourseScrollP.setContent(cardContainer);
-        
-        // Load all course cards
-        loadCourseCards();
+        courseList.setCellFactory(list -> new CourseCardCell(this::loadNextPage));
+        courseList.setFocusTraversable(false);
+    }
+
+    /**
+     * Each time the screen is pushed, start again from the first page
+     */
+    @Override
+    public void onShow() {
+        refreshCards();
+    }
+
+    // Method to refresh/reload cards
+    public void refreshCards() {
+        UiTasks.cancelAll(this);
+        lastCourseId = 0;
+        hasMore = true;
+        loading = false;
+        courseList.getItems().clear();
+        loadNextPage();
     }
 
-    private void loadCourseCards() {
-        try {
-            // Loop through all the dummy data and create cards
-            for (int i = 0; i < CourseCatalog2Data.CourseTitle.length; i++) {
-                // Create a new course model with data
-                CourseCardModel course = new CourseCardModel(
-                    CourseCatalog2Data.CourseTitle[i],
-                    CourseCatalog2Data.LecturerTitle[i],
-                    CourseCatalog2Data.CourseInfo[i]
-                );
-
-                // Load the FXML for individual card
-                FXMLLoader cardLoader = new FXMLLoader(getClass().getResource("/View/CourseCatalog2.fxml"));
-                
-                // Load the card view
-                javafx.scene.Node cardView = cardLoader.load();
-                
-                // Get the controller and set the data
-                CourseCatalog2 cardController = cardLoader.getController();
-                cardController.setCourse(course);
-                
-                // Add the card to the VBox container (this makes them stack vertically)
-                cardContainer.getChildren().add(cardView);
+    /**
+     * Fetch the page after the last loaded course, unless one is already on
+     * its way or the end of the table was reached
+     */
+    private void loadNextPage() {
+        if (loading || !hasMore) {
+            return;
+        }
+        loading = true;
+
+        int afterId = lastCourseId;
+        UiTasks.run(this, () -> loadPage(afterId), page -> {
+            loading = false;
+            hasMore = page.size() == PAGE_SIZE;
+            if (!page.isEmpty()) {
+                lastCourseId = page.get(page.size() - 1).getCourseId();
+                courseList.getItems().addAll(page);
             }
-            
-            System.out.println("Successfully loaded " + CourseCatalog2Data.CourseTitle.length + " course cards");
-            
-        } catch (IOException e) {
-            System.err.println("Error loading course cards: " + e.getMessage());
-            e.printStackTrace();
+            if (!hasMore) {
+                log.info("Loaded course cards", "count", courseList.getItems().size());
+            }
+        }, error -> {
+            loading = false;
+            showError("Database Error", "Failed to load courses: " + error.getMessage());
+            log.error("Failed to load courses", error);
+        });
+    }
+
+    /** Runs in the background: one page of courses plus their lecturers */
+    private static List<CourseCardModel> loadPage(int afterId) throws SQLException {
+        List<Course> courses = new CourseDAO().getCoursesPage(afterId, PAGE_SIZE);
+        List<Integer> ids = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            ids.add(course.getId());
+        }
+        Map<Integer, List<String>> lecturers = new CourseAssignmentDAO().getLecturerNamesForCourses(ids);
+
+        List<CourseCardModel> cards = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            cards.add(course.toCardModel(lecturers.getOrDefault(course.getId(), List.of())));
         }
+        return cards;
     }
 
-    // Method to refresh/reload cards (optional)
-    public void refreshCards() {
-        cardContainer.getChildren().clear();
-        loadCourseCards();
+    private void showError(String title, String message) {
+        Alert alert = new Alert(AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
     }
 
     @FXML
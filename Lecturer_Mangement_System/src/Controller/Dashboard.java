@@ -0,0 +1,104 @@
+package Controller;
+
+import Data.LecturerCounts;
+import Data.LecturerEvents;
+import Data.LecturerStats;
+import Util.LatencyTimer;
+import Util.Logger;
+import Util.Metrics;
+import java.net.URL;
+import java.util.Map;
+import java.util.ResourceBundle;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Duration;
+
+/**
+ * Dashboard - Lecturer headcounts per department and per specialty
+ *
+ * The counts come from Data.LecturerStats. The first visit has the database
+ * count them with one GROUP BY; later visits read the counters that every
+ * lecturer write keeps up to date, so the screen opens in the same time
+ * however many lecturers there are. While it is open, lecturers added,
+ * edited or deleted here or at other desks update the numbers.
+ */
+public class Dashboard implements Initializable, ReusableScreen {
+    private static final Logger log = Logger.get(Dashboard.class);
+
+    /** Wait this long after a change before re-reading the counts */
+    private static final Duration REFRESH_DELAY = Duration.millis(250);
+
+    /** From asking for the counts until they are on screen */
+    private static final LatencyTimer LOAD_TIMER = Metrics.timer("Dashboard.loadCounts");
+
+    @FXML private Label totalLabel;
+    @FXML private TableView<Map.Entry<String, Long>> departmentTable;
+    @FXML private TableColumn<Map.Entry<String, Long>, String> departmentColumn;
+    @FXML private TableColumn<Map.Entry<String, Long>, Number> departmentCountColumn;
+    @FXML private TableView<Map.Entry<String, Long>> specialtyTable;
+    @FXML private TableColumn<Map.Entry<String, Long>, String> specialtyColumn;
+    @FXML private TableColumn<Map.Entry<String, Long>, Number> specialtyCountColumn;
+
+    private final PauseTransition refreshDebounce = new PauseTransition(REFRESH_DELAY);
+
+    /** Kept in a field because LecturerEvents only holds it weakly */
+    private final LecturerEvents.Listener changeListener =
+            event -> Platform.runLater(refreshDebounce::playFromStart);
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        departmentColumn.setCellValueFactory(row -> new ReadOnlyStringWrapper(row.getValue().getKey()));
+        departmentCountColumn.setCellValueFactory(row -> new ReadOnlyLongWrapper(row.getValue().getValue()));
+        specialtyColumn.setCellValueFactory(row -> new ReadOnlyStringWrapper(
+                row.getValue().getKey() != null ? row.getValue().getKey() : "Not provided"));
+        specialtyCountColumn.setCellValueFactory(row -> new ReadOnlyLongWrapper(row.getValue().getValue()));
+
+        // A burst of changes (an import, a sync poll) refreshes the screen once
+        refreshDebounce.setOnFinished(event -> loadCounts());
+        LecturerEvents.subscribe(changeListener);
+    }
+
+    @Override
+    public void onShow() {
+        loadCounts();
+    }
+
+    private void loadCounts() {
+        long start = System.nanoTime();
+        UiTasks.run(this, () -> LecturerStats.getInstance().getCounts(), counts -> {
+            showCounts(counts);
+            LOAD_TIMER.stop(start);
+        }, error -> {
+            showError("Database Error", "Failed to count lecturers: " + error.getMessage());
+            log.error("Failed to count lecturers", error);
+        });
+    }
+
+    private void showCounts(LecturerCounts counts) {
+        totalLabel.setText("Total Lecturers: " + counts.getTotal());
+        departmentTable.getItems().setAll(counts.getByDepartment().entrySet());
+        specialtyTable.getItems().setAll(counts.getBySpecialty().entrySet());
+    }
+
+    @FXML
+    private void handleBack() {
+        NavigationStack.pop();
+    }
+
+    private void showError(String title, String message) {
+        Alert alert = new Alert(AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
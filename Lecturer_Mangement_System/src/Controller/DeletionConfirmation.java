@@ -5,8 +5,10 @@ import Model.LectureCardModel;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
+import Util.Logger;
 
 public class DeletionConfirmation {
+    private static final Logger log = Logger.get(DeletionConfirmation.class);
 
     @FXML
     private void handleDeletionConfirmation() {
@@ -14,23 +16,24 @@ public class DeletionConfirmation {
         Object data = NavigationStack.getData();
         if (data instanceof LectureCardModel) {
             LectureCardModel card = (LectureCardModel) data;
-            try {
-                LecturerDAO dao = new LecturerDAO();
+            LecturerDAO dao = new LecturerDAO();
+            UiTasks.run(this, () -> {
                 dao.deleteLecturer(card.getLecturerId());
-
+                return null;
+            }, result -> {
                 // Clear the shared data
                 NavigationStack.setData(null);
 
                 // Show confirmation message screen
                 NavigationStack.push("/View/DeletionMessage.fxml", "Deletion Message");
-            } catch (Exception e) {
-                e.printStackTrace();
+            }, error -> {
+                log.error("Failed to delete lecturer", error);
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Deletion Error");
                 alert.setHeaderText(null);
-                alert.setContentText("Failed to delete lecturer: " + e.getMessage());
+                alert.setContentText("Failed to delete lecturer: " + error.getMessage());
                 alert.showAndWait();
-            }
+            });
         } else {
             // No lecturer selected - show error
             Alert alert = new Alert(AlertType.ERROR);
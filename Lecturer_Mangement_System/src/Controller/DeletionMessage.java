@@ -6,15 +6,13 @@ public class DeletionMessage {
     
     @FXML
     private void handleReturnHome() {
-        // After deletion, go back to the faculty list and refresh it
+        // After deletion, go back to the faculty list
         NavigationStack.pop(); // remove DeletionMessage
         NavigationStack.pop(); // remove DeletionConfirmation
 
-        // Now the FacultyLecturers screen should be on top; get its controller and refresh
-        Object controller = NavigationStack.getCurrentController();
-        if (controller instanceof FacultyLecturers) {
-            ((FacultyLecturers) controller).loadLecturerCards();
-        } else {
+        // FacultyLecturers already patched its card when the change was saved
+        // (see LecturerEvents), so there is nothing to reload
+        if (!(NavigationStack.getCurrentController() instanceof FacultyLecturers)) {
             // If not found, navigate to FacultyLecturers to be safe
             NavigationStack.push("/View/FacultyLecturers.fxml", "Faculty Lecturers");
         }
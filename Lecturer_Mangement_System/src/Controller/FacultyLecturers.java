@@ -1,85 +1,199 @@
 package Controller;
 
+import Data.CompactLecturerStore;
+import Data.CompactLecturerStore.Row;
+import Data.LecturerChangeEvent;
 import Data.LecturerDAO;
+import Data.LecturerEvents;
+import Data.LecturerSearchIndex;
 import Model.Lecturer;
-import Model.LectureCardModel;
+import Util.LatencyTimer;
+import Util.Logger;
+import Util.Metrics;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.VBox;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.util.Duration;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
-import java.io.IOException;
 import java.net.URL;
-import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 
-public class FacultyLecturers implements Initializable {
+public class FacultyLecturers implements Initializable, ReusableScreen {
+    private static final Logger log = Logger.get(FacultyLecturers.class);
+
+    /** Lecturers fetched per query while filling the list */
+    private static final int PAGE_SIZE = 200;
+
+    /** Wait this long after the last keystroke before searching */
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+    private static final int MAX_SEARCH_RESULTS = 500;
+
+    /** From asking for the first page until the last one is on screen */
+    private static final LatencyTimer LOAD_ALL_TIMER = Metrics.timer("FacultyLecturers.loadLecturerCards");
+    private static final LatencyTimer SEARCH_TIMER = Metrics.timer("FacultyLecturers.search");
+
+    @FXML
+    private ListView<Row> lecturerList;
 
     @FXML
-    private ScrollPane LecturerScrollP;
+    private TextField searchField;
+
+    private final PauseTransition searchDebounce = new PauseTransition(SEARCH_DELAY);
 
-    private VBox cardContainer;
+    /** Every lecturer, in id order; the list shows this unless a search is running */
+    private final LecturerRowList allLecturers = new LecturerRowList();
+
+    /** Kept in a field because LecturerEvents only holds it weakly */
+    private final LecturerEvents.Listener changeListener = event -> Platform.runLater(() -> applyChange(event));
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        // Create a VBox container for vertical layout
-        cardContainer = new VBox();
-        cardContainer.setSpacing(15); // Space between cards
-        cardContainer.setStyle("-fx-padding: 10;"); // Add some padding around the container
+        // Cards are recycled by the ListView, so only the visible ones are ever built
+        lecturerList.setCellFactory(list -> new LecturerCardCell());
+        lecturerList.setItems(allLecturers);
+        lecturerList.setFocusTraversable(false);
 
-        // Set the VBox as the content of the ScrollPane
-        LecturerScrollP.setContent(cardContainer);
+        // Search once the user stops typing for a moment
+        searchDebounce.setOnFinished(event -> runSearch());
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
 
-        // Load all lecturer cards
+        // Lecturers added, edited or deleted on other screens show up here without a reload
+        LecturerEvents.subscribe(changeListener);
+    }
+
+    /**
+     * Each time the screen is pushed (it may be prebuilt or reused after a
+     * logout), start from an empty search and load all lecturer cards
+     */
+    @Override
+    public void onShow() {
+        searchField.clear();
+        searchDebounce.stop();
         loadLecturerCards();
     }
 
     public void loadLecturerCards() {
-        try {
-            // Clear existing cards
-            cardContainer.getChildren().clear();
-
-            // Get lecturers from database
-            LecturerDAO lecturerDAO = new LecturerDAO();
-
-            List<Lecturer> lecturers = lecturerDAO.getAllLecturers();
-
-            // Create cards for each lecturer if any exist
-            if (!lecturers.isEmpty()) {
-                 
-                for (Lecturer lecturer : lecturers) {
-                    // Convert Lecturer to LecturerCardModel
-                    LectureCardModel cardModel = lecturer.toCardModel();
-                    
-                    // Load the FXML for individual card
-                    FXMLLoader cardLoader = new FXMLLoader(getClass().getResource("/View/FacultyLecturers2.fxml"));
-
-                    // Load the card view
-                    javafx.scene.Node cardView = cardLoader.load();
-
-                    // Get the controller and set the data
-                    FacultyLecturers2 cardController = cardLoader.getController();
-                    cardController.setLecturer(cardModel);
-
-                    // Add the card to the VBox container
-                    cardContainer.getChildren().add(cardView);
-                }
+        String query = searchField.getText();
+        if (query != null && !query.trim().isEmpty()) {
+            // Keep showing the search results, refreshed
+            runSearch();
+            return;
+        }
+        // Drop any page still loading from a previous refresh
+        UiTasks.cancelAll(this);
+        loadPage(0, System.nanoTime());
+    }
+
+    /**
+     * Show the lecturers matching the search box, or everyone if it is empty.
+     * The first search loads the index from the database in the background;
+     * after that each search only touches memory.
+     */
+    private void runSearch() {
+        String query = searchField.getText().trim();
+        UiTasks.cancelAll(this);
+        if (query.isEmpty()) {
+            loadPage(0, System.nanoTime());
+            return;
+        }
 
-                System.out.println("Successfully loaded " + lecturers.size() + " lecturer cards");
+        LecturerSearchIndex index = LecturerSearchIndex.getInstance();
+        long start = System.nanoTime();
+        UiTasks.run(this, () -> {
+            index.ensureBuilt();
+            return index.search(query, MAX_SEARCH_RESULTS);
+        }, results -> {
+            // The results keep their ranking; the store only holds their values
+            CompactLecturerStore found = new CompactLecturerStore(results.size());
+            found.putAll(results);
+            List<Row> rows = new ArrayList<>(results.size());
+            for (Lecturer lecturer : results) {
+                rows.add(found.find(lecturer.getId()));
             }
-        } catch (SQLException e) {
-            showError("Database Error", "Failed to load lecturers: " + e.getMessage());
-            e.printStackTrace();
-        } catch (IOException e) {
-            showError("Layout Error", "Failed to create lecturer cards: " + e.getMessage());
-            e.printStackTrace();
+            lecturerList.setItems(FXCollections.observableArrayList(rows));
+            SEARCH_TIMER.stop(start);
+        }, error -> {
+            showError("Search Error", "Failed to search lecturers: " + error.getMessage());
+            log.error("Lecturer search failed", error);
+        });
+    }
+
+    /**
+     * Patch the one card a write affected (runs on the FX thread)
+     *
+     * Outside a search the list is in id order, so the card is found with a
+     * binary search and only its cell is rebound; nothing is re-queried and
+     * no other card is touched. Search results are ranked, not in id order,
+     * so a search is simply run again against the (already patched) index.
+     */
+    private void applyChange(LecturerChangeEvent event) {
+        if (event.getType() == LecturerChangeEvent.Type.RELOADED) {
+            loadLecturerCards();
+            return;
+        }
+        if (!searchField.getText().trim().isEmpty()) {
+            runSearch();
+            return;
+        }
+
+        int index = allLecturers.indexOfId(event.getLecturerId());
+        switch (event.getType()) {
+            case INSERTED:
+                if (index >= 0 || -index - 1 < allLecturers.size() || !UiTasks.hasPending(this)) {
+                    // While later pages are still loading, a new (highest) id arrives with them
+                    allLecturers.put(event.getLecturer());
+                }
+                break;
+            case UPDATED:
+                if (index >= 0) {
+                    allLecturers.put(event.getLecturer());
+                }
+                break;
+            case DELETED:
+                allLecturers.removeId(event.getLecturerId());
+                break;
+            default:
+                break;
         }
     }
 
+    /**
+     * Load one page of lecturers in the background, show it, then fetch the next.
+     * The first page replaces the current list so the screen fills as soon as
+     * it arrives instead of waiting for the whole table.
+     * @param start System.nanoTime() when the first page was asked for
+     */
+    private void loadPage(int afterId, long start) {
+        LecturerDAO lecturerDAO = new LecturerDAO();
+        UiTasks.run(this, () -> lecturerDAO.getLecturersPage(afterId, PAGE_SIZE), page -> {
+            if (afterId == 0) {
+                lecturerList.setItems(allLecturers);
+                allLecturers.setAll(page);
+            } else {
+                allLecturers.addAll(page);
+            }
+
+            if (page.size() == PAGE_SIZE) {
+                loadPage(page.get(page.size() - 1).getId(), start);
+            } else {
+                allLecturers.trimToSize();
+                LOAD_ALL_TIMER.stop(start);
+                log.info("Loaded lecturer cards", "count", allLecturers.size());
+            }
+        }, error -> {
+            showError("Database Error", "Failed to load lecturers: " + error.getMessage());
+            log.error("Failed to load lecturers", error);
+        });
+    }
+
     private void showMessage(String title, String message) {
         Alert alert = new Alert(AlertType.INFORMATION);
         alert.setTitle(title);
@@ -103,6 +217,11 @@ public class FacultyLecturers implements Initializable {
         NavigationStack.push("/View/AddLecturerInfo.fxml", "Add Lecturer Info");
     }
 
+    @FXML
+    private void handleDashboard(ActionEvent event) {
+        NavigationStack.push("/View/Dashboard.fxml", "Faculty Dashboard");
+    }
+
     @FXML
     private void handleLogout(ActionEvent event) {
 
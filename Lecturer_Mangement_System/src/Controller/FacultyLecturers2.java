@@ -1,4 +1,5 @@
 package Controller;
+import Data.CompactLecturerStore.Row;
 import Model.LectureCardModel;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -12,25 +13,52 @@ public class FacultyLecturers2 {
     @FXML private Label phoneNumber;
     @FXML private Label specialty;
 
-    @SuppressWarnings("unused")
     private LectureCardModel lecturerCard; 
+    private Row row;   // the lecturer shown, if set from a list row
 
     // Populate individual card with data
     public void setLecturer(LectureCardModel lecturerCard) {
         this.lecturerCard = lecturerCard;
+        this.row = null;
+        show(lecturerCard.getFirstName(), lecturerCard.getLastName(), lecturerCard.getLecturerId(),
+                lecturerCard.getDepartment(), lecturerCard.getEmail(), lecturerCard.getPhone(),
+                lecturerCard.getSpecialty());
+    }
+
+    /**
+     * Show a row of the Faculty Lecturers list; its card model is only made
+     * if the lecturer is edited or deleted
+     */
+    public void setLecturer(Row row) {
+        this.lecturerCard = null;
+        this.row = row;
+        show(row.getFirstName(), row.getLastName(), row.getId(), row.getDepartment(), row.getEmail(),
+                row.getPhone(), row.getSpecialty());
+    }
 
-        // Setting the cards properties using the model's getters
-        staffName.setText(lecturerCard.getFirstName() + " " + lecturerCard.getLastName());
-        staffNumber.setText("Staff Number: " + lecturerCard.getLecturerId());
-        officeNumber.setText("Office Number: " + lecturerCard.getDepartment());
-        buildingLocation.setText("Building Location: " + lecturerCard.getEmail());
-        phoneNumber.setText("Phone: " + (lecturerCard.getPhone() != null ? lecturerCard.getPhone() : "Not provided"));
-        specialty.setText("Specialty: " + (lecturerCard.getSpecialty() != null ? lecturerCard.getSpecialty() : "Not provided"));
+    private void show(String firstName, String lastName, int id, String department, String email,
+                      String phone, String specialtyText) {
+        // Setting the card's labels
+        staffName.setText(firstName + " " + lastName);
+        staffNumber.setText("Staff Number: " + id);
+        officeNumber.setText("Office Number: " + department);
+        buildingLocation.setText("Building Location: " + email);
+        phoneNumber.setText("Phone: " + (phone != null ? phone : "Not provided"));
+        specialty.setText("Specialty: " + (specialtyText != null ? specialtyText : "Not provided"));
+    }
+
+    /** The card model for this card, made from its row the first time it is needed */
+    private LectureCardModel card() {
+        if (lecturerCard == null && row != null && row.isPresent()) {
+            lecturerCard = row.toCardModel();
+        }
+        return lecturerCard;
     }
 
     @FXML
     private void handleEdit() {
         // Make sure we have lecturer data to edit
+        LectureCardModel lecturerCard = card();
         if (lecturerCard != null) {
             // Set the lecturer data to be passed to the edit screen
             NavigationStack.setData(lecturerCard);
@@ -43,6 +71,7 @@ public class FacultyLecturers2 {
     private void handleDelete() {
         // Logic to delete the lecturer can be added here
         // Pass the selected lecturer model to the confirmation screen
+        LectureCardModel lecturerCard = card();
         if (lecturerCard != null) {
             NavigationStack.setData(lecturerCard);
         }
@@ -0,0 +1,57 @@
+package Controller;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * FrameStallMonitor - Measures how long the JavaFX Application Thread is blocked
+ *
+ * JavaFX draws a frame on every pulse (about 60 per second). When the FX thread
+ * is busy, e.g. running a JDBC query, pulses stop and the UI freezes. This
+ * monitor records the gap between pulses and counts every gap longer than
+ * STALL_THRESHOLD_MILLIS as a stall.
+ *
+ * Enable it by starting the application with -Dlms.frameStalls=true; a summary
+ * is logged when the application exits. Compare runs before and after a change
+ * to see whether UI freezes went away.
+ */
+public class FrameStallMonitor extends AnimationTimer {
+    private static final long STALL_THRESHOLD_MILLIS = 50;
+
+    private long lastPulse;
+    private long frames;
+    private long stalls;
+    private long stalledNanos;
+    private long longestStallNanos;
+
+    @Override
+    public void handle(long now) {
+        if (lastPulse != 0) {
+            long gap = now - lastPulse;
+            if (gap > STALL_THRESHOLD_MILLIS * 1_000_000L) {
+                stalls++;
+                stalledNanos += gap;
+                longestStallNanos = Math.max(longestStallNanos, gap);
+            }
+        }
+        lastPulse = now;
+        frames++;
+    }
+
+    public long getFrames() { return frames; }
+    public long getStalls() { return stalls; }
+    public double getStalledMillis() { return stalledNanos / 1_000_000.0; }
+    public double getLongestStallMillis() { return longestStallNanos / 1_000_000.0; }
+
+    /**
+     * Whether monitoring was requested on the command line
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("lms.frameStalls");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d, stalls(>%d ms)=%d, stalled=%.1f ms, longest=%.1f ms",
+                frames, STALL_THRESHOLD_MILLIS, stalls, getStalledMillis(), getLongestStallMillis());
+    }
+}
@@ -0,0 +1,48 @@
+package Controller;
+
+import Data.CompactLecturerStore.Row;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * LecturerCardCell - One reusable lecturer card inside the FacultyLecturers ListView
+ *
+ * The ListView only creates as many cells as fit on screen (plus a few spare).
+ * Each cell loads /View/FacultyLecturers2.fxml once and, as the user scrolls,
+ * is rebound to a different lecturer through FacultyLecturers2.setLecturer().
+ * So the number of card nodes stays the same no matter how many lecturers
+ * are in the list. Items are CompactLecturerStore rows, read straight into
+ * the card's labels; a LectureCardModel is only made if the card is edited
+ * or deleted.
+ */
+public class LecturerCardCell extends ListCell<Row> {
+    private final Node cardView;
+    private final FacultyLecturers2 cardController;
+
+    public LecturerCardCell() {
+        try {
+            FXMLLoader cardLoader = new FXMLLoader(getClass().getResource("/View/FacultyLecturers2.fxml"));
+            cardView = cardLoader.load();
+            cardController = cardLoader.getController();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load lecturer card layout", e);
+        }
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(Row lecturer, boolean empty) {
+        super.updateItem(lecturer, empty);
+        if (empty || lecturer == null) {
+            setGraphic(null);
+        } else {
+            // Rebind the existing card instead of building a new one
+            cardController.setLecturer(lecturer);
+            setGraphic(cardView);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Controller;
+
+import Data.CompactLecturerStore;
+import Data.CompactLecturerStore.Row;
+import Model.Lecturer;
+import java.util.List;
+import javafx.collections.ObservableListBase;
+
+/**
+ * LecturerRowList - The Faculty Lecturers ListView's items, kept in a CompactLecturerStore
+ *
+ * The ListView only asks for the rows it shows, and each one is a Row view
+ * made on request, so a full list of lecturers costs the store's arrays
+ * rather than a Lecturer object per lecturer. Changes go through the
+ * methods below, which tell the ListView which rows changed.
+ *
+ * Only used on the JavaFX Application Thread.
+ */
+class LecturerRowList extends ObservableListBase<Row> {
+    private CompactLecturerStore store = new CompactLecturerStore();
+
+    @Override
+    public Row get(int index) {
+        return store.row(index);
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    /** Binary search by id, see CompactLecturerStore.indexOf() */
+    int indexOfId(int id) {
+        return store.indexOf(id);
+    }
+
+    /**
+     * Replace every row with these lecturers
+     * They go into a new store, so views of the old rows handed out earlier
+     * still read their old values.
+     */
+    void setAll(List<Lecturer> lecturers) {
+        CompactLecturerStore old = store;
+        store = new CompactLecturerStore(Math.max(lecturers.size(), 16));
+        store.putAll(lecturers);
+        beginChange();
+        if (old.size() > 0) {
+            nextRemove(0, old.rows());
+        }
+        if (store.size() > 0) {
+            nextAdd(0, store.size());
+        }
+        endChange();
+    }
+
+    /** Add or replace these lecturers */
+    void addAll(List<Lecturer> lecturers) {
+        beginChange();
+        for (Lecturer lecturer : lecturers) {
+            put(lecturer);
+        }
+        endChange();
+    }
+
+    /** Add a lecturer, or replace the one with the same id */
+    void put(Lecturer lecturer) {
+        beginChange();
+        int index = store.indexOf(lecturer.getId());
+        if (index >= 0) {
+            Row old = store.snapshot(index);
+            store.put(lecturer);
+            nextSet(index, old);
+        } else {
+            index = store.put(lecturer);
+            nextAdd(index, index + 1);
+        }
+        endChange();
+    }
+
+    void removeId(int id) {
+        int index = store.indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        beginChange();
+        Row old = store.snapshot(index);
+        store.remove(id);
+        nextRemove(index, old);
+        endChange();
+    }
+
+    /** Give back spare array space once the whole list is loaded */
+    void trimToSize() {
+        store.trimToSize();
+    }
+}
@@ -7,15 +7,29 @@ import javafx.scene.control.PasswordField;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import Data.AdminDAO;
-import java.sql.SQLException;
+import Util.Logger;
+import java.util.UUID;
+
+public class LoginPage implements ReusableScreen {
+    private static final Logger log = Logger.get(LoginPage.class);
 
-public class LoginPage {
     @FXML
     private TextField username;
     
     @FXML
     private PasswordField password;
 
+    /** Failed attempts lock a username out for this screen only (see Data.LoginThrottle) */
+    private final String session = UUID.randomUUID().toString();
+
+    /**
+     * Shown again after a logout: don't keep the previous password around
+     */
+    @Override
+    public void onShow() {
+        password.clear();
+    }
+
     @FXML
     private void handleLogin() {
         String userInput = username.getText().trim();
@@ -26,20 +40,22 @@ public class LoginPage {
             return;
         }
 
-        try {
-            AdminDAO adminDAO = new AdminDAO();
-            boolean isValid = adminDAO.checkLogin(userInput, passInput);
-            
-            if (isValid) {
+        // Check the credentials in the background so the window doesn't freeze
+        AdminDAO adminDAO = new AdminDAO();
+        UiTasks.run(this, () -> adminDAO.login(userInput, passInput, session), result -> {
+            if (result.isSuccess()) {
                 NavigationStack.push("/View/FacultyLecturers.fxml", "Faculty Lecturers");
+            } else if (result.isLocked()) {
+                showError("Too many failed attempts. Try again in " + result.getRetryAfterSeconds() + " seconds.");
+                password.clear();
             } else {
                 showError("Invalid username or password!");
                 password.clear(); // Clear password field for security
             }
-        } catch (SQLException e) {
-            showError("Database error: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            showError("Database error: " + error.getMessage());
+            log.error("Login failed", error);
+        });
     }
 
     @FXML
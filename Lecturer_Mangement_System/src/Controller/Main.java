@@ -1,29 +1,82 @@
 package Controller;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
+import Data.AsyncDAO;
+import Data.LecturerSyncService;
+import Data.LocalReplica;
+import Data.WriteBehindQueue;
 import Util.DatabaseSetup;
 import Util.DatabaseConnection;
+import Util.Logger;
+import Util.Metrics;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main application entry point for Lecturer Management System
+ * Runs on JDK 21 or later (Data.AsyncDAO uses virtual threads)
  * VM Arguments: --module-path C:/Java/javafx-sdk-21.0.8/lib --add-modules javafx.controls,javafx.fxml
- * Classpath: bin;lib/mysql-connector-j-9.4.0.jar
+ * Classpath: bin;lib/mysql-connector-j-9.4.0.jar;lib/h2-2.2.224.jar (H2 holds the offline replica, see LocalReplica)
+ * With Maven: mvn javafx:run
  */
 public class Main extends Application {
+    private static final Logger log = Logger.get(Main.class);
+
+    private FrameStallMonitor frameStallMonitor;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // Set up the database tables
-        DatabaseSetup.setupTables();
-        
-        // Test database connection
-        if (!DatabaseConnection.testConnection()) {
-            System.err.println("Failed to connect to database. Please check your database settings.");
-            return;
+        long startNanos = System.nanoTime();
+
+        // DAO and screen timings over JMX and in the log (-Dlms.metrics.logInterval)
+        Metrics.start();
+
+        // Check (and if needed migrate) the schema while the window opens;
+        // DAO calls made before it is done wait for it
+        CompletableFuture<Boolean> schema = DatabaseSetup.startInBackground();
+
+        // The local replica needs the sync service to learn about other desks' changes
+        LecturerSyncService sync = LecturerSyncService.getInstance();
+        LocalReplica replica = LocalReplica.getInstance();
+        boolean replicaOpen = sync.isEnabled() && replica.open();
+
+        if (replicaOpen && replica.isReady()) {
+            // Lecturers are served locally; the server is contacted in the background
+            schema.thenRun(() -> {
+                sync.start();
+                WriteBehindQueue.getInstance().start();
+            });
+        } else {
+            schema.thenAccept(ok -> {
+                if (!ok) {
+                    Platform.runLater(() -> showError("Database Error",
+                            "Failed to connect to database. Please check your database settings."));
+                    return;
+                }
+
+                // Pick up lecturers changed at other desks (-Dlms.syncInterval, 0 = off)
+                sync.start();
+
+                if (replicaOpen) {
+                    // First run on this desk: copy the lecturers once, then work locally
+                    AsyncDAO.submit(() -> {
+                        replica.prime();
+                        WriteBehindQueue.getInstance().start();
+                        return null;
+                    }).exceptionally(error -> {
+                        log.warn("Could not prime the local replica", "error", AsyncDAO.rootCause(error).getMessage());
+                        return null;
+                    });
+                }
+            });
         }
-        
+
         // Create a root container that will hold our navigation stack
         StackPane rootContainer = new StackPane();
         rootContainer.setStyle("-fx-background-color: black;");
@@ -45,9 +98,69 @@ public class Main extends Application {
         
         // Initialize navigation stack with our root container
         NavigationStack.initialize(rootContainer);
+        reportFirstFrame(scene, startNanos);
             
         // Start with the login screen
         NavigationStack.push("/View/LoginPage.fxml", "Login");
+
+        // Build the screens users go to next while they are typing their password
+        ScreenFactory.prewarm(ScreenFactory.PREWARMED_SCREENS);
+
+        // Optionally measure UI freezes (-Dlms.frameStalls=true)
+        if (FrameStallMonitor.isEnabled()) {
+            frameStallMonitor = new FrameStallMonitor();
+            frameStallMonitor.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (frameStallMonitor != null) {
+            frameStallMonitor.stop();
+            log.info("Frame stalls", "stats", frameStallMonitor);
+        }
+        if (NavigationStack.isTimingEnabled()) {
+            log.info("Navigation", "stats", NavigationStack.getStats());
+        }
+
+        LecturerSyncService.getInstance().stop();
+        WriteBehindQueue.getInstance().stop();
+        LocalReplica.getInstance().close();
+
+        // Whatever happened since the last periodic report
+        Metrics.stop();
+        Metrics.report();
+
+        // Close pooled database connections
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * Log how long the first frame took, from start() and from JVM launch
+     */
+    private static void reportFirstFrame(Scene scene, long startNanos) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (listener[0] == null) {
+                return;  // already reported, removal still pending
+            }
+            Runnable self = listener[0];
+            listener[0] = null;
+            long sinceStart = System.nanoTime() - startNanos;
+            Metrics.timer("Main.firstFrame").record(sinceStart);
+            long sinceLaunch = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            log.info("First frame", "millisSinceStart", sinceStart / 1_000_000, "millisSinceLaunch", sinceLaunch);
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(self));
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static void showError(String title, String message) {
+        Alert alert = new Alert(AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
     }
 
     public static void main(String[] args) {
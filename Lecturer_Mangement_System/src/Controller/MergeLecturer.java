@@ -0,0 +1,196 @@
+package Controller;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.GridPane;
+import Util.Logger;
+
+/**
+ * Shown when saving a lecturer failed because someone else changed it first
+ *
+ * Lists every field with the value about to be saved (the user's, editable)
+ * next to the other change. Fields where the two differ are highlighted and
+ * can take the other value with one click. Saving goes against the other
+ * change's version, so it only overwrites what the user has now seen; if
+ * yet another change got in first, the screen shows that one instead.
+ */
+public class MergeLecturer implements ReusableScreen {
+    private static final Logger log = Logger.get(MergeLecturer.class);
+
+    @FXML private Label messageLabel;
+    @FXML private GridPane fieldGrid;
+    @FXML private Button saveButton;
+
+    /** A field of the edit screen: its label there, how to read it from each side and how to set it */
+    private static final class Field {
+        final String label;
+        final Function<LectureCardModel, String> mine;
+        final Function<Lecturer, String> theirs;
+        final BiConsumer<LectureCardModel, String> set;
+
+        Field(String label, Function<LectureCardModel, String> mine, Function<Lecturer, String> theirs,
+              BiConsumer<LectureCardModel, String> set) {
+            this.label = label;
+            this.mine = mine;
+            this.theirs = theirs;
+            this.set = set;
+        }
+    }
+
+    // Same labels as UpdateLecturerInfo
+    private static final Field[] FIELDS = {
+        new Field("Staff Number", LectureCardModel::getFirstName, Lecturer::getFirstName, LectureCardModel::setFirstName),
+        new Field("Office Number", LectureCardModel::getDepartment, Lecturer::getDepartment, LectureCardModel::setDepartment),
+        new Field("Staff Name", LectureCardModel::getLastName, Lecturer::getLastName, LectureCardModel::setLastName),
+        new Field("Building Location", LectureCardModel::getEmail, Lecturer::getEmail, LectureCardModel::setEmail),
+        new Field("Phone", LectureCardModel::getPhone, Lecturer::getPhone, LectureCardModel::setPhone),
+        new Field("Specialty", LectureCardModel::getSpecialty, Lecturer::getSpecialty, LectureCardModel::setSpecialty)
+    };
+
+    /** What the screen is opened with */
+    private static final class Conflict {
+        final LectureCardModel mine;
+        final Lecturer theirs;
+
+        Conflict(LectureCardModel mine, Lecturer theirs) {
+            this.mine = mine;
+            this.theirs = theirs;
+        }
+    }
+
+    private LectureCardModel mine;
+    private Lecturer theirs;
+    private final TextField[] values = new TextField[FIELDS.length];
+
+    /**
+     * Open the merge screen for an edit that lost to another change
+     * @param mine the edit, holding the values the user tried to save
+     * @param theirs the lecturer as it is stored now (UpdateResult.getCurrent())
+     */
+    static void show(LectureCardModel mine, Lecturer theirs) {
+        NavigationStack.setData(new Conflict(mine, theirs));
+        NavigationStack.push("/View/MergeLecturer.fxml", "Resolve Conflict");
+    }
+
+    @Override
+    public void onShow() {
+        Object data = NavigationStack.getData();
+        if (data instanceof Conflict) {
+            Conflict conflict = (Conflict) data;
+            NavigationStack.setData(null);
+            mine = conflict.mine;
+            theirs = conflict.theirs;
+            showFields();
+        }
+    }
+
+    private void showFields() {
+        fieldGrid.getChildren().clear();
+        int differing = 0;
+        for (int i = 0; i < FIELDS.length; i++) {
+            Field field = FIELDS[i];
+            String myValue = field.mine.apply(mine);
+            String theirValue = field.theirs.apply(theirs);
+            boolean differs = !Objects.equals(blankToNull(myValue), blankToNull(theirValue));
+
+            Label name = new Label(field.label);
+            name.setStyle("-fx-text-fill: #BBBBBB;");
+            TextField value = new TextField(myValue);
+            value.setStyle("-fx-background-color: #2e2e2e; -fx-text-fill: #FFFFFF; -fx-background-radius: 10; " +
+                           "-fx-border-radius: 10; -fx-border-width: 1; -fx-border-color: " +
+                           (differs ? "#E0A030;" : "#444444;"));
+            values[i] = value;
+            fieldGrid.addRow(i, name, value);
+
+            if (differs) {
+                differing++;
+                Label other = new Label(theirValue == null ? "(empty)" : theirValue);
+                other.setStyle("-fx-text-fill: #E0A030;");
+                Button useTheirs = new Button("Use theirs");
+                useTheirs.setStyle("-fx-background-color: #333333; -fx-text-fill: #FFFFFF; -fx-background-radius: 10;");
+                useTheirs.setOnAction(e -> value.setText(theirValue));
+                fieldGrid.add(other, 2, i);
+                fieldGrid.add(useTheirs, 3, i);
+            }
+        }
+        messageLabel.setText(theirs.getFullName() + " was changed by someone else while you were editing. " +
+                differing + " field(s) differ from your changes (highlighted). Choose the values to keep and save again.");
+        saveButton.setDisable(false);
+    }
+
+    @FXML
+    private void handleSave() {
+        for (int i = 0; i < FIELDS.length; i++) {
+            FIELDS[i].set.accept(mine, values[i].getText().trim());
+        }
+        if (mine.getFirstName().isEmpty() || mine.getLastName().isEmpty()
+            || mine.getEmail().isEmpty() || mine.getDepartment().isEmpty()) {
+            showError("Required fields cannot be empty!");
+            return;
+        }
+        // Save on top of the change the user has now seen: the fields that differ from it
+        mine.rebase(theirs);
+        saveButton.setDisable(true);
+
+        UiTasks.run(this, mine::updateInDatabase, result -> {
+            switch (result.getStatus()) {
+                case UPDATED:
+                case UNCHANGED:
+                    NavigationStack.pop();
+                    NavigationStack.push("/View/UpdateConfirmation.fxml", "Update Successful");
+                    break;
+                case CONFLICT:
+                    // Changed yet again; merge against the newest version
+                    theirs = result.getCurrent();
+                    showFields();
+                    break;
+                default:
+                    showError("This lecturer was deleted by someone else.");
+                    leave();
+                    break;
+            }
+        }, error -> {
+            saveButton.setDisable(false);
+            showError("Database error: " + error.getMessage());
+            log.error("Failed to save merged lecturer", error);
+        });
+    }
+
+    /** Keep the other change; the lecturer list already shows it (see LecturerEvents) */
+    @FXML
+    private void handleKeepTheirs() {
+        leave();
+    }
+
+    @FXML
+    private void handleBack() {
+        NavigationStack.pop();
+    }
+
+    /** Back past the edit screen, to where the edit started */
+    private void leave() {
+        NavigationStack.pop(); // remove MergeLecturer
+        NavigationStack.pop(); // remove UpdateLecturerInfo
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(AlertType.ERROR);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,7 +1,15 @@
 package Controller;
 
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
-import java.util.Stack;
+import Util.LatencyTimer;
+import Util.Logger;
+import Util.Metrics;
+import java.util.ArrayList;
+import java.util.List;
 import java.io.IOException;
 
 /**
@@ -13,7 +21,7 @@ import java.io.IOException;
  * mobile apps or web browsers work.
  *
  * Key concepts:
- * - Stack<NavigationState>: Stores the screen history (LIFO - Last In, First Out)
+ * - List<NavigationState>: Stores the screen history (LIFO - Last In, First Out)
  * - StackPane root: The container where screens are displayed
  * - FXML resources: Loaded from /View/ folder using absolute paths
  *
@@ -27,8 +35,34 @@ import java.io.IOException;
  *   private void handleBack() {
  *       NavigationStack.pop();  // Returns to previous screen
  *   }
+ *
+ * Screens come from ScreenFactory, which prebuilds common screens at startup.
+ * Start with -Dlms.navTiming=true to log how long each push takes to reach
+ * the screen (compare with -Dlms.prewarm=false).
+ *
+ * The history is bounded so a long session doesn't keep every screen it ever
+ * visited in memory:
+ * - Only the top MAX_LIVE_SCREENS screens keep their scene graph and
+ *   controller. Deeper ones are detached to a descriptor (fxmlPath, title
+ *   and the navigation data they were opened with) and rebuilt when pop()
+ *   reaches them.
+ * - At most MAX_HISTORY screens are remembered; beyond that the oldest
+ *   screens above the first one are forgotten.
+ * Both can be changed with -Dlms.navLiveScreens=N and -Dlms.navHistory=N.
  */
 public class NavigationStack {
+    private static final Logger log = Logger.get(NavigationStack.class);
+
+    private static final boolean TIME_PUSHES = Boolean.getBoolean("lms.navTiming");
+    /** Time for push() itself: building or reusing the screen and showing it */
+    private static final LatencyTimer PUSH_TIMER = Metrics.timer("NavigationStack.push");
+
+    /** Screens that keep their scene graph; deeper ones are rebuilt on pop() */
+    private static final int MAX_LIVE_SCREENS = Math.max(1, Integer.getInteger("lms.navLiveScreens", 5));
+
+    /** Screens remembered for going back */
+    private static final int MAX_HISTORY = Math.max(MAX_LIVE_SCREENS, Integer.getInteger("lms.navHistory", 30));
+
     /**
      * The navigation stack holds NavigationState objects in LIFO order.
      * - push() adds a new screen on top
@@ -39,8 +73,12 @@ public class NavigationStack {
      * 1. The loaded FXML root node (what you see on screen)
      * 2. The controller instance (handles user actions)
      * 3. The screen's title
+     * Deep states are detached and only hold the FXML path, title and data.
+     *
+     * The top of the stack is the end of the list. A plain ArrayList is
+     * enough since it is only touched on the FX thread.
      */
-    private static Stack<NavigationState> navigationStack = new Stack<>();
+    private static final List<NavigationState> navigationStack = new ArrayList<>();
     private static Object data;  // Data to pass between screens
     
     public static void setData(Object data) {
@@ -57,7 +95,7 @@ public class NavigationStack {
      */
     public static Object getCurrentController() {
         if (!navigationStack.isEmpty()) {
-            return navigationStack.peek().getController();
+            return top().getController();
         }
         return null;
     }
@@ -86,10 +124,15 @@ public class NavigationStack {
      * Push a new screen onto the navigation stack and display it.
      *
      * This is the main way to navigate forward to a new screen. It:
-     * 1. Loads the FXML file from the given path
-     * 2. Creates a NavigationState to hold the loaded screen
-     * 3. Pushes that state onto the stack
-     * 4. Shows the new screen in the root container
+     * 1. Gets the screen from ScreenFactory (prebuilt, or loaded from FXML)
+     * 2. Pushes its NavigationState onto the stack
+     * 3. Shows the new screen in the root container
+     * 4. Calls onShow() if the controller is a ReusableScreen
+     *
+     * Singleton routes (see ScreenFactory) are never stacked twice: if the
+     * screen is already in the history, everything above it is popped and
+     * the live screen is shown again. Logging out therefore unwinds to the
+     * existing Login screen instead of piling up a new one.
      *
      * Example usage from a controller:
      *   NavigationStack.push("/View/AddCourseInfo.fxml", "Add Course");
@@ -101,22 +144,37 @@ public class NavigationStack {
      * @param title The title for this screen (shown in UI or used for debugging)
      */
     public static void push(String fxmlPath, String title) {
+        long start = System.nanoTime();
         try {
-            // Create new state (loads FXML and instantiates its controller)
-            NavigationState state = new NavigationState(fxmlPath, title);
-            
-            // Add to stack (now becomes the "current" screen)
-            navigationStack.push(state);
-            
+            String source;
+            if (ScreenFactory.isSingleton(fxmlPath) && contains(fxmlPath)) {
+                // Go back to the live screen instead of loading another copy
+                while (!top().getFxmlPath().equals(fxmlPath)) {
+                    remove(removeTop());
+                }
+                source = top().isDetached() ? "rebuilt" : "reused";
+                rebuildTop();
+            } else {
+                source = ScreenFactory.hasSpare(fxmlPath) ? "prebuilt" : "loaded";
+                navigationStack.add(ScreenFactory.create(fxmlPath, title).withSavedData(data));
+                trimHistory();
+            }
+
             // Show the new screen (updates the StackPane children)
             updateDisplay();
+
+            Object controller = getCurrentController();
+            if (controller instanceof ReusableScreen) {
+                ((ReusableScreen) controller).onShow();
+            }
+            PUSH_TIMER.stop(start);
+            if (TIME_PUSHES) {
+                reportFirstFrame(fxmlPath, source, start);
+            }
         } catch (IOException e) {
-            System.err.println("Failed to load FXML: " + fxmlPath);
-            System.err.println("Common causes:");
-            System.err.println("1. Wrong path - ensure it starts with /View/");
-            System.err.println("2. File missing from resources/build output");
-            System.err.println("3. Controller class not found");
-            e.printStackTrace();
+            // Common causes: the path doesn't start with /View/, the file is
+            // missing from the build output, or its controller class wasn't found
+            log.error("Failed to load FXML", e, "path", fxmlPath);
         }
     }
 
@@ -126,7 +184,9 @@ public class NavigationStack {
      * This is how you implement "back" navigation. It:
      * 1. Checks if we can go back (more than 1 screen in history)
      * 2. Removes the current screen from the stack
-     * 3. Shows the previous screen that's now on top
+     * 3. Cancels any UiTasks the removed screen still has running
+     * 4. Rebuilds the previous screen if it was detached
+     * 5. Shows the previous screen that's now on top
      *
      * Example usage in a controller:
      *   @FXML
@@ -139,11 +199,168 @@ public class NavigationStack {
     public static void pop() {
         // Only pop if there's a screen to go back to
         if (canGoBack()) {
-            navigationStack.pop();  // Remove current screen
-            updateDisplay();        // Show previous screen
+            remove(removeTop());  // Remove current screen
+            showRebuiltTop();     // Show previous screen
         }
     }
 
+    private static NavigationState top() {
+        return navigationStack.get(navigationStack.size() - 1);
+    }
+
+    private static NavigationState removeTop() {
+        return navigationStack.remove(navigationStack.size() - 1);
+    }
+
+    /**
+     * Rebuild the top screen if needed and show it; a rebuilt screen gets
+     * onShow() just like a pushed one
+     */
+    private static void showRebuiltTop() {
+        try {
+            boolean rebuilt = rebuildTop();
+            updateDisplay();
+            if (rebuilt && top().getController() instanceof ReusableScreen) {
+                ((ReusableScreen) top().getController()).onShow();
+            }
+        } catch (IOException e) {
+            log.error("Failed to rebuild screen", e, "path", top().getFxmlPath());
+        }
+    }
+
+    /**
+     * Load the top screen again if it was detached
+     * The navigation data it was opened with is put back first, so the
+     * rebuilt screen sees the same getData() as the first time.
+     * @return true if the screen was rebuilt
+     */
+    private static boolean rebuildTop() throws IOException {
+        NavigationState descriptor = top();
+        if (!descriptor.isDetached()) {
+            return false;
+        }
+        data = descriptor.getSavedData();
+        NavigationState rebuilt = ScreenFactory.create(descriptor.getFxmlPath(), descriptor.getTitle())
+                .withSavedData(descriptor.getSavedData());
+        navigationStack.set(navigationStack.size() - 1, rebuilt);
+        return true;
+    }
+
+    /**
+     * Detach screens below the live window and forget the oldest ones once
+     * the history is full (the first screen is always kept)
+     */
+    private static void trimHistory() {
+        while (navigationStack.size() > MAX_HISTORY) {
+            remove(navigationStack.remove(1));
+        }
+        for (int i = navigationStack.size() - MAX_LIVE_SCREENS - 1; i >= 0; i--) {
+            NavigationState state = navigationStack.get(i);
+            if (state.isDetached()) {
+                break;  // everything below was detached earlier
+            }
+            UiTasks.cancelAll(state.getController());
+            navigationStack.set(i, state.detach());
+        }
+    }
+
+    /**
+     * A screen left the stack: drop its pending database work and let
+     * ScreenFactory keep it if it is a singleton route
+     */
+    private static void remove(NavigationState leaving) {
+        if (!leaving.isDetached()) {
+            UiTasks.cancelAll(leaving.getController());
+            ScreenFactory.release(leaving);
+        }
+    }
+
+    // ---- Memory metrics ----
+
+    /**
+     * Whether push timings and memory stats are logged (-Dlms.navTiming=true)
+     */
+    public static boolean isTimingEnabled() {
+        return TIME_PUSHES;
+    }
+
+    /**
+     * Scene graph nodes held by the history (live screens only)
+     * Walks every live screen, so call it for diagnostics, not per frame.
+     */
+    public static int getRetainedNodeCount() {
+        int nodes = 0;
+        for (NavigationState state : navigationStack) {
+            if (!state.isDetached()) {
+                nodes += countNodes(state.getRoot());
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * One-line summary of the history and what it keeps in memory
+     */
+    public static String getStats() {
+        int live = 0;
+        for (NavigationState state : navigationStack) {
+            if (!state.isDetached()) {
+                live++;
+            }
+        }
+        int spareNodes = 0;
+        for (Parent spare : ScreenFactory.spareRoots()) {
+            spareNodes += countNodes(spare);
+        }
+        return String.format("history %d (live %d, detached %d), retained scene nodes %d (+%d in prebuilt screens)",
+                navigationStack.size(), live, navigationStack.size() - live, getRetainedNodeCount(), spareNodes);
+    }
+
+    static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether a screen for this FXML path is anywhere in the history
+     */
+    static boolean contains(String fxmlPath) {
+        for (NavigationState state : navigationStack) {
+            if (state.getFxmlPath().equals(fxmlPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Log the time from push() until the pulse that lays out (and then
+     * renders) the new screen
+     */
+    private static void reportFirstFrame(String fxmlPath, String source, long start) {
+        Scene scene = rootContainer.getScene();
+        if (scene == null) {
+            return;
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (listener[0] == null) {
+                return;  // already reported, removal still pending
+            }
+            Runnable self = listener[0];
+            listener[0] = null;
+            log.info("Push to first frame", "path", fxmlPath, "source", source,
+                    "micros", (System.nanoTime() - start) / 1_000, "stats", getStats());
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(self));
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
     /**
      * Update which screen is visible in the UI.
      * 
@@ -156,7 +373,7 @@ public class NavigationStack {
      */
     private static void updateDisplay() {
         if (!navigationStack.isEmpty()) {
-            NavigationState currentState = navigationStack.peek();
+            NavigationState currentState = top();
             rootContainer.getChildren().clear();
             rootContainer.getChildren().add(currentState.getRoot());
         }
@@ -184,9 +401,11 @@ public class NavigationStack {
     public static void clearStack() {
         // Keep popping until only one screen remains (the root)
         while (navigationStack.size() > 1) {
-            navigationStack.pop();
+            remove(removeTop());
+        }
+        if (!navigationStack.isEmpty()) {
+            showRebuiltTop();  // Show the root screen
         }
-        updateDisplay();  // Show the root screen
     }
 
     /**
@@ -200,7 +419,7 @@ public class NavigationStack {
      * @return The current NavigationState, or null if stack is empty
      */
     public static NavigationState getCurrentState() {
-        return navigationStack.isEmpty() ? null : navigationStack.peek();
+        return navigationStack.isEmpty() ? null : top();
     }
 
     /**
@@ -2,6 +2,7 @@ package Controller;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
+import Util.Metrics;
 import java.io.IOException;
 
 /**
@@ -23,6 +24,10 @@ import java.io.IOException;
  *   - title: "Welcome"          - title: "Courses"
  *   - root: [Welcome UI node]   - root: [Catalog UI node]
  *   - controller: WelcomeCtrl   - controller: CatalogCtrl
+ *
+ * Screens deep in the history are detached by NavigationStack: the root and
+ * controller are dropped and only the path, title and saved navigation data
+ * remain, which is enough to load the screen again.
  */
 public class NavigationState {
     /** The FXML resource path that was used to create this screen */
@@ -37,6 +42,9 @@ public class NavigationState {
     /** The root UI node loaded from FXML - what you see on screen */
     private final Parent root;
 
+    /** NavigationStack.getData() at the time the screen was pushed */
+    private final Object savedData;
+
     /**
      * Create a new screen state by loading an FXML file.
      *
@@ -60,11 +68,64 @@ public class NavigationState {
         this.title = title;
         
         // Load the FXML file and create the UI
+        long start = System.nanoTime();
         FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
         this.root = loader.load();
+        Metrics.timer("FXML load " + fxmlPath).stop(start);
         
         // Get the controller that was created while loading FXML
         this.controller = loader.getController();
+        this.savedData = null;
+    }
+
+    /**
+     * Wrap a screen that has already been loaded (used by ScreenFactory).
+     */
+    NavigationState(String fxmlPath, String title, Parent root, Object controller) {
+        this(fxmlPath, title, root, controller, null);
+    }
+
+    private NavigationState(String fxmlPath, String title, Parent root, Object controller, Object savedData) {
+        this.fxmlPath = fxmlPath;
+        this.title = title;
+        this.root = root;
+        this.controller = controller;
+        this.savedData = savedData;
+    }
+
+    /**
+     * The same screen under another title, e.g. a prebuilt screen being pushed.
+     */
+    NavigationState withTitle(String title) {
+        return new NavigationState(fxmlPath, title, root, controller, savedData);
+    }
+
+    /**
+     * The same screen, remembering the navigation data it was opened with.
+     */
+    NavigationState withSavedData(Object savedData) {
+        return new NavigationState(fxmlPath, title, root, controller, savedData);
+    }
+
+    /**
+     * A lightweight copy without the scene graph and controller.
+     */
+    NavigationState detach() {
+        return new NavigationState(fxmlPath, title, null, null, savedData);
+    }
+
+    /**
+     * Whether this is only a descriptor that has to be loaded again before showing.
+     */
+    public boolean isDetached() {
+        return root == null;
+    }
+
+    /**
+     * The navigation data (NavigationStack.getData()) the screen was opened with.
+     */
+    public Object getSavedData() {
+        return savedData;
     }
 
     /**
@@ -84,7 +145,7 @@ public class NavigationState {
     }
 
     /**
-     * Get the controller instance for this screen.
+     * Get the controller instance for this screen (null if detached).
      * Cast this to the specific controller type you need:
      *
      * Example:
@@ -96,7 +157,7 @@ public class NavigationState {
     }
 
     /**
-     * Get the root UI node for this screen.
+     * Get the root UI node for this screen (null if detached).
      * This is what NavigationStack shows in the StackPane.
      */
     public Parent getRoot() {
@@ -0,0 +1,26 @@
+package Controller;
+
+/**
+ * ReusableScreen - Controllers whose screen may be built ahead of time or reused
+ *
+ * ScreenFactory can build a screen before it is needed, and NavigationStack
+ * reuses the live instance of singleton routes (Login, Faculty Lecturers).
+ * Either way initialize() has already run long before the screen appears, so
+ * anything that depends on the moment of showing (NavigationStack.getData(),
+ * fresh database rows, clearing old input) belongs in onShow().
+ *
+ * Usage example:
+ *   public class FacultyLecturers implements Initializable, ReusableScreen {
+ *       @Override
+ *       public void onShow() {
+ *           loadLecturerCards();
+ *       }
+ *   }
+ */
+public interface ReusableScreen {
+    /**
+     * Called on the FX thread every time NavigationStack.push() shows this
+     * screen, whether it was just loaded, prebuilt or reused
+     */
+    void onShow();
+}
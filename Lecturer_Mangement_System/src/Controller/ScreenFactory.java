@@ -0,0 +1,230 @@
+package Controller;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import Util.Logger;
+import Util.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ScreenFactory - Builds screens for NavigationStack, ahead of time when it can
+ *
+ * Loading a screen means reading its FXML, creating every control and running
+ * the controller's initialize(). The first load of each screen is the slowest
+ * because the controller and control classes are loaded and compiled then too.
+ *
+ * The factory keeps:
+ * - a template per fxmlPath: the resolved URL, the FXML bytes and the
+ *   already loaded controller class, so a push never touches the disk
+ * - one prebuilt spare instance of each prewarmed screen, so pushing it only
+ *   has to attach it to the window
+ * - for singleton routes (Login, Faculty Lecturers), the live screen once it
+ *   is popped, which becomes the spare instead of being thrown away
+ *
+ * Templates are read on a background thread. Spares are built on the FX
+ * thread, one per frame, so startup stays responsive. JavaFX can't parse an
+ * FXML file once and stamp out copies, so every instance is still a full load.
+ *
+ * Screens that may be prebuilt or reused must not read navigation data in
+ * initialize(); they implement ReusableScreen and do it in onShow().
+ *
+ * Prewarming can be turned off with -Dlms.prewarm=false to compare push times.
+ */
+public class ScreenFactory {
+    private static final Logger log = Logger.get(ScreenFactory.class);
+
+    /** Screens that are built at startup, before anyone navigates to them */
+    public static final String[] PREWARMED_SCREENS = {
+        "/View/LoginPage.fxml",
+        "/View/FacultyLecturers.fxml",
+        "/View/UpdateLecturerInfo.fxml",
+        "/View/CourseCatalog.fxml"
+    };
+
+    /** Routes with at most one live screen; pushing them again returns to it */
+    private static final Set<String> SINGLETON_ROUTES = Set.of(
+        "/View/LoginPage.fxml",
+        "/View/FacultyLecturers.fxml"
+    );
+
+    private static final Pattern CONTROLLER_ATTRIBUTE = Pattern.compile("fx:controller\\s*=\\s*\"([^\"]+)\"");
+
+    /** Everything about a screen that doesn't change between instances */
+    private static final class Template {
+        final URL location;
+        final byte[] fxml;
+
+        Template(URL location, byte[] fxml) {
+            this.location = location;
+            this.fxml = fxml;
+        }
+    }
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /** Ready-built screens waiting to be pushed (only touched on the FX thread) */
+    private static final Map<String, NavigationState> spares = new HashMap<>();
+    private static final Deque<String> sparesToBuild = new ArrayDeque<>();
+    private static final Set<String> prewarmed = ConcurrentHashMap.newKeySet();
+
+    /** Builds one queued spare per frame, then stops until more are queued */
+    private static final AnimationTimer spareBuilder = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            String fxmlPath = sparesToBuild.poll();
+            if (fxmlPath == null) {
+                stop();
+                return;
+            }
+            if (!spares.containsKey(fxmlPath) && !NavigationStack.contains(fxmlPath)) {
+                try {
+                    spares.put(fxmlPath, load(fxmlPath, null));
+                } catch (IOException e) {
+                    log.error("Failed to prebuild screen", e, "path", fxmlPath);
+                }
+            }
+        }
+    };
+
+    public static boolean isPrewarmEnabled() {
+        return !"false".equalsIgnoreCase(System.getProperty("lms.prewarm"));
+    }
+
+    /**
+     * Read the templates on a background thread, then build a spare of each
+     * screen on the FX thread. Call once from Main after the first screen shows.
+     */
+    public static void prewarm(String... fxmlPaths) {
+        if (!isPrewarmEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            for (String fxmlPath : fxmlPaths) {
+                try {
+                    template(fxmlPath);
+                    prewarmed.add(fxmlPath);
+                } catch (IOException e) {
+                    log.warn("Failed to prewarm screen", "path", fxmlPath, "error", e.getMessage());
+                }
+            }
+            Platform.runLater(() -> {
+                for (String fxmlPath : fxmlPaths) {
+                    if (prewarmed.contains(fxmlPath)) {
+                        queueSpare(fxmlPath);
+                    }
+                }
+            });
+        }, "screen-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Whether only one instance of this screen should ever be live
+     */
+    public static boolean isSingleton(String fxmlPath) {
+        return SINGLETON_ROUTES.contains(fxmlPath);
+    }
+
+    /**
+     * Whether create() would hand out a prebuilt screen for this path
+     */
+    static boolean hasSpare(String fxmlPath) {
+        return spares.containsKey(fxmlPath);
+    }
+
+    /**
+     * A screen ready to push: the prebuilt spare if there is one, otherwise
+     * a fresh load from the cached template
+     */
+    static NavigationState create(String fxmlPath, String title) throws IOException {
+        NavigationState spare = spares.remove(fxmlPath);
+        if (spare == null) {
+            return load(fxmlPath, title);
+        }
+        if (prewarmed.contains(fxmlPath) && !isSingleton(fxmlPath)) {
+            queueSpare(fxmlPath);  // have another one ready for next time
+        }
+        return spare.withTitle(title);
+    }
+
+    /**
+     * A screen was popped; singleton routes keep it as the spare
+     */
+    static void release(NavigationState state) {
+        if (isSingleton(state.getFxmlPath()) && !spares.containsKey(state.getFxmlPath())) {
+            spares.put(state.getFxmlPath(), state);
+        }
+    }
+
+    /**
+     * Root nodes of the prebuilt screens, for NavigationStack's memory stats
+     */
+    static Collection<Parent> spareRoots() {
+        Collection<Parent> roots = new ArrayList<>(spares.size());
+        for (NavigationState spare : spares.values()) {
+            roots.add(spare.getRoot());
+        }
+        return roots;
+    }
+
+    private static void queueSpare(String fxmlPath) {
+        sparesToBuild.add(fxmlPath);
+        spareBuilder.start();
+    }
+
+    private static NavigationState load(String fxmlPath, String title) throws IOException {
+        long start = System.nanoTime();
+        Template template = template(fxmlPath);
+        FXMLLoader loader = new FXMLLoader(template.location);
+        Parent root = loader.load(new ByteArrayInputStream(template.fxml));
+        Metrics.timer("FXML load " + fxmlPath).stop(start);
+        return new NavigationState(fxmlPath, title, root, loader.getController());
+    }
+
+    private static Template template(String fxmlPath) throws IOException {
+        Template template = templates.get(fxmlPath);
+        if (template != null) {
+            return template;
+        }
+
+        URL location = ScreenFactory.class.getResource(fxmlPath);
+        if (location == null) {
+            throw new IOException("FXML not found: " + fxmlPath);
+        }
+        byte[] fxml;
+        try (InputStream in = location.openStream()) {
+            fxml = in.readAllBytes();
+        }
+
+        // Load and initialize the controller class now rather than on first push
+        Matcher controller = CONTROLLER_ATTRIBUTE.matcher(new String(fxml, StandardCharsets.UTF_8));
+        if (controller.find()) {
+            try {
+                Class.forName(controller.group(1), true, ScreenFactory.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Controller class not found: " + controller.group(1), e);
+            }
+        }
+
+        template = new Template(location, fxml);
+        templates.putIfAbsent(fxmlPath, template);
+        return template;
+    }
+}
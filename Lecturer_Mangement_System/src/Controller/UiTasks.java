@@ -0,0 +1,98 @@
+package Controller;
+
+import Data.AsyncDAO;
+import Data.AsyncDAO.SqlTask;
+import javafx.application.Platform;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * UiTasks - Runs database work for a screen without freezing the UI
+ *
+ * The task runs on a DAO thread (see Data.AsyncDAO) and its result is
+ * handed back on the JavaFX Application Thread, so callbacks can update
+ * controls directly.
+ *
+ * Every task belongs to the controller that started it. When that screen is
+ * popped off the NavigationStack its pending tasks are cancelled: their
+ * queries are stopped (see Data.AsyncDAO) and their callbacks never run, so a
+ * slow query neither keeps a connection busy nor updates a screen that is gone.
+ *
+ * Usage example in a controller:
+ *   UiTasks.run(this, () -> lecturerDAO.getAllLecturers(),
+ *               lecturers -> showCards(lecturers),
+ *               error -> showError("Database Error", error.getMessage()));
+ *
+ * Note: run() and cancelAll() must be called on the JavaFX Application Thread.
+ */
+public class UiTasks {
+    /** Pending tasks per owning controller (only touched on the FX thread) */
+    private static final Map<Object, List<CompletableFuture<?>>> pending = new WeakHashMap<>();
+
+    /**
+     * Run a DAO call in the background and deliver the outcome on the FX thread.
+     *
+     * @param owner The controller the result is meant for
+     * @param task The database work to do
+     * @param onSuccess Called with the result on the FX thread
+     * @param onError Called with the underlying exception (usually a SQLException)
+     * @return The future for the task; cancelling it stops the query and suppresses the callbacks
+     */
+    public static <T> CompletableFuture<T> run(Object owner, SqlTask<T> task,
+                                               Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = AsyncDAO.submit(task);
+        pending.computeIfAbsent(owner, k -> new ArrayList<>()).add(future);
+
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            // If the owner was cancelled in the meantime, drop the result
+            if (!untrack(owner, future) || future.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(AsyncDAO.rootCause(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Cancel every pending task started by this owner
+     * Called by NavigationStack when the owner's screen is removed.
+     */
+    public static void cancelAll(Object owner) {
+        if (owner == null) {
+            return;
+        }
+        List<CompletableFuture<?>> futures = pending.remove(owner);
+        if (futures != null) {
+            for (CompletableFuture<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Whether the owner still has tasks in flight
+     */
+    public static boolean hasPending(Object owner) {
+        List<CompletableFuture<?>> futures = pending.get(owner);
+        return futures != null && !futures.isEmpty();
+    }
+
+    private static boolean untrack(Object owner, CompletableFuture<?> future) {
+        List<CompletableFuture<?>> futures = pending.get(owner);
+        if (futures == null || !futures.remove(future)) {
+            return false;
+        }
+        if (futures.isEmpty()) {
+            pending.remove(owner);
+        }
+        return true;
+    }
+}
@@ -5,9 +5,11 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import Model.LectureCardModel;
-import java.sql.SQLException;
+import Util.Logger;
+
+public class UpdateLecturerInfo implements ReusableScreen {
+    private static final Logger log = Logger.get(UpdateLecturerInfo.class);
 
-public class UpdateLecturerInfo {
     @FXML private TextField firstNameField;
     @FXML private TextField lastNameField;
     @FXML private TextField emailField;
@@ -17,9 +19,15 @@ public class UpdateLecturerInfo {
     @FXML private TextField assignedCourseField;
     
     private LectureCardModel lecturer;
+    private int saves; // a save's outcome is only shown if no later save was started
     private static LectureCardModel tempLecturerData; // Store lecturer data during course selection
     
-    public void initialize() {
+    /**
+     * Read the lecturer to edit when the screen is shown, not when it is
+     * built, since ScreenFactory builds this screen ahead of time
+     */
+    @Override
+    public void onShow() {
         // Check if returning from course selection
         Object data = NavigationStack.getData();
         if (data instanceof Model.CourseCardModel) {
@@ -56,33 +64,49 @@ public class UpdateLecturerInfo {
 
     @FXML
     private void handleUpdate() {
-        try {
-            // Update the lecturer object with new values
-            lecturer.setFirstName(firstNameField.getText().trim());
-            lecturer.setLastName(lastNameField.getText().trim());
-            lecturer.setEmail(emailField.getText().trim());
-            lecturer.setDepartment(departmentField.getText().trim());
-            lecturer.setPhone(phoneField.getText().trim());
-            lecturer.setSpecialty(specialtyField.getText().trim());
-            
-            // Validate fields
-            if (lecturer.getFirstName().isEmpty() || lecturer.getLastName().isEmpty() 
-                || lecturer.getEmail().isEmpty() || lecturer.getDepartment().isEmpty()) {
-                showError("Required fields cannot be empty!");
+        // Update the lecturer object with new values
+        lecturer.setFirstName(firstNameField.getText().trim());
+        lecturer.setLastName(lastNameField.getText().trim());
+        lecturer.setEmail(emailField.getText().trim());
+        lecturer.setDepartment(departmentField.getText().trim());
+        lecturer.setPhone(phoneField.getText().trim());
+        lecturer.setSpecialty(specialtyField.getText().trim());
+        
+        // Validate fields
+        if (lecturer.getFirstName().isEmpty() || lecturer.getLastName().isEmpty() 
+            || lecturer.getEmail().isEmpty() || lecturer.getDepartment().isEmpty()) {
+            showError("Required fields cannot be empty!");
+            return;
+        }
+
+        // Save to database in the background; only the changed fields are
+        // written, and saves clicked while one is in flight go out together
+        int save = ++saves;
+        UiTasks.run(this, lecturer::updateInDatabase, result -> {
+            if (save != saves) {
                 return;
             }
-
-            // Save to database
-            if (lecturer.updateInDatabase()) {
-                // Show success confirmation screen
-                NavigationStack.push("/View/UpdateConfirmation.fxml", "Update Successful");
-            } else {
-                showError("Failed to update lecturer information!");
+            switch (result.getStatus()) {
+                case UPDATED:
+                case UNCHANGED:
+                    // Show success confirmation screen
+                    NavigationStack.push("/View/UpdateConfirmation.fxml", "Update Successful");
+                    break;
+                case CONFLICT:
+                    // Someone else saved this lecturer since it was opened; let the user merge
+                    MergeLecturer.show(lecturer, result.getCurrent());
+                    break;
+                default:
+                    showError("This lecturer was deleted by someone else.");
+                    break;
             }
-        } catch (SQLException e) {
-            showError("Database error: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            if (save != saves) {
+                return;
+            }
+            showError("Database error: " + error.getMessage());
+            log.error("Failed to update lecturer", error);
+        });
     }
     
     @FXML
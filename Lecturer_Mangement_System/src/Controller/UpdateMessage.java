@@ -6,14 +6,14 @@ public class UpdateMessage {
 
     @FXML
     private void handleReturn() {
-        // After updating, remove message and confirmation, then refresh the faculty list
+        // After updating, remove message and confirmation, then return to the faculty list
         NavigationStack.pop(); // remove UpdateMessage
         NavigationStack.pop(); // remove UpdateConfirmation
 
-        Object controller = NavigationStack.getCurrentController();
-        if (controller instanceof FacultyLecturers) {
-            ((FacultyLecturers) controller).loadLecturerCards();
-        } else {
+        // FacultyLecturers already patched its card when the change was saved
+        // (see LecturerEvents), so there is nothing to reload
+        if (!(NavigationStack.getCurrentController() instanceof FacultyLecturers)) {
+            // If not found, navigate to FacultyLecturers to be safe
             NavigationStack.push("/View/FacultyLecturers.fxml", "Faculty Lecturers");
         }
     }
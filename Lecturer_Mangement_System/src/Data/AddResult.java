@@ -0,0 +1,54 @@
+package Data;
+
+import Model.Lecturer;
+
+/**
+ * Outcome of LecturerDAO.addLecturer()
+ *
+ * While the local replica is in use, a new lecturer is stored locally and
+ * its INSERT queued for the server (see LocalReplica), so its real
+ * lecturer_id isn't known yet: the lecturer gets a temporary negative id
+ * instead. Once WriteBehindQueue has sent the INSERT, LecturerEvents
+ * reports the temporary id DELETED and the lecturer with its server id
+ * INSERTED.
+ */
+public class AddResult {
+    public enum Status {
+        /** Stored on the server; the id is its lecturer_id */
+        ADDED,
+        /** Stored in the local replica and queued for the server; the id is temporary */
+        QUEUED
+    }
+
+    private final Status status;
+    private final Lecturer lecturer;
+
+    private AddResult(Status status, Lecturer lecturer) {
+        this.status = status;
+        this.lecturer = lecturer;
+    }
+
+    static AddResult added(Lecturer lecturer) { return new AddResult(Status.ADDED, lecturer); }
+    static AddResult queued(Lecturer lecturer) { return new AddResult(Status.QUEUED, lecturer); }
+
+    public Status getStatus() { return status; }
+    public boolean isQueued() { return status == Status.QUEUED; }
+
+    /**
+     * The lecturer as stored, or null if the driver didn't report the
+     * generated id
+     */
+    public Lecturer getLecturer() { return lecturer; }
+
+    /**
+     * The server's lecturer_id (ADDED; -1 if the driver didn't report it),
+     * or the temporary negative id (QUEUED), which is only valid until the
+     * queued INSERT reaches the server
+     */
+    public int getId() { return lecturer != null ? lecturer.getId() : -1; }
+
+    @Override
+    public String toString() {
+        return status + " (id " + getId() + ")";
+    }
+}
@@ -1,44 +1,188 @@
 package Data;
 
 import Util.DatabaseConnection;
+import Util.LatencyTimer;
+import Util.Logger;
+import Util.Metrics;
+import Util.PasswordHasher;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.sql.*;
 
 /**
  * Simple admin login checker
+ *
+ * A login is one indexed lookup (username is the admin table's key) followed
+ * by a check of the scrypt password hash; see Util.PasswordHasher.
+ *
+ * Rows that still hold a plain-text password (from setups made before hashing)
+ * keep working and are replaced by a hash on their first successful login.
+ *
+ * Repeated failures lock the username out for a while, but only for the
+ * client that made them (see LoginThrottle); locked attempts are answered
+ * from memory without a query.
+ *
+ * After a successful login the hash is also remembered in the LocalReplica,
+ * so an admin who logged in before can still log in while the server is
+ * unreachable. Plain-text passwords are never stored there, but anyone who
+ * can write the replica file can replace a remembered hash and log in while
+ * the server is down. LocalReplica keeps its directory private to the
+ * account running the application; -Dlms.replica.offlineLogin=false turns
+ * offline login off for machines where that isn't enough.
  */
 public class AdminDAO {
-    
+    private static final LatencyTimer LOGIN_TIMER = Metrics.timer("AdminDAO.login");
+    private static final LatencyTimer ADD_ADMIN_TIMER = Metrics.timer("AdminDAO.addAdmin");
+    private static final LatencyTimer CHANGE_PASSWORD_TIMER = Metrics.timer("AdminDAO.changePassword");
+    private static final Logger log = Logger.get(AdminDAO.class);
+
+    private static final String FIND_PASSWORD_SQL = "SELECT password FROM admin WHERE username = ?";
+    private static final String UPDATE_PASSWORD_SQL = "UPDATE admin SET password = ? WHERE username = ?";
+    private static final String INSERT_ADMIN_SQL = "INSERT INTO admin (username, password) VALUES (?, ?)";
+
+    private static final LoginThrottle throttle = new LoginThrottle();
+    /** Client for callers that don't name one */
+    private static final String DEFAULT_CLIENT = "default";
+    private static final boolean OFFLINE_LOGIN =
+            Boolean.parseBoolean(System.getProperty("lms.replica.offlineLogin", "true"));
+
+    /** Verified against for unknown usernames so they take as long as wrong passwords */
+    private static final class DummyHash {
+        static final String VALUE = PasswordHasher.hash("not a real password");
+    }
+
     /**
      * Check if login credentials are valid
-     * @return true if username and password match the admin account
+     * @return true if username and password match an admin account
      */
     public boolean checkLogin(String username, String password) throws SQLException {
-        // First check what admins exist in the database
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement checkStmt = conn.createStatement();
-             ResultSet checkRs = checkStmt.executeQuery("SELECT username, password FROM admin")) {
-            
-            System.out.println("Current admins in database:");
-            while (checkRs.next()) {
-                System.out.println("Username: " + checkRs.getString("username") + 
-                                 ", Password: " + checkRs.getString("password"));
+        return login(username, password).isSuccess();
+    }
+
+    /**
+     * Check login credentials, telling a wrong password apart from a lockout
+     */
+    public LoginResult login(String username, String password) throws SQLException {
+        return login(username, password, DEFAULT_CLIENT);
+    }
+
+    /**
+     * Check login credentials for one client, e.g. a login screen
+     * Failures only lock the username out for this client.
+     */
+    public LoginResult login(String username, String password, String client) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            long lockedMillis = throttle.lockedMillis(username, client);
+            if (lockedMillis > 0) {
+                return LoginResult.locked(lockedMillis);
+            }
+
+            String stored = null;
+            boolean offline = false;
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(FIND_PASSWORD_SQL)) {
+                stmt.setString(1, username);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        stored = rs.getString(1);
+                    }
+                }
+            } catch (SQLException e) {
+                stored = OFFLINE_LOGIN && isConnectionFailure(e) ? LocalReplica.getInstance().rememberedAdminPassword(username) : null;
+                if (stored == null) {
+                    throw e;
+                }
+                offline = true;
+                log.info("Server unreachable, checking against the local replica", "username", username);
+            }
+
+            if (!passwordMatches(password, stored)) {
+                long lock = throttle.failed(username, client);
+                return lock > 0 ? LoginResult.locked(lock) : LoginResult.invalid();
+            }
+
+            throttle.succeeded(username, client);
+            if (!offline) {
+                String hash = stored;
+                if (PasswordHasher.needsRehash(stored)) {
+                    hash = PasswordHasher.hash(password);
+                    upgradePassword(username, hash);
+                }
+                LocalReplica.getInstance().rememberAdmin(username, hash);
+            }
+            return LoginResult.success();
+        } finally {
+            LOGIN_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Add an admin account, storing only the password hash
+     * @return true if the account was created
+     */
+    public boolean addAdmin(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(INSERT_ADMIN_SQL)) {
+                stmt.setString(1, username);
+                stmt.setString(2, PasswordHasher.hash(password));
+                return stmt.executeUpdate() > 0;
             }
+        } finally {
+            ADD_ADMIN_TIMER.stop(start);
         }
+    }
 
-        String sql = "SELECT * FROM admin WHERE username = ? AND password = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            stmt.setString(2, password);
-            
-            System.out.println("Attempting login with - Username: " + username + ", Password: " + password);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                boolean found = rs.next();
-                System.out.println("Login " + (found ? "successful" : "failed"));
-                return found;
+    /**
+     * Replace an admin's password
+     * @return true if the account exists
+     */
+    public boolean changePassword(String username, String newPassword) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_SQL)) {
+                stmt.setString(1, PasswordHasher.hash(newPassword));
+                stmt.setString(2, username);
+                return stmt.executeUpdate() > 0;
             }
+        } finally {
+            CHANGE_PASSWORD_TIMER.stop(start);
+        }
+    }
+
+    private static boolean passwordMatches(String password, String stored) {
+        if (stored == null) {
+            PasswordHasher.verify(password, DummyHash.VALUE);
+            return false;
+        }
+        if (PasswordHasher.isHash(stored)) {
+            return PasswordHasher.verify(password, stored);
+        }
+        // Legacy plain-text row
+        return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8), password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Connection-level failures (SQLState class 08), as opposed to errors in the query */
+    private static boolean isConnectionFailure(SQLException e) {
+        return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+            || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
+    /**
+     * Store a fresh hash after a login with a plain-text or outdated one
+     * Failing here doesn't fail the login; it is tried again next time.
+     */
+    private void upgradePassword(String username, String hash) {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD_SQL)) {
+            stmt.setString(1, hash);
+            stmt.setString(2, username);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Could not upgrade the password hash", "username", username, "error", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package Data;
 
 import java.sql.*;
 import Util.DatabaseConnection;
+import Util.PasswordHasher;
 
 /**
  * Test the admin login
@@ -14,14 +15,14 @@ public class AdminLoginTest {
                 // Create table
                 String createTable = "CREATE TABLE IF NOT EXISTS admin (" +
                                    "username VARCHAR(50) PRIMARY KEY, " +
-                                   "password VARCHAR(50) NOT NULL)";
+                                   "password VARCHAR(100) NOT NULL)";
                 conn.createStatement().execute(createTable);
                 
-                // Insert admin (ignore if already exists)
+                // Insert admin (ignore if already exists), storing the password hash
                 String insertAdmin = "INSERT IGNORE INTO admin (username, password) VALUES (?, ?)";
                 PreparedStatement stmt = conn.prepareStatement(insertAdmin);
                 stmt.setString(1, "Admin");
-                stmt.setString(2, "MSI@2025");
+                stmt.setString(2, PasswordHasher.hash("MSI@2025"));
                 stmt.execute();
                 
                 System.out.println("Admin table and user created successfully!");
@@ -38,6 +39,12 @@ public class AdminLoginTest {
             System.out.println("\nTesting wrong password...");
             boolean invalidLogin = adminDAO.checkLogin("Admin", "wrongpassword");
             System.out.println("Login successful: " + invalidLogin);
+
+            // Keep failing: after LoginThrottle.FREE_ATTEMPTS the username is locked
+            System.out.println("\nTesting lockout...");
+            for (int i = 0; i < LoginThrottle.FREE_ATTEMPTS; i++) {
+                System.out.println("Attempt " + (i + 2) + ": " + adminDAO.login("Admin", "wrongpassword"));
+            }
             
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
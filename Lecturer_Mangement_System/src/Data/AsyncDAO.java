@@ -0,0 +1,84 @@
+package Data;
+
+import Util.CancelScope;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs DAO calls off the calling thread
+ *
+ * Every call gets its own virtual thread, so a slow query only parks a cheap
+ * virtual thread while it waits on the network instead of blocking the
+ * JavaFX Application Thread. The connection pool still limits how many
+ * queries run against MySQL at once.
+ *
+ * Cancelling the returned future (cancel(true) or otherwise) also cancels
+ * the query the call is running, through a Util.CancelScope; the call then
+ * ends with a SQLException nobody sees.
+ *
+ * Example:
+ *   AsyncDAO.submit(() -> lecturerDAO.getAllLecturers())
+ *           .thenAccept(lecturers -> ...);
+ *
+ * Controllers should use Controller.UiTasks, which delivers the result back
+ * on the JavaFX thread.
+ */
+public class AsyncDAO {
+
+    /**
+     * A unit of database work that may throw SQLException
+     */
+    @FunctionalInterface
+    public interface SqlTask<T> {
+        T call() throws SQLException;
+    }
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dao-", 0).factory());
+    /**
+     * Cancels run on platform threads: a CPU-bound query (H2 replica) can keep
+     * every virtual thread carrier busy until it is cancelled
+     */
+    private static final ExecutorService CANCELLER = Executors.newCachedThreadPool(
+            Thread.ofPlatform().daemon().name("dao-cancel-", 0).factory());
+
+    /**
+     * Run a DAO call on a virtual thread
+     * A SQLException thrown by the task completes the future exceptionally
+     * with that SQLException as the cause.
+     */
+    public static <T> CompletableFuture<T> submit(SqlTask<T> task) {
+        CancelScope scope = new CancelScope();
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            scope.enter();
+            try {
+                return task.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } finally {
+                scope.exit();
+            }
+        }, EXECUTOR);
+        // Cancelling only completes the future; stop the query as well, off the cancelling thread
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                CANCELLER.execute(scope::cancel);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Unwrap the CompletionException layer added by CompletableFuture
+     */
+    public static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,45 @@
+package Data;
+
+/**
+ * Read-only snapshot of LecturerCache counters
+ * Get one from LecturerDAO.getCacheStats()
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final int cachedById;
+    private final int cachedInList;
+
+    public CacheStats(long hits, long misses, long evictions, long expirations,
+                      int cachedById, int cachedInList) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.cachedById = cachedById;
+        this.cachedInList = cachedInList;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    /** Entries dropped because the by-id view was full */
+    public long getEvictions() { return evictions; }
+    /** Entries dropped because they were older than the TTL */
+    public long getExpirations() { return expirations; }
+    public int getCachedById() { return cachedById; }
+    /** Size of the cached full list (0 when it isn't cached) */
+    public int getCachedInList() { return cachedInList; }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRatio=%.1f%%, evictions=%d, expirations=%d, byId=%d, list=%d",
+                hits, misses, getHitRatio() * 100, evictions, expirations, cachedById, cachedInList);
+    }
+}
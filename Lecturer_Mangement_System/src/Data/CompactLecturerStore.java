@@ -0,0 +1,447 @@
+package Data;
+
+import Model.LectureCardModel;
+import Model.Lecturer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lecturers kept in parallel arrays instead of one Lecturer object each
+ *
+ * A Lecturer costs an object plus seven Strings (each a String object and a
+ * byte array), so 100k of them take tens of MB, most of it headers and
+ * copies of the same few department and specialty names. This store keeps:
+ * - id, version: int arrays
+ * - department, specialty: int codes into a StringDictionary, so each
+ *   distinct name is stored once
+ * - first name, last name, email, phone: UTF-8 bytes in one shared byte
+ *   array; textOffsets[i] is where row i's four fields start, each field
+ *   written as a varint of (length + 1), 0 meaning null, then its bytes
+ * See LecturerStoreBenchmark for the heap used at 100k lecturers.
+ *
+ * Rows are kept ordered by id like LecturerCache's full list, so pages
+ * from LecturerDAO.getLecturersPage() are appended and a single lecturer is
+ * found with a binary search. Replacing or removing a row leaves its old
+ * text behind; the text array is compacted once more than half of it is
+ * unused.
+ *
+ * The UI gets Row views (see row()): small objects that read the arrays
+ * when asked, so Strings are only built for the cards actually on screen.
+ *
+ * Not thread-safe; the Faculty Lecturers screen only uses it on the FX thread.
+ */
+public class CompactLecturerStore {
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE = 3;
+
+    /** Don't bother compacting less text than this */
+    private static final int MIN_COMPACT_BYTES = 4_096;
+
+    private final StringDictionary departments = new StringDictionary();
+    private final StringDictionary specialties = new StringDictionary();
+
+    private int size;
+    private int[] ids;
+    private int[] versions;
+    private int[] departmentCodes;
+    private int[] specialtyCodes;
+    private int[] textOffsets;
+
+    private byte[] text;
+    private int textSize;
+    private int textGarbage;   // bytes of text no row points to any more
+
+    public CompactLecturerStore() {
+        this(16);
+    }
+
+    /**
+     * @param capacity number of rows to make room for up front
+     */
+    public CompactLecturerStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new int[capacity];
+        versions = new int[capacity];
+        departmentCodes = new int[capacity];
+        specialtyCodes = new int[capacity];
+        textOffsets = new int[capacity];
+        text = new byte[capacity * 32];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Binary search for a lecturer id
+     * @return the row index, or (-(insertion point) - 1) if it isn't there
+     */
+    public int indexOf(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = ids[mid];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Add a lecturer, or replace the one with the same id
+     * @return its row index
+     */
+    public int put(Lecturer lecturer) {
+        int id = lecturer.getId();
+        int index = size > 0 && ids[size - 1] < id ? -(size + 1) : indexOf(id);
+        if (index >= 0) {
+            textGarbage += textLength(index);
+        } else {
+            index = -index - 1;
+            ensureCapacity(size + 1);
+            if (index < size) {
+                shift(index, index + 1, size - index);
+            }
+            size++;
+        }
+        ids[index] = id;
+        versions[index] = lecturer.getVersion();
+        departmentCodes[index] = departments.encode(lecturer.getDepartment());
+        specialtyCodes[index] = specialties.encode(lecturer.getSpecialty());
+        textOffsets[index] = appendText(lecturer);
+        compactIfWasteful();
+        return index;
+    }
+
+    public void putAll(Iterable<Lecturer> lecturers) {
+        for (Lecturer lecturer : lecturers) {
+            put(lecturer);
+        }
+    }
+
+    /**
+     * Remove the lecturer with this id
+     * @return false if it wasn't in the store
+     */
+    public boolean remove(int id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return false;
+        }
+        textGarbage += textLength(index);
+        shift(index + 1, index, size - index - 1);
+        size--;
+        compactIfWasteful();
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+        textSize = 0;
+        textGarbage = 0;
+    }
+
+    /**
+     * Shrink the arrays to what the rows use, e.g. once a full load is done
+     */
+    public void trimToSize() {
+        int capacity = Math.max(size, 1);
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        specialtyCodes = Arrays.copyOf(specialtyCodes, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        compactText(0);
+    }
+
+    // Reading one row by index
+    public int getId(int index) { return ids[checkIndex(index)]; }
+    public int getVersion(int index) { return versions[checkIndex(index)]; }
+    public String getFirstName(int index) { return readField(checkIndex(index), FIRST_NAME); }
+    public String getLastName(int index) { return readField(checkIndex(index), LAST_NAME); }
+    public String getEmail(int index) { return readField(checkIndex(index), EMAIL); }
+    public String getPhone(int index) { return readField(checkIndex(index), PHONE); }
+    public String getDepartment(int index) { return departments.decode(departmentCodes[checkIndex(index)]); }
+    public String getSpecialty(int index) { return specialties.decode(specialtyCodes[checkIndex(index)]); }
+
+    /** A new Lecturer with the values of one row */
+    public Lecturer toLecturer(int index) {
+        return new Lecturer(getId(index), getFirstName(index), getLastName(index), getEmail(index),
+                getDepartment(index), getPhone(index), getSpecialty(index), getVersion(index));
+    }
+
+    /** A view of one row (see Row) */
+    public Row row(int index) {
+        return new Row(getId(index), index, getVersion(index));
+    }
+
+    /**
+     * A view of the lecturer with this id
+     * @return null if it isn't in the store
+     */
+    public Row find(int id) {
+        int index = indexOf(id);
+        return index < 0 ? null : row(index);
+    }
+
+    /**
+     * All rows as a read-only list, views made as they are read
+     */
+    public List<Row> rows() {
+        return new AbstractList<Row>() {
+            @Override
+            public Row get(int index) {
+                return row(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * A view of a copy of one row, which stays readable after the row is
+     * changed or removed here
+     */
+    public Row snapshot(int index) {
+        CompactLecturerStore copy = new CompactLecturerStore(1);
+        return copy.row(copy.put(toLecturer(index)));
+    }
+
+    /** Distinct departments seen (they are never forgotten) */
+    public int getDepartmentCount() {
+        return departments.size();
+    }
+
+    /** Distinct specialties seen (they are never forgotten) */
+    public int getSpecialtyCount() {
+        return specialties.size();
+    }
+
+    /**
+     * Bytes held by the arrays, not counting the dictionaries' Strings
+     */
+    public long getArrayBytes() {
+        return 5L * Integer.BYTES * ids.length + text.length;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + size);
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(rows, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        specialtyCodes = Arrays.copyOf(specialtyCodes, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+    }
+
+    /** Move rows [from, from + count) to start at to */
+    private void shift(int from, int to, int count) {
+        System.arraycopy(ids, from, ids, to, count);
+        System.arraycopy(versions, from, versions, to, count);
+        System.arraycopy(departmentCodes, from, departmentCodes, to, count);
+        System.arraycopy(specialtyCodes, from, specialtyCodes, to, count);
+        System.arraycopy(textOffsets, from, textOffsets, to, count);
+    }
+
+    // Text fields
+
+    /** Write a lecturer's four text fields at the end of the text array */
+    private int appendText(Lecturer lecturer) {
+        int offset = textSize;
+        appendField(lecturer.getFirstName());
+        appendField(lecturer.getLastName());
+        appendField(lecturer.getEmail());
+        appendField(lecturer.getPhone());
+        return offset;
+    }
+
+    private void appendField(String value) {
+        if (value == null) {
+            ensureText(1);
+            text[textSize++] = 0;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureText(bytes.length + 5);
+        int header = bytes.length + 1;
+        while (header >= 0x80) {
+            text[textSize++] = (byte) (header | 0x80);
+            header >>>= 7;
+        }
+        text[textSize++] = (byte) header;
+        System.arraycopy(bytes, 0, text, textSize, bytes.length);
+        textSize += bytes.length;
+    }
+
+    private void ensureText(int more) {
+        if (textSize + more > text.length) {
+            text = Arrays.copyOf(text, Math.max(textSize + more, text.length * 2));
+        }
+    }
+
+    private String readField(int index, int field) {
+        int pos = textOffsets[index];
+        for (int f = 0; ; f++) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = text[pos++];
+                header |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (f == field) {
+                return header == 0 ? null : new String(text, pos, header - 1, StandardCharsets.UTF_8);
+            }
+            if (header > 0) {
+                pos += header - 1;
+            }
+        }
+    }
+
+    /** Bytes taken by one row's text fields */
+    private int textLength(int index) {
+        int start = textOffsets[index];
+        int pos = start;
+        for (int f = 0; f <= PHONE; f++) {
+            int header = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = text[pos++];
+                header |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (header > 0) {
+                pos += header - 1;
+            }
+        }
+        return pos - start;
+    }
+
+    private void compactIfWasteful() {
+        if (textGarbage > MIN_COMPACT_BYTES && textGarbage > textSize / 2) {
+            compactText(textSize - textGarbage);
+        }
+    }
+
+    /** Copy the rows' text into a new array without the unused bytes, plus room for spare more */
+    private void compactText(int spare) {
+        byte[] compacted = new byte[Math.max(textSize - textGarbage + spare, 1)];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            int length = textLength(i);
+            System.arraycopy(text, textOffsets[i], compacted, pos, length);
+            textOffsets[i] = pos;
+            pos += length;
+        }
+        text = compacted;
+        textSize = pos;
+        textGarbage = 0;
+    }
+
+    /**
+     * One lecturer in the store, read from the arrays on every call
+     *
+     * A Row only holds the lecturer's id, so handing one to each list cell
+     * costs a few bytes and no Strings. It finds its row again by id if
+     * rows were added or removed before it; once its lecturer is removed,
+     * isPresent() is false and the getters throw IllegalStateException.
+     *
+     * Two rows are equal if they were made from the same version of the
+     * same lecturer in the same store, so a list cell showing a row is
+     * refreshed when the lecturer is updated.
+     */
+    public final class Row {
+        private final int id;
+        private final int version;   // when the view was made
+        private int index;           // where the row was last seen
+
+        private Row(int id, int index, int version) {
+            this.id = id;
+            this.index = index;
+            this.version = version;
+        }
+
+        public boolean isPresent() {
+            return (index < size && ids[index] == id) || indexOf(id) >= 0;
+        }
+
+        private int index() {
+            if (index >= size || ids[index] != id) {
+                index = indexOf(id);
+                if (index < 0) {
+                    throw new IllegalStateException("Lecturer " + id + " is no longer in the store");
+                }
+            }
+            return index;
+        }
+
+        public int getId() { return id; }
+        public int getVersion() { return store().getVersion(index()); }
+        public String getFirstName() { return store().getFirstName(index()); }
+        public String getLastName() { return store().getLastName(index()); }
+        public String getEmail() { return store().getEmail(index()); }
+        public String getDepartment() { return store().getDepartment(index()); }
+        public String getPhone() { return store().getPhone(index()); }
+        public String getSpecialty() { return store().getSpecialty(index()); }
+
+        public String getFullName() {
+            int i = index();
+            return store().getFirstName(i) + " " + store().getLastName(i);
+        }
+
+        public Lecturer toLecturer() {
+            return store().toLecturer(index());
+        }
+
+        /** A card model for editing or deleting this lecturer */
+        public LectureCardModel toCardModel() {
+            return toLecturer().toCardModel();
+        }
+
+        private CompactLecturerStore store() {
+            return CompactLecturerStore.this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Row)) return false;
+            Row other = (Row) o;
+            return other.store() == store() && other.id == id && other.version == version;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id + version;
+        }
+
+        @Override
+        public String toString() {
+            return "Row[id=" + id + ", version=" + version + "]";
+        }
+    }
+}
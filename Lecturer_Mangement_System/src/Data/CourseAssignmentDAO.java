@@ -0,0 +1,238 @@
+package Data;
+
+import Model.Course;
+import Model.Lecturer;
+import Model.LecturerWithCourses;
+import Util.DatabaseConnection;
+import Util.LatencyTimer;
+import Util.Metrics;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Database operations for lecturer_courses: which lecturer teaches which
+ * course in which semester (e.g. "FALL_2025")
+ *
+ * The primary key (lecturer_id, semester, course_id) doubles as the index for
+ * "courses of a lecturer in a semester", and idx_lecturer_courses_course
+ * serves the reverse lookup.
+ *
+ * Reads that span several lecturers or courses never run one query per row:
+ * getLecturerWithCourses() is a single join, and the batch methods send one
+ * IN (...) query per BATCH_SIZE ids.
+ *
+ * Every method taking a semester accepts null for "all semesters".
+ */
+public class CourseAssignmentDAO {
+    private static final LatencyTimer ASSIGN_COURSE_TIMER = Metrics.timer("CourseAssignmentDAO.assignCourse");
+    private static final LatencyTimer UNASSIGN_COURSE_TIMER = Metrics.timer("CourseAssignmentDAO.unassignCourse");
+    private static final LatencyTimer GET_LECTURER_WITH_COURSES_TIMER = Metrics.timer("CourseAssignmentDAO.getLecturerWithCourses");
+    private static final LatencyTimer GET_COURSES_FOR_LECTURERS_TIMER = Metrics.timer("CourseAssignmentDAO.getCoursesForLecturers");
+    private static final LatencyTimer GET_LECTURER_NAMES_FOR_COURSES_TIMER = Metrics.timer("CourseAssignmentDAO.getLecturerNamesForCourses");
+
+    /** Ids per IN (...) list */
+    static final int BATCH_SIZE = 500;
+
+    private static final String COURSE_COLUMNS = "c.course_id, c.course_code, c.title, c.description, c.credits";
+    private static final String LECTURER_COLUMNS =
+        "l.lecturer_id, l.first_name, l.last_name, l.email, l.department, l.phone, l.specialty, l.version";
+
+    /**
+     * Assign a course to a lecturer for a semester
+     * @return true if assigned, false if the assignment already existed
+     */
+    public boolean assignCourse(int lecturerId, int courseId, String semester) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO lecturer_courses (lecturer_id, course_id, semester) VALUES (?, ?, ?)";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, lecturerId);
+                stmt.setInt(2, courseId);
+                stmt.setString(3, semester);
+                return stmt.executeUpdate() > 0;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (isDuplicateKey(e)) {
+                    return false;
+                }
+                throw e;  // unknown lecturer or course
+            }
+        } finally {
+            ASSIGN_COURSE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Remove a course assignment
+     * @return true if the assignment existed
+     */
+    public boolean unassignCourse(int lecturerId, int courseId, String semester) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "DELETE FROM lecturer_courses WHERE lecturer_id = ? AND semester = ? AND course_id = ?";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, lecturerId);
+                stmt.setString(2, semester);
+                stmt.setInt(3, courseId);
+                return stmt.executeUpdate() > 0;
+            }
+        } finally {
+            UNASSIGN_COURSE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Courses taught by one lecturer, ordered by course code
+     */
+    public List<Course> getCourses(int lecturerId, String semester) throws SQLException {
+        return getCoursesForLecturers(List.of(lecturerId), semester).getOrDefault(lecturerId, new ArrayList<>());
+    }
+
+    /**
+     * One lecturer and their courses, loaded with a single LEFT JOIN
+     * @return null if there is no lecturer with that id
+     */
+    public LecturerWithCourses getLecturerWithCourses(int lecturerId, String semester) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + LECTURER_COLUMNS + ", " + COURSE_COLUMNS + " FROM lecturers l " +
+                         "LEFT JOIN lecturer_courses lc ON lc.lecturer_id = l.lecturer_id" +
+                         (semester != null ? " AND lc.semester = ?" : "") + " " +
+                         "LEFT JOIN courses c ON c.course_id = lc.course_id " +
+                         "WHERE l.lecturer_id = ? ORDER BY c.course_code";
+
+            try (Connection conn = DatabaseConnection.getReadConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                int index = 1;
+                if (semester != null) {
+                    stmt.setString(index++, semester);
+                }
+                stmt.setInt(index, lecturerId);
+
+                Lecturer lecturer = null;
+                List<Course> courses = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (lecturer == null) {
+                            lecturer = LecturerDAO.readLecturer(rs);
+                        }
+                        rs.getInt("course_id");
+                        if (!rs.wasNull()) {
+                            courses.add(CourseDAO.readCourse(rs));
+                        }
+                    }
+                }
+                return lecturer == null ? null : new LecturerWithCourses(lecturer, courses);
+            }
+        } finally {
+            GET_LECTURER_WITH_COURSES_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Courses of many lecturers at once, e.g. for a page of lecturer cards
+     * @return lecturer id -> courses ordered by code; lecturers without courses are absent
+     */
+    public Map<Integer, List<Course>> getCoursesForLecturers(Collection<Integer> lecturerIds, String semester) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Map<Integer, List<Course>> result = new HashMap<>();
+            List<Integer> ids = new ArrayList<>(lecturerIds);
+
+            try (Connection conn = DatabaseConnection.getReadConnection()) {
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                    String sql = "SELECT lc.lecturer_id, " + COURSE_COLUMNS + " FROM lecturer_courses lc " +
+                                 "JOIN courses c ON c.course_id = lc.course_id " +
+                                 "WHERE lc.lecturer_id IN (" + placeholders(batch.size()) + ")" +
+                                 (semester != null ? " AND lc.semester = ?" : "") +
+                                 " ORDER BY lc.lecturer_id, c.course_code";
+
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = bindIds(stmt, batch);
+                        if (semester != null) {
+                            stmt.setString(index, semester);
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                result.computeIfAbsent(rs.getInt("lecturer_id"), k -> new ArrayList<>())
+                                      .add(CourseDAO.readCourse(rs));
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            GET_COURSES_FOR_LECTURERS_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Names of the lecturers teaching each course (any semester), e.g. for a
+     * page of course cards
+     * @return course id -> distinct lecturer names; unassigned courses are absent
+     */
+    public Map<Integer, List<String>> getLecturerNamesForCourses(Collection<Integer> courseIds) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Map<Integer, List<String>> result = new HashMap<>();
+            List<Integer> ids = new ArrayList<>(courseIds);
+
+            try (Connection conn = DatabaseConnection.getReadConnection()) {
+                for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                    List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+                    String sql = "SELECT DISTINCT lc.course_id, l.first_name, l.last_name FROM lecturer_courses lc " +
+                                 "JOIN lecturers l ON l.lecturer_id = lc.lecturer_id " +
+                                 "WHERE lc.course_id IN (" + placeholders(batch.size()) + ") " +
+                                 "ORDER BY lc.course_id, l.last_name, l.first_name";
+
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        bindIds(stmt, batch);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                result.computeIfAbsent(rs.getInt("course_id"), k -> new ArrayList<>())
+                                      .add(rs.getString("first_name") + " " + rs.getString("last_name"));
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            GET_LECTURER_NAMES_FOR_COURSES_TIMER.stop(start);
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.toString();
+    }
+
+    /** @return the next free parameter index */
+    private static int bindIds(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        int index = 1;
+        for (int id : ids) {
+            stmt.setInt(index++, id);
+        }
+        return index;
+    }
+
+    /** MySQL error 1062 / SQLState 23505 (H2) mean a duplicate key, not a foreign key failure */
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+}
@@ -0,0 +1,183 @@
+package Data;
+
+import Model.Course;
+import Util.DatabaseConnection;
+import Util.LatencyTimer;
+import Util.Metrics;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple database operations for Courses
+ * Handles basic CRUD operations on the courses table. Which lecturer teaches
+ * which course is handled by CourseAssignmentDAO.
+ *
+ * course_code is unique (and indexed), so getCourseByCode() is a single
+ * index lookup.
+ */
+public class CourseDAO {
+    private static final LatencyTimer ADD_COURSE_TIMER = Metrics.timer("CourseDAO.addCourse");
+    private static final LatencyTimer GET_COURSE_TIMER = Metrics.timer("CourseDAO.getCourse");
+    private static final LatencyTimer GET_COURSE_BY_CODE_TIMER = Metrics.timer("CourseDAO.getCourseByCode");
+    private static final LatencyTimer GET_COURSES_PAGE_TIMER = Metrics.timer("CourseDAO.getCoursesPage");
+    private static final LatencyTimer UPDATE_COURSE_TIMER = Metrics.timer("CourseDAO.updateCourse");
+    private static final LatencyTimer DELETE_COURSE_TIMER = Metrics.timer("CourseDAO.deleteCourse");
+
+    private static final String COLUMNS = "course_id, course_code, title, description, credits";
+
+    /**
+     * Add a new course to the database
+     * @return the generated course_id, or -1 if the driver didn't report it
+     */
+    public int addCourse(String code, String title, String description, int credits) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO courses (course_code, title, description, credits) VALUES (?, ?, ?, ?)";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                stmt.setString(1, code);
+                stmt.setString(2, title);
+                stmt.setString(3, description);
+                stmt.setInt(4, credits);
+                stmt.executeUpdate();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    return keys.next() ? keys.getInt(1) : -1;
+                }
+            }
+        } finally {
+            ADD_COURSE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one course by id
+     * @return the course, or null if there is no course with that id
+     */
+    public Course getCourse(int id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM courses WHERE course_id = ?";
+
+            try (Connection conn = DatabaseConnection.getReadConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? readCourse(rs) : null;
+                }
+            }
+        } finally {
+            GET_COURSE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one course by its code, e.g. "CS101"
+     * @return the course, or null if there is no course with that code
+     */
+    public Course getCourseByCode(String code) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM courses WHERE course_code = ?";
+
+            try (Connection conn = DatabaseConnection.getReadConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, code);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? readCourse(rs) : null;
+                }
+            }
+        } finally {
+            GET_COURSE_BY_CODE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one page of courses ordered by id (keyset pagination, like
+     * LecturerDAO.getLecturersPage)
+     * @param afterId Return courses with a larger id than this; 0 for the first page
+     * @param pageSize Maximum number of courses to return
+     * @return the page; shorter than pageSize on the last page
+     */
+    public List<Course> getCoursesPage(int afterId, int pageSize) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM courses WHERE course_id > ? ORDER BY course_id LIMIT ?";
+            List<Course> page = new ArrayList<>(pageSize);
+
+            try (Connection conn = DatabaseConnection.getReadConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, afterId);
+                stmt.setInt(2, pageSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        page.add(readCourse(rs));
+                    }
+                }
+            }
+            return page;
+        } finally {
+            GET_COURSES_PAGE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Update a course's information
+     * @return true if a course with that id existed and was updated
+     */
+    public boolean updateCourse(int id, String code, String title, String description, int credits) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "UPDATE courses SET course_code = ?, title = ?, description = ?, credits = ? WHERE course_id = ?";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, code);
+                stmt.setString(2, title);
+                stmt.setString(3, description);
+                stmt.setInt(4, credits);
+                stmt.setInt(5, id);
+                return stmt.executeUpdate() > 0;
+            }
+        } finally {
+            UPDATE_COURSE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Delete a course; its lecturer assignments go with it (ON DELETE CASCADE)
+     * @return true if a course with that id existed
+     */
+    public boolean deleteCourse(int id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "DELETE FROM courses WHERE course_id = ?";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                return stmt.executeUpdate() > 0;
+            }
+        } finally {
+            DELETE_COURSE_TIMER.stop(start);
+        }
+    }
+
+    static Course readCourse(ResultSet rs) throws SQLException {
+        return new Course(
+            rs.getInt("course_id"),
+            rs.getString("course_code"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getInt("credits")
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a LecturerImporter run
+ * Rows that could not be imported are listed with their row number
+ * (1 = first data row, header not counted) and the reason.
+ */
+public class ImportResult {
+
+    /**
+     * One rejected row
+     */
+    public static class RowError {
+        private final int row;
+        private final String email;
+        private final String message;
+
+        public RowError(int row, String email, String message) {
+            this.row = row;
+            this.email = email;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public String getEmail() { return email; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Row " + row + (email != null ? " (" + email + ")" : "") + ": " + message;
+        }
+    }
+
+    private int inserted;
+    private int processed;
+    private final List<RowError> errors = new ArrayList<>();
+    private long elapsedNanos;
+
+    void addInserted(int count) { inserted += count; }
+    void addProcessed(int count) { processed += count; }
+    void addError(RowError error) { errors.add(error); }
+    void setElapsedNanos(long nanos) { elapsedNanos = nanos; }
+
+    /** Rows written to the database */
+    public int getInserted() { return inserted; }
+    /** Rows read from the input, including rejected ones */
+    public int getProcessed() { return processed; }
+    public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+    public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : inserted / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("processed=%d, inserted=%d, rejected=%d, %.0f ms (%.0f rows/s)",
+                processed, inserted, errors.size(), getElapsedMillis(), getRowsPerSecond());
+    }
+}
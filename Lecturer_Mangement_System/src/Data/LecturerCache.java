@@ -0,0 +1,327 @@
+package Data;
+
+import Model.Lecturer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory cache of lecturer rows used by LecturerDAO
+ *
+ * Two views are kept:
+ * - by id: an LRU map bounded to MAX_ENTRIES lecturers
+ * - full list: every lecturer ordered by id, kept only if the table has at
+ *   most MAX_LIST_SIZE rows
+ * Both expire TTL_MILLIS after they were loaded from the database.
+ *
+ * LecturerDAO is the only writer of the lecturers table, and it patches the
+ * cache after every successful add/update/delete, so the cache never serves a
+ * row this application has changed. Changes made by other clients show up
+ * once the TTL runs out.
+ *
+ * The full list can also be assembled from a complete run of keyset pages
+ * (getLecturersPage(0, n), then the next page after the last id, ...), which
+ * is how the Faculty Lecturers screen reads the table.
+ *
+ * Lecturer is immutable, so cached instances are handed out as they are;
+ * a caller can't change what the cache (or another caller) holds, and the
+ * row LecturerDAO peeks at before a write is the row as it was.
+ *
+ * Loads carry the generation() seen before the query was sent. If a write
+ * happened while the query ran, the loaded rows may be older than the cache
+ * and are dropped.
+ *
+ * All methods are synchronized; they only touch memory.
+ */
+public class LecturerCache {
+    public static final int MAX_ENTRIES = 10_000;
+    public static final int MAX_LIST_SIZE = 50_000;
+    public static final long TTL_MILLIS = 5 * 60_000;
+
+    private final int maxEntries;
+    private final int maxListSize;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Integer, Entry> byId;
+    private List<Lecturer> allLecturers;   // sorted by id, null if not cached
+    private long allLoadedAt;
+
+    // Full list being assembled from consecutive keyset pages
+    private List<Lecturer> scan;
+    private int scanLastId;
+    private long scanStartedAt;
+
+    /** Incremented by every write so in-flight loads can tell they are stale */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LecturerCache() {
+        this(MAX_ENTRIES, MAX_LIST_SIZE, TTL_MILLIS);
+    }
+
+    public LecturerCache(int maxEntries, int maxListSize, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxListSize = maxListSize;
+        this.ttlMillis = ttlMillis;
+        this.byId = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, LecturerCache.Entry> eldest) {
+                if (size() > LecturerCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static final class Entry {
+        final Lecturer lecturer;
+        final long loadedAt;
+
+        Entry(Lecturer lecturer, long loadedAt) {
+            this.lecturer = lecturer;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // ---- Reads ----
+
+    /**
+     * Cached lecturer by id, or null on a miss
+     */
+    public synchronized Lecturer get(int id) {
+        long now = System.currentTimeMillis();
+        Entry entry = byId.get(id);
+        if (entry != null) {
+            if (now - entry.loadedAt <= ttlMillis) {
+                hits++;
+                return entry.lecturer;
+            }
+            byId.remove(id);
+            expirations++;
+        }
+        if (isListFresh(now)) {
+            int index = indexOf(allLecturers, id);
+            if (index >= 0) {
+                hits++;
+                return allLecturers.get(index);
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Cached lecturer by id regardless of age, or null; not counted in the stats
+     * (used to tell whether a synced row differs from what this client has)
+     */
+    public synchronized Lecturer peek(int id) {
+        Entry entry = byId.get(id);
+        if (entry != null) {
+            return entry.lecturer;
+        }
+        if (allLecturers != null) {
+            int index = indexOf(allLecturers, id);
+            if (index >= 0) {
+                return allLecturers.get(index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copy of the cached full list, or null on a miss
+     */
+    public synchronized List<Lecturer> getAll() {
+        if (isListFresh(System.currentTimeMillis())) {
+            hits++;
+            return new ArrayList<>(allLecturers);
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * One keyset page cut from the cached full list, or null on a miss
+     */
+    public synchronized List<Lecturer> getPage(int afterId, int pageSize) {
+        if (!isListFresh(System.currentTimeMillis())) {
+            misses++;
+            return null;
+        }
+        hits++;
+        int from = 0;   // afterId 0 is the first page, including temporary negative ids
+        if (afterId != 0) {
+            from = indexOf(allLecturers, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+        }
+        int to = Math.min(allLecturers.size(), from + pageSize);
+        return new ArrayList<>(allLecturers.subList(from, to));
+    }
+
+    private boolean isListFresh(long now) {
+        if (allLecturers == null) {
+            return false;
+        }
+        if (now - allLoadedAt > ttlMillis) {
+            allLecturers = null;
+            expirations++;
+            return false;
+        }
+        return true;
+    }
+
+    // ---- Loads from the database ----
+
+    /**
+     * Call before querying the database; pass the value to put/putAll/putPage
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Remember a lecturer read from the database
+     */
+    public synchronized void put(long readGeneration, Lecturer lecturer) {
+        if (readGeneration != generation) {
+            return;
+        }
+        byId.put(lecturer.getId(), new Entry(lecturer, System.currentTimeMillis()));
+    }
+
+    /**
+     * Remember the whole table (must be sorted by id)
+     */
+    public synchronized void putAll(long readGeneration, List<Lecturer> lecturers) {
+        scan = null;
+        if (readGeneration != generation) {
+            return;
+        }
+        if (lecturers.size() > maxListSize) {
+            allLecturers = null;
+            return;
+        }
+        allLecturers = new ArrayList<>(lecturers);
+        allLoadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Remember a keyset page read from the database
+     * When the pages from afterId 0 up to a short last page arrive in order,
+     * they are combined into the cached full list.
+     */
+    public synchronized void putPage(long readGeneration, int afterId, int pageSize, List<Lecturer> page) {
+        if (readGeneration != generation) {
+            scan = null;
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Lecturer lecturer : page) {
+            byId.put(lecturer.getId(), new Entry(lecturer, now));
+        }
+
+        if (afterId == 0) {
+            scan = new ArrayList<>();
+            scanStartedAt = now;
+        } else if (scan == null || afterId != scanLastId) {
+            scan = null;  // not a continuation of the scan in progress
+            return;
+        }
+
+        scan.addAll(page);
+        if (!page.isEmpty()) {
+            scanLastId = page.get(page.size() - 1).getId();
+        }
+        if (scan.size() > maxListSize) {
+            scan = null;
+        } else if (page.size() < pageSize) {
+            // Last page: the scan covered the whole table
+            allLecturers = scan;
+            allLoadedAt = scanStartedAt;
+            scan = null;
+        }
+    }
+
+    // ---- Writes made through LecturerDAO ----
+
+    /**
+     * A lecturer was inserted or updated in the database
+     */
+    public synchronized void written(Lecturer lecturer) {
+        generation++;
+        scan = null;
+        long now = System.currentTimeMillis();
+        byId.put(lecturer.getId(), new Entry(lecturer, now));
+
+        if (allLecturers != null) {
+            int index = indexOf(allLecturers, lecturer.getId());
+            if (index >= 0) {
+                allLecturers.set(index, lecturer);
+            } else if (allLecturers.size() < maxListSize) {
+                allLecturers.add(-index - 1, lecturer);
+            } else {
+                allLecturers = null;
+            }
+        }
+    }
+
+    /**
+     * A lecturer was deleted from the database
+     */
+    public synchronized void removed(int id) {
+        generation++;
+        scan = null;
+        byId.remove(id);
+        if (allLecturers != null) {
+            int index = indexOf(allLecturers, id);
+            if (index >= 0) {
+                allLecturers.remove(index);
+            }
+        }
+    }
+
+    /**
+     * Forget everything, e.g. after a write whose effect isn't known exactly
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        byId.clear();
+        allLecturers = null;
+        scan = null;
+    }
+
+    /**
+     * Binary search for an id in a list sorted by id
+     * @return the index, or (-(insertion point) - 1) if absent
+     */
+    private static int indexOf(List<Lecturer> sorted, int id) {
+        int low = 0;
+        int high = sorted.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = sorted.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // ---- Statistics ----
+
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, expirations, byId.size(),
+                allLecturers == null ? 0 : allLecturers.size());
+    }
+}
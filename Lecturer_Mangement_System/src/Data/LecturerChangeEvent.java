@@ -0,0 +1,53 @@
+package Data;
+
+import Model.Lecturer;
+
+/**
+ * One change to the lecturers table made through LecturerDAO
+ *
+ * INSERTED and UPDATED carry the row as it now is in the database, DELETED
+ * only the id. RELOADED means many rows changed at once (e.g. a bulk import)
+ * and anything derived from the table should be reloaded.
+ */
+public class LecturerChangeEvent {
+    public enum Type { INSERTED, UPDATED, DELETED, RELOADED }
+
+    private final Type type;
+    private final int lecturerId;
+    private final Lecturer lecturer;
+
+    private LecturerChangeEvent(Type type, int lecturerId, Lecturer lecturer) {
+        this.type = type;
+        this.lecturerId = lecturerId;
+        this.lecturer = lecturer;
+    }
+
+    public static LecturerChangeEvent inserted(Lecturer lecturer) {
+        return new LecturerChangeEvent(Type.INSERTED, lecturer.getId(), lecturer);
+    }
+
+    public static LecturerChangeEvent updated(Lecturer lecturer) {
+        return new LecturerChangeEvent(Type.UPDATED, lecturer.getId(), lecturer);
+    }
+
+    public static LecturerChangeEvent deleted(int lecturerId) {
+        return new LecturerChangeEvent(Type.DELETED, lecturerId, null);
+    }
+
+    public static LecturerChangeEvent reloaded() {
+        return new LecturerChangeEvent(Type.RELOADED, 0, null);
+    }
+
+    public Type getType() { return type; }
+
+    /** 0 for RELOADED */
+    public int getLecturerId() { return lecturerId; }
+
+    /** The new row for INSERTED and UPDATED, otherwise null */
+    public Lecturer getLecturer() { return lecturer; }
+
+    @Override
+    public String toString() {
+        return type + " " + lecturerId;
+    }
+}
@@ -0,0 +1,31 @@
+package Data;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Read-only snapshot of LecturerStats headcounts
+ * Get one from LecturerStats.getInstance().getCounts()
+ */
+public class LecturerCounts {
+    private final long total;
+    private final Map<String, Long> byDepartment;
+    private final Map<String, Long> bySpecialty;
+
+    public LecturerCounts(long total, Map<String, Long> byDepartment, Map<String, Long> bySpecialty) {
+        this.total = total;
+        this.byDepartment = Collections.unmodifiableMap(byDepartment);
+        this.bySpecialty = Collections.unmodifiableMap(bySpecialty);
+    }
+
+    public long getTotal() { return total; }
+    /** Lecturers per department, largest first */
+    public Map<String, Long> getByDepartment() { return byDepartment; }
+    /** Lecturers per specialty, largest first; the null key counts those with none */
+    public Map<String, Long> getBySpecialty() { return bySpecialty; }
+
+    @Override
+    public String toString() {
+        return "total=" + total + ", departments=" + byDepartment + ", specialties=" + bySpecialty;
+    }
+}
@@ -1,98 +1,705 @@
 package Data;
 
 import Model.Lecturer;
+import Model.LecturerField;
 import Util.DatabaseConnection;
+import Util.LatencyTimer;
+import Util.Logger;
+import Util.Metrics;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Simple database operations for Lecturers
  * Handles basic CRUD (Create, Read, Update, Delete) operations
+ *
+ * Once the LocalReplica is primed, reads are served from it and writes are
+ * stored there and queued for the server (see WriteBehindQueue), so the
+ * application keeps working while MySQL is slow or unreachable.
  */
 public class LecturerDAO {
+    private static final LatencyTimer ADD_LECTURER_TIMER = Metrics.timer("LecturerDAO.addLecturer");
+    private static final LatencyTimer GET_LECTURER_TIMER = Metrics.timer("LecturerDAO.getLecturer");
+    private static final LatencyTimer GET_ALL_LECTURERS_TIMER = Metrics.timer("LecturerDAO.getAllLecturers");
+    private static final LatencyTimer GET_LECTURERS_PAGE_TIMER = Metrics.timer("LecturerDAO.getLecturersPage");
+    private static final LatencyTimer FOR_EACH_LECTURER_TIMER = Metrics.timer("LecturerDAO.forEachLecturer");
+    private static final LatencyTimer UPDATE_LECTURER_TIMER = Metrics.timer("LecturerDAO.updateLecturer");
+    private static final LatencyTimer DELETE_LECTURER_TIMER = Metrics.timer("LecturerDAO.deleteLecturer");
+    private static final LatencyTimer COUNT_TIMER = Metrics.timer("LecturerDAO.countByDepartmentAndSpecialty");
+    private static final Logger log = Logger.get(LecturerDAO.class);
+
+    /** What readLecturer() expects in a result set */
+    static final String COLUMNS = "lecturer_id, first_name, last_name, email, department, phone, specialty, version";
+
+    /** "first_name = ?, phone = ?, " for each set of fields (by LecturerField mask), so an UPDATE sends only what changed */
+    private static final String[] SET_CLAUSES = new String[LecturerField.ALL_MASK + 1];
+    static {
+        for (int mask = 0; mask < SET_CLAUSES.length; mask++) {
+            StringBuilder clause = new StringBuilder();
+            for (LecturerField field : LecturerField.fromMask(mask)) {
+                clause.append(field.column()).append(" = ?, ");
+            }
+            SET_CLAUSES[mask] = clause.toString();
+        }
+    }
+
+    /** The SET assignments for these fields, each followed by ", " */
+    static String setClause(int fieldMask) {
+        return SET_CLAUSES[fieldMask];
+    }
+
+    /**
+     * Bind the lecturer's values for these fields in setClause() order
+     * @return the next parameter index
+     */
+    static int bindFields(PreparedStatement stmt, Lecturer lecturer, int fieldMask, int index) throws SQLException {
+        for (LecturerField field : LecturerField.values()) {
+            if ((fieldMask & (1 << field.ordinal())) != 0) {
+                stmt.setString(index++, field.get(lecturer));
+            }
+        }
+        return index;
+    }
+
+    /** Read-through cache shared by every LecturerDAO, patched by every write below */
+    private static final LecturerCache cache = new LecturerCache();
+
+    private static final LocalReplica replica = LocalReplica.getInstance();
+
+    /** Dashboard headcounts, patched by every write below like the cache */
+    private static final LecturerStats stats = LecturerStats.getInstance();
+
+    /**
+     * Held while the headcounts and cache are patched together, so each
+     * patch starts from the row the previous one left in the cache
+     */
+    private static final Object patchLock = new Object();
+
+    /** Where lecturer reads go: the local replica once it is ready, else the server (a read replica if there are any) */
+    private static Connection readConnection() throws SQLException {
+        return replica.isReady() ? replica.getConnection() : DatabaseConnection.getReadConnection();
+    }
+
+    /**
+     * Hit/miss/eviction counters of the lecturer cache
+     */
+    public static CacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Drop every cached lecturer so the next read goes to the database
+     */
+    public static void invalidateCache() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Keep the headcounts, cache and search index in step after a lecturer
+     * was inserted, then tell listeners (see LecturerEvents)
+     * The headcounts are patched first, from the row the cache still holds.
+     */
+    private static void inserted(Lecturer lecturer) {
+        inserted(lecturer, true);
+    }
+
+    /**
+     * @param ownWrite false for a change merged from another desk, which
+     *        LecturerStats can't apply as a delta
+     */
+    private static void inserted(Lecturer lecturer, boolean ownWrite) {
+        synchronized (patchLock) {
+            Lecturer before = cache.peek(lecturer.getId());
+            if (!ownWrite) {
+                stats.remoteChanged(before, lecturer);
+            } else if (before == null) {
+                stats.inserted(lecturer);
+            } else {
+                stats.updated(before, lecturer);
+            }
+            cache.written(lecturer);
+        }
+        LecturerSearchIndex.getInstance().put(lecturer);
+        LecturerEvents.publish(LecturerChangeEvent.inserted(lecturer));
+    }
+
+    /**
+     * Same as inserted(), after a lecturer was updated
+     */
+    private static void updated(Lecturer lecturer) {
+        updated(lecturer, true);
+    }
+
+    private static void updated(Lecturer lecturer, boolean ownWrite) {
+        synchronized (patchLock) {
+            Lecturer before = cache.peek(lecturer.getId());
+            if (ownWrite) {
+                stats.updated(before, lecturer);
+            } else {
+                stats.remoteChanged(before, lecturer);
+            }
+            cache.written(lecturer);
+        }
+        LecturerSearchIndex.getInstance().put(lecturer);
+        LecturerEvents.publish(LecturerChangeEvent.updated(lecturer));
+    }
+
+    /**
+     * Same as inserted(), after a lecturer was deleted (or found missing)
+     */
+    private static void removed(int id) {
+        removed(id, true);
+    }
+
+    private static void removed(int id, boolean ownWrite) {
+        synchronized (patchLock) {
+            Lecturer before = cache.peek(id);
+            if (ownWrite) {
+                stats.removed(before);
+            } else {
+                stats.remoteChanged(before, null);
+            }
+            cache.removed(id);
+        }
+        LecturerSearchIndex.getInstance().remove(id);
+        LecturerEvents.publish(LecturerChangeEvent.deleted(id));
+    }
+
+    /**
+     * Merge a row another client inserted or updated (see LecturerSyncService)
+     * Rows this client already holds unchanged, such as its own writes coming
+     * back from the poll, are skipped, and so are lecturers with a local write
+     * still queued (the replay settles those).
+     * @return true if the row was new or different and listeners were told
+     */
+    static boolean remoteWritten(Lecturer lecturer, Timestamp updatedAt, boolean isNew) throws SQLException {
+        if (replica.isReady() && !replica.applyRemote(lecturer, updatedAt)) {
+            return false;
+        }
+        if (sameRow(cache.peek(lecturer.getId()), lecturer)) {
+            return false;
+        }
+        if (isNew) {
+            inserted(lecturer, false);
+        } else {
+            updated(lecturer, false);
+        }
+        return true;
+    }
+
+    /**
+     * Merge a delete made by another client (see LecturerSyncService)
+     * @return false if a local write to the lecturer is still queued
+     */
+    static boolean remoteDeleted(int id) throws SQLException {
+        if (replica.isReady() && !replica.applyRemoteDelete(id)) {
+            return false;
+        }
+        removed(id, false);
+        return true;
+    }
+
+    /**
+     * A lecturer added while offline reached the server and got its real id
+     * (see WriteBehindQueue); listeners see the temporary one go and the real one arrive
+     */
+    static void replicaIdAssigned(int tempId, Lecturer lecturer) {
+        removed(tempId);
+        inserted(lecturer);
+    }
+
+    /**
+     * A queued write lost to a change made at another desk; show the server's version
+     * @param serverRow null if the lecturer no longer exists on the server
+     */
+    static void replicaConflict(int id, Lecturer serverRow) {
+        if (serverRow == null) {
+            removed(id, false);
+        } else {
+            updated(serverRow, false);
+        }
+    }
+
+    static boolean sameRow(Lecturer a, Lecturer b) {
+        return a != null && b != null && a.getId() == b.getId()
+            && Objects.equals(a.getFirstName(), b.getFirstName())
+            && Objects.equals(a.getLastName(), b.getLastName())
+            && Objects.equals(a.getEmail(), b.getEmail())
+            && Objects.equals(a.getDepartment(), b.getDepartment())
+            && Objects.equals(a.getPhone(), b.getPhone())
+            && Objects.equals(a.getSpecialty(), b.getSpecialty())
+            && a.getVersion() == b.getVersion();
+    }
+
+    /**
+     * Many rows changed at once (bulk import); drop derived state instead of patching it
+     */
+    static void bulkWritten() {
+        stats.invalidate();
+        cache.invalidateAll();
+        LecturerSearchIndex.getInstance().invalidate();
+        LecturerEvents.publish(LecturerChangeEvent.reloaded());
+    }
     
+    /**
+     * While the dashboard's headcounts are in use (see LecturerStats), make
+     * sure a lecturer about to be changed is cached, so the counts can be
+     * patched from its old department and specialty instead of recounted
+     */
+    private void cacheBeforeWrite(int id) throws SQLException {
+        if (stats.isLoaded() && cache.peek(id) == null) {
+            getLecturer(id);
+        }
+    }
+
     /**
      * Add a new lecturer to the database
+     * @return ADDED with the generated lecturer_id, or, while the local
+     *         replica is in use, QUEUED with a temporary negative id until
+     *         the INSERT reached the server (see replicaIdAssigned())
      */
-    public void addLecturer(String firstName, String lastName, String email, String department, String phone, String specialty) throws SQLException {
-        String sql = "INSERT INTO lecturers (first_name, last_name, email, department, phone, specialty) VALUES (?, ?, ?, ?, ?, ?)";
+    public AddResult addLecturer(String firstName, String lastName, String email, String department, String phone, String specialty) throws SQLException {
+        long start = System.nanoTime();
+        stats.writeStarted();
+        try {
+            if (replica.isReady()) {
+                Lecturer lecturer = replica.queueInsert(firstName, lastName, email, department, phone, specialty);
+                inserted(lecturer);
+                return AddResult.queued(lecturer);
+            }
+
+            String sql = "INSERT INTO lecturers (first_name, last_name, email, department, phone, specialty) VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(1, firstName);
-            stmt.setString(2, lastName);
-            stmt.setString(3, email);
-            stmt.setString(4, department);
-            stmt.setString(5, phone);
-            stmt.setString(6, specialty);
-            stmt.executeUpdate();
+                stmt.setString(1, firstName);
+                stmt.setString(2, lastName);
+                stmt.setString(3, email);
+                stmt.setString(4, department);
+                stmt.setString(5, phone);
+                stmt.setString(6, specialty);
+                stmt.executeUpdate();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) {
+                        Lecturer lecturer = new Lecturer(keys.getInt(1), firstName, lastName, email, department, phone, specialty);
+                        inserted(lecturer);
+                        return AddResult.added(lecturer);
+                    }
+                }
+                // Without the new id we can't patch the cache precisely
+                bulkWritten();
+                return AddResult.added(null);
+            }
+        } finally {
+            stats.writeFinished();
+            ADD_LECTURER_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one lecturer by id
+     * @return the lecturer, or null if there is no lecturer with that id
+     */
+    public Lecturer getLecturer(int id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Lecturer cached = cache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+
+            String sql = "SELECT " + COLUMNS + " FROM lecturers WHERE lecturer_id = ?";
+            long generation = cache.generation();
+
+            try (Connection conn = readConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    Lecturer lecturer = readLecturer(rs);
+                    cache.put(generation, lecturer);
+                    return lecturer;
+                }
+            }
+        } finally {
+            GET_LECTURER_TIMER.stop(start);
         }
     }
     
+    /** Rows fetched per round trip when streaming the lecturers table */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Callback for lecturers read one at a time
+     */
+    @FunctionalInterface
+    public interface LecturerHandler {
+        void handle(Lecturer lecturer) throws SQLException;
+    }
+
     /**
      * Get all lecturers from the database
+     * For large tables prefer getLecturersPage() or forEachLecturer()
      */
     public List<Lecturer> getAllLecturers() throws SQLException {
-        List<Lecturer> lecturers = new ArrayList<>();
-        String sql = "SELECT * FROM lecturers";
-        System.out.println("Attempting to load lecturers from database...");
-        
-        try (Connection conn = DatabaseConnection.getConnection();
+        long start = System.nanoTime();
+        try {
+            List<Lecturer> cached = cache.getAll();
+            if (cached != null) {
+                return cached;
+            }
+
+            List<Lecturer> lecturers = new ArrayList<>();
+            long generation = cache.generation();
+            log.debug("Loading all lecturers from the database");
+            forEachLecturer(lecturers::add);
+            cache.putAll(generation, lecturers);
+            log.debug("Loaded all lecturers", "count", lecturers.size());
+            return lecturers;
+        } finally {
+            GET_ALL_LECTURERS_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one page of lecturers ordered by id (keyset pagination)
+     * Pass 0 as afterId for the first page, then the id of the last lecturer
+     * of the previous page. Unlike OFFSET, each page costs the same no matter
+     * how deep into the table it is. The first page starts at the lowest id,
+     * so lecturers still holding a temporary negative id (see addLecturer())
+     * come first.
+     * @return up to pageSize lecturers with an id greater than afterId
+     */
+    public List<Lecturer> getLecturersPage(int afterId, int pageSize) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Lecturer> cached = cache.getPage(afterId, pageSize);
+            if (cached != null) {
+                return cached;
+            }
+
+            String sql = "SELECT " + COLUMNS + " FROM lecturers " +
+                         "WHERE lecturer_id > ? ORDER BY lecturer_id LIMIT ?";
+            List<Lecturer> page = new ArrayList<>(pageSize);
+            long generation = cache.generation();
+
+            try (Connection conn = readConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, afterId == 0 ? Integer.MIN_VALUE : afterId);
+                stmt.setInt(2, pageSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        page.add(readLecturer(rs));
+                    }
+                }
+            }
+            cache.putPage(generation, afterId, pageSize, page);
+            return page;
+        } finally {
+            GET_LECTURERS_PAGE_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Read every lecturer in id order, handing each one to the handler as it arrives
+     * Rows are fetched from the server in chunks, so memory use does not grow
+     * with the size of the table. Always reads the database, never the cache.
+     * @return number of lecturers read
+     */
+    public int forEachLecturer(LecturerHandler handler) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int count = 0;
+            try (Connection conn = readConnection();
+                 PreparedStatement stmt = prepareStreaming(conn);
+                 ResultSet rs = stmt.executeQuery()) {
+
+                while (rs.next()) {
+                    handler.handle(readLecturer(rs));
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            FOR_EACH_LECTURER_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Stream every lecturer in id order
+     * The stream holds a database connection until it is closed, so always
+     * use it in a try-with-resources block:
+     *   try (Stream<Lecturer> lecturers = dao.streamLecturers()) { ... }
+     * Database errors while reading surface as UncheckedSQLException.
+     */
+    public Stream<Lecturer> streamLecturers() throws SQLException {
+        Connection conn = readConnection();
+        PreparedStatement stmt = null;
+        try {
+            stmt = prepareStreaming(conn);
+            ResultSet rs = stmt.executeQuery();
+            PreparedStatement query = stmt;
+
+            Spliterator<Lecturer> rows = new Spliterators.AbstractSpliterator<Lecturer>(
+                    Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Lecturer> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(readLecturer(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+            };
+
+            return StreamSupport.stream(rows, false).onClose(() -> closeStreaming(rs, query, conn));
+        } catch (SQLException | RuntimeException e) {
+            if (stmt != null) {
+                stmt.close();
+            }
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Close a stream's result set, statement and connection, in that order;
+     * the later ones are closed even if an earlier close fails
+     */
+    private static void closeStreaming(ResultSet rs, PreparedStatement stmt, Connection conn) {
+        try {
+            try {
+                rs.close();
+            } finally {
+                try {
+                    stmt.close();
+                } finally {
+                    conn.close();
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSQLException(e);
+        }
+    }
+
+    /**
+     * Forward-only, read-only query that fetches STREAM_FETCH_SIZE rows at a time
+     * (relies on useCursorFetch=true in the connection URL)
+     */
+    private PreparedStatement prepareStreaming(Connection conn) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM lecturers ORDER BY lecturer_id";
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(STREAM_FETCH_SIZE);
+        return stmt;
+    }
+
+    static Lecturer readLecturer(ResultSet rs) throws SQLException {
+        return new Lecturer(
+            rs.getInt("lecturer_id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("department"),
+            rs.getString("phone"),
+            rs.getString("specialty"),
+            rs.getInt("version")
+        );
+    }
+    
+    /**
+     * Callback for countByDepartmentAndSpecialty()
+     */
+    @FunctionalInterface
+    interface GroupCountHandler {
+        void handle(String department, String specialty, long count);
+    }
+
+    /**
+     * Count lecturers per (department, specialty) pair in the database
+     * One row per pair comes back, read from idx_lecturers_department_specialty
+     * without touching the table. Used by LecturerStats; never cached here.
+     */
+    void countByDepartmentAndSpecialty(GroupCountHandler handler) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = readConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT department, specialty, COUNT(*) FROM lecturers GROUP BY department, specialty")) {
+
             while (rs.next()) {
-                int id = rs.getInt("lecturer_id");
-                String firstName = rs.getString("first_name");
-                String lastName = rs.getString("last_name");
-                String email = rs.getString("email");
-                String department = rs.getString("department");
-                String phone = rs.getString("phone");
-                String specialty = rs.getString("specialty");
-                
-                System.out.println("Found lecturer: " + firstName + " " + lastName);
-                
-                Lecturer lecturer = new Lecturer(id, firstName, lastName, email, department, phone, specialty);
-                lecturers.add(lecturer);
-            }
-            System.out.println("Total lecturers found: " + lecturers.size());
-        }
-        return lecturers;
+                handler.handle(rs.getString(1), rs.getString(2), rs.getLong(3));
+            }
+        } finally {
+            COUNT_TIMER.stop(start);
+        }
     }
-    
+
     /**
-     * Update a lecturer's information
+     * Save a lecturer's information, unless someone else changed the lecturer
+     * since it was read at expectedVersion
+     * The check is part of the UPDATE itself (WHERE version = ?), so no row
+     * lock or transaction is held while the user edits. On a conflict nothing
+     * is written and the result carries the other change, for the user to
+     * merge and save again with its version.
+     * While the local replica is in use the check is made against the
+     * replica's copy; the replay checks again on the server (see WriteBehindQueue).
      */
-    public void updateLecturer(int id, String firstName, String lastName, String email, String department, String phone, String specialty) throws SQLException {
-        String sql = "UPDATE lecturers SET first_name = ?, last_name = ?, email = ?, department = ?, phone = ?, specialty = ? WHERE lecturer_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, firstName);
-            stmt.setString(2, lastName);
-            stmt.setString(3, email);
-            stmt.setString(4, department);
-            stmt.setString(5, phone);
-            stmt.setString(6, specialty);
-            stmt.setInt(7, id);
-            stmt.executeUpdate();
+    public UpdateResult updateLecturer(Lecturer lecturer, int expectedVersion) throws SQLException {
+        return updateLecturer(lecturer, expectedVersion, LecturerField.ALL);
+    }
+
+    /**
+     * Like updateLecturer(Lecturer, int), but only the given fields are
+     * written; the others are left as they are stored. Since the version
+     * must still match, they are the values the lecturer was read with.
+     * With no fields nothing is sent and the result is UNCHANGED.
+     */
+    public UpdateResult updateLecturer(Lecturer lecturer, int expectedVersion, Set<LecturerField> changed) throws SQLException {
+        if (changed.isEmpty()) {
+            return UpdateResult.unchanged(lecturer);
+        }
+        int fieldMask = LecturerField.toMask(changed);
+        long start = System.nanoTime();
+        stats.writeStarted();
+        try {
+            cacheBeforeWrite(lecturer.getId());
+            UpdateResult result;
+            if (replica.isReady()) {
+                result = replica.queueUpdate(lecturer, expectedVersion, fieldMask);
+            } else {
+                result = updateOnServer(lecturer, expectedVersion, fieldMask);
+            }
+            // Unless this save went through, what is stored now is another desk's change
+            if (result.getCurrent() == null) {
+                removed(lecturer.getId(), false);
+            } else {
+                // The saved row, or the newer one that won; either way what is stored now
+                updated(result.getCurrent(), result.isUpdated());
+            }
+            if (result.isConflict()) {
+                log.info("Lecturer was changed by someone else, update refused", "lecturerId", lecturer.getId(),
+                        "expectedVersion", expectedVersion, "version", result.getVersion());
+            }
+            return result;
+        } finally {
+            stats.writeFinished();
+            UPDATE_LECTURER_TIMER.stop(start);
+        }
+    }
+
+    private UpdateResult updateOnServer(Lecturer lecturer, int expectedVersion, int fieldMask) throws SQLException {
+        String sql = "UPDATE lecturers SET " + setClause(fieldMask) +
+                     "version = version + 1 WHERE lecturer_id = ? AND version = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int next = bindFields(stmt, lecturer, fieldMask, 1);
+                stmt.setInt(next, lecturer.getId());
+                stmt.setInt(next + 1, expectedVersion);
+                if (stmt.executeUpdate() > 0) {
+                    return UpdateResult.updated(new Lecturer(lecturer.getId(), lecturer.getFirstName(),
+                            lecturer.getLastName(), lecturer.getEmail(), lecturer.getDepartment(),
+                            lecturer.getPhone(), lecturer.getSpecialty(), expectedVersion + 1));
+                }
+            }
+
+            // Changed or deleted since it was read; fetch what won
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM lecturers WHERE lecturer_id = ?")) {
+                stmt.setInt(1, lecturer.getId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? UpdateResult.conflict(readLecturer(rs)) : UpdateResult.notFound();
+                }
+            }
         }
     }
+
+    /**
+     * Overwrite a lecturer's information whatever its version (last write wins)
+     * For tools and examples; screens use updateLecturer(Lecturer, int) so
+     * they never overwrite a change they haven't seen.
+     * @return true if a lecturer with that id existed and was updated
+     */
+    public boolean updateLecturer(int id, String firstName, String lastName, String email, String department, String phone, String specialty) throws SQLException {
+        Lecturer lecturer = new Lecturer(id, firstName, lastName, email, department, phone, specialty);
+        Lecturer current = getLecturer(id);
+        while (current != null) {
+            UpdateResult result = updateLecturer(lecturer, current.getVersion());
+            if (!result.isConflict()) {
+                return result.isUpdated();
+            }
+            current = result.getCurrent();
+        }
+        return false;
+    }
     
     /**
      * Delete a lecturer from the database
+     * Leaves a tombstone in lecturer_tombstones in the same transaction so
+     * other clients' LecturerSyncService can see the delete (WriteBehindQueue
+     * does the same when it replays a queued delete).
+     * @return true if a lecturer with that id existed and was deleted
      */
-    public void deleteLecturer(int id) throws SQLException {
-        String sql = "DELETE FROM lecturers WHERE lecturer_id = ?";
-        
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+    public boolean deleteLecturer(int id) throws SQLException {
+        long start = System.nanoTime();
+        stats.writeStarted();
+        try {
+            cacheBeforeWrite(id);
+            if (replica.isReady()) {
+                boolean deleted = replica.queueDelete(id);
+                removed(id, deleted);
+                return deleted;
+            }
+
+            String sql = "DELETE FROM lecturers WHERE lecturer_id = ?";
+            String tombstoneSql = "INSERT INTO lecturer_tombstones (lecturer_id, deleted_at) VALUES (?, CURRENT_TIMESTAMP) " +
+                                  "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP";
+            boolean deleted;
+
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(sql);
+                     PreparedStatement tombstone = conn.prepareStatement(tombstoneSql)) {
+
+                    stmt.setInt(1, id);
+                    deleted = stmt.executeUpdate() > 0;
+                    if (deleted) {
+                        tombstone.setInt(1, id);
+                        tombstone.executeUpdate();
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(autoCommit);
+                }
+            }
+            // Not deleted: someone else already had, and this desk hasn't heard yet
+            removed(id, deleted);
+            return deleted;
+        } finally {
+            stats.writeFinished();
+            DELETE_LECTURER_TIMER.stop(start);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package Data;
+
+import Util.Logger;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Change-event bus for the lecturers table
+ *
+ * LecturerDAO publishes a LecturerChangeEvent after every successful write,
+ * right after patching its cache and the search index, so screens can patch
+ * the one affected card instead of reloading the whole list.
+ *
+ * Listeners are called on the thread that made the write, which is usually
+ * a background thread (see Controller.UiTasks); UI listeners have to hop to
+ * the FX thread themselves.
+ *
+ * The bus only keeps weak references, so a screen that is thrown away
+ * doesn't stay subscribed. Keep the listener in a field of its owner:
+ *   private final LecturerEvents.Listener changeListener = this::onLecturerChanged;
+ *   ...
+ *   LecturerEvents.subscribe(changeListener);
+ */
+public class LecturerEvents {
+    private static final Logger log = Logger.get(LecturerEvents.class);
+
+    @FunctionalInterface
+    public interface Listener {
+        void lecturerChanged(LecturerChangeEvent event);
+    }
+
+    private static final CopyOnWriteArrayList<WeakReference<Listener>> listeners = new CopyOnWriteArrayList<>();
+
+    public static void subscribe(Listener listener) {
+        listeners.add(new WeakReference<>(listener));
+    }
+
+    public static void unsubscribe(Listener listener) {
+        listeners.removeIf(ref -> {
+            Listener registered = ref.get();
+            return registered == null || registered == listener;
+        });
+    }
+
+    /**
+     * Hand an event to every live listener; a failing listener doesn't stop the others
+     */
+    static void publish(LecturerChangeEvent event) {
+        boolean collected = false;
+        for (WeakReference<Listener> ref : listeners) {
+            Listener listener = ref.get();
+            if (listener == null) {
+                collected = true;
+                continue;
+            }
+            try {
+                listener.lecturerChanged(event);
+            } catch (RuntimeException e) {
+                log.error("Lecturer change listener failed", e, "event", event);
+            }
+        }
+        if (collected) {
+            listeners.removeIf(ref -> ref.get() == null);
+        }
+    }
+
+    /** Number of listeners still reachable */
+    public static int listenerCount() {
+        int count = 0;
+        for (WeakReference<Listener> ref : listeners) {
+            if (ref.get() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
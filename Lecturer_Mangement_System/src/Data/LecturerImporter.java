@@ -0,0 +1,411 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Bulk import of lecturers, e.g. a whole faculty at the start of a semester
+ *
+ * Rows are inserted in chunks of batchSize using JDBC batching (the connection
+ * URL sets rewriteBatchedStatements=true, so each chunk becomes a few
+ * multi-row INSERTs) and each chunk is committed as one transaction.
+ *
+ * Rows are never silently dropped: rows with missing required fields or with
+ * an email that is already in the table (or earlier in the same import) are
+ * reported in ImportResult.getErrors() and the rest of the chunk is still
+ * imported.
+ *
+ * While the LocalReplica is in use, the rows each chunk inserted are read
+ * back from the server and copied into it, so they can be read straight
+ * away instead of after the next sync poll.
+ *
+ * Input can be a List<Lecturer> or a CSV/TSV file whose header names the
+ * columns: first_name, last_name, email, department, phone, specialty
+ * (phone and specialty are optional).
+ *
+ * Example:
+ *   ImportResult result = new LecturerImporter(1000)
+ *           .onProgress((done, total) -> System.out.println(done + "/" + total))
+ *           .importFile(Path.of("faculty.csv"));
+ */
+public class LecturerImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO lecturers (first_name, last_name, email, department, phone, specialty) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Called after every chunk
+     * total is -1 when reading a file, since its length isn't known up front
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int processed, int total);
+    }
+
+    private final int batchSize;
+    private ProgressListener progressListener = (processed, total) -> { };
+
+    public LecturerImporter() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public LecturerImporter(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public LecturerImporter onProgress(ProgressListener listener) {
+        this.progressListener = listener;
+        return this;
+    }
+
+    /** A lecturer plus its position in the input, for error reporting */
+    private static final class Row {
+        final int number;
+        final Lecturer lecturer;
+
+        Row(int number, Lecturer lecturer) {
+            this.number = number;
+            this.lecturer = lecturer;
+        }
+    }
+
+    /**
+     * Import lecturers from a list (their ids are ignored)
+     */
+    public ImportResult importLecturers(List<Lecturer> lecturers) throws SQLException {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<Row> chunk = new ArrayList<>(batchSize);
+            for (int i = 0; i < lecturers.size(); i++) {
+                chunk.add(new Row(i + 1, lecturers.get(i)));
+                if (chunk.size() == batchSize) {
+                    importChunk(conn, chunk, seenEmails, result);
+                    progressListener.onProgress(result.getProcessed(), lecturers.size());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(conn, chunk, seenEmails, result);
+                progressListener.onProgress(result.getProcessed(), lecturers.size());
+            }
+        } finally {
+            finish(result, start);
+        }
+        return result;
+    }
+
+    /**
+     * Import lecturers from a CSV file, or a TSV file if the name ends in .tsv
+     * The file is read one chunk at a time, so it may be larger than memory.
+     */
+    public ImportResult importFile(Path file) throws IOException, SQLException {
+        char separator = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : ',';
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Connection conn = DatabaseConnection.getConnection()) {
+
+            List<String> header = readRecord(reader, separator);
+            if (header == null) {
+                return result;
+            }
+            int[] columns = mapColumns(header);
+
+            List<Row> chunk = new ArrayList<>(batchSize);
+            List<String> record;
+            int rowNumber = 0;
+            while ((record = readRecord(reader, separator)) != null) {
+                rowNumber++;
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;  // blank line
+                }
+                chunk.add(new Row(rowNumber, new Lecturer(0,
+                        field(record, columns[0]), field(record, columns[1]), field(record, columns[2]),
+                        field(record, columns[3]), field(record, columns[4]), field(record, columns[5]))));
+                if (chunk.size() == batchSize) {
+                    importChunk(conn, chunk, seenEmails, result);
+                    progressListener.onProgress(result.getProcessed(), -1);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(conn, chunk, seenEmails, result);
+                progressListener.onProgress(result.getProcessed(), -1);
+            }
+        } finally {
+            finish(result, start);
+        }
+        return result;
+    }
+
+    private void finish(ImportResult result, long start) {
+        result.setElapsedNanos(System.nanoTime() - start);
+        if (result.getInserted() > 0) {
+            // Bulk inserts don't patch the cache and search index row by row
+            LecturerDAO.bulkWritten();
+        }
+    }
+
+    /**
+     * Validate one chunk, then insert the valid rows in a single transaction
+     */
+    private void importChunk(Connection conn, List<Row> chunk, Set<String> seenEmails,
+                             ImportResult result) throws SQLException {
+        result.addProcessed(chunk.size());
+
+        // Required fields and duplicates inside the import itself
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            Lecturer l = row.lecturer;
+            if (isBlank(l.getFirstName()) || isBlank(l.getLastName())
+                    || isBlank(l.getEmail()) || isBlank(l.getDepartment())) {
+                result.addError(new ImportResult.RowError(row.number, l.getEmail(),
+                        "first_name, last_name, email and department are required"));
+            } else if (!seenEmails.add(emailKey(l.getEmail()))) {
+                result.addError(new ImportResult.RowError(row.number, l.getEmail(),
+                        "Duplicate email in import"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Emails already in the table (one query for the whole chunk)
+        Set<String> existing = findExistingEmails(conn, candidates);
+        List<Row> toInsert = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existing.contains(emailKey(row.lecturer.getEmail()))) {
+                result.addError(new ImportResult.RowError(row.number, row.lecturer.getEmail(),
+                        "Email already exists"));
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            for (Row row : toInsert) {
+                bind(stmt, row.lecturer);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+            result.addInserted(toInsert.size());
+        } catch (BatchUpdateException e) {
+            // Someone inserted a clashing row since our check; redo this chunk row by row
+            conn.rollback();
+            insertRowByRow(conn, toInsert, result);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        copyToReplica(conn, toInsert);
+    }
+
+    /**
+     * Reads come from the replica while it's in use; give it the rows just inserted
+     * Rows another client inserted with the same emails meanwhile are copied
+     * too, which is just as correct.
+     */
+    private void copyToReplica(Connection conn, List<Row> rows) throws SQLException {
+        LocalReplica replica = LocalReplica.getInstance();
+        if (!replica.isReady()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("SELECT " + LecturerDAO.COLUMNS + ", updated_at FROM lecturers WHERE email IN (");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        List<Lecturer> lecturers = new ArrayList<>(rows.size());
+        List<Timestamp> updatedAt = new ArrayList<>(rows.size());
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < rows.size(); i++) {
+                stmt.setString(i + 1, rows.get(i).lecturer.getEmail());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lecturers.add(LecturerDAO.readLecturer(rs));
+                    updatedAt.add(rs.getTimestamp("updated_at"));
+                }
+            }
+        }
+        replica.applyRemote(lecturers, updatedAt);
+    }
+
+    /**
+     * Fallback for a failed batch: insert each row separately in one transaction,
+     * reporting the rows the database rejects
+     */
+    private void insertRowByRow(Connection conn, List<Row> rows, ImportResult result) throws SQLException {
+        int inserted = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            for (Row row : rows) {
+                bind(stmt, row.lecturer);
+                try {
+                    stmt.executeUpdate();
+                    inserted++;
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    result.addError(new ImportResult.RowError(row.number, row.lecturer.getEmail(), e.getMessage()));
+                }
+            }
+            conn.commit();
+            result.addInserted(inserted);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    private Set<String> findExistingEmails(Connection conn, List<Row> rows) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT email FROM lecturers WHERE email IN (");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+
+        Set<String> existing = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < rows.size(); i++) {
+                stmt.setString(i + 1, rows.get(i).lecturer.getEmail());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(emailKey(rs.getString(1)));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static void bind(PreparedStatement stmt, Lecturer lecturer) throws SQLException {
+        stmt.setString(1, lecturer.getFirstName());
+        stmt.setString(2, lecturer.getLastName());
+        stmt.setString(3, lecturer.getEmail());
+        stmt.setString(4, lecturer.getDepartment());
+        stmt.setString(5, lecturer.getPhone());
+        stmt.setString(6, lecturer.getSpecialty());
+    }
+
+    /** MySQL's default collation compares emails case-insensitively */
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // ---- CSV / TSV parsing ----
+
+    private static final String[] COLUMNS = { "first_name", "last_name", "email", "department", "phone", "specialty" };
+
+    /**
+     * Find the position of each known column in the header (-1 if absent)
+     */
+    private static int[] mapColumns(List<String> header) throws IOException {
+        int[] positions = new int[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            positions[c] = -1;
+            for (int h = 0; h < header.size(); h++) {
+                if (header.get(h).trim().equalsIgnoreCase(COLUMNS[c])) {
+                    positions[c] = h;
+                }
+            }
+            if (positions[c] < 0 && c < 4) {
+                throw new IOException("Import file is missing the '" + COLUMNS[c] + "' column");
+            }
+        }
+        return positions;
+    }
+
+    private static String field(List<String> record, int position) {
+        if (position < 0 || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Read one record, honouring "quoted" fields that contain separators,
+     * doubled "" quotes or line breaks
+     * @return the fields, or null at end of file
+     */
+    static List<String> readRecord(BufferedReader reader, char separator) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted field continues on the next line
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                field.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,448 @@
+package Data;
+
+import Model.Lecturer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory type-ahead search over lecturers
+ *
+ * Every lecturer is split into lowercase terms taken from first_name,
+ * last_name, department, specialty and the parts of the email address.
+ * Terms are stored in a prefix trie whose nodes hold the ids of the
+ * lecturers containing that term (an inverted index), and each node knows how
+ * many postings live below it. Whole email addresses are kept in a separate
+ * sorted map, so a query like "john.doe@" is a single range lookup.
+ *
+ * A query is split the same way and every query word is treated as a prefix,
+ * so "ad lov" finds "Ada Lovelace". The word with the fewest matches drives
+ * the search and stops as soon as the result limit is reached; any other
+ * words are turned into bitmaps of matching ids to filter the candidates
+ * (with a second bitmap for the temporary negative ids of lecturers queued
+ * while offline, see LocalReplica). So the work depends on how many
+ * lecturers match, not on how many exist.
+ *
+ * The index is built from the database on first use and then kept current by
+ * LecturerDAO's write paths. The build reads into a fresh set of entries
+ * without holding the index lock, so searches and writes aren't held up by
+ * the scan; writes that arrive meanwhile are replayed onto the new entries
+ * before they are swapped in.
+ */
+public class LecturerSearchIndex {
+    private static final LecturerSearchIndex INSTANCE = new LecturerSearchIndex();
+
+    public static LecturerSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** One trie node per character of a term */
+    private static final class Node {
+        Map<Character, Node> children;
+        Set<Integer> postings;      // ids of lecturers with exactly this term
+        int subtreePostings;        // postings in this node and below
+
+        Node child(char c) {
+            return children == null ? null : children.get(c);
+        }
+    }
+
+    /** Ids as bits; negative ids live in their own bitmap, as ~id */
+    private static final class IdBits {
+        final BitSet ids = new BitSet();
+        final BitSet negativeIds = new BitSet();
+
+        void add(int id) {
+            if (id >= 0) {
+                ids.set(id);
+            } else {
+                negativeIds.set(~id);
+            }
+        }
+
+        boolean contains(int id) {
+            return id >= 0 ? ids.get(id) : negativeIds.get(~id);
+        }
+    }
+
+    /** Everything a search reads; replaced as a whole when the index is rebuilt */
+    private static final class Entries {
+        final Node root = new Node();
+        final Map<Integer, Lecturer> lecturers = new HashMap<>();
+        final Map<Integer, String[]> termsById = new HashMap<>();
+        final TreeMap<String, Integer> emails = new TreeMap<>();
+
+        void index(Lecturer lecturer) {
+            int id = lecturer.getId();
+            unindex(id);
+            String[] terms = termsOf(lecturer);
+            for (String term : terms) {
+                addPosting(term, id);
+            }
+            String email = emailKey(lecturer);
+            if (email != null) {
+                emails.put(email, id);
+            }
+            lecturers.put(id, lecturer);
+            termsById.put(id, terms);
+        }
+
+        void unindex(int id) {
+            String[] terms = termsById.remove(id);
+            Lecturer old = lecturers.remove(id);
+            String email = old == null ? null : emailKey(old);
+            if (email != null) {
+                emails.remove(email, id);
+            }
+            if (terms != null) {
+                for (String term : terms) {
+                    removePosting(term, id);
+                }
+            }
+        }
+
+        private void addPosting(String term, int id) {
+            Node node = root;
+            List<Node> path = new ArrayList<>(term.length() + 1);
+            path.add(node);
+            for (int i = 0; i < term.length(); i++) {
+                if (node.children == null) {
+                    node.children = new HashMap<>(4);
+                }
+                node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+                path.add(node);
+            }
+            if (node.postings == null) {
+                node.postings = new LinkedHashSet<>(2);
+            }
+            if (node.postings.add(id)) {
+                for (Node n : path) {
+                    n.subtreePostings++;
+                }
+            }
+        }
+
+        private void removePosting(String term, int id) {
+            Node[] path = new Node[term.length() + 1];
+            Node node = root;
+            path[0] = node;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.child(term.charAt(i));
+                if (node == null) {
+                    return;
+                }
+                path[i + 1] = node;
+            }
+            if (node.postings == null || !node.postings.remove(id)) {
+                return;
+            }
+            if (node.postings.isEmpty()) {
+                node.postings = null;
+            }
+            for (Node n : path) {
+                n.subtreePostings--;
+            }
+            // Prune branches that no longer lead to any term
+            for (int i = term.length(); i > 0; i--) {
+                if (path[i].subtreePostings == 0) {
+                    path[i - 1].children.remove(term.charAt(i - 1));
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    private Entries entries = new Entries();
+    private boolean built;
+    /** Writes made while ensureBuilt() reads the database, null when no build runs */
+    private List<Consumer<Entries>> changesDuringBuild;
+    /** Bumped whenever the entries are replaced, so a build started before that is dropped */
+    private long generation;
+    /** Only one build reads the database at a time */
+    private final Object buildLock = new Object();
+
+    // ---- Building and maintenance ----
+
+    /**
+     * Load every lecturer from the database if that hasn't happened yet
+     * The database is read without holding the index lock. Writes that
+     * finish during the read are recorded and applied to the new entries
+     * after it, so they can't be lost. If the index is invalidated during
+     * the read, the result is dropped and the read starts over.
+     */
+    public void ensureBuilt() throws SQLException {
+        synchronized (buildLock) {
+            while (true) {
+                long startedAt;
+                synchronized (this) {
+                    if (built) {
+                        return;
+                    }
+                    startedAt = generation;
+                    changesDuringBuild = new ArrayList<>();
+                }
+                Entries fresh = new Entries();
+                try {
+                    new LecturerDAO().forEachLecturer(fresh::index);
+                } catch (SQLException | RuntimeException e) {
+                    synchronized (this) {
+                        if (generation == startedAt) {
+                            changesDuringBuild = null;
+                        }
+                    }
+                    throw e;
+                }
+                synchronized (this) {
+                    if (generation == startedAt) {
+                        for (Consumer<Entries> change : changesDuringBuild) {
+                            change.accept(fresh);
+                        }
+                        replace(fresh, true);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Build the index from lecturers already in memory (e.g. for benchmarks)
+     */
+    public synchronized void buildFrom(Iterable<Lecturer> all) {
+        Entries fresh = new Entries();
+        for (Lecturer lecturer : all) {
+            fresh.index(lecturer);
+        }
+        replace(fresh, true);
+    }
+
+    /**
+     * A lecturer was added or changed; no-op until the index is built
+     */
+    public synchronized void put(Lecturer lecturer) {
+        if (built) {
+            entries.index(lecturer);
+        } else if (changesDuringBuild != null) {
+            changesDuringBuild.add(e -> e.index(lecturer));
+        }
+    }
+
+    /**
+     * A lecturer was deleted; no-op until the index is built
+     */
+    public synchronized void remove(int id) {
+        if (built) {
+            entries.unindex(id);
+        } else if (changesDuringBuild != null) {
+            changesDuringBuild.add(e -> e.unindex(id));
+        }
+    }
+
+    /**
+     * Forget everything; the next search rebuilds from the database
+     */
+    public synchronized void invalidate() {
+        replace(new Entries(), false);
+    }
+
+    public synchronized int size() {
+        return entries.lecturers.size();
+    }
+
+    private void replace(Entries fresh, boolean isBuilt) {
+        entries = fresh;
+        built = isBuilt;
+        changesDuringBuild = null;
+        generation++;
+    }
+
+    // ---- Searching ----
+
+    /**
+     * Lecturers matching every word of the query as a prefix
+     * Call ensureBuilt() first (off the FX thread) or results will be empty.
+     * @param limit Maximum number of results
+     */
+    public synchronized List<Lecturer> search(String query, int limit) {
+        List<Lecturer> results = new ArrayList<>();
+        String[] words = tokenize(query);
+        if (words.length == 0 || limit <= 0) {
+            return results;
+        }
+        if (isEmailQuery(words[0])) {
+            for (int id : entries.emails.subMap(words[0], words[0] + Character.MAX_VALUE).values()) {
+                results.add(entries.lecturers.get(id));
+                if (results.size() >= limit) {
+                    break;
+                }
+            }
+            return results;
+        }
+
+        // Drive the search with the most selective word
+        Node[] nodes = new Node[words.length];
+        int driverIndex = 0;
+        for (int i = 0; i < words.length; i++) {
+            nodes[i] = find(words[i]);
+            if (nodes[i] == null) {
+                return results;  // some word matches nothing
+            }
+            if (nodes[i].subtreePostings < nodes[driverIndex].subtreePostings) {
+                driverIndex = i;
+            }
+        }
+
+        // Every other word becomes a bitmap of the ids it matches
+        List<IdBits> filters = new ArrayList<>(words.length - 1);
+        for (int i = 0; i < words.length; i++) {
+            if (i != driverIndex) {
+                IdBits ids = new IdBits();
+                collectAll(nodes[i], ids);
+                filters.add(ids);
+            }
+        }
+
+        Set<Integer> matches = new LinkedHashSet<>();
+        collect(nodes[driverIndex], filters, matches, limit);
+        for (int id : matches) {
+            results.add(entries.lecturers.get(id));
+        }
+        return results;
+    }
+
+    private Node find(String prefix) {
+        Node node = entries.root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Depth-first walk below a node, stopping once limit matches are found
+     */
+    private boolean collect(Node node, List<IdBits> filters, Set<Integer> out, int limit) {
+        if (node.postings != null) {
+            for (int id : node.postings) {
+                if (passes(id, filters) && out.add(id) && out.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                if (collect(child, filters, out, limit)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean passes(int id, List<IdBits> filters) {
+        for (IdBits filter : filters) {
+            if (!filter.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Every id at or below a node
+     */
+    private void collectAll(Node node, IdBits out) {
+        if (node.postings != null) {
+            for (int id : node.postings) {
+                out.add(id);
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                collectAll(child, out);
+            }
+        }
+    }
+
+    // ---- Tokenizing ----
+
+    /**
+     * Terms for one lecturer: the words of each searchable field
+     */
+    private static String[] termsOf(Lecturer lecturer) {
+        Set<String> terms = new LinkedHashSet<>();
+        addWords(terms, lecturer.getFirstName());
+        addWords(terms, lecturer.getLastName());
+        addWords(terms, lecturer.getDepartment());
+        addWords(terms, lecturer.getSpecialty());
+        addWords(terms, lecturer.getEmail());
+        return terms.toArray(new String[0]);
+    }
+
+    private static String emailKey(Lecturer lecturer) {
+        String email = lecturer.getEmail();
+        return email == null || email.isEmpty() ? null : email.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static boolean isEmailQuery(String word) {
+        return word.indexOf('@') > 0;
+    }
+
+    private static void addWords(Set<String> terms, String text) {
+        if (text != null) {
+            splitWords(text.toLowerCase(Locale.ROOT), terms);
+        }
+    }
+
+    /**
+     * Split a query into lowercase words
+     * A query that looks like an email address is kept whole so it can match
+     * the full address; anything else is split into words.
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String lower = text.toLowerCase(Locale.ROOT).trim();
+        if (lower.indexOf('@') > 0 && lower.indexOf(' ') < 0) {
+            return new String[] { lower };
+        }
+        Set<String> words = new LinkedHashSet<>();
+        splitWords(lower, words);
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * Words are runs of letters or runs of digits, so "lovelace12" is
+     * "lovelace" and "12" and numbered emails don't add a trie branch each
+     */
+    private static void splitWords(String lower, Set<String> out) {
+        int start = -1;
+        boolean digits = false;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c);
+            if (start >= 0 && (!wordChar || Character.isDigit(c) != digits)) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+            if (wordChar && start < 0) {
+                start = i;
+                digits = Character.isDigit(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package Data;
+
+import Model.Lecturer;
+import Util.Logger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headcounts per department and per specialty, for the dashboard
+ *
+ * The first getCounts() asks the database for them with one GROUP BY.
+ * After that LecturerDAO's write paths keep them up to date, so opening
+ * the dashboard again costs one counter read per department and
+ * specialty, however many lecturers there are.
+ *
+ * This desk's own writes are applied as a delta from the row as it was
+ * before, which LecturerDAO takes from its cache. The counts are marked
+ * stale, and the next getCounts() counts again, when:
+ * - that row isn't known, or isn't the version the write replaced
+ * - a change from another desk moves a lecturer to another department or
+ *   specialty, or adds or removes one: the count may already include it
+ * - a write was in progress while the database counted, so it may be
+ *   counted there and applied again as a delta
+ * They are also recounted after REFRESH_MILLIS, for changes this desk
+ * never heard of (the sync service switched off).
+ *
+ * Counters are LongAdders in ConcurrentHashMaps, so concurrent writes and
+ * readers never wait for each other.
+ */
+public class LecturerStats {
+    private static final Logger log = Logger.get(LecturerStats.class);
+
+    public static final long REFRESH_MILLIS = 5 * 60_000;
+
+    /** Specialty key for lecturers without one (ConcurrentHashMap has no null keys) */
+    private static final String NONE = "";
+
+    private static final LecturerStats INSTANCE = new LecturerStats();
+
+    public static LecturerStats getInstance() {
+        return INSTANCE;
+    }
+
+    /** One complete set of counters, from one GROUP BY plus the deltas since */
+    private static final class Counts {
+        final ConcurrentHashMap<String, LongAdder> departments = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> specialties = new ConcurrentHashMap<>();
+        final LongAdder total = new LongAdder();
+        final long loadedAt = System.currentTimeMillis();
+
+        void add(String department, String specialty, long count) {
+            departments.computeIfAbsent(department, key -> new LongAdder()).add(count);
+            specialties.computeIfAbsent(specialtyKey(specialty), key -> new LongAdder()).add(count);
+            total.add(count);
+        }
+
+        LecturerCounts snapshot() {
+            return new LecturerCounts(total.sum(), sorted(departments), sorted(specialties));
+        }
+    }
+
+    private volatile Counts counts;   // null until first asked for
+    private volatile boolean stale;
+
+    /** Bumped by every change, so a recount can tell a write ran during its query */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger writesInProgress = new AtomicInteger();
+
+    private final LongAdder recounts = new LongAdder();
+    private final LongAdder deltas = new LongAdder();
+
+    /**
+     * The current headcounts, counted by the database on the first call or
+     * when they went stale
+     */
+    public LecturerCounts getCounts() throws SQLException {
+        Counts current = counts;
+        if (current == null || stale || System.currentTimeMillis() - current.loadedAt > REFRESH_MILLIS) {
+            current = recount();
+        }
+        return current.snapshot();
+    }
+
+    private synchronized Counts recount() throws SQLException {
+        Counts current = counts;
+        if (current != null && !stale && System.currentTimeMillis() - current.loadedAt <= REFRESH_MILLIS) {
+            return current;   // another thread just counted
+        }
+        long seen = generation.get();
+        stale = false;
+        Counts loaded = new Counts();
+        new LecturerDAO().countByDepartmentAndSpecialty(loaded::add);
+        counts = loaded;
+        if (generation.get() != seen || writesInProgress.get() > 0) {
+            // A write ran during the query; it may be missing or counted twice
+            stale = true;
+        }
+        recounts.increment();
+        log.debug("Counted lecturers per department and specialty", "lecturers", loaded.total.sum(),
+                "departments", loaded.departments.size());
+        return loaded;
+    }
+
+    /** Whether writes need to be counted (the counts have been asked for) */
+    boolean isLoaded() {
+        return counts != null;
+    }
+
+    // ---- Writes, from LecturerDAO ----
+
+    /** A write of this desk is about to reach the database */
+    void writeStarted() {
+        generation.incrementAndGet();
+        writesInProgress.incrementAndGet();
+    }
+
+    /** ... and has been applied here (or failed) */
+    void writeFinished() {
+        writesInProgress.decrementAndGet();
+    }
+
+    void inserted(Lecturer lecturer) {
+        Counts current = changed();
+        if (current != null) {
+            current.add(lecturer.getDepartment(), lecturer.getSpecialty(), 1);
+            deltas.increment();
+        }
+    }
+
+    /**
+     * @param before the row as it was before, or null if not known
+     */
+    void updated(Lecturer before, Lecturer after) {
+        Counts current = changed();
+        if (current == null) {
+            return;
+        }
+        if (before != null && sameGroups(before, after)) {
+            return;
+        }
+        if (before == null || before.getVersion() + 1 != after.getVersion()) {
+            stale = true;
+            return;
+        }
+        current.add(before.getDepartment(), before.getSpecialty(), -1);
+        current.add(after.getDepartment(), after.getSpecialty(), 1);
+        deltas.increment();
+    }
+
+    /**
+     * @param before the row as it was before, or null if not known
+     */
+    void removed(Lecturer before) {
+        Counts current = changed();
+        if (current == null) {
+            return;
+        }
+        if (before == null) {
+            stale = true;
+            return;
+        }
+        current.add(before.getDepartment(), before.getSpecialty(), -1);
+        deltas.increment();
+    }
+
+    /**
+     * Another desk's change was merged
+     * @param before the row as it was here, or null if not known
+     * @param after the row now, or null if it was deleted
+     */
+    void remoteChanged(Lecturer before, Lecturer after) {
+        Counts current = changed();
+        if (current != null && (before == null || after == null || !sameGroups(before, after))) {
+            stale = true;
+        }
+    }
+
+    /**
+     * Many rows changed at once (bulk import); count again next time
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+        stale = true;
+    }
+
+    private Counts changed() {
+        generation.incrementAndGet();
+        return counts;
+    }
+
+    /** Times the database was asked to count */
+    public long getRecounts() { return recounts.sum(); }
+
+    /** Writes applied to the counters without asking the database */
+    public long getDeltas() { return deltas.sum(); }
+
+    private static boolean sameGroups(Lecturer a, Lecturer b) {
+        return Objects.equals(a.getDepartment(), b.getDepartment())
+                && specialtyKey(a.getSpecialty()).equals(specialtyKey(b.getSpecialty()));
+    }
+
+    private static String specialtyKey(String specialty) {
+        return specialty == null || specialty.isBlank() ? NONE : specialty;
+    }
+
+    /** Non-zero counters, largest first (ties by name); NONE becomes the null key */
+    private static Map<String, Long> sorted(ConcurrentHashMap<String, LongAdder> counters) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> {
+            long count = counter.sum();
+            if (count != 0) {
+                entries.add(Map.entry(key, count));
+            }
+        });
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey().equals(NONE) ? null : entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,270 @@
+package Data;
+
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import Util.Logger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks up lecturer changes made by other desks running the application
+ *
+ * Every few seconds it asks the database only for what changed since the
+ * previous poll:
+ *   - rows of lecturers whose updated_at is past the high-water mark
+ *     (idx_lecturers_updated_at makes this a range scan)
+ *   - ids in lecturer_tombstones, where deleteLecturer() records deletes
+ * and merges them through LecturerDAO, which patches the cache and search
+ * index and publishes the usual LecturerEvents, so open screens update
+ * their cards. The cost of a poll follows the number of changes, not the
+ * size of the table.
+ *
+ * The high-water mark is the database clock at the start of the previous
+ * poll, and each poll looks OVERLAP_MILLIS further back than that. This
+ * covers TIMESTAMP's one-second resolution and rows stamped just before a
+ * poll but committed after it. Rows seen again, unchanged, in the overlap
+ * are skipped, and so are our own writes coming back (LecturerDAO finds
+ * them unchanged in its cache).
+ *
+ * Tombstones older than TOMBSTONE_RETENTION_MILLIS are purged. A client that
+ * hasn't polled for that long can't trust the tombstones, so it drops its
+ * cached data and reloads instead (a RELOADED event).
+ *
+ * While the LocalReplica is in use the mark is also saved there, so after a
+ * restart the replica catches up on what changed while the app was closed
+ * (or is copied again if that was too long ago).
+ *
+ * Polling interval: -Dlms.syncInterval=<milliseconds> (default 5000, 0 = off)
+ */
+public class LecturerSyncService {
+    private static final Logger log = Logger.get(LecturerSyncService.class);
+
+    public static final long DEFAULT_INTERVAL_MILLIS = 5_000;
+    public static final long OVERLAP_MILLIS = 3_000;
+    public static final long TOMBSTONE_RETENTION_MILLIS = 7L * 24 * 60 * 60_000;
+    private static final long PURGE_EVERY_MILLIS = 60 * 60_000;
+
+    private static final String CHANGED_SQL =
+        "SELECT " + LecturerDAO.COLUMNS + ", created_at, updated_at " +
+        "FROM lecturers WHERE updated_at >= ? ORDER BY updated_at";
+    private static final String DELETED_SQL =
+        "SELECT lecturer_id, deleted_at FROM lecturer_tombstones WHERE deleted_at >= ?";
+    private static final String PURGE_SQL =
+        "DELETE FROM lecturer_tombstones WHERE deleted_at < ?";
+
+    private static final LecturerSyncService INSTANCE = new LecturerSyncService(
+        Long.getLong("lms.syncInterval", DEFAULT_INTERVAL_MILLIS));
+
+    public static LecturerSyncService getInstance() {
+        return INSTANCE;
+    }
+
+    private final long intervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    /** Database time at the start of the last successful poll, null before the first */
+    private Timestamp highWaterMark;
+    private long lastPurgeAt;
+
+    /** A row already merged that is still inside the overlap window */
+    private static final class SeenRow {
+        final Timestamp updatedAt;
+        final Lecturer lecturer;
+
+        SeenRow(Timestamp updatedAt, Lecturer lecturer) {
+            this.updatedAt = updatedAt;
+            this.lecturer = lecturer;
+        }
+    }
+
+    private final Map<Integer, SeenRow> seenChanges = new HashMap<>();
+    private final Map<Integer, Timestamp> seenDeletes = new HashMap<>();
+
+    private long polls;
+    private long failures;
+    private long rowsRead;
+    private long changesMerged;
+    private long deletesMerged;
+    private long lastPollNanos;
+
+    LecturerSyncService(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return intervalMillis > 0;
+    }
+
+    /**
+     * Start polling in the background; does nothing if disabled or already running
+     * Changes made before start() are not reported, so call it before the
+     * first screen loads its data.
+     */
+    public synchronized void start() {
+        if (!isEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lecturer-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Lecturer sync started", "intervalMillis", intervalMillis);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (SQLException e) {
+            synchronized (this) {
+                failures++;
+            }
+            log.warn("Lecturer sync failed", "retryMillis", intervalMillis, "error", e.getMessage());
+        }
+    }
+
+    /**
+     * Fetch and merge everything changed since the previous poll
+     * The first call only sets the high-water mark.
+     * @return number of changed or deleted lecturers merged
+     */
+    public synchronized int poll() throws SQLException {
+        long start = System.nanoTime();
+        int merged = 0;
+
+        LocalReplica replica = LocalReplica.getInstance();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Timestamp now = databaseNow(conn);
+            if (highWaterMark == null && replica.isReady()) {
+                highWaterMark = replica.syncedUpTo();
+            }
+
+            if (highWaterMark == null || now.getTime() - highWaterMark.getTime() > TOMBSTONE_RETENTION_MILLIS) {
+                if (highWaterMark != null) {
+                    // Deletes may have been purged since we last looked; start over
+                    log.info("Lecturer sync was away too long, reloading lecturers");
+                    if (replica.isReady()) {
+                        replica.prime();
+                    }
+                    LecturerDAO.bulkWritten();
+                }
+                seenChanges.clear();
+                seenDeletes.clear();
+                highWaterMark = now;
+                if (replica.isReady()) {
+                    replica.setSyncedUpTo(now);
+                }
+                return 0;
+            }
+
+            Timestamp since = new Timestamp(highWaterMark.getTime() - OVERLAP_MILLIS);
+            merged += mergeChanges(conn, since);
+            merged += mergeDeletes(conn, since);
+            seenChanges.values().removeIf(seen -> seen.updatedAt.before(since));
+            seenDeletes.values().removeIf(deletedAt -> deletedAt.before(since));
+            highWaterMark = now;
+            if (replica.isReady()) {
+                replica.setSyncedUpTo(now);
+            }
+
+            if (now.getTime() - lastPurgeAt > PURGE_EVERY_MILLIS) {
+                purgeTombstones(conn, now);
+                lastPurgeAt = now.getTime();
+            }
+        }
+
+        polls++;
+        lastPollNanos = System.nanoTime() - start;
+        return merged;
+    }
+
+    private int mergeChanges(Connection conn, Timestamp since) throws SQLException {
+        int merged = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(CHANGED_SQL)) {
+            stmt.setTimestamp(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rowsRead++;
+                    Lecturer lecturer = LecturerDAO.readLecturer(rs);
+                    SeenRow previous = seenChanges.put(lecturer.getId(), new SeenRow(rs.getTimestamp("updated_at"), lecturer));
+                    if (previous != null && LecturerDAO.sameRow(previous.lecturer, lecturer)) {
+                        continue;   // already merged in the previous poll's overlap
+                    }
+                    Timestamp createdAt = rs.getTimestamp("created_at");
+                    boolean isNew = createdAt != null && !createdAt.before(since);
+                    if (LecturerDAO.remoteWritten(lecturer, rs.getTimestamp("updated_at"), isNew)) {
+                        changesMerged++;
+                        merged++;
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    private int mergeDeletes(Connection conn, Timestamp since) throws SQLException {
+        int merged = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(DELETED_SQL)) {
+            stmt.setTimestamp(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rowsRead++;
+                    int id = rs.getInt("lecturer_id");
+                    Timestamp deletedAt = rs.getTimestamp("deleted_at");
+                    if (deletedAt.equals(seenDeletes.put(id, deletedAt))) {
+                        continue;
+                    }
+                    if (LecturerDAO.remoteDeleted(id)) {
+                        deletesMerged++;
+                        merged++;
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static void purgeTombstones(Connection conn, Timestamp now) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(PURGE_SQL)) {
+            stmt.setTimestamp(1, new Timestamp(now.getTime() - TOMBSTONE_RETENTION_MILLIS));
+            int purged = stmt.executeUpdate();
+            if (purged > 0) {
+                log.info("Purged lecturer tombstones", "count", purged);
+            }
+        }
+    }
+
+    /** The database's clock, so desks with skewed clocks still agree on the mark */
+    private static Timestamp databaseNow(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    /**
+     * Counters since startup, e.g. "polls=120 failures=0 rowsRead=14 changes=9 deletes=2 lastPoll=0.41 ms"
+     */
+    public synchronized String getStats() {
+        return String.format("polls=%d failures=%d rowsRead=%d changes=%d deletes=%d lastPoll=%.2f ms",
+                polls, failures, rowsRead, changesMerged, deletesMerged, lastPollNanos / 1e6);
+    }
+}
@@ -0,0 +1,842 @@
+package Data;
+
+import Model.Lecturer;
+import Model.LecturerField;
+import Util.ConnectionPool;
+import Util.DatabaseConnection;
+import Util.Logger;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Local copy of the lecturers table in an embedded database file
+ *
+ * Once primed (one full copy from MySQL), LecturerDAO reads lecturers from
+ * here instead of the server, and its writes are stored here first:
+ *   - the change is applied to the local lecturers table, and
+ *   - appended to pending_writes, in the same local transaction,
+ * so a write is durable as soon as the call returns even if MySQL is
+ * unreachable. WriteBehindQueue replays pending_writes to MySQL in batches
+ * and reports back through completed() / conflict().
+ *
+ * Lecturers added while their INSERT is still queued get a temporary
+ * negative id, which becomes the real id once the server assigned one.
+ * Queued writes to the same lecturer are coalesced: editing a lecturer
+ * twice sends one UPDATE of the fields either edit changed, and deleting a
+ * lecturer that never reached the server sends nothing. Writes already handed to WriteBehindQueue are never
+ * coalesced into; a change made while they are in flight is queued behind
+ * them and rebased on the server's version once they complete.
+ *
+ * A local write that would give a lecturer an email another lecturer here
+ * already has is refused straight away with the error MySQL gives for its
+ * unique key, so the user sees it instead of a conflict after the replay.
+ * (Not a UNIQUE constraint: rows from the server must always be accepted,
+ * even while a stale local row still holds the email.)
+ *
+ * The local lecturers table holds the version each lecturer will have on
+ * the server once its queued writes are replayed, so queueUpdate() can
+ * refuse an edit based on an older version straight away. Each queued
+ * write remembers the server version it was based on; the replay only
+ * applies it if the server still has that version.
+ *
+ * Changes made at other desks arrive through LecturerSyncService. A lecturer
+ * with a queued local write is left alone until that write was replayed;
+ * the replay then finds a newer version on the server and reports a conflict.
+ *
+ * The local database is H2 by default (lib/h2-2.2.224.jar); without a
+ * driver on the classpath the replica stays off and everything goes to
+ * MySQL as before.
+ *
+ * The replica also holds the password hashes AdminDAO checks while the
+ * server is unreachable. It is opened as H2's "sa" user without a password,
+ * so the file itself is the only protection: anyone who can write it can
+ * plant a hash of their own and log in offline. The files, and the default
+ * directory, are therefore made readable and writable by their owner only.
+ * On a machine where other people share the account, turn offline login
+ * off (see AdminDAO).
+ *   -Dlms.replica=false           turn the replica off
+ *   -Dlms.replica.url=jdbc:h2:... where to keep it (default ~/.lecturer_management/replica)
+ */
+public class LocalReplica {
+    private static final Logger log = Logger.get(LocalReplica.class);
+
+    private static final String DEFAULT_URL = "jdbc:h2:file:" + System.getProperty("user.home")
+            + File.separator + ".lecturer_management" + File.separator + "replica";
+    private static final String URL = System.getProperty("lms.replica.url", DEFAULT_URL);
+
+    private static final LocalReplica INSTANCE = new LocalReplica(URL,
+            Boolean.parseBoolean(System.getProperty("lms.replica", "true")));
+
+    public static LocalReplica getInstance() {
+        return INSTANCE;
+    }
+
+    /** Kinds of queued write */
+    static final String INSERT = "INSERT";
+    static final String UPDATE = "UPDATE";
+    static final String DELETE = "DELETE";
+
+    /**
+     * One queued write; lecturer holds the values to send (only the id for DELETE)
+     */
+    static final class PendingWrite {
+        final long seq;
+        final String op;
+        final Lecturer lecturer;
+        final Integer baseVersion;   // server version the change was based on, null for INSERT
+        final int fields;            // LecturerField mask of the columns an UPDATE changes
+
+        PendingWrite(long seq, String op, Lecturer lecturer, Integer baseVersion, int fields) {
+            this.seq = seq;
+            this.op = op;
+            this.lecturer = lecturer;
+            this.baseVersion = baseVersion;
+            this.fields = fields;
+        }
+
+        @Override
+        public String toString() {
+            return op + " " + lecturer.getId() + " (#" + seq + ")";
+        }
+    }
+
+    private static final String COLUMNS = "lecturer_id, first_name, last_name, email, department, phone, specialty";
+    /** Width of replica_conflicts.reason; a driver's message can be longer */
+    private static final int REASON_LENGTH = 200;
+
+    private final String url;
+    private final boolean wanted;
+    private Connection connection;   // kept open for the life of the app; guarded by this
+    private volatile ConnectionPool readPool;
+    private volatile boolean primed;
+    private long inFlightUpTo;       // highest seq handed out by pendingWrites()
+
+    LocalReplica(String url, boolean wanted) {
+        this.url = url;
+        this.wanted = wanted;
+    }
+
+    // ---- Lifecycle ----
+
+    /**
+     * Open (or create) the local database; cheap, no network involved
+     * @return true if the replica is usable
+     */
+    public synchronized boolean open() {
+        if (connection != null || !wanted) {
+            return connection != null;
+        }
+        try {
+            // Only a directory this class owns is restricted, not e.g. /tmp
+            File file = databaseFile(url);
+            File dir = file == null ? null : file.getParentFile();
+            if (dir != null && ((!dir.exists() && dir.mkdirs()) || url.equals(DEFAULT_URL))) {
+                restrictToOwner(dir);
+            }
+            connection = DriverManager.getConnection(url, "sa", "");
+            File[] files = dir == null ? null : dir.listFiles((d, name) -> name.startsWith(file.getName() + "."));
+            if (files != null) {
+                for (File f : files) {
+                    restrictToOwner(f);
+                }
+            }
+            createTables();
+            readPool = new ConnectionPool(url, "sa", "", 1, 4, 5_000, 5 * 60_000, 60_000, 32);
+            primed = "true".equals(getMeta("primed"));
+            if (primed) {
+                log.info("Local replica opened", "lecturers", countLecturers(), "pendingWrites", pendingCount());
+            } else {
+                log.info("Local replica opened, not primed yet");
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Local replica unavailable, using the server only", "error", e.getMessage());
+            close();
+            return false;
+        }
+    }
+
+    public synchronized void close() {
+        primed = false;
+        if (readPool != null) {
+            readPool.shutdown();
+            readPool = null;
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Failed to close local replica", "error", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    /** Open and holding a full copy, so reads and writes can be served locally */
+    public boolean isReady() {
+        return primed;
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS lecturers (" +
+                        "lecturer_id INT PRIMARY KEY," +
+                        "first_name VARCHAR(50) NOT NULL," +
+                        "last_name VARCHAR(50) NOT NULL," +
+                        "email VARCHAR_IGNORECASE(100) NOT NULL," +
+                        "department VARCHAR(100) NOT NULL," +
+                        "phone VARCHAR(20)," +
+                        "specialty VARCHAR(100)," +
+                        "updated_at TIMESTAMP," +
+                        "version INT DEFAULT 0 NOT NULL" +
+                        ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS pending_writes (" +
+                        "seq BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                        "op VARCHAR(6) NOT NULL," +
+                        "lecturer_id INT NOT NULL," +
+                        "first_name VARCHAR(50)," +
+                        "last_name VARCHAR(50)," +
+                        "email VARCHAR(100)," +
+                        "department VARCHAR(100)," +
+                        "phone VARCHAR(20)," +
+                        "specialty VARCHAR(100)," +
+                        "base_version INT," +
+                        "changed_fields INT," +
+                        "queued_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                        ")");
+            // Replicas created before versions existed
+            stmt.execute("ALTER TABLE lecturers ADD COLUMN IF NOT EXISTS version INT DEFAULT 0 NOT NULL");
+            stmt.execute("ALTER TABLE pending_writes ADD COLUMN IF NOT EXISTS base_version INT");
+            // ... and before only changed fields were sent (NULL: all of them)
+            stmt.execute("ALTER TABLE pending_writes ADD COLUMN IF NOT EXISTS changed_fields INT");
+            // Emails compare like MySQL's unique key on lecturers.email: ignoring case
+            if (!"VARCHAR_IGNORECASE".equals(columnType("LECTURERS", "EMAIL"))) {
+                stmt.execute("ALTER TABLE lecturers ALTER COLUMN email VARCHAR_IGNORECASE(100) NOT NULL");
+            }
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_lecturers_email ON lecturers (email)");
+            // Dashboard headcounts (LecturerDAO.countByDepartmentAndSpecialty) read only this index
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_lecturers_department_specialty ON lecturers (department, specialty)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_pending_writes_lecturer ON pending_writes (lecturer_id)");
+            stmt.execute("CREATE TABLE IF NOT EXISTS replica_conflicts (" +
+                        "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                        "op VARCHAR(6) NOT NULL," +
+                        "lecturer_id INT NOT NULL," +
+                        "first_name VARCHAR(50)," +
+                        "last_name VARCHAR(50)," +
+                        "email VARCHAR(100)," +
+                        "department VARCHAR(100)," +
+                        "phone VARCHAR(20)," +
+                        "specialty VARCHAR(100)," +
+                        "reason VARCHAR(" + REASON_LENGTH + ")," +
+                        "detected_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                        ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS admin_credentials (" +
+                        "username VARCHAR(50) PRIMARY KEY," +
+                        "password VARCHAR(100) NOT NULL" +
+                        ")");
+            stmt.execute("CREATE TABLE IF NOT EXISTS replica_meta (" +
+                        "name VARCHAR(50) PRIMARY KEY," +
+                        "val VARCHAR(200)" +
+                        ")");
+        }
+    }
+
+    /**
+     * Copy every lecturer from the server; once done, reads and writes switch to the replica
+     * Lecturers with queued local writes keep their local version. The
+     * server's clock at the start of the copy becomes the sync mark, so
+     * LecturerSyncService picks up whatever changed during the copy.
+     * @return number of lecturers copied
+     */
+    public int prime() throws SQLException {
+        String remoteSql = "SELECT " + LecturerDAO.COLUMNS + ", updated_at FROM lecturers ORDER BY lecturer_id";
+        int copied = 0;
+
+        synchronized (this) {
+            if (connection == null) {
+                throw new SQLException("Local replica is not open");
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Connection remote = DatabaseConnection.getConnection();
+                 PreparedStatement read = remote.prepareStatement(remoteSql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 Statement clear = connection.createStatement();
+                 PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO lecturers (" + COLUMNS + ", updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+                Timestamp copyStarted;
+                try (Statement now = remote.createStatement();
+                     ResultSet rs = now.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+                    rs.next();
+                    copyStarted = rs.getTimestamp(1);
+                }
+                Set<Integer> queued = new HashSet<>();
+                try (ResultSet rs = clear.executeQuery("SELECT DISTINCT lecturer_id FROM pending_writes")) {
+                    while (rs.next()) {
+                        queued.add(rs.getInt(1));
+                    }
+                }
+                clear.execute("DELETE FROM lecturers WHERE lecturer_id NOT IN (SELECT lecturer_id FROM pending_writes)");
+
+                read.setFetchSize(1000);
+                try (ResultSet rs = read.executeQuery()) {
+                    while (rs.next()) {
+                        Lecturer lecturer = LecturerDAO.readLecturer(rs);
+                        if (queued.contains(lecturer.getId())) {
+                            continue;
+                        }
+                        bindLecturer(insert, lecturer, 1);
+                        insert.setTimestamp(8, rs.getTimestamp("updated_at"));
+                        insert.setInt(9, lecturer.getVersion());
+                        insert.addBatch();
+                        if (++copied % 1000 == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+                setMeta("primed", "true");
+                setMeta("synced_up_to", Long.toString(copyStarted.getTime()));
+                connection.commit();
+                primed = true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        log.info("Local replica primed", "lecturers", copied);
+        return copied;
+    }
+
+    /**
+     * Where LecturerSyncService left off, kept across restarts
+     * @return null if unknown
+     */
+    public synchronized Timestamp syncedUpTo() throws SQLException {
+        String value = getMeta("synced_up_to");
+        return value == null ? null : new Timestamp(Long.parseLong(value));
+    }
+
+    public synchronized void setSyncedUpTo(Timestamp mark) throws SQLException {
+        setMeta("synced_up_to", Long.toString(mark.getTime()));
+    }
+
+    // ---- Reads (used by LecturerDAO) ----
+
+    /**
+     * A pooled connection to the local database for LecturerDAO's read
+     * queries, which work unchanged on it; close it when done
+     */
+    Connection getConnection() throws SQLException {
+        ConnectionPool pool = readPool;
+        if (pool == null) {
+            throw new SQLException("Local replica is not open");
+        }
+        return pool.borrow();
+    }
+
+    public synchronized int pendingCount() throws SQLException {
+        return count("SELECT COUNT(*) FROM pending_writes");
+    }
+
+    public synchronized int conflictCount() throws SQLException {
+        return count("SELECT COUNT(*) FROM replica_conflicts");
+    }
+
+    private int countLecturers() throws SQLException {
+        return count("SELECT COUNT(*) FROM lecturers");
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * The oldest queued writes, in the order they were made
+     */
+    synchronized List<PendingWrite> pendingWrites(int limit) throws SQLException {
+        String sql = "SELECT seq, op, " + COLUMNS + ", base_version AS version, changed_fields " +
+                     "FROM pending_writes ORDER BY seq LIMIT ?";
+        List<PendingWrite> writes = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Lecturer lecturer = LecturerDAO.readLecturer(rs);
+                    Integer base = rs.getObject("version") == null ? null : lecturer.getVersion();
+                    int fields = rs.getObject("changed_fields") == null ? LecturerField.ALL_MASK : rs.getInt("changed_fields");
+                    writes.add(new PendingWrite(rs.getLong("seq"), rs.getString("op"), lecturer, base, fields));
+                }
+            }
+        }
+        if (!writes.isEmpty()) {
+            inFlightUpTo = Math.max(inFlightUpTo, writes.get(writes.size() - 1).seq);
+        }
+        return writes;
+    }
+
+    // ---- Local writes (queued for the server) ----
+
+    /**
+     * Store a new lecturer locally under a temporary negative id and queue its INSERT
+     */
+    synchronized Lecturer queueInsert(String firstName, String lastName, String email, String department,
+                                      String phone, String specialty) throws SQLException {
+        return inTransaction(() -> {
+            checkEmailFree(email, 0);
+            String last = getMeta("last_temp_id");
+            int tempId = (last == null ? 0 : Integer.parseInt(last)) - 1;
+            setMeta("last_temp_id", Integer.toString(tempId));
+            Lecturer lecturer = new Lecturer(tempId, firstName, lastName, email, department, phone, specialty);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO lecturers (" + COLUMNS + ", updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NULL)")) {
+                bindLecturer(stmt, lecturer, 1);
+                stmt.executeUpdate();
+            }
+            enqueue(INSERT, lecturer, null, null);
+            return lecturer;
+        });
+    }
+
+    /**
+     * Change a lecturer locally and queue the UPDATE of the fields in
+     * fieldMask (see LecturerField), if the local copy is still at expectedVersion
+     */
+    synchronized UpdateResult queueUpdate(Lecturer lecturer, int expectedVersion, int fieldMask) throws SQLException {
+        return inTransaction(() -> {
+            Lecturer current = readLocal(lecturer.getId());
+            if (current == null) {
+                return UpdateResult.notFound();
+            }
+            if (current.getVersion() != expectedVersion) {
+                return UpdateResult.conflict(current);
+            }
+            checkEmailFree(lecturer.getEmail(), lecturer.getId());
+
+            // Fold into a write that is still queued and not yet in flight:
+            // a pending INSERT or UPDATE just sends the newest values (an
+            // UPDATE also this edit's fields), and the version it will reach
+            // on the server stays the same. BITOR keeps NULL, i.e. all fields.
+            int version = expectedVersion;
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "UPDATE pending_writes SET first_name = ?, last_name = ?, email = ?, department = ?, phone = ?, specialty = ?, " +
+                    "changed_fields = BITOR(changed_fields, CAST(? AS INT)) " +
+                    "WHERE lecturer_id = ? AND seq > ? AND op IN ('" + INSERT + "', '" + UPDATE + "')")) {
+                bindValues(stmt, lecturer, 1);
+                stmt.setInt(7, fieldMask);
+                stmt.setInt(8, lecturer.getId());
+                stmt.setLong(9, inFlightUpTo);
+                if (stmt.executeUpdate() == 0) {
+                    enqueue(UPDATE, lecturer, expectedVersion, fieldMask);
+                    version = expectedVersion + 1;
+                }
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "UPDATE lecturers SET first_name = ?, last_name = ?, email = ?, department = ?, phone = ?, specialty = ?, " +
+                    "version = ? WHERE lecturer_id = ?")) {
+                bindValues(stmt, lecturer, 1);
+                stmt.setInt(7, version);
+                stmt.setInt(8, lecturer.getId());
+                stmt.executeUpdate();
+            }
+            return UpdateResult.updated(new Lecturer(lecturer.getId(), lecturer.getFirstName(), lecturer.getLastName(),
+                    lecturer.getEmail(), lecturer.getDepartment(), lecturer.getPhone(), lecturer.getSpecialty(), version));
+        });
+    }
+
+    /**
+     * Remove a lecturer locally and queue the DELETE
+     * @return false if there is no such lecturer
+     */
+    synchronized boolean queueDelete(int id) throws SQLException {
+        return inTransaction(() -> {
+            Lecturer current = readLocal(id);
+            if (current == null) {
+                return false;
+            }
+            // The server is still at the version the oldest dropped UPDATE was based on
+            Integer base = current.getVersion();
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT MIN(base_version) FROM pending_writes WHERE lecturer_id = ? AND seq > ? AND op = '" + UPDATE + "'")) {
+                stmt.setInt(1, id);
+                stmt.setLong(2, inFlightUpTo);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getObject(1) != null) {
+                        base = rs.getInt(1);
+                    }
+                }
+            }
+            deleteLocal(id);
+
+            // Queued writes not yet in flight are dropped; if one of them was the
+            // INSERT, the server never heard of this lecturer
+            boolean neverSent;
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT 1 FROM pending_writes WHERE lecturer_id = ? AND seq > ? AND op = '" + INSERT + "'")) {
+                stmt.setInt(1, id);
+                stmt.setLong(2, inFlightUpTo);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    neverSent = rs.next();
+                }
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "DELETE FROM pending_writes WHERE lecturer_id = ? AND seq > ?")) {
+                stmt.setInt(1, id);
+                stmt.setLong(2, inFlightUpTo);
+                stmt.executeUpdate();
+            }
+            if (!neverSent) {
+                enqueue(DELETE, new Lecturer(id, null, null, null, null, null, null), base, null);
+            }
+            return true;
+        });
+    }
+
+    // ---- Outcome of a replay (called by WriteBehindQueue) ----
+
+    /**
+     * A queued write reached the server
+     * Writes to the same lecturer queued behind it are rebased on the new
+     * version (and id), since they were made on top of this one.
+     * @param serverId the id the server gave an INSERT, else the lecturer's id
+     * @param updatedAt the row's updated_at on the server afterwards (null for DELETE)
+     * @param version the row's version on the server afterwards
+     * @return true if the lecturer is still in the replica (not deleted locally meanwhile)
+     */
+    synchronized boolean completed(PendingWrite write, int serverId, Timestamp updatedAt, int version) throws SQLException {
+        return inTransaction(() -> {
+            removeQueued(write.seq);
+            int id = write.lecturer.getId();
+            if (DELETE.equals(write.op)) {
+                return false;
+            }
+            boolean morePending;
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "UPDATE pending_writes SET lecturer_id = ?, base_version = ? WHERE lecturer_id = ?")) {
+                stmt.setInt(1, serverId);
+                stmt.setInt(2, version);
+                stmt.setInt(3, id);
+                morePending = stmt.executeUpdate() > 0;
+            }
+            // With writes still queued the local version is already the one they will reach
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "UPDATE lecturers SET lecturer_id = ?, updated_at = ?" + (morePending ? "" : ", version = ?") +
+                    " WHERE lecturer_id = ?")) {
+                stmt.setInt(1, serverId);
+                stmt.setTimestamp(2, updatedAt);
+                if (morePending) {
+                    stmt.setInt(3, id);
+                } else {
+                    stmt.setInt(3, version);
+                    stmt.setInt(4, id);
+                }
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    /**
+     * A queued write clashed with a change made elsewhere; the server's
+     * version wins and the rejected write is kept in replica_conflicts,
+     * together with any later writes to the same lecturer that built on it
+     * @param serverRow the lecturer as the server has it now, null if it's gone there
+     */
+    synchronized void conflict(PendingWrite write, String reason, Lecturer serverRow, Timestamp serverUpdatedAt) throws SQLException {
+        inTransaction(() -> {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT INTO replica_conflicts (op, " + COLUMNS + ", reason) " +
+                    "SELECT op, " + COLUMNS + ", ? FROM pending_writes WHERE lecturer_id = ? ORDER BY seq")) {
+                stmt.setString(1, reason.length() > REASON_LENGTH ? reason.substring(0, REASON_LENGTH) : reason);
+                stmt.setInt(2, write.lecturer.getId());
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM pending_writes WHERE lecturer_id = ?")) {
+                stmt.setInt(1, write.lecturer.getId());
+                stmt.executeUpdate();
+            }
+            deleteLocal(write.lecturer.getId());
+            if (serverRow != null) {
+                upsertLocal(serverRow, serverUpdatedAt);
+            }
+            return null;
+        });
+        log.warn("Replica conflict, kept the server's version", "write", write, "reason", reason);
+    }
+
+    // ---- Changes from other desks (called through LecturerDAO) ----
+
+    /**
+     * @return false if a local write to this lecturer is still queued, so the row was left alone
+     */
+    synchronized boolean applyRemote(Lecturer lecturer, Timestamp updatedAt) throws SQLException {
+        if (hasQueued(lecturer.getId())) {
+            return false;
+        }
+        upsertLocal(lecturer, updatedAt);
+        return true;
+    }
+
+    /**
+     * Rows written to the server outside the replica (a CSV import), in one local transaction
+     * Lecturers with a queued local write are left alone, as in applyRemote().
+     * @return number of rows applied
+     */
+    synchronized int applyRemote(List<Lecturer> lecturers, List<Timestamp> updatedAt) throws SQLException {
+        if (connection == null || lecturers.isEmpty()) {
+            return 0;
+        }
+        int applied = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            for (int i = 0; i < lecturers.size(); i++) {
+                if (!hasQueued(lecturers.get(i).getId())) {
+                    upsertLocal(lecturers.get(i), updatedAt.get(i));
+                    applied++;
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    synchronized boolean applyRemoteDelete(int id) throws SQLException {
+        if (hasQueued(id)) {
+            return false;
+        }
+        deleteLocal(id);
+        return true;
+    }
+
+    // ---- Admin credentials for logging in while the server is unreachable ----
+
+    /**
+     * Remember an admin's password hash after a successful login on the server
+     */
+    public synchronized void rememberAdmin(String username, String passwordHash) {
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "MERGE INTO admin_credentials (username, password) KEY (username) VALUES (?, ?)")) {
+            stmt.setString(1, username);
+            stmt.setString(2, passwordHash);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Could not remember admin credentials locally", "error", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the remembered hash, or null
+     */
+    public synchronized String rememberedAdminPassword(String username) {
+        if (connection == null) {
+            return null;
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT password FROM admin_credentials WHERE username = ?")) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read local admin credentials", "error", e.getMessage());
+            return null;
+        }
+    }
+
+    // ---- Helpers ----
+
+    /**
+     * @return the database file name (without H2's extension) of a jdbc:h2:file: URL, or null
+     */
+    static File databaseFile(String url) {
+        if (!url.startsWith("jdbc:h2:file:")) {
+            return null;
+        }
+        String path = url.substring("jdbc:h2:file:".length());
+        int options = path.indexOf(';');
+        if (options >= 0) {
+            path = path.substring(0, options);
+        }
+        if (path.startsWith("~")) {
+            path = System.getProperty("user.home") + path.substring(1);
+        }
+        return new File(path).getAbsoluteFile();
+    }
+
+    /** Take away every permission but the owner's; best effort, logged on failure */
+    private static void restrictToOwner(File file) {
+        boolean ok = file.setReadable(false, false) & file.setReadable(true, true)
+                & file.setWritable(false, false) & file.setWritable(true, true);
+        if (file.isDirectory()) {
+            ok &= file.setExecutable(false, false) & file.setExecutable(true, true);
+        } else {
+            file.setExecutable(false, false);
+        }
+        if (!ok) {
+            log.warn("Could not make the local replica private", "path", file.getPath());
+        }
+    }
+
+    @FunctionalInterface
+    private interface LocalWork<T> {
+        T run() throws SQLException;
+    }
+
+    private <T> T inTransaction(LocalWork<T> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void enqueue(String op, Lecturer lecturer, Integer baseVersion, Integer fieldMask) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO pending_writes (op, " + COLUMNS + ", base_version, changed_fields) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            stmt.setString(1, op);
+            bindLecturer(stmt, lecturer, 2);
+            stmt.setObject(9, baseVersion, Types.INTEGER);
+            stmt.setObject(10, fieldMask, Types.INTEGER);
+            stmt.executeUpdate();
+        }
+    }
+
+    private Lecturer readLocal(int id) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT " + LecturerDAO.COLUMNS + " FROM lecturers WHERE lecturer_id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? LecturerDAO.readLecturer(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * @throws SQLIntegrityConstraintViolationException if a lecturer other than
+     *         exceptId has this email, worded like MySQL's duplicate key error
+     */
+    private void checkEmailFree(String email, int exceptId) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM lecturers WHERE email = ? AND lecturer_id <> ? LIMIT 1")) {
+            stmt.setString(1, email);
+            stmt.setInt(2, exceptId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    throw new SQLIntegrityConstraintViolationException(
+                            "Duplicate entry '" + email + "' for key 'lecturers.email'", "23000", 1062);
+                }
+            }
+        }
+    }
+
+    private String columnType(String table, String column) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private boolean hasQueued(int id) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM pending_writes WHERE lecturer_id = ? LIMIT 1")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void removeQueued(long seq) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM pending_writes WHERE seq = ?")) {
+            stmt.setLong(1, seq);
+            stmt.executeUpdate();
+        }
+    }
+
+    private void upsertLocal(Lecturer lecturer, Timestamp updatedAt) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "MERGE INTO lecturers (" + COLUMNS + ", updated_at, version) KEY (lecturer_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            bindLecturer(stmt, lecturer, 1);
+            stmt.setTimestamp(8, updatedAt);
+            stmt.setInt(9, lecturer.getVersion());
+            stmt.executeUpdate();
+        }
+    }
+
+    private void deleteLocal(int id) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM lecturers WHERE lecturer_id = ?")) {
+            stmt.setInt(1, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private String getMeta(String name) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT val FROM replica_meta WHERE name = ?")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void setMeta(String name, String value) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "MERGE INTO replica_meta (name, val) KEY (name) VALUES (?, ?)")) {
+            stmt.setString(1, name);
+            stmt.setString(2, value);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** lecturer_id followed by the six value columns */
+    private static void bindLecturer(PreparedStatement stmt, Lecturer lecturer, int first) throws SQLException {
+        stmt.setInt(first, lecturer.getId());
+        bindValues(stmt, lecturer, first + 1);
+    }
+
+    private static void bindValues(PreparedStatement stmt, Lecturer lecturer, int first) throws SQLException {
+        stmt.setString(first, lecturer.getFirstName());
+        stmt.setString(first + 1, lecturer.getLastName());
+        stmt.setString(first + 2, lecturer.getEmail());
+        stmt.setString(first + 3, lecturer.getDepartment());
+        stmt.setString(first + 4, lecturer.getPhone());
+        stmt.setString(first + 5, lecturer.getSpecialty());
+    }
+}
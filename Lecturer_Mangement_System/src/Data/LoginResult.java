@@ -0,0 +1,44 @@
+package Data;
+
+/**
+ * Outcome of AdminDAO.login()
+ */
+public class LoginResult {
+    public enum Status {
+        SUCCESS,
+        /** Unknown username or wrong password (deliberately not told apart) */
+        INVALID,
+        /** Too many recent failures for this username; try again later */
+        LOCKED
+    }
+
+    private static final LoginResult SUCCESS = new LoginResult(Status.SUCCESS, 0);
+    private static final LoginResult INVALID = new LoginResult(Status.INVALID, 0);
+
+    private final Status status;
+    private final long retryAfterMillis;
+
+    private LoginResult(Status status, long retryAfterMillis) {
+        this.status = status;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    static LoginResult success() { return SUCCESS; }
+    static LoginResult invalid() { return INVALID; }
+    static LoginResult locked(long retryAfterMillis) { return new LoginResult(Status.LOCKED, retryAfterMillis); }
+
+    public Status getStatus() { return status; }
+    public boolean isSuccess() { return status == Status.SUCCESS; }
+    public boolean isLocked() { return status == Status.LOCKED; }
+
+    /** How long the username stays locked (0 unless LOCKED) */
+    public long getRetryAfterMillis() { return retryAfterMillis; }
+
+    /** Whole seconds to wait, rounded up, for messages */
+    public long getRetryAfterSeconds() { return (retryAfterMillis + 999) / 1000; }
+
+    @Override
+    public String toString() {
+        return status == Status.LOCKED ? "LOCKED (retry in " + getRetryAfterSeconds() + " s)" : status.name();
+    }
+}
@@ -0,0 +1,96 @@
+package Data;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Remembers recent failed logins per username and client, and locks that
+ * pair out for a while once there are too many
+ *
+ * The first FREE_ATTEMPTS failures cost nothing. After that every further
+ * failure locks the username for that client for BASE_LOCK_MILLIS, doubling
+ * each time up to MAX_LOCK_MILLIS. While locked, AdminDAO answers without
+ * touching the database or hashing anything, so a brute-force burst costs
+ * almost nothing. A successful login from the same client, or
+ * FORGET_AFTER_MILLIS without failures, clears the record.
+ *
+ * The client is the login session (see Controller.LoginPage). Keying by
+ * username alone would let anyone keep an account locked for everybody by
+ * failing on purpose; this way repeated failures only lock out the session
+ * that made them.
+ *
+ * Only the MAX_TRACKED most recently failing pairs are remembered (LRU),
+ * so the map can't grow without bound. All methods are synchronized and
+ * only touch memory.
+ */
+public class LoginThrottle {
+    public static final int FREE_ATTEMPTS = 3;
+    public static final long BASE_LOCK_MILLIS = 1_000;
+    public static final long MAX_LOCK_MILLIS = 5 * 60_000;
+    public static final long FORGET_AFTER_MILLIS = 15 * 60_000;
+    public static final int MAX_TRACKED = 10_000;
+
+    private static final class Failures {
+        int count;
+        long lastFailureAt;
+        long lockedUntil;
+    }
+
+    private final Map<String, Failures> failures = new LinkedHashMap<String, Failures>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Failures> eldest) {
+            return size() > MAX_TRACKED;
+        }
+    };
+
+    /**
+     * @return milliseconds until the username may try again from this client, 0 if it isn't locked
+     */
+    public synchronized long lockedMillis(String username, String client) {
+        Failures record = failures.get(key(username, client));
+        if (record == null) {
+            return 0;
+        }
+        return Math.max(0, record.lockedUntil - System.currentTimeMillis());
+    }
+
+    /**
+     * Record a failed attempt
+     * @return how long the username is now locked for this client, 0 if it isn't
+     */
+    public synchronized long failed(String username, String client) {
+        long now = System.currentTimeMillis();
+        Failures record = failures.computeIfAbsent(key(username, client), k -> new Failures());
+        if (now - record.lastFailureAt > FORGET_AFTER_MILLIS) {
+            record.count = 0;  // old failures no longer count
+        }
+        record.count++;
+        record.lastFailureAt = now;
+        if (record.count <= FREE_ATTEMPTS) {
+            return 0;
+        }
+        int doublings = Math.min(record.count - FREE_ATTEMPTS - 1, 30);
+        long lock = Math.min(BASE_LOCK_MILLIS << doublings, MAX_LOCK_MILLIS);
+        record.lockedUntil = now + lock;
+        return lock;
+    }
+
+    /**
+     * Forget this client's failures for a username after a successful login
+     */
+    public synchronized void succeeded(String username, String client) {
+        failures.remove(key(username, client));
+    }
+
+    /** Username and client pairs with recent failures */
+    public synchronized int trackedUsernames() {
+        return failures.size();
+    }
+
+    /** MySQL compares usernames case-insensitively, so the throttle does too */
+    private static String key(String username, String client) {
+        String name = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        return (client == null ? "" : client) + '\n' + name;
+    }
+}
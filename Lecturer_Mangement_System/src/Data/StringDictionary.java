@@ -0,0 +1,61 @@
+package Data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps each distinct string of a column to a small int code and back
+ *
+ * Meant for columns with few distinct values (department, specialty): a
+ * row stores the 4-byte code instead of its own copy of the text, and every
+ * row with the same value shares one String. Codes are handed out in order
+ * starting at 0 and never reused; NULL_CODE stands for null.
+ *
+ * Not thread-safe, like the CompactLecturerStore that owns it.
+ */
+public class StringDictionary {
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    /**
+     * The code for a value, adding it if it is new
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /**
+     * The code for a value without adding it
+     * @return NULL_CODE if the value is null or not in the dictionary
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    /** The value for a code from encode() (null for NULL_CODE) */
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /** Number of distinct values */
+    public int size() {
+        return size;
+    }
+}
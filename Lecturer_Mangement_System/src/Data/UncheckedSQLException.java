@@ -0,0 +1,20 @@
+package Data;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a SQLException where a checked exception can't be thrown,
+ * e.g. while iterating a Stream returned by a DAO
+ */
+public class UncheckedSQLException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,54 @@
+package Data;
+
+import Model.Lecturer;
+
+/**
+ * Outcome of LecturerDAO.updateLecturer() with an expected version
+ */
+public class UpdateResult {
+    public enum Status {
+        UPDATED,
+        /** Someone else changed the lecturer since it was read; nothing was written */
+        CONFLICT,
+        /** The lecturer no longer exists */
+        NOT_FOUND,
+        /** No field was changed, so the database wasn't asked at all */
+        UNCHANGED
+    }
+
+    private static final UpdateResult NOT_FOUND = new UpdateResult(Status.NOT_FOUND, null, 0);
+
+    private final Status status;
+    private final Lecturer current;
+    private final int version;
+
+    private UpdateResult(Status status, Lecturer current, int version) {
+        this.status = status;
+        this.current = current;
+        this.version = version;
+    }
+
+    static UpdateResult updated(Lecturer saved) { return new UpdateResult(Status.UPDATED, saved, saved.getVersion()); }
+    static UpdateResult conflict(Lecturer current) { return new UpdateResult(Status.CONFLICT, current, current.getVersion()); }
+    static UpdateResult notFound() { return NOT_FOUND; }
+    static UpdateResult unchanged(Lecturer lecturer) { return new UpdateResult(Status.UNCHANGED, lecturer, lecturer.getVersion()); }
+
+    public Status getStatus() { return status; }
+    public boolean isUpdated() { return status == Status.UPDATED; }
+    public boolean isConflict() { return status == Status.CONFLICT; }
+
+    /**
+     * The lecturer as it is stored now: what was saved (UPDATED) or the
+     * other change that won (CONFLICT); null for NOT_FOUND. For UNCHANGED,
+     * the lecturer that was passed in, as last read
+     */
+    public Lecturer getCurrent() { return current; }
+
+    /** The row's version now; pass it to the next update */
+    public int getVersion() { return version; }
+
+    @Override
+    public String toString() {
+        return status == Status.NOT_FOUND ? status.name() : status + " (version " + version + ")";
+    }
+}
@@ -0,0 +1,413 @@
+package Data;
+
+import Data.LocalReplica.PendingWrite;
+import Model.Lecturer;
+import Util.DatabaseConnection;
+import Util.Logger;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the lecturer writes queued in the LocalReplica to MySQL
+ *
+ * Every second (-Dlms.replica.flushInterval=<ms>) up to BATCH_SIZE queued
+ * writes are sent in one server transaction, with consecutive writes of the
+ * same kind sent as one JDBC batch. An UPDATE only sets the columns its
+ * edits changed, so consecutive UPDATEs share a batch when they changed the
+ * same fields. If the server can't be reached the
+ * writes simply stay queued and the next round tries again.
+ *
+ * Conflicts are detected on the lecturers.version column, without locking
+ * any rows: an UPDATE or DELETE is sent with WHERE version = <the version
+ * the local change was based on>. If it matched no row, another desk
+ * changed (or deleted) the lecturer in the meantime; the server's version
+ * is kept, and the rejected change is recorded in the replica's
+ * replica_conflicts table. A write the server rejects outright, such as an
+ * INSERT or UPDATE whose email another lecturer already has, is handled the
+ * same way: the round is redone one write at a time to find it, so it can't
+ * hold up the rest of the queue.
+ *
+ * After a successful round, LecturerDAO is told, so the cache, search index
+ * and open screens see lecturers with temporary ids get their real ids, and
+ * see the server's version wherever a conflict was found.
+ */
+public class WriteBehindQueue {
+    private static final Logger log = Logger.get(WriteBehindQueue.class);
+
+    public static final int BATCH_SIZE = 200;
+    public static final long DEFAULT_INTERVAL_MILLIS = 1_000;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO lecturers (first_name, last_name, email, department, phone, specialty) VALUES (?, ?, ?, ?, ?, ?)";
+    // A write queued before versions existed has no base version and is sent unconditionally
+    private static final String UPDATE_WHERE =
+        "version = version + 1 WHERE lecturer_id = ? AND version = COALESCE(?, version)";
+    private static final String DELETE_SQL =
+        "DELETE FROM lecturers WHERE lecturer_id = ? AND version = COALESCE(?, version)";
+    private static final String TOMBSTONE_SQL =
+        "INSERT INTO lecturer_tombstones (lecturer_id, deleted_at) VALUES (?, CURRENT_TIMESTAMP) " +
+        "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP";
+
+    private static final WriteBehindQueue INSTANCE = new WriteBehindQueue(LocalReplica.getInstance(),
+            Long.getLong("lms.replica.flushInterval", DEFAULT_INTERVAL_MILLIS));
+
+    public static WriteBehindQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /** What the server said about one queued write, applied locally once the round committed */
+    private static final class Outcome {
+        final PendingWrite write;
+        int serverId;
+        Timestamp updatedAt;
+        int version;
+        String conflict;           // null if the write went through
+        Lecturer serverRow;        // the server's version, for conflicts
+
+        Outcome(PendingWrite write) {
+            this.write = write;
+            this.serverId = write.lecturer.getId();
+        }
+    }
+
+    /** The server's current row, read when a conditional UPDATE or DELETE matched nothing */
+    private static final class ServerRow {
+        final Lecturer lecturer;
+        final Timestamp updatedAt;
+
+        ServerRow(Lecturer lecturer, Timestamp updatedAt) {
+            this.lecturer = lecturer;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    private final LocalReplica replica;
+    private final long intervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    private long rounds;
+    private long failedRounds;
+    private long replayed;
+    private long conflicts;
+
+    WriteBehindQueue(LocalReplica replica, long intervalMillis) {
+        this.replica = replica;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            synchronized (this) {
+                failedRounds++;
+            }
+            log.warn("Could not replay queued lecturer writes", "retryMillis", intervalMillis, "error", e.getMessage());
+        }
+    }
+
+    /**
+     * Replay queued writes until the queue is empty
+     * @return number of writes that reached the server or were settled as conflicts
+     */
+    public synchronized int flush() throws SQLException {
+        if (!replica.isReady()) {
+            return 0;
+        }
+        int total = 0;
+        List<PendingWrite> batch;
+        while (!(batch = replica.pendingWrites(BATCH_SIZE)).isEmpty()) {
+            List<Outcome> outcomes;
+            try {
+                outcomes = replay(batch, false);
+            } catch (BatchUpdateException | SQLIntegrityConstraintViolationException e) {
+                // The server rejected one of the writes; redo the round one write at a time to find it
+                outcomes = replay(batch, true);
+            }
+            rounds++;
+            for (Outcome outcome : outcomes) {
+                settle(outcome);
+            }
+            total += outcomes.size();
+        }
+        return total;
+    }
+
+    /**
+     * Send one batch in one server transaction; nothing is applied locally
+     * until it committed
+     */
+    private List<Outcome> replay(List<PendingWrite> batch, boolean oneByOne) throws SQLException {
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int start = 0;
+                while (start < batch.size()) {
+                    // Consecutive writes of the same kind (and UPDATEs of the same fields) form one group
+                    String op = batch.get(start).op;
+                    int fields = batch.get(start).fields;
+                    int end = start;
+                    while (end < batch.size() && batch.get(end).op.equals(op)
+                           && (!LocalReplica.UPDATE.equals(op) || batch.get(end).fields == fields)) {
+                        end++;
+                    }
+                    List<Outcome> group = new ArrayList<>();
+                    for (PendingWrite write : batch.subList(start, end)) {
+                        group.add(new Outcome(write));
+                    }
+
+                    if (LocalReplica.INSERT.equals(op)) {
+                        sendInserts(conn, group, oneByOne);
+                    } else {
+                        checkAndSend(conn, group, LocalReplica.UPDATE.equals(op), oneByOne);
+                    }
+                    outcomes.addAll(group);
+                    start = end;
+                }
+                conn.commit();
+                return outcomes;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void sendInserts(Connection conn, List<Outcome> group, boolean oneByOne) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            if (!oneByOne) {
+                for (Outcome outcome : group) {
+                    bindValues(stmt, outcome.write.lecturer);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    for (Outcome outcome : group) {
+                        if (!keys.next()) {
+                            throw new SQLException("Server returned fewer ids than lecturers inserted");
+                        }
+                        outcome.serverId = keys.getInt(1);
+                    }
+                }
+            } else {
+                for (Outcome outcome : group) {
+                    bindValues(stmt, outcome.write.lecturer);
+                    try {
+                        stmt.executeUpdate();
+                    } catch (SQLIntegrityConstraintViolationException e) {
+                        outcome.conflict = rejected(e);
+                        continue;
+                    }
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        keys.next();
+                        outcome.serverId = keys.getInt(1);
+                    }
+                }
+            }
+        }
+        readUpdatedAt(conn, group);
+    }
+
+    /**
+     * Send the UPDATEs or DELETEs, each only applied if the server row is
+     * still at the version the change was based on; the ones that matched
+     * nothing are looked up to tell a conflict from a lecturer already gone.
+     * UPDATEs in one group all changed the same fields. One by one, a write
+     * the server rejects is settled as a conflict and the server's row kept.
+     */
+    private void checkAndSend(Connection conn, List<Outcome> group, boolean isUpdate, boolean oneByOne) throws SQLException {
+        int fields = group.get(0).write.fields;
+        String sql = isUpdate ? "UPDATE lecturers SET " + LecturerDAO.setClause(fields) + UPDATE_WHERE : DELETE_SQL;
+        int[] counts = new int[group.size()];
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < group.size(); i++) {
+                Outcome outcome = group.get(i);
+                Lecturer lecturer = outcome.write.lecturer;
+                int next = 1;
+                if (isUpdate) {
+                    next = LecturerDAO.bindFields(stmt, lecturer, fields, 1);
+                }
+                stmt.setInt(next, lecturer.getId());
+                stmt.setObject(next + 1, outcome.write.baseVersion, Types.INTEGER);
+                if (!oneByOne) {
+                    stmt.addBatch();
+                    continue;
+                }
+                try {
+                    counts[i] = stmt.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    outcome.conflict = rejected(e);
+                }
+            }
+            if (!oneByOne) {
+                counts = stmt.executeBatch();
+            }
+        }
+
+        List<Outcome> applied = new ArrayList<>();
+        List<Outcome> missed = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+            // SUCCESS_NO_INFO: the driver didn't say; readUpdatedAt() still sees the row
+            Outcome outcome = group.get(i);
+            (outcome.conflict != null || counts[i] == 0 ? missed : applied).add(outcome);
+        }
+        if (!missed.isEmpty()) {
+            Map<Integer, ServerRow> current = readServerRows(conn, missed);
+            for (Outcome outcome : missed) {
+                ServerRow row = current.get(outcome.write.lecturer.getId());
+                if (row == null) {
+                    // Deleted at another desk; nothing to do for our DELETE
+                    if (isUpdate && outcome.conflict == null) {
+                        outcome.conflict = "deleted at another desk";
+                    }
+                } else {
+                    if (outcome.conflict == null) {
+                        outcome.conflict = "changed at another desk (version " + row.lecturer.getVersion() + ")";
+                    }
+                    outcome.serverRow = row.lecturer;
+                    outcome.updatedAt = row.updatedAt;
+                }
+            }
+        }
+
+        if (isUpdate) {
+            readUpdatedAt(conn, applied);
+        } else if (!applied.isEmpty()) {
+            try (PreparedStatement tombstone = conn.prepareStatement(TOMBSTONE_SQL)) {
+                for (Outcome outcome : applied) {
+                    tombstone.setInt(1, outcome.write.lecturer.getId());
+                    tombstone.addBatch();
+                }
+                tombstone.executeBatch();
+            }
+        }
+    }
+
+    private Map<Integer, ServerRow> readServerRows(Connection conn, List<Outcome> group) throws SQLException {
+        String sql = "SELECT " + LecturerDAO.COLUMNS + ", updated_at " +
+                     "FROM lecturers WHERE lecturer_id IN (" + placeholders(group.size()) + ")";
+        Map<Integer, ServerRow> rows = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < group.size(); i++) {
+                stmt.setInt(i + 1, group.get(i).write.lecturer.getId());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Lecturer lecturer = LecturerDAO.readLecturer(rs);
+                    rows.put(lecturer.getId(), new ServerRow(lecturer, rs.getTimestamp("updated_at")));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /** The server's updated_at and version after our writes, so the next change is checked against them */
+    private void readUpdatedAt(Connection conn, List<Outcome> group) throws SQLException {
+        Map<Integer, Outcome> byId = new HashMap<>();
+        for (Outcome outcome : group) {
+            if (outcome.conflict == null) {
+                byId.put(outcome.serverId, outcome);
+            }
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+        String sql = "SELECT lecturer_id, updated_at, version FROM lecturers WHERE lecturer_id IN (" + placeholders(byId.size()) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int id : byId.keySet()) {
+                stmt.setInt(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Outcome outcome = byId.get(rs.getInt(1));
+                    outcome.updatedAt = rs.getTimestamp(2);
+                    outcome.version = rs.getInt(3);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the outcome in the replica and tell LecturerDAO's listeners
+     */
+    private void settle(Outcome outcome) throws SQLException {
+        PendingWrite write = outcome.write;
+        if (outcome.conflict != null) {
+            conflicts++;
+            replica.conflict(write, outcome.conflict, outcome.serverRow, outcome.updatedAt);
+            LecturerDAO.replicaConflict(write.lecturer.getId(), outcome.serverRow);
+            return;
+        }
+        replayed++;
+        boolean stillLocal = replica.completed(write, outcome.serverId, outcome.updatedAt, outcome.version);
+        if (stillLocal && outcome.serverId != write.lecturer.getId()) {
+            Lecturer lecturer = write.lecturer;
+            LecturerDAO.replicaIdAssigned(lecturer.getId(), new Lecturer(outcome.serverId, lecturer.getFirstName(),
+                    lecturer.getLastName(), lecturer.getEmail(), lecturer.getDepartment(), lecturer.getPhone(),
+                    lecturer.getSpecialty(), outcome.version));
+        }
+    }
+
+    private static String rejected(SQLIntegrityConstraintViolationException e) {
+        return "rejected by the server: " + e.getMessage();
+    }
+
+    private static void bindValues(PreparedStatement stmt, Lecturer lecturer) throws SQLException {
+        stmt.setString(1, lecturer.getFirstName());
+        stmt.setString(2, lecturer.getLastName());
+        stmt.setString(3, lecturer.getEmail());
+        stmt.setString(4, lecturer.getDepartment());
+        stmt.setString(5, lecturer.getPhone());
+        stmt.setString(6, lecturer.getSpecialty());
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Counters since startup, e.g. "rounds=12 failedRounds=0 replayed=340 conflicts=1"
+     */
+    public synchronized String getStats() {
+        return "rounds=" + rounds + " failedRounds=" + failedRounds + " replayed=" + replayed + " conflicts=" + conflicts;
+    }
+}
@@ -1,20 +0,0 @@
--- Only create tables if they don't exist
-CREATE TABLE IF NOT EXISTS lecturers (
-    lecturer_id INT PRIMARY KEY AUTO_INCREMENT,
-    first_name VARCHAR(50) NOT NULL,
-    last_name VARCHAR(50) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
-    department VARCHAR(100) NOT NULL,
-    phone VARCHAR(20),
-    specialty VARCHAR(100),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
-);
-
-CREATE TABLE IF NOT EXISTS lecturer_courses (
-    id INT PRIMARY KEY AUTO_INCREMENT,
-    lecturer_id INT,
-    course_id INT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (lecturer_id) REFERENCES lecturers(lecturer_id)
-);
\ No newline at end of file
@@ -0,0 +1,57 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * Simple Course model class (one row of the courses table)
+ */
+public class Course {
+    private int id;
+    private String code;
+    private String title;
+    private String description;
+    private int credits;
+
+    public Course(int id, String code, String title, String description, int credits) {
+        this.id = id;
+        this.code = code;
+        this.title = title;
+        this.description = description;
+        this.credits = credits;
+    }
+
+    /**
+     * Card shown in the course catalog
+     * @param lecturerNames Lecturers teaching the course (may be empty)
+     */
+    public CourseCardModel toCardModel(List<String> lecturerNames) {
+        CourseCardModel model = new CourseCardModel(
+            code + " - " + title,
+            lecturerNames.isEmpty() ? "No lecturer assigned" : String.join(", ", lecturerNames),
+            (description != null && !description.isEmpty() ? description + " - " : "") + credits + " credits"
+        );
+        model.setCourseId(id);
+        return model;
+    }
+
+    // Getters and setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public int getCredits() { return credits; }
+    public void setCredits(int credits) { this.credits = credits; }
+
+    @Override
+    public String toString() {
+        return code + " " + title;
+    }
+}
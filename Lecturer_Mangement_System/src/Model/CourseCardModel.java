@@ -2,6 +2,7 @@ package Model;
 
 public class CourseCardModel {
 
+    private int courseId;
     private String CourseTitle;
     private String LecturerTitle;
     private String CourseInfo;
@@ -18,6 +19,10 @@ public class CourseCardModel {
     }
 
     //Getters
+    public int getCourseId() {
+        return courseId;
+    }
+
     public String getCourseTitle() {
         return CourseTitle;
     }
@@ -31,6 +36,10 @@ public class CourseCardModel {
     }
 
      //Setters
+    public void setCourseId(int courseId) {
+        this.courseId = courseId;
+    }
+
 public void setCourseTitle(String courseTitle) {
         this.CourseTitle = courseTitle;
     }
@@ -1,9 +1,12 @@
 package Model;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import Util.DatabaseConnection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import Data.LecturerDAO;
+import Data.UpdateResult;
 
 public class LectureCardModel {
     private int lecturerId;
@@ -13,9 +16,17 @@ public class LectureCardModel {
     private String department;
     private String phone;
     private String specialty;
+    private int version;       // the row version these values were read at
+    private Lecturer saved;    // the lecturer as stored at that version; null if never read
     private String lecturerTitle;
     private String lecturerOffice;
     private String lecturerCourse;
+
+    // Saves of this card are written one at a time; a save made while
+    // another is being written waits in nextSave, and saves made meanwhile
+    // join it, so they go out as one write
+    private final Object writeLock = new Object();
+    private CompletableFuture<UpdateResult> nextSave;   // guarded by this
     
     // Constructors
     public LectureCardModel() {
@@ -56,6 +67,7 @@ public class LectureCardModel {
     public String getDepartment() { return department; }
     public String getPhone() { return phone; }
     public String getSpecialty() { return specialty; }
+    public int getVersion() { return version; }
     public String getLecturerTitle() { return lecturerTitle; }
     public String getLecturerOffice() { return lecturerOffice; }
     public String getLecturerCourse() { return lecturerCourse; }
@@ -68,28 +80,103 @@ public class LectureCardModel {
     public void setDepartment(String department) { this.department = department; }
     public void setPhone(String phone) { this.phone = phone; }
     public void setSpecialty(String specialty) { this.specialty = specialty; }
+    public void setVersion(int version) { this.version = version; }
     public void setLecturerTitle(String title) { this.lecturerTitle = title; }
     public void setLecturerOffice(String office) { this.lecturerOffice = office; }
     public void setLecturerCourse(String course) { this.lecturerCourse = course; }
+
+    // Change tracking
+    /**
+     * Take current as the lecturer as it is stored now: later saves write
+     * the fields that differ from it, against its version
+     */
+    public synchronized void rebase(Lecturer current) {
+        this.saved = current;
+        this.version = current.getVersion();
+    }
+
+    /**
+     * The fields whose values differ from the lecturer as it was read (all
+     * of them if this card was not made from a stored lecturer)
+     */
+    public synchronized Set<LecturerField> getChangedFields() {
+        if (saved == null) {
+            return EnumSet.allOf(LecturerField.class);
+        }
+        Lecturer edited = toLecturer();
+        Set<LecturerField> changed = EnumSet.noneOf(LecturerField.class);
+        for (LecturerField field : LecturerField.values()) {
+            if (field.differs(edited, saved)) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
     
     // Database operations
-    public boolean updateInDatabase() throws SQLException {
-        String sql = "UPDATE lecturers SET first_name=?, last_name=?, email=?, " +
-                    "department=?, phone=?, specialty=? WHERE lecturer_id=?";
-                    
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, firstName);
-            stmt.setString(2, lastName);
-            stmt.setString(3, email);
-            stmt.setString(4, department);
-            stmt.setString(5, phone);
-            stmt.setString(6, specialty);
-            stmt.setInt(7, lecturerId);
-            
-            return stmt.executeUpdate() > 0;
+    /**
+     * Save the fields changed on this card back to the lecturers table,
+     * unless someone else changed the lecturer since it was read (see getVersion())
+     * Goes through LecturerDAO so the lecturer cache stays up to date.
+     * If nothing was changed the database isn't asked and the result is
+     * UNCHANGED. Saves made while an earlier save of this card is still
+     * being written are combined into one write, and all get its result.
+     * On success this card moves on to the new version, so it can be saved again.
+     */
+    public UpdateResult updateInDatabase() throws SQLException {
+        CompletableFuture<UpdateResult> save;
+        boolean writer;
+        synchronized (this) {
+            writer = nextSave == null;
+            if (writer) {
+                nextSave = new CompletableFuture<>();
+            }
+            save = nextSave;
+        }
+        if (writer) {
+            synchronized (writeLock) {
+                // The previous write is done; saves from now on start the next one
+                synchronized (this) {
+                    nextSave = null;
+                }
+                try {
+                    save.complete(write());
+                } catch (SQLException | RuntimeException e) {
+                    save.completeExceptionally(e);
+                }
+            }
         }
+        try {
+            return save.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private UpdateResult write() throws SQLException {
+        Lecturer edited;
+        Set<LecturerField> changed;
+        int base;
+        synchronized (this) {
+            edited = toLecturer();
+            changed = getChangedFields();
+            base = version;
+        }
+        UpdateResult result = new LecturerDAO().updateLecturer(edited, base, changed);
+        if (result.isUpdated()) {
+            rebase(result.getCurrent());
+        }
+        return result;
+    }
+
+    public Lecturer toLecturer() {
+        return new Lecturer(lecturerId, firstName, lastName, email, department, phone, specialty, version);
     }
     
 }
\ No newline at end of file
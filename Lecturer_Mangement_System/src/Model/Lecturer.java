@@ -2,19 +2,26 @@ package Model;
 
 /**
  * Simple Lecturer model class
+ *
+ * Immutable: LecturerDAO's cache hands the same instances to every caller,
+ * so none of them can change what the others (or the cache) see. To edit a
+ * lecturer, use toCardModel() and save the card.
  */
 public class Lecturer {
-    private int id;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String department;
-    private String phone;
-    private String specialty;
+    private final int id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String department;
+    private final String phone;
+    private final String specialty;
+    /** Row version on the server, bumped by every update (optimistic locking) */
+    private final int version;
     
     public LectureCardModel toCardModel() {
         // Create a card model with all lecturer information
         LectureCardModel model = new LectureCardModel(id, firstName, lastName, email, department, phone, specialty);
+        model.rebase(this);
         // Set display values for the card view
         model.setLecturerTitle(firstName + " " + lastName);
         model.setLecturerOffice(department + " Department");
@@ -24,35 +31,35 @@ public class Lecturer {
     
     // Constructor for new lecturers (no id)
     public Lecturer(String firstName, String lastName, String email, String department) {
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.email = email;
-        this.department = department;
+        this(0, firstName, lastName, email, department, null, null);
     }
     
     // Constructor for existing lecturers (with id)
     public Lecturer(int id, String firstName, String lastName, String email, String department, String phone, String specialty) {
-        this(firstName, lastName, email, department);
+        this(id, firstName, lastName, email, department, phone, specialty, 0);
+    }
+
+    // Constructor for lecturers read from the database, with their row version
+    public Lecturer(int id, String firstName, String lastName, String email, String department, String phone, String specialty, int version) {
         this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.department = department;
         this.phone = phone;
         this.specialty = specialty;
+        this.version = version;
     }
     
-    // Getters and setters
+    // Getters
     public int getId() { return id; }
-    public void setId(int id) { this.id = id; }
-    
     public String getFirstName() { return firstName; }
-    public void setFirstName(String firstName) { this.firstName = firstName; }
-    
     public String getLastName() { return lastName; }
-    public void setLastName(String lastName) { this.lastName = lastName; }
-    
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
-    
     public String getDepartment() { return department; }
-    public void setDepartment(String department) { this.department = department; }
+    public String getPhone() { return phone; }
+    public String getSpecialty() { return specialty; }
+    public int getVersion() { return version; }
     
     // Convenience method to get full name
     public String getFullName() {
@@ -0,0 +1,70 @@
+package Model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The columns of a lecturer that an edit can change
+ *
+ * Used to save only the fields that were changed (see
+ * LectureCardModel.getChangedFields()). A set of fields can also be kept as
+ * a bit mask, one bit per field in declaration order, for storing with a
+ * queued write.
+ */
+public enum LecturerField {
+    FIRST_NAME("first_name", Lecturer::getFirstName),
+    LAST_NAME("last_name", Lecturer::getLastName),
+    EMAIL("email", Lecturer::getEmail),
+    DEPARTMENT("department", Lecturer::getDepartment),
+    PHONE("phone", Lecturer::getPhone),
+    SPECIALTY("specialty", Lecturer::getSpecialty);
+
+    /** Every field, for saves that write the whole lecturer */
+    public static final Set<LecturerField> ALL = Collections.unmodifiableSet(EnumSet.allOf(LecturerField.class));
+    public static final int ALL_MASK = (1 << values().length) - 1;
+
+    private final String column;
+    private final Function<Lecturer, String> getter;
+
+    LecturerField(String column, Function<Lecturer, String> getter) {
+        this.column = column;
+        this.getter = getter;
+    }
+
+    /** Column name in the lecturers table */
+    public String column() { return column; }
+
+    public String get(Lecturer lecturer) { return getter.apply(lecturer); }
+
+    /**
+     * Whether the two values count as different: the edit screen gives ""
+     * for a column that is NULL, so blank and null are the same here
+     */
+    public boolean differs(Lecturer a, Lecturer b) {
+        String x = get(a);
+        String y = get(b);
+        boolean xBlank = x == null || x.isEmpty();
+        boolean yBlank = y == null || y.isEmpty();
+        return xBlank != yBlank || (!xBlank && !x.equals(y));
+    }
+
+    public static int toMask(Set<LecturerField> fields) {
+        int mask = 0;
+        for (LecturerField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<LecturerField> fromMask(int mask) {
+        Set<LecturerField> fields = EnumSet.noneOf(LecturerField.class);
+        for (LecturerField field : values()) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * A lecturer together with the courses they teach, as loaded by
+ * CourseAssignmentDAO in a single query
+ */
+public class LecturerWithCourses {
+    private final Lecturer lecturer;
+    private final List<Course> courses;
+
+    public LecturerWithCourses(Lecturer lecturer, List<Course> courses) {
+        this.lecturer = lecturer;
+        this.courses = courses;
+    }
+
+    public Lecturer getLecturer() { return lecturer; }
+    public List<Course> getCourses() { return courses; }
+}
@@ -0,0 +1,99 @@
+package Util;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statements one piece of background work has open, so the work can be stopped
+ *
+ * Data.AsyncDAO runs every task inside its own scope. While a scope is
+ * current on a thread, each statement created on a pooled connection is
+ * remembered, until that connection goes back to the pool. cancel() calls
+ * Statement.cancel() on them: the driver stops the running query (MySQL
+ * sends KILL QUERY over a separate connection) and the task gets a
+ * SQLException. Any statement the task creates afterwards fails straight
+ * away, so a task that runs several queries stops at the next one.
+ *
+ * A connection is only handed back to the pool while no cancel() is running,
+ * so a late cancel can never reach a query someone else started on it.
+ */
+public final class CancelScope {
+    private static final ThreadLocal<CancelScope> CURRENT = new ThreadLocal<>();
+    /** SQLSTATE for "operation canceled" */
+    private static final String CANCELLED = "HY008";
+
+    /** Open statements per pooled connection handle */
+    private final Map<Object, List<Statement>> open = new IdentityHashMap<>();
+    private boolean cancelled;
+
+    /**
+     * Make this the current scope of the calling thread
+     * Scopes don't nest; AsyncDAO gives every task its own thread.
+     */
+    public void enter() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Leave the scope entered on this thread
+     */
+    public void exit() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Cancel every open statement and refuse new ones
+     * Statement.cancel() may need a round trip, so don't call this on the
+     * JavaFX Application Thread.
+     */
+    public synchronized void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        for (List<Statement> statements : open.values()) {
+            for (Statement statement : statements) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    // Already closed or finished; nothing left to stop
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** The scope current on this thread, or null */
+    static CancelScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Remember a statement just created on a pooled connection
+     * @throws SQLException (and closes the statement) if the scope was cancelled
+     */
+    void track(Object connection, Statement statement) throws SQLException {
+        synchronized (this) {
+            if (!cancelled) {
+                open.computeIfAbsent(connection, k -> new ArrayList<>()).add(statement);
+                return;
+            }
+        }
+        statement.close();
+        throw new SQLException("Cancelled", CANCELLED);
+    }
+
+    /**
+     * Forget a connection's statements; called just before it goes back to the pool
+     */
+    synchronized void release(Object connection) {
+        open.remove(connection);
+    }
+}
@@ -0,0 +1,415 @@
+package Util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of JDBC connections
+ *
+ * Opening a MySQL connection costs a TCP connect plus the authentication
+ * handshake, which used to happen on every DAO call. The pool keeps physical
+ * connections open and hands out wrappers whose close() returns the
+ * connection to the pool instead of closing it, so existing
+ * try-with-resources code keeps working unchanged.
+ *
+ * Features:
+ * - minSize connections are kept open, never more than maxSize
+ * - idle connections above minSize are closed after idleTimeoutMillis
+ * - connections are validated before being handed out
+ * - borrowers wait at most borrowTimeoutMillis for a free connection
+ * - connections held longer than leakThresholdMillis are reported with the
+ *   borrowing thread; -Dlms.pool.leakTrace=true also records the stack of
+ *   every borrow so the report shows where it happened (costly, for debugging)
+ * - each physical connection keeps up to statementCacheSize prepared
+ *   statements for reuse (see StatementCache; 0 turns this off)
+ * - an optional write listener hears when a connection that prepared a
+ *   statement other than a SELECT is returned (see ReadRouter)
+ * - statements created under a CancelScope can be cancelled through it
+ */
+public class ConnectionPool {
+    private static final Logger log = Logger.get(ConnectionPool.class);
+
+    /** Connections returned more recently than this are not re-validated */
+    private static final long VALIDATION_SKIP_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 30_000;
+    /** Capture a stack trace on every borrow for leak reports (-Dlms.pool.leakTrace=true) */
+    private static final boolean LEAK_TRACE = Boolean.getBoolean("lms.pool.leakTrace");
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    /** One permit per connection that may be handed out */
+    private final Semaphore permits;
+    /** Idle connections, most recently used first so warm connections are reused */
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+    private volatile Runnable writeListener;
+
+    // Statistics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MILLIS, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run listener whenever a connection that prepared a writing statement
+     * (anything but SELECT, WITH or SHOW) is returned, i.e. after the write
+     * was committed or rolled back. Statements from createStatement() are
+     * not looked at; they are only used for schema changes and scripts.
+     */
+    public void setWriteListener(Runnable listener) {
+        this.writeListener = listener;
+    }
+
+    /**
+     * Borrow a connection from the pool
+     * Closing the returned connection gives it back to the pool.
+     * @throws SQLException if no connection became free within the borrow timeout
+     *         or a new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + getStats() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowThread = Thread.currentThread().getName();
+            pooled.borrowSite = LEAK_TRACE && leakThresholdMillis > 0 ? new Exception("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowed.add(pooled);
+            borrowCount.increment();
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return create();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_SKIP_MILLIS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Called when a borrower closes its handle
+     */
+    private void giveBack(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        if (pooled.wrote) {
+            pooled.wrote = false;
+            Runnable listener = writeListener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+        try {
+            if (pooled.statements != null) {
+                pooled.statements.releaseAll();
+            }
+            if (shutdown || pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            // Leave the connection the way the next borrower expects it
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Already broken, nothing else to do
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxWaitNanos.get()) && !maxWaitNanos.compareAndSet(max, nanos)) {
+            // retry until the new maximum sticks
+        }
+    }
+
+    /**
+     * Periodic maintenance: evict idle connections, keep minSize open and report leaks
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Evict from the cold end of the deque, never going below minSize
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastReturnedAt > idleTimeoutMillis && idle.remove(pooled)) {
+                discard(pooled);
+                evictedCount.increment();
+            }
+        }
+
+        fillToMinimum();
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                    pooled.leakReported = true;
+                    leakCount.increment();
+                    // borrowSite (only with -Dlms.pool.leakTrace=true) shows where it was borrowed
+                    log.warn("Possible connection leak", pooled.borrowSite, "heldMillis", now - pooled.borrowedAt,
+                            "thread", pooled.borrowThread);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open connections until minSize are available
+     */
+    public void fillToMinimum() {
+        while (!shutdown && totalConnections.get() < minSize) {
+            try {
+                PooledConnection pooled = create();
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                log.warn("Could not open pooled connection", "error", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close every idle connection and stop handing out new ones
+     * Borrowed connections are closed when their borrowers return them.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Snapshot of the pool's current state and lifetime counters
+     */
+    public PoolStats getStats() {
+        return new PoolStats(borrowed.size(), idle.size(), totalConnections.get(), maxSize,
+                permits.getQueueLength(), borrowCount.sum(), waitNanos.sum(), maxWaitNanos.get(),
+                timeoutCount.sum(), createdCount.sum(), evictedCount.sum(), leakCount.sum(),
+                statementHits.sum(), statementMisses.sum());
+    }
+
+    /** Whether a call prepares a statement that may change data */
+    private static boolean isWrite(Method method, Object[] args) {
+        String name = method.getName();
+        if (!name.equals("prepareStatement") && !name.equals("prepareCall")) {
+            return false;
+        }
+        String sql = (String) args[0];
+        int i = 0;
+        while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) {
+            i++;
+        }
+        return !(sql.regionMatches(true, i, "SELECT", 0, 6)
+                 || sql.regionMatches(true, i, "WITH", 0, 4)
+                 || sql.regionMatches(true, i, "SHOW", 0, 4));
+    }
+
+    /**
+     * One physical connection plus its bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;   // null when statement caching is off
+        volatile long lastReturnedAt;
+        volatile long borrowedAt;
+        volatile String borrowThread;
+        volatile Exception borrowSite;     // null unless LEAK_TRACE
+        volatile boolean leakReported;
+        volatile boolean wrote;            // prepared a writing statement since it was borrowed
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0
+                    ? new StatementCache(statementCacheSize, statementHits, statementMisses) : null;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new Handle(this));
+        }
+    }
+
+    /**
+     * The Connection callers see. close() returns the physical connection to the pool
+     * and makes this handle unusable, so a stale reference cannot touch a connection
+     * that has since been lent to someone else.
+     */
+    private final class Handle implements InvocationHandler {
+        private PooledConnection pooled;
+        /** The borrowing thread's scope, or null */
+        private final CancelScope scope = CancelScope.current();
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (this) {
+                        if (pooled != null) {
+                            PooledConnection returning = pooled;
+                            pooled = null;
+                            if (scope != null) {
+                                scope.release(proxy);
+                            }
+                            giveBack(returning);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return pooled == null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + (pooled == null ? "closed" : pooled.physical) + "]";
+                default:
+                    PooledConnection current = pooled;
+                    if (current == null) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    if (writeListener != null && !current.wrote && isWrite(method, args)) {
+                        current.wrote = true;
+                    }
+                    Object result;
+                    if (current.statements != null && method.getName().equals("prepareStatement")) {
+                        result = current.statements.prepare(current.physical, (Connection) proxy, method, args);
+                    } else {
+                        try {
+                            result = method.invoke(current.physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                    if (scope != null && result instanceof Statement) {
+                        scope.track(proxy, (Statement) result);
+                    }
+                    return result;
+            }
+        }
+    }
+}
@@ -1,49 +1,183 @@
 package Util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Simple database connection helper
  * Uses MySQL JDBC driver to connect to the database
+ * Connections come from a shared ConnectionPool, so closing them
+ * (e.g. at the end of a try-with-resources block) returns them to the pool
+ *
+ * getConnection() always goes to the primary server. Read-only DAO methods
+ * use getReadConnection(), which goes to a read replica when any are
+ * configured (see ReadRouter) and to the primary otherwise.
  */
 public class DatabaseConnection {
+    private static final Logger log = Logger.get(DatabaseConnection.class);
+
     // Update these with your MySQL settings
-    private static final String URL = "jdbc:mysql://localhost:3306/lecturer_management?createDatabaseIfNotExist=true";
-    public static final String USER = "root";     // Your MySQL username
-    public static final String PASSWORD = "MSI@2025";      // Your MySQL password
-    
+    // They can be overridden with -Dlms.db.url=... -Dlms.db.user=... -Dlms.db.password=...
+    // (e.g. jdbc:h2:mem:lms;MODE=MySQL to run the benchmarks without a MySQL server)
+    // cachePrepStmts/useServerPrepStmts let MySQL parse and plan each statement once per connection
+    public static final String URL = System.getProperty("lms.db.url",
+            "jdbc:mysql://localhost:3306/lecturer_management?createDatabaseIfNotExist=true&useCursorFetch=true&rewriteBatchedStatements=true"
+            + "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048");
+    public static final String USER = System.getProperty("lms.db.user", "root");     // Your MySQL username
+    public static final String PASSWORD = System.getProperty("lms.db.password", "MSI@2025");      // Your MySQL password
+
+    // Connection pool settings
+    private static final int POOL_MIN_SIZE = 2;
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long BORROW_TIMEOUT_MILLIS = 5_000;
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long LEAK_THRESHOLD_MILLIS = 60_000;
+    // Prepared statements kept per connection (-Dlms.db.statementCache=0 turns it off)
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("lms.db.statementCache", 64);
+
+    private static volatile ConnectionPool pool;
+    private static volatile ReadRouter router;   // null without read replicas; set together with pool
+
+    /** Time to get a connection from the pool, including waiting for a free one */
+    private static final LatencyTimer GET_CONNECTION_TIMER = Metrics.timer("DatabaseConnection.getConnection");
+    private static final LatencyTimer GET_READ_CONNECTION_TIMER = Metrics.timer("DatabaseConnection.getReadConnection");
+
     /**
      * Get a connection to the database
+     * While DatabaseSetup is still migrating the schema in the background,
+     * this waits for it to finish first.
      */
     public static Connection getConnection() throws SQLException {
+        DatabaseSetup.awaitSchema();
+        return getSetupConnection();
+    }
+
+    /**
+     * Get a connection for a read-only query
+     * Goes to a read replica if any are configured and healthy, unless this
+     * application wrote something in the last moment (the replica might not
+     * have it yet); otherwise to the primary like getConnection(). Never
+     * write through it.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        DatabaseSetup.awaitSchema();
+        long start = System.nanoTime();
+        try {
+            getPool();
+        } catch (ClassNotFoundException e) {
+            return getSetupConnection();   // reports the missing driver
+        }
+        ReadRouter current = router;
+        Connection conn = current == null ? null : current.borrow();
+        if (conn == null) {
+            return getSetupConnection();
+        }
+        GET_READ_CONNECTION_TIMER.stop(start);
+        return conn;
+    }
+
+    /**
+     * A connection that doesn't wait for the schema; for DatabaseSetup itself
+     */
+    static Connection getSetupConnection() throws SQLException {
+        long start = System.nanoTime();
         try {
-            // This line will verify the MySQL driver is available
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            return DriverManager.getConnection(URL, USER, PASSWORD);
+            Connection conn = getPool().borrow();
+            GET_CONNECTION_TIMER.stop(start);
+            return conn;
         } catch (ClassNotFoundException e) {
-            System.out.println("MySQL JDBC Driver not found!");
-            System.out.println("Check that mysql-connector-j-*.jar is in your lib folder");
+            log.error("MySQL JDBC Driver not found, check that mysql-connector-j-*.jar is in your lib folder");
             throw new SQLException("MySQL JDBC Driver not found", e);
         } catch (SQLException e) {
-            System.out.println("Database connection failed!");
-            System.out.println("Check that:");
-            System.out.println("1. MySQL is running");
-            System.out.println("2. Your username and password are correct");
-            System.out.println("3. The database 'lecturer_management' exists");
+            log.error("Database connection failed; check that MySQL is running, the username and password"
+                    + " are correct and the database 'lecturer_management' exists", "url", URL, "error", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Create the shared pool the first time it is needed
+     */
+    private static ConnectionPool getPool() throws ClassNotFoundException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    // This line will verify the MySQL driver is available
+                    if (URL.startsWith("jdbc:mysql:")) {
+                        Class.forName("com.mysql.cj.jdbc.Driver");
+                    }
+                    current = new ConnectionPool(URL, USER, PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                            BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, LEAK_THRESHOLD_MILLIS, STATEMENT_CACHE_SIZE);
+                    ReadRouter replicas = ReadRouter.fromProperties(USER, PASSWORD, POOL_MIN_SIZE, POOL_MAX_SIZE,
+                            BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, LEAK_THRESHOLD_MILLIS, STATEMENT_CACHE_SIZE);
+                    if (replicas != null) {
+                        current.setWriteListener(replicas::wrote);
+                    }
+                    router = replicas;
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Current pool usage: active and idle connections, wait times, timeouts and leaks
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null
+                ? new PoolStats(0, 0, 0, POOL_MAX_SIZE, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)
+                : current.getStats();
+    }
+
+    /**
+     * The read replicas in use, with their health and read counts; null if none are configured
+     */
+    public static ReadRouter getReadRouter() {
+        return router;
+    }
+
+    /**
+     * Close all pooled connections, called when the application exits
+     */
+    public static void shutdown() {
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+            if (router != null) {
+                router.shutdown();
+                router = null;
+            }
+        }
+    }
+
+    /**
+     * Open connections until the pool has its minimum size
+     */
+    static void fillPool() {
+        try {
+            getPool().fillToMinimum();
+        } catch (ClassNotFoundException e) {
+            // getSetupConnection() already failed and reported it
+        }
+    }
+
     /**
      * Test if we can connect to the database
+     * On success the pool is also filled up to its minimum size
      */
     public static boolean testConnection() {
-        try (Connection conn = getConnection()) {
+        try {
+            getConnection().close();
+            getPool().fillToMinimum();
             return true;
-        } catch (SQLException e) {
+        } catch (SQLException | ClassNotFoundException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+}
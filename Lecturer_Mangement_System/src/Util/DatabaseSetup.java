@@ -1,58 +1,69 @@
 package Util;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.Statement;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
- * Utility to run SQL scripts to set up the database
+ * Creates and upgrades the database schema
+ *
+ * The schema is a list of numbered migrations (see SchemaMigrator). Start-up
+ * checks the version with a single query on one connection and only runs
+ * DDL when a migration is missing, instead of re-creating every table on
+ * every start. Main runs it in the background with startInBackground()
+ * while the login screen is already showing; DatabaseConnection makes
+ * DAO calls wait for it.
+ *
+ * To change the schema, add a Migration with the next version at the end of
+ * MIGRATIONS; never edit one that has shipped. database/schema.sql is the
+ * same schema as one script, for setting up a server by hand.
  */
 public class DatabaseSetup {
-    public static void setupTables() {
-        // First, ensure the database exists
-        createDatabaseIfNotExists();
-        
-        // Then setup individual tables if needed
-        setupAdminTable();
-        setupLecturerTable();
-    }
-    
-    private static void createDatabaseIfNotExists() {
-        try (Connection conn = DriverManager.getConnection("jdbc:mysql://localhost:3306/", 
-                                                        DatabaseConnection.USER, 
-                                                        DatabaseConnection.PASSWORD);
-             Statement stmt = conn.createStatement()) {
-            
-            System.out.println("Creating database if not exists...");
-            stmt.execute("CREATE DATABASE IF NOT EXISTS lecturer_management");
-            stmt.execute("USE lecturer_management");
-            System.out.println("Database setup complete!");
-            
-        } catch (SQLException e) {
-            System.err.println("Failed to create database:");
-            e.printStackTrace();
-        }
-    }
+    private static final Logger log = Logger.get(DatabaseSetup.class);
 
-    private static void executeSchemaFile(String resourcePath, String description) {
-        executeSqlFile(resourcePath, description);
-    }
+    /** Room for a PasswordHasher hash (88 characters at the default cost) */
+    private static final int PASSWORD_COLUMN_SIZE = 100;
 
-    private static void setupAdminTable() {
-        // executeSqlFile("/Data/admin.sql", "Admin");
-        // TODO: Fix admin.sql resource path
-        System.out.println("Skipping admin table setup (SQL file not found)");
-    }
+    static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "admin table with the default admin", (conn, stmt) -> {
+            stmt.execute("CREATE TABLE IF NOT EXISTS admin (" +
+                        "id INT PRIMARY KEY AUTO_INCREMENT," +
+                        "username VARCHAR(50) NOT NULL UNIQUE," +
+                        "password VARCHAR(" + PASSWORD_COLUMN_SIZE + ") NOT NULL" +
+                        ")");
 
-    private static void setupLecturerTable() {
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            // Create lecturers table first
-            System.out.println("Creating lecturers table...");
+            // Older databases were created with a column too short for a hash
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null,
+                    identifier(conn.getMetaData(), "admin"), identifier(conn.getMetaData(), "password"))) {
+                if (rs.next() && rs.getInt("COLUMN_SIZE") < PASSWORD_COLUMN_SIZE) {
+                    log.info("Widening admin.password for password hashes");
+                    stmt.execute("ALTER TABLE admin MODIFY password VARCHAR(" + PASSWORD_COLUMN_SIZE + ") NOT NULL");
+                }
+            }
+
+            // The default admin, stored as a hash
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM admin")) {
+                rs.next();
+                if (rs.getInt(1) > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO admin (username, password) VALUES (?, ?)")) {
+                insert.setString(1, "Admin");
+                insert.setString(2, PasswordHasher.hash("MSI@2025"));
+                insert.executeUpdate();
+            }
+        }),
+        new Migration(2, "lecturers table", (conn, stmt) ->
             stmt.execute("CREATE TABLE IF NOT EXISTS lecturers (" +
                         "lecturer_id INT PRIMARY KEY AUTO_INCREMENT," +
                         "first_name VARCHAR(50) NOT NULL," +
@@ -63,54 +74,217 @@ public class DatabaseSetup {
                         "specialty VARCHAR(100)," +
                         "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
                         "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" +
+                        ")")),
+        // Other desks poll for rows changed since their last look (Data.LecturerSyncService)
+        new Migration(3, "index on lecturers.updated_at", (conn, stmt) -> {
+            if (!indexExists(conn, "lecturers", "idx_lecturers_updated_at")) {
+                stmt.execute("CREATE INDEX idx_lecturers_updated_at ON lecturers (updated_at)");
+            }
+        }),
+        // deleteLecturer() leaves a tombstone here so those desks see deletes too
+        new Migration(4, "lecturer_tombstones table", (conn, stmt) ->
+            stmt.execute("CREATE TABLE IF NOT EXISTS lecturer_tombstones (" +
+                        "lecturer_id INT PRIMARY KEY," +
+                        "deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                        "KEY idx_lecturer_tombstones_deleted_at (deleted_at)" +
+                        ")")),
+        new Migration(5, "courses table with the sample courses", (conn, stmt) -> {
+            stmt.execute("CREATE TABLE IF NOT EXISTS courses (" +
+                        "course_id INT PRIMARY KEY AUTO_INCREMENT," +
+                        "course_code VARCHAR(20) NOT NULL UNIQUE," +
+                        "title VARCHAR(100) NOT NULL," +
+                        "description TEXT," +
+                        "credits INT NOT NULL DEFAULT 3," +
+                        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                        "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" +
                         ")");
-            
-            // Then create lecturer_courses table that references lecturers
-            System.out.println("Creating lecturer_courses table...");
+            seedCourses(conn);
+        }),
+        new Migration(6, "lecturer_courses table with semesters", (conn, stmt) -> {
+            // Older databases have a lecturer_courses without semesters; keep its rows aside
+            if (tableExists(conn, "lecturer_courses") && !columnExists(conn, "lecturer_courses", "semester")) {
+                log.info("Moving old lecturer_courses table to lecturer_courses_legacy");
+                stmt.execute("ALTER TABLE lecturer_courses RENAME TO lecturer_courses_legacy");
+            }
+            // The primary key serves "courses of a lecturer in a semester",
+            // idx_lecturer_courses_course serves "lecturers of a course"
             stmt.execute("CREATE TABLE IF NOT EXISTS lecturer_courses (" +
-                        "id INT PRIMARY KEY AUTO_INCREMENT," +
-                        "lecturer_id INT," +
-                        "course_id INT," +
-                        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                        "FOREIGN KEY (lecturer_id) REFERENCES lecturers(lecturer_id)" +
+                        "lecturer_id INT NOT NULL," +
+                        "course_id INT NOT NULL," +
+                        "semester VARCHAR(20) NOT NULL," +
+                        "assigned_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                        "PRIMARY KEY (lecturer_id, semester, course_id)," +
+                        "KEY idx_lecturer_courses_course (course_id)," +
+                        "FOREIGN KEY (lecturer_id) REFERENCES lecturers(lecturer_id) ON DELETE CASCADE," +
+                        "FOREIGN KEY (course_id) REFERENCES courses(course_id) ON DELETE CASCADE" +
                         ")");
-            
-            System.out.println("Lecturer tables setup complete!");
+        }),
+        // Bumped by every update; an edit only saves if the version is still
+        // the one it was read at (see LecturerDAO.updateLecturer)
+        new Migration(7, "lecturers.version for optimistic locking", (conn, stmt) -> {
+            if (!columnExists(conn, "lecturers", "version")) {
+                stmt.execute("ALTER TABLE lecturers ADD COLUMN version INT NOT NULL DEFAULT 0");
+            }
+        }),
+        // LecturerStats counts lecturers per department and specialty from this index alone
+        new Migration(8, "index on lecturers (department, specialty)", (conn, stmt) -> {
+            if (!indexExists(conn, "lecturers", "idx_lecturers_department_specialty")) {
+                stmt.execute("CREATE INDEX idx_lecturers_department_specialty ON lecturers (department, specialty)");
+            }
+        })
+    );
+
+    private static final SchemaMigrator migrator = new SchemaMigrator(MIGRATIONS);
+    private static final LatencyTimer SETUP_TIMER = Metrics.timer("DatabaseSetup.setupTables");
+
+    private static volatile CompletableFuture<Boolean> setup;
+    private static volatile boolean ready;
+
+    public static SchemaMigrator getMigrator() {
+        return migrator;
+    }
+
+    /**
+     * Bring the schema up to date on one connection
+     * The connection also proves the server is reachable, and the pool is
+     * filled up to its minimum size while we are at it.
+     * @return false if the database could not be reached or a migration failed
+     */
+    public static boolean setupTables() {
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getSetupConnection()) {
+            migrator.migrate(conn);
+            DatabaseConnection.fillPool();
+            return true;
         } catch (SQLException e) {
-            System.err.println("Failed to set up lecturer tables:");
-            e.printStackTrace();
+            log.error("Failed to set up the database schema", e);
+            return false;
+        } finally {
+            SETUP_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Load a SQL script (seed data, database/schema.sql on a new server)
+     * through SqlScriptRunner: streamed, batched, in one transaction
+     */
+    public static SqlScriptRunner.Result runScript(Path script) throws SQLException, IOException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return new SqlScriptRunner().run(conn, script);
+        }
+    }
+
+    /**
+     * Run setupTables() on a background thread (once)
+     * @return completes with setupTables()' result
+     */
+    public static synchronized CompletableFuture<Boolean> startInBackground() {
+        if (setup == null) {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            setup = future;
+            Thread thread = new Thread(() -> {
+                try {
+                    future.complete(setupTables());
+                } catch (RuntimeException e) {
+                    log.error("Database setup failed", e);
+                    future.complete(false);
+                } finally {
+                    ready = true;
+                }
+            }, "schema-setup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return setup;
+    }
+
+    /**
+     * Block until a background setup started with startInBackground() is
+     * done; returns at once if there is none or it has finished.
+     * Called by DatabaseConnection.getConnection(), so the fast path is one
+     * volatile read.
+     */
+    static void awaitSchema() {
+        if (ready) {
+            return;
+        }
+        CompletableFuture<Boolean> current = setup;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // setupTables() reports its own failures
+        }
+    }
+
+    /** The courses that used to be hard-coded in the course catalog */
+    private static final Object[][] SAMPLE_COURSES = {
+        {"CS101", "Introduction to Programming", "Basic programming concepts using Java", 3},
+        {"CS202", "Data Structures", "Lists, trees, hash tables and their costs", 3},
+        {"MATH101", "Mathematics", "Calculus and linear algebra foundations", 4},
+        {"PHYS101", "Physics", "Mechanics, waves and thermodynamics", 4},
+        {"CHEM101", "Chemistry", "Atoms, bonding and reactions", 4},
+        {"BIO101", "Biology", "Cells, genetics and evolution", 3},
+        {"PSY101", "Psychology", "Introduction to human behaviour", 3},
+        {"ENG101", "Engineering", "Engineering design and problem solving", 3},
+        {"LIT101", "English Literature", "Reading and analysing English texts", 3},
+        {"HIST101", "History", "Modern world history", 3},
+        {"ECON101", "Economics", "Micro- and macroeconomics basics", 3}
+    };
+
+    private static void seedCourses(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM courses")) {
+            rs.next();
+            if (rs.getInt(1) > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO courses (course_code, title, description, credits) VALUES (?, ?, ?, ?)")) {
+            for (Object[] course : SAMPLE_COURSES) {
+                insert.setString(1, (String) course[0]);
+                insert.setString(2, (String) course[1]);
+                insert.setString(3, (String) course[2]);
+                insert.setInt(4, (Integer) course[3]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getTables(conn.getCatalog(), null, identifier(meta, table), null)) {
+            return rs.next();
         }
     }
 
-    private static void executeSqlFile(String resourcePath, String tableName) {
-        System.out.println("Setting up " + tableName + " using " + resourcePath);
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            // Read the SQL file
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-                    DatabaseSetup.class.getResourceAsStream(resourcePath)))) {
-                
-                StringBuilder sql = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip comments and empty lines when logging
-                    if (!line.trim().startsWith("--") && !line.trim().isEmpty()) {
-                        System.out.println("Executing SQL: " + line.trim());
-                    }
-                    sql.append(line);
-                    if (line.contains(";")) {
-                        String sqlCommand = sql.toString();
-                        System.out.println("Executing complete command: " + sqlCommand);
-                        stmt.execute(sqlCommand);
-                        sql.setLength(0);
-                    }
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(), null, identifier(meta, table), identifier(meta, column))) {
+            return rs.next();
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, identifier(meta, table), false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
                 }
-                System.out.println(tableName + " table setup complete!");
             }
-        } catch (Exception e) {
-            System.err.println("Failed to set up " + tableName.toLowerCase() + " table:");
-            e.printStackTrace();
         }
+        return false;
+    }
+
+    /** Unquoted names as the database stores them (MySQL keeps the case, H2 upper-cases) */
+    private static String identifier(DatabaseMetaData meta, String name) throws SQLException {
+        return meta.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
     }
-}
\ No newline at end of file
+}
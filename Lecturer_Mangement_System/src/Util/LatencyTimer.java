@@ -0,0 +1,209 @@
+package Util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram for one operation, cheap enough for every DAO call
+ *
+ * Durations are counted in log-linear buckets like HdrHistogram's: below
+ * 64 ns every nanosecond has its own bucket, above that every power of two
+ * is split into 32 buckets. Any percentile is therefore accurate to about 3%,
+ * and a timer is a fixed ~10 KB array covering 1 ns to several hours.
+ *
+ * record() is a few arithmetic operations and one atomic increment, with no
+ * locks and no allocation. Reading (snapshot()) walks the buckets and may
+ * run concurrently with recording.
+ *
+ * Usage:
+ *   private static final LatencyTimer GET = Metrics.timer("LecturerDAO.getLecturer");
+ *   long start = System.nanoTime();
+ *   try { ... } finally { GET.stop(start); }
+ */
+public class LatencyTimer implements LatencyTimerMXBean {
+    private static final int LOG_SUB_BUCKETS = 5;
+    private static final int SUB_BUCKETS = 1 << LOG_SUB_BUCKETS;
+    /** Longer durations are counted as this (about 4.9 hours) */
+    private static final long MAX_TRACKED_NANOS = (1L << 44) - 1;
+    private static final int BUCKETS = bucketOf(MAX_TRACKED_NANOS) + 1;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyTimer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record the time since start, a value from System.nanoTime()
+     */
+    public void stop(long start) {
+        record(System.nanoTime() - start);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        counts.incrementAndGet(bucketOf(Math.min(nanos, MAX_TRACKED_NANOS)));
+        totalNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retry until the new maximum sticks
+        }
+    }
+
+    static int bucketOf(long nanos) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(nanos) - LOG_SUB_BUCKETS);
+        return (shift << LOG_SUB_BUCKETS) + (int) (nanos >>> shift);
+    }
+
+    /** Highest duration counted in a bucket */
+    static long upperBoundOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> LOG_SUB_BUCKETS) - 1;
+        long mantissa = bucket - ((long) shift << LOG_SUB_BUCKETS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * Everything recorded since start-up
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(name, copy, totalNanos.get(), maxNanos.get());
+    }
+
+    // ---- JMX (see LatencyTimerMXBean) ----
+
+    @Override
+    public long getCount() {
+        return snapshot().getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return snapshot().getMeanNanos() / 1_000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return snapshot().percentile(50) / 1_000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return snapshot().percentile(90) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return snapshot().percentile(99) / 1_000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return snapshot().percentile(99.9) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1_000.0;
+    }
+
+    /**
+     * Bucket counts at one moment; subtract an earlier snapshot to get the
+     * calls in between
+     */
+    public static class Snapshot {
+        private final String name;
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Snapshot(String name, long[] counts, long totalNanos, long maxNanos) {
+            this.name = name;
+            this.counts = counts;
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * The calls recorded after earlier was taken
+         * The maximum is still the all-time one.
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(name, delta, totalNanos - earlier.totalNanos, maxNanos);
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getMaxNanos() { return maxNanos; }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * @param percent e.g. 99 for p99
+         * @return the duration at or below which that share of calls finished (0 if none)
+         */
+        public long percentile(double percent) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * e.g. "LecturerDAO.getLecturer n=120 mean=85us p50=70us p99=410us max=1.2ms"
+         */
+        @Override
+        public String toString() {
+            return name + " n=" + count + " mean=" + format(getMeanNanos()) + " p50=" + format(percentile(50))
+                    + " p90=" + format(percentile(90)) + " p99=" + format(percentile(99)) + " max=" + format(maxNanos);
+        }
+
+        private static String format(double nanos) {
+            if (nanos < 1_000) {
+                return String.format("%.0fns", nanos);
+            }
+            if (nanos < 1_000_000) {
+                return String.format("%.1fus", nanos / 1e3);
+            }
+            if (nanos < 1_000_000_000) {
+                return String.format("%.1fms", nanos / 1e6);
+            }
+            return String.format("%.2fs", nanos / 1e9);
+        }
+    }
+}
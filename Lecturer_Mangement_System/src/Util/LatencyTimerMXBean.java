@@ -0,0 +1,15 @@
+package Util;
+
+/**
+ * What JMX clients (jconsole, VisualVM) see of a LatencyTimer, in microseconds
+ * Registered as LecturerManagement:type=Timer,name=<timer name> by Metrics.
+ */
+public interface LatencyTimerMXBean {
+    long getCount();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getP999Micros();
+    double getMaxMicros();
+}
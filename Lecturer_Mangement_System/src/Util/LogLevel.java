@@ -0,0 +1,10 @@
+package Util;
+
+/**
+ * Severity of a log message, lowest first
+ * A logger set to a level prints that level and everything above it;
+ * OFF prints nothing.
+ */
+public enum LogLevel {
+    DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,268 @@
+package Util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The background thread behind Logger, and the ring buffer feeding it
+ *
+ * Any number of threads append; only the "log-writer" thread takes. The
+ * buffer is a fixed array of slots, each with a sequence number that says
+ * whether it is free for the lap a producer is on or holds an event for the
+ * writer (Dmitry Vyukov's bounded queue). Appending is one compare-and-set
+ * on the tail plus two writes, with no lock.
+ *
+ * The writer takes everything available, formats it, and prints it with one
+ * System.out (DEBUG, INFO) or System.err (WARN, ERROR) call per batch, so the
+ * console's lock is taken by one thread, once per batch, instead of by every
+ * caller for every line. It sleeps while the buffer is empty and is woken by
+ * the next append.
+ *
+ * Buffer size: -Dlms.log.bufferSize (default 8192, rounded up to a power of two).
+ */
+final class LogWriter {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = 100_000_000;
+    /** Dropped messages are reported at most this often */
+    private static final long DROP_REPORT_NANOS = 5_000_000_000L;
+    private static final DateTimeFormatter TIMESTAMP =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final LogWriter INSTANCE = new LogWriter(Integer.getInteger("lms.log.bufferSize", DEFAULT_CAPACITY));
+
+    /** One message, formatted later on the writer thread */
+    static final class Event {
+        final long timeMillis;
+        final LogLevel level;
+        final String thread;
+        final String logger;
+        final String message;
+        final Object[] keyValues;
+        final Throwable error;
+
+        Event(long timeMillis, LogLevel level, String thread, String logger, String message,
+              Object[] keyValues, Throwable error) {
+            this.timeMillis = timeMillis;
+            this.level = level;
+            this.thread = thread;
+            this.logger = logger;
+            this.message = message;
+            this.keyValues = keyValues;
+            this.error = error;
+        }
+    }
+
+    private final int mask;
+    private final Event[] slots;
+    /** For slot i: i + k*capacity when free for lap k, one more once filled */
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    /** Next position the writer takes; only the writer changes it */
+    private volatile long head;
+    /** Positions below this have been printed */
+    private volatile long printed;
+    private volatile boolean sleeping;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private long dropReportedAt = System.nanoTime() - DROP_REPORT_NANOS;
+    private volatile Thread writer;
+
+    private LogWriter(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        mask = capacity - 1;
+        slots = new Event[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    static LogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    void append(Event event) {
+        Thread thread = writer;
+        if (thread == null) {
+            thread = startWriter();
+        }
+        while (!offer(event)) {
+            if (event.level.compareTo(LogLevel.WARN) < 0) {
+                dropped.increment();
+                return;
+            }
+            // Warnings and errors are never lost; let the writer make room
+            LockSupport.unpark(thread);
+            Thread.yield();
+        }
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private boolean offer(Event event) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = event;
+                    sequences.set(index, position + 1);   // publishes the slot to the writer
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;   // the writer hasn't freed this slot yet: full
+            }
+            // Another thread claimed this position first; try the next one
+        }
+    }
+
+    /** The next event, or null if the buffer is empty; writer thread only */
+    private Event poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        Event event = slots[index];
+        slots[index] = null;
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return event;
+    }
+
+    private synchronized Thread startWriter() {
+        if (writer == null) {
+            Thread thread = new Thread(this::run, "log-writer");
+            thread.setDaemon(true);
+            thread.start();
+            // Print what is still queued when the application exits
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(1_000), "log-flush"));
+            writer = thread;
+        }
+        return writer;
+    }
+
+    private void run() {
+        StringBuilder out = new StringBuilder();
+        StringBuilder err = new StringBuilder();
+        while (true) {
+            Event event = poll();
+            if (event == null) {
+                print(out, err);
+                sleeping = true;
+                if (sequences.get((int) head & mask) != head + 1) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+                continue;
+            }
+            try {
+                format(event, event.level.compareTo(LogLevel.WARN) >= 0 ? err : out);
+            } catch (RuntimeException e) {
+                // A field's toString() failed; don't let that stop the writer
+                err.append("Could not format log message ").append(event.message).append(": ").append(e).append('\n');
+            }
+            if (out.length() + err.length() > 64 * 1024) {
+                print(out, err);
+            }
+        }
+    }
+
+    private void print(StringBuilder out, StringBuilder err) {
+        long dropCount = dropped.sum();
+        if (dropCount != droppedReported && System.nanoTime() - dropReportedAt >= DROP_REPORT_NANOS) {
+            err.append("Log buffer full: dropped ").append(dropCount - droppedReported).append(" messages\n");
+            droppedReported = dropCount;
+            dropReportedAt = System.nanoTime();
+        }
+        if (out.length() > 0) {
+            System.out.print(out);
+            System.out.flush();
+            out.setLength(0);
+        }
+        if (err.length() > 0) {
+            System.err.print(err);
+            System.err.flush();
+            err.setLength(0);
+        }
+        printed = head;
+    }
+
+    private static void format(Event event, StringBuilder line) {
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(event.timeMillis), line);
+        line.append(' ').append(event.level.name());
+        for (int pad = event.level.name().length(); pad < 5; pad++) {
+            line.append(' ');
+        }
+        line.append(" [").append(event.thread).append("] ").append(event.logger).append(" - ").append(event.message);
+        Object[] keyValues = event.keyValues;
+        if (keyValues != null) {
+            for (int i = 0; i < keyValues.length; i += 2) {
+                line.append(' ').append(keyValues[i]).append('=');
+                appendValue(line, i + 1 < keyValues.length ? keyValues[i + 1] : null);
+            }
+        }
+        line.append('\n');
+        if (event.error != null) {
+            StringWriter trace = new StringWriter();
+            event.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+    }
+
+    /** Values with spaces, quotes or '=' are quoted so each line still splits into key=value pairs */
+    private static void appendValue(StringBuilder line, Object value) {
+        String text = String.valueOf(value);
+        boolean quote = text.isEmpty();
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c <= ' ' || c == '"' || c == '=';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Wait until everything appended before this call has been printed
+     */
+    boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        Thread thread = writer;
+        while (printed < target) {
+            if (thread == null || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,231 @@
+package Util;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Leveled, structured logger for the data layer
+ *
+ * A message is a fixed text plus key/value fields:
+ *   private static final Logger log = Logger.get(LecturerDAO.class);
+ *   log.info("Loaded lecturers", "count", lecturers.size(), "millis", millis);
+ * prints
+ *   2026-10-18 09:30:12.345 INFO  [lecturer-sync] Data.LecturerDAO - Loaded lecturers count=50000 millis=118
+ *
+ * The calling thread never writes to the console. A message that passes the
+ * level check is put in a lock-free ring buffer and formatted and printed by
+ * a background thread (see LogWriter); one that doesn't costs a field read.
+ * DEBUG and INFO messages are dropped when the buffer is full, WARN and ERROR
+ * wait for room.
+ *
+ * Levels are set per package or class, the longest matching name winning:
+ *   -Dlms.log.level=INFO                    everything (the default)
+ *   -Dlms.log.level.Data=WARN               the Data package
+ *   -Dlms.log.level.Data.LecturerDAO=DEBUG  one class
+ * Messages on hot paths (per call, per row, per SQL statement) are DEBUG,
+ * so by default they cost nothing.
+ */
+public final class Logger {
+    private static final String LEVEL_PROPERTY = "lms.log.level";
+    private static final LogLevel DEFAULT_LEVEL = LogLevel.INFO;
+
+    private static final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+    /** Configured levels by package or class name; "" is the root */
+    private static final Map<String, LogLevel> levels = new ConcurrentHashMap<>();
+
+    static {
+        levels.put("", DEFAULT_LEVEL);
+        Properties properties = System.getProperties();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.equals(LEVEL_PROPERTY)) {
+                levels.put("", parseLevel(key, properties.getProperty(key)));
+            } else if (key.startsWith(LEVEL_PROPERTY + ".")) {
+                levels.put(key.substring(LEVEL_PROPERTY.length() + 1), parseLevel(key, properties.getProperty(key)));
+            }
+        }
+    }
+
+    private final String name;
+    /** Ordinal of the lowest level printed */
+    private volatile int threshold;
+
+    private Logger(String name) {
+        this.name = name;
+        this.threshold = effectiveLevel(name).ordinal();
+    }
+
+    public static Logger get(Class<?> type) {
+        return get(type.getName());
+    }
+
+    public static Logger get(String name) {
+        return loggers.computeIfAbsent(name, Logger::new);
+    }
+
+    /**
+     * Change the level of a package or class (and everything under it that
+     * has no level of its own); "" is the root
+     */
+    public static synchronized void setLevel(String name, LogLevel level) {
+        levels.put(name, level);
+        for (Logger logger : loggers.values()) {
+            logger.threshold = effectiveLevel(logger.name).ordinal();
+        }
+    }
+
+    /**
+     * Wait until everything logged so far has been printed, at most timeoutMillis
+     * @return false if the writer didn't catch up in time
+     */
+    public static boolean flush(long timeoutMillis) {
+        return LogWriter.getInstance().flush(timeoutMillis);
+    }
+
+    /**
+     * DEBUG and INFO messages dropped because the buffer was full
+     */
+    public static long getDroppedCount() {
+        return LogWriter.getInstance().getDroppedCount();
+    }
+
+    private static LogLevel effectiveLevel(String name) {
+        String prefix = name;
+        while (true) {
+            LogLevel level = levels.get(prefix);
+            if (level != null) {
+                return level;
+            }
+            int dot = prefix.lastIndexOf('.');
+            if (prefix.isEmpty()) {
+                return DEFAULT_LEVEL;
+            }
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+    }
+
+    private static LogLevel parseLevel(String key, String value) {
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level " + key + "=" + value + ", using " + DEFAULT_LEVEL);
+            return DEFAULT_LEVEL;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public boolean isDebugEnabled() {
+        return LogLevel.DEBUG.ordinal() >= threshold;
+    }
+
+    // The fixed-arity overloads keep disabled calls from allocating a varargs array
+
+    public void debug(String message) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) {
+            log(LogLevel.DEBUG, message, null, null);
+        }
+    }
+
+    public void debug(String message, String key, Object value) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) {
+            log(LogLevel.DEBUG, message, null, new Object[] { key, value });
+        }
+    }
+
+    public void debug(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) {
+            log(LogLevel.DEBUG, message, null, new Object[] { key1, value1, key2, value2 });
+        }
+    }
+
+    public void debug(String message, Object... keyValues) {
+        if (LogLevel.DEBUG.ordinal() >= threshold) {
+            log(LogLevel.DEBUG, message, null, keyValues);
+        }
+    }
+
+    public void info(String message) {
+        if (LogLevel.INFO.ordinal() >= threshold) {
+            log(LogLevel.INFO, message, null, null);
+        }
+    }
+
+    public void info(String message, String key, Object value) {
+        if (LogLevel.INFO.ordinal() >= threshold) {
+            log(LogLevel.INFO, message, null, new Object[] { key, value });
+        }
+    }
+
+    public void info(String message, String key1, Object value1, String key2, Object value2) {
+        if (LogLevel.INFO.ordinal() >= threshold) {
+            log(LogLevel.INFO, message, null, new Object[] { key1, value1, key2, value2 });
+        }
+    }
+
+    public void info(String message, Object... keyValues) {
+        if (LogLevel.INFO.ordinal() >= threshold) {
+            log(LogLevel.INFO, message, null, keyValues);
+        }
+    }
+
+    public void warn(String message) {
+        if (LogLevel.WARN.ordinal() >= threshold) {
+            log(LogLevel.WARN, message, null, null);
+        }
+    }
+
+    public void warn(String message, Throwable error) {
+        if (LogLevel.WARN.ordinal() >= threshold) {
+            log(LogLevel.WARN, message, error, null);
+        }
+    }
+
+    public void warn(String message, Object... keyValues) {
+        if (LogLevel.WARN.ordinal() >= threshold) {
+            log(LogLevel.WARN, message, null, keyValues);
+        }
+    }
+
+    public void warn(String message, Throwable error, Object... keyValues) {
+        if (LogLevel.WARN.ordinal() >= threshold) {
+            log(LogLevel.WARN, message, error, keyValues);
+        }
+    }
+
+    public void error(String message) {
+        if (LogLevel.ERROR.ordinal() >= threshold) {
+            log(LogLevel.ERROR, message, null, null);
+        }
+    }
+
+    public void error(String message, Throwable error) {
+        if (LogLevel.ERROR.ordinal() >= threshold) {
+            log(LogLevel.ERROR, message, error, null);
+        }
+    }
+
+    public void error(String message, Object... keyValues) {
+        if (LogLevel.ERROR.ordinal() >= threshold) {
+            log(LogLevel.ERROR, message, null, keyValues);
+        }
+    }
+
+    public void error(String message, Throwable error, Object... keyValues) {
+        if (LogLevel.ERROR.ordinal() >= threshold) {
+            log(LogLevel.ERROR, message, error, keyValues);
+        }
+    }
+
+    private void log(LogLevel level, String message, Throwable error, Object[] keyValues) {
+        LogWriter.getInstance().append(new LogWriter.Event(System.currentTimeMillis(), level,
+                Thread.currentThread().getName(), name, message, keyValues, error));
+    }
+}
@@ -0,0 +1,133 @@
+package Util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named LatencyTimers for the application's hot paths, and their export
+ *
+ * Timers are created once, usually into a static final field, and then
+ * recorded into directly; looking one up by name is only for setup code.
+ *
+ * Export:
+ *   - every minute (-Dlms.metrics.logInterval=<ms>, 0 = off) one line per
+ *     timer that was used since the previous report, covering just that
+ *     interval
+ *   - JMX: each timer is an MXBean named
+ *     LecturerManagement:type=Timer,name=<timer name> (all-time figures),
+ *     visible in jconsole or VisualVM
+ * Both start with start(); without it timers still record and can be read
+ * with snapshots().
+ */
+public class Metrics {
+    private static final Logger log = Logger.get(Metrics.class);
+    public static final long DEFAULT_LOG_INTERVAL_MILLIS = 60_000;
+    private static final String JMX_DOMAIN = "LecturerManagement";
+
+    private static final ConcurrentMap<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyTimer.Snapshot> lastReported = new HashMap<>();
+    private static ScheduledExecutorService reporter;
+    private static volatile boolean jmxEnabled;
+
+    /**
+     * The timer with this name, created on first use
+     */
+    public static LatencyTimer timer(String name) {
+        LatencyTimer existing = timers.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        LatencyTimer created = new LatencyTimer(name);
+        existing = timers.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (jmxEnabled) {
+            register(created);
+        }
+        return created;
+    }
+
+    /**
+     * Register the timers with JMX and start the periodic log
+     */
+    public static synchronized void start() {
+        if (!jmxEnabled) {
+            jmxEnabled = true;
+            for (LatencyTimer timer : timers.values()) {
+                register(timer);
+            }
+        }
+        long interval = Long.getLong("lms.metrics.logInterval", DEFAULT_LOG_INTERVAL_MILLIS);
+        if (reporter == null && interval > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(Metrics::report, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    /**
+     * All-time snapshots of every timer, sorted by name
+     */
+    public static List<LatencyTimer.Snapshot> snapshots() {
+        List<LatencyTimer.Snapshot> snapshots = new ArrayList<>();
+        for (LatencyTimer timer : timers.values()) {
+            snapshots.add(timer.snapshot());
+        }
+        snapshots.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return snapshots;
+    }
+
+    /**
+     * Print the calls made since the previous report, one line per busy timer
+     */
+    public static synchronized void report() {
+        for (LatencyTimer.Snapshot current : snapshots()) {
+            LatencyTimer.Snapshot previous = lastReported.put(current.getName(), current);
+            LatencyTimer.Snapshot interval = previous == null ? current : current.since(previous);
+            if (interval.getCount() > 0) {
+                log.info("Timer since last report", "name", interval.getName(), "count", interval.getCount(),
+                        "meanMicros", micros(interval.getMeanNanos()), "p50Micros", micros(interval.percentile(50)),
+                        "p90Micros", micros(interval.percentile(90)), "p99Micros", micros(interval.percentile(99)),
+                        "maxMicros", micros(interval.getMaxNanos()));
+            }
+        }
+    }
+
+    private static String micros(double nanos) {
+        return String.format("%.1f", nanos / 1_000.0);
+    }
+
+    private static void register(LatencyTimer timer) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Timer,name=" + ObjectName.quote(timer.getName()));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(timer, name);
+            }
+        } catch (JMException e) {
+            log.warn("Could not register metric with JMX", "name", timer.getName(), "error", e.getMessage());
+        }
+    }
+}
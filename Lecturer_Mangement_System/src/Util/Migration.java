@@ -0,0 +1,53 @@
+package Util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One numbered change to the database schema, applied once by SchemaMigrator
+ *
+ * Steps must be safe to run again (CREATE ... IF NOT EXISTS, check before
+ * ALTER): a database created before the schema_version table existed, or a
+ * second desk starting at the same moment, runs them over tables that may
+ * already be there.
+ */
+public class Migration {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn, Statement stmt) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    public Migration(int version, String description, Step step) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("Migration versions start at 1: " + version);
+        }
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            step.apply(conn, stmt);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
@@ -0,0 +1,255 @@
+package Util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Salted, memory-hard password hashing (scrypt, RFC 7914)
+ *
+ * The JDK has no memory-hard key derivation function, so scrypt is
+ * implemented here on top of HmacSHA256. With the default cost (N=2^14, r=8,
+ * p=1) every hash needs 16 MB of memory and a few tens of milliseconds, which
+ * makes guessing passwords from a stolen admin table expensive, even on GPUs.
+ *
+ * Hashes are stored as one string, so the cost can be raised later without
+ * breaking existing rows:
+ *   $scrypt$ln=14,r=8,p=1$<salt, base64>$<hash, base64>
+ *
+ * Usage:
+ *   String stored = PasswordHasher.hash("MSI@2025");
+ *   boolean ok = PasswordHasher.verify("MSI@2025", stored);
+ */
+public class PasswordHasher {
+    private static final String PREFIX = "$scrypt$";
+    private static final int LOG_N = 14;
+    private static final int R = 8;
+    private static final int P = 1;
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+
+    // The most a stored hash may ask for, so a tampered row can't make a login run for minutes or run out of memory
+    private static final int MAX_LOG_N = 20;
+    private static final int MAX_R = 32;
+    private static final int MAX_P = 16;
+    private static final long MAX_MEMORY_BYTES = 256L << 20;   // 128 * r * N
+    private static final int MAX_SALT_BYTES = 64;
+    private static final int MIN_HASH_BYTES = 16;
+    private static final int MAX_HASH_BYTES = 64;
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getDecoder();
+
+    /**
+     * Hash a password with a fresh random salt
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = scrypt(password.getBytes(StandardCharsets.UTF_8), salt, 1 << LOG_N, R, P, HASH_BYTES);
+        return PREFIX + "ln=" + LOG_N + ",r=" + R + ",p=" + P + "$"
+                + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    /**
+     * Check a password against a stored hash, in constant time
+     * @return false if the password is wrong or the stored value isn't a hash
+     */
+    public static boolean verify(String password, String stored) {
+        if (!isHash(stored)) {
+            return false;
+        }
+        String[] parts = stored.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        int logN = 0, r = 0, p = 0;
+        for (String parameter : parts[0].split(",")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length != 2) {
+                return false;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(pair[1]);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            switch (pair[0]) {
+                case "ln": logN = value; break;
+                case "r": r = value; break;
+                case "p": p = value; break;
+                default: return false;
+            }
+        }
+        if (logN < 1 || logN > MAX_LOG_N || r < 1 || r > MAX_R || p < 1 || p > MAX_P
+                || 128L * r << logN > MAX_MEMORY_BYTES) {
+            return false;
+        }
+
+        byte[] salt;
+        byte[] expected;
+        try {
+            salt = decoder.decode(parts[1]);
+            expected = decoder.decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (salt.length > MAX_SALT_BYTES || expected.length < MIN_HASH_BYTES || expected.length > MAX_HASH_BYTES) {
+            return false;
+        }
+        byte[] actual = scrypt(password.getBytes(StandardCharsets.UTF_8), salt, 1 << logN, r, p, expected.length);
+        return MessageDigest.isEqual(actual, expected);
+    }
+
+    /**
+     * Whether a stored value is one of our hashes (rather than a legacy plain-text password)
+     */
+    public static boolean isHash(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Whether a stored value should be replaced with a hash at the current cost
+     */
+    public static boolean needsRehash(String stored) {
+        return !isHash(stored) || !stored.startsWith(PREFIX + "ln=" + LOG_N + ",r=" + R + ",p=" + P + "$");
+    }
+
+    // ---- scrypt (RFC 7914) ----
+
+    /**
+     * scrypt(P, S, N, r, p, dkLen)
+     * @param n CPU/memory cost, a power of two
+     */
+    public static byte[] scrypt(byte[] password, byte[] salt, int n, int r, int p, int length) {
+        if (n < 2 || (n & (n - 1)) != 0) {
+            throw new IllegalArgumentException("N must be a power of two greater than 1");
+        }
+        Mac mac = hmacSha256(password);
+        byte[] b = pbkdf2(mac, salt, p * 128 * r);
+
+        int words = 32 * r;
+        int[] x = new int[words];
+        int[] v = new int[n * words];
+        int[] scratch = new int[words];
+        for (int i = 0; i < p; i++) {
+            int offset = i * 128 * r;
+            for (int k = 0; k < words; k++) {
+                x[k] = littleEndian(b, offset + k * 4);
+            }
+            roMix(x, v, scratch, n, r);
+            for (int k = 0; k < words; k++) {
+                writeLittleEndian(x[k], b, offset + k * 4);
+            }
+        }
+        return pbkdf2(mac, b, length);
+    }
+
+    /** The sequential memory-hard part: fill V, then read it back in a data-dependent order */
+    private static void roMix(int[] x, int[] v, int[] scratch, int n, int r) {
+        int words = 32 * r;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(x, 0, v, i * words, words);
+            blockMix(x, scratch, r);
+        }
+        for (int i = 0; i < n; i++) {
+            int j = x[(2 * r - 1) * 16] & (n - 1);
+            int base = j * words;
+            for (int k = 0; k < words; k++) {
+                x[k] ^= v[base + k];
+            }
+            blockMix(x, scratch, r);
+        }
+    }
+
+    private static void blockMix(int[] b, int[] y, int r) {
+        int[] x = new int[16];
+        System.arraycopy(b, (2 * r - 1) * 16, x, 0, 16);
+        for (int i = 0; i < 2 * r; i++) {
+            for (int k = 0; k < 16; k++) {
+                x[k] ^= b[i * 16 + k];
+            }
+            salsa20_8(x);
+            // Even blocks go to the first half of the output, odd blocks to the second
+            int target = (i / 2 + (i % 2) * r) * 16;
+            System.arraycopy(x, 0, y, target, 16);
+        }
+        System.arraycopy(y, 0, b, 0, 32 * r);
+    }
+
+    private static void salsa20_8(int[] b) {
+        int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6], x7 = b[7];
+        int x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12], x13 = b[13], x14 = b[14], x15 = b[15];
+        for (int i = 0; i < 8; i += 2) {
+            // Columns
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);   x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);  x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);    x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);  x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);  x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);  x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);  x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);  x15 ^= Integer.rotateLeft(x11 + x7, 18);
+            // Rows
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);    x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);   x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);    x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);   x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);  x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);  x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7); x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13); x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+        b[0] += x0; b[1] += x1; b[2] += x2; b[3] += x3; b[4] += x4; b[5] += x5; b[6] += x6; b[7] += x7;
+        b[8] += x8; b[9] += x9; b[10] += x10; b[11] += x11; b[12] += x12; b[13] += x13; b[14] += x14; b[15] += x15;
+    }
+
+    /** PBKDF2-HMAC-SHA256 with a single iteration, as scrypt uses it */
+    private static byte[] pbkdf2(Mac mac, byte[] salt, int length) {
+        byte[] out = new byte[length];
+        byte[] counter = new byte[4];
+        for (int block = 1, offset = 0; offset < length; block++, offset += 32) {
+            writeBigEndian(block, counter);
+            mac.update(salt);
+            byte[] u = mac.doFinal(counter);
+            System.arraycopy(u, 0, out, offset, Math.min(32, length - offset));
+        }
+        return out;
+    }
+
+    private static Mac hmacSha256(byte[] key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            // HMAC pads keys with zeros, so an empty key is the same as one zero byte
+            mac.init(new SecretKeySpec(key.length == 0 ? new byte[1] : key, "HmacSHA256"));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static int littleEndian(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8
+                | (bytes[offset + 2] & 0xff) << 16 | (bytes[offset + 3] & 0xff) << 24;
+    }
+
+    private static void writeLittleEndian(int value, byte[] bytes, int offset) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static void writeBigEndian(int value, byte[] bytes) {
+        bytes[0] = (byte) (value >>> 24);
+        bytes[1] = (byte) (value >>> 16);
+        bytes[2] = (byte) (value >>> 8);
+        bytes[3] = (byte) value;
+    }
+}
@@ -0,0 +1,84 @@
+package Util;
+
+/**
+ * Read-only snapshot of a ConnectionPool's state
+ * Get one from DatabaseConnection.getPoolStats()
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int maxSize;
+    private final int waiting;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long timeouts;
+    private final long created;
+    private final long evicted;
+    private final long leaks;
+    private final long statementHits;
+    private final long statementMisses;
+
+    public PoolStats(int active, int idle, int total, int maxSize, int waiting, long borrowCount,
+                     long totalWaitNanos, long maxWaitNanos, long timeouts, long created,
+                     long evicted, long leaks, long statementHits, long statementMisses) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.waiting = waiting;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.evicted = evicted;
+        this.leaks = leaks;
+        this.statementHits = statementHits;
+        this.statementMisses = statementMisses;
+    }
+
+    /** Connections currently borrowed */
+    public int getActive() { return active; }
+    /** Connections open and waiting in the pool */
+    public int getIdle() { return idle; }
+    /** All open physical connections */
+    public int getTotal() { return total; }
+    public int getMaxSize() { return maxSize; }
+    /** Threads currently blocked waiting for a connection */
+    public int getWaiting() { return waiting; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getTimeouts() { return timeouts; }
+    /** Physical connections opened since start-up */
+    public long getCreated() { return created; }
+    /** Idle connections closed by the housekeeper */
+    public long getEvicted() { return evicted; }
+    /** Connections reported as held past the leak threshold */
+    public long getLeaks() { return leaks; }
+    /** prepareStatement() calls answered from a connection's statement cache */
+    public long getStatementHits() { return statementHits; }
+    /** prepareStatement() calls that had to prepare the SQL */
+    public long getStatementMisses() { return statementMisses; }
+
+    public double getTotalWaitMillis() {
+        return totalWaitNanos / 1_000_000.0;
+    }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0 : getTotalWaitMillis() / borrowCount;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d, idle=%d, total=%d/%d, waiting=%d, borrows=%d, "
+                + "avgWait=%.3f ms, maxWait=%.3f ms, timeouts=%d, created=%d, evicted=%d, leaks=%d, "
+                + "statementHits=%d, statementMisses=%d",
+                active, idle, total, maxSize, waiting, borrowCount, getAverageWaitMillis(),
+                getMaxWaitMillis(), timeouts, created, evicted, leaks, statementHits, statementMisses);
+    }
+}
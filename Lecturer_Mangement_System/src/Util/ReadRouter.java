@@ -0,0 +1,263 @@
+package Util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only queries to MySQL read replicas
+ *
+ * DatabaseConnection.getReadConnection() asks the router for a connection;
+ * writes always go to the primary through getConnection(). Each replica
+ * has its own ConnectionPool and a weight: a replica with weight 3 gets
+ * three times the reads of one with weight 1.
+ *
+ * Replicas are checked every CHECK_INTERVAL ms by borrowing a connection and
+ * validating it. A replica that fails a check, or that a read couldn't get
+ * a connection from, takes no reads until a later check succeeds. With no
+ * healthy replica, reads go to the primary (null from borrow()).
+ *
+ * Read-your-writes: replicas apply the primary's changes a little later, so
+ * for STICKY_MILLIS after this application wrote something, all reads go
+ * to the primary. The primary's pool reports writes (see
+ * ConnectionPool.setWriteListener()); the window is for the whole
+ * application, which is one user's desk.
+ *
+ * Configured with numbered system properties, starting at 1:
+ *   -Dlms.db.replica.1.url=jdbc:mysql://replica1:3306/lecturer_management
+ *   -Dlms.db.replica.1.weight=2                 (default 1)
+ *   -Dlms.db.replica.1.user=... / .password=... (default: the primary's)
+ *   -Dlms.db.replica.checkInterval=<ms>         (default 5000)
+ *   -Dlms.db.replica.stickyMillis=<ms>          (default 2000)
+ */
+public class ReadRouter {
+    private static final Logger log = Logger.get(ReadRouter.class);
+
+    public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 5_000;
+    public static final long DEFAULT_STICKY_MILLIS = 2_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * One read replica
+     */
+    public static final class Endpoint {
+        private final String url;
+        private final int weight;
+        private final ConnectionPool pool;
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private volatile boolean healthy = true;
+
+        Endpoint(String url, int weight, ConnectionPool pool) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Replica weight must be at least 1: " + url);
+            }
+            this.url = url;
+            this.weight = weight;
+            this.pool = pool;
+        }
+
+        public String getUrl() { return url; }
+        public int getWeight() { return weight; }
+        public boolean isHealthy() { return healthy; }
+        /** Connections handed out for reads */
+        public long getReads() { return reads.sum(); }
+        /** Failed health checks and borrows */
+        public long getFailures() { return failures.sum(); }
+        public PoolStats getPoolStats() { return pool.getStats(); }
+
+        @Override
+        public String toString() {
+            return url + " weight=" + weight + (healthy ? " up" : " DOWN") + " reads=" + getReads()
+                    + " failures=" + getFailures();
+        }
+    }
+
+    private final List<Endpoint> endpoints;
+    private final long stickyMillis;
+    private final ScheduledExecutorService checker;
+    private volatile long stickyUntil;   // System.nanoTime() until which reads stay on the primary
+
+    // Reads that went to the primary, and why
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReadRouter(List<Endpoint> endpoints, long checkIntervalMillis, long stickyMillis) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("A ReadRouter needs at least one replica");
+        }
+        this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+        this.stickyMillis = stickyMillis;
+        this.stickyUntil = System.nanoTime();
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        if (checkIntervalMillis > 0) {
+            checker.scheduleWithFixedDelay(this::checkAll, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The replicas from the lms.db.replica.N.* properties, each with a pool
+     * sized like the primary's
+     * @return null if no replica is configured
+     */
+    static ReadRouter fromProperties(String user, String password, int minSize, int maxSize,
+                                     long borrowTimeoutMillis, long idleTimeoutMillis,
+                                     long leakThresholdMillis, int statementCacheSize) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int n = 1; ; n++) {
+            String prefix = "lms.db.replica." + n + ".";
+            String url = System.getProperty(prefix + "url");
+            if (url == null) {
+                break;
+            }
+            ConnectionPool pool = new ConnectionPool(url, System.getProperty(prefix + "user", user),
+                    System.getProperty(prefix + "password", password), minSize, maxSize,
+                    borrowTimeoutMillis, idleTimeoutMillis, leakThresholdMillis, statementCacheSize);
+            endpoints.add(new Endpoint(url, Integer.getInteger(prefix + "weight", 1), pool));
+        }
+        if (endpoints.isEmpty()) {
+            return null;
+        }
+        ReadRouter router = new ReadRouter(endpoints,
+                Long.getLong("lms.db.replica.checkInterval", DEFAULT_CHECK_INTERVAL_MILLIS),
+                Long.getLong("lms.db.replica.stickyMillis", DEFAULT_STICKY_MILLIS));
+        log.info("Read replicas configured", "replicas", endpoints.size(), "stickyMillis", router.stickyMillis);
+        return router;
+    }
+
+    /**
+     * A connection to a healthy replica, picked by weight
+     * @return null if the read should go to the primary: the application
+     *         wrote something within the last STICKY_MILLIS, or no replica
+     *         is healthy
+     */
+    public Connection borrow() {
+        if (System.nanoTime() - stickyUntil < 0) {
+            stickyReads.increment();
+            return null;
+        }
+        // Try the healthy replicas in weighted random order, each at most once
+        List<Endpoint> candidates = null;
+        Endpoint endpoint = pick(endpoints);
+        while (endpoint != null) {
+            try {
+                Connection conn = endpoint.pool.borrow();
+                endpoint.reads.increment();
+                return conn;
+            } catch (SQLException e) {
+                markDown(endpoint, e.getMessage());
+            }
+            if (candidates == null) {
+                candidates = new ArrayList<>(endpoints);
+            }
+            candidates.remove(endpoint);
+            endpoint = pick(candidates);
+        }
+        fallbackReads.increment();
+        return null;
+    }
+
+    /** Weighted random choice among the healthy endpoints; null if none is healthy */
+    private static Endpoint pick(List<Endpoint> from) {
+        int total = 0;
+        for (Endpoint endpoint : from) {
+            if (endpoint.healthy) {
+                total += endpoint.weight;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        int ticket = ThreadLocalRandom.current().nextInt(total);
+        for (Endpoint endpoint : from) {
+            if (endpoint.healthy) {
+                ticket -= endpoint.weight;
+                if (ticket < 0) {
+                    return endpoint;
+                }
+            }
+        }
+        return null;   // not reached
+    }
+
+    /**
+     * Something was written to the primary: keep reads there for STICKY_MILLIS,
+     * so this application sees its own write even if the replicas haven't
+     * applied it yet
+     */
+    public void wrote() {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stickyMillis);
+        if (until - stickyUntil > 0) {
+            stickyUntil = until;
+        }
+    }
+
+    /**
+     * Check every replica now (also done every CHECK_INTERVAL ms)
+     */
+    public void checkAll() {
+        for (Endpoint endpoint : endpoints) {
+            check(endpoint);
+        }
+    }
+
+    private void check(Endpoint endpoint) {
+        try (Connection conn = endpoint.pool.borrow()) {
+            if (!conn.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                markDown(endpoint, "connection is not valid");
+                return;
+            }
+        } catch (SQLException e) {
+            markDown(endpoint, e.getMessage());
+            return;
+        }
+        if (!endpoint.healthy) {
+            endpoint.healthy = true;
+            log.info("Read replica is back", "url", endpoint.url);
+        }
+    }
+
+    private void markDown(Endpoint endpoint, String reason) {
+        endpoint.failures.increment();
+        if (endpoint.healthy) {
+            endpoint.healthy = false;
+            log.warn("Read replica is down, reading from the others", "url", endpoint.url, "reason", reason);
+        }
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /** Reads sent to the primary because of a recent write */
+    public long getStickyReads() { return stickyReads.sum(); }
+
+    /** Reads sent to the primary because no replica was healthy */
+    public long getFallbackReads() { return fallbackReads.sum(); }
+
+    /**
+     * Stop the health checks and close the replicas' pools
+     */
+    public void shutdown() {
+        checker.shutdownNow();
+        for (Endpoint endpoint : endpoints) {
+            endpoint.pool.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "replicas=" + endpoints + " stickyReads=" + getStickyReads() + " fallbackReads=" + getFallbackReads();
+    }
+}
@@ -0,0 +1,143 @@
+package Util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Brings a database up to the latest schema version
+ *
+ * The schema_version table records every migration applied, one row per
+ * version. At start-up the current version is one query; when it is the
+ * latest, nothing else is sent. Otherwise the missing migrations run in
+ * order on the same connection, each recorded as soon as it succeeds, so a
+ * failure part-way resumes from there next time.
+ *
+ * Two desks starting at once may both run a migration; steps are written to
+ * be repeatable and only the first row for a version is kept.
+ */
+public class SchemaMigrator {
+    private static final Logger log = Logger.get(SchemaMigrator.class);
+
+    static final String VERSION_TABLE = "schema_version";
+    private static final String CREATE_VERSION_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+        "version INT PRIMARY KEY," +
+        "description VARCHAR(200) NOT NULL," +
+        "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+        "duration_millis INT NOT NULL" +
+        ")";
+    private static final String CURRENT_VERSION_SQL = "SELECT MAX(version) FROM " + VERSION_TABLE;
+    private static final String RECORD_SQL =
+        "INSERT INTO " + VERSION_TABLE + " (version, description, duration_millis) VALUES (?, ?, ?)";
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Two migrations with version " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    /**
+     * The highest version applied to this database
+     * @return 0 for a database without a schema_version table (new, or created before it existed)
+     */
+    public int currentVersion(Connection conn) throws SQLException {
+        int version = readVersion(conn);
+        return Math.max(version, 0);
+    }
+
+    /**
+     * Apply the migrations this database is missing
+     * @return how many were applied; 0 when the schema was already current
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int current = readVersion(conn);
+        int latest = getLatestVersion();
+        if (current >= latest) {
+            if (current > latest) {
+                log.warn("Database schema is newer than this application", "schemaVersion", current, "latest", latest);
+            }
+            return 0;
+        }
+        if (current < 0) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE_SQL);
+            }
+        }
+
+        int applied = 0;
+        for (Migration migration : migrations) {
+            if (migration.getVersion() <= current) {
+                continue;
+            }
+            long start = System.nanoTime();
+            log.info("Applying migration", "version", migration.getVersion(), "description", migration.getDescription());
+            migration.apply(conn);
+            int millis = (int) ((System.nanoTime() - start) / 1_000_000);
+            record(conn, migration, millis);
+            applied++;
+        }
+        log.info("Database schema is up to date", "version", latest, "applied", applied);
+        return applied;
+    }
+
+    /**
+     * Run every step again without looking at or touching schema_version;
+     * what start-up used to do each time (used by MigrationBenchmark)
+     */
+    public void reapplyAll(Connection conn) throws SQLException {
+        for (Migration migration : migrations) {
+            migration.apply(conn);
+        }
+    }
+
+    /** @return the version, or -1 if there is no schema_version table */
+    private static int readVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(CURRENT_VERSION_SQL)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (!tableMissing(conn)) {
+                throw e;
+            }
+            return -1;
+        }
+    }
+
+    /** Only asked after the version query failed, so a current database never pays for it */
+    private static boolean tableMissing(Connection conn) throws SQLException {
+        String name = conn.getMetaData().storesUpperCaseIdentifiers() ? VERSION_TABLE.toUpperCase() : VERSION_TABLE;
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, name, null)) {
+            return !rs.next();
+        }
+    }
+
+    private static void record(Connection conn, Migration migration, int millis) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_SQL)) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setInt(3, millis);
+            stmt.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // Another desk applied and recorded it at the same time
+            log.info("Migration was recorded by another client", "version", migration.getVersion());
+        }
+    }
+}
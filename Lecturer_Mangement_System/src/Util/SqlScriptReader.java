@@ -0,0 +1,238 @@
+package Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Splits a MySQL script into statements, one at a time
+ *
+ * Reads the script line by line, so only the statement being read is held
+ * in memory, however large the file. Understands what the mysql command
+ * line client does:
+ *   - '...', "..." and `...` quoting, with '' and \' escapes; a ; inside
+ *     them doesn't end the statement
+ *   - -- (followed by a space or the end of the line), # and block comments
+ *     are dropped; MySQL's executable comments and optimizer hints (a block
+ *     comment opened with ! or +) are kept
+ *   - DELIMITER at the start of a line changes the statement terminator,
+ *     e.g. DELIMITER $$ around a CREATE PROCEDURE
+ * The last statement doesn't need a terminator.
+ *
+ * Example:
+ *   try (SqlScriptReader script = new SqlScriptReader(new FileReader(file))) {
+ *       String sql;
+ *       while ((sql = script.next()) != null) { ... }
+ *   }
+ */
+public class SqlScriptReader implements AutoCloseable {
+    private enum State { NORMAL, QUOTED, BLOCK_COMMENT, KEPT_COMMENT }
+
+    private final BufferedReader reader;
+    private final StringBuilder statement = new StringBuilder();
+    private String delimiter = ";";
+    private char delimiterStart = ';';
+    private State state = State.NORMAL;
+    private char quote;
+    private String line;
+    private int position;
+    private int lineNumber;
+    private int statementLine;
+    private int quoteLine;
+    /** Something other than whitespace has been read since the last statement */
+    private boolean inStatement;
+
+    public SqlScriptReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * The next statement without its terminator, trimmed
+     * @return null at the end of the script
+     * @throws IOException if the script can't be read or ends inside a quote or comment
+     */
+    public String next() throws IOException {
+        while (true) {
+            if (line == null) {
+                line = reader.readLine();
+                position = 0;
+                if (line == null) {
+                    return finish();
+                }
+                lineNumber++;
+                if (state == State.NORMAL && !inStatement && changesDelimiter(line)) {
+                    line = null;
+                    continue;
+                }
+            }
+            String sql = scanLine();
+            if (sql != null) {
+                return sql;
+            }
+        }
+    }
+
+    /** Line of the script where the statement last returned by next() starts */
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Scan from position to the end of the line, or to the end of a statement
+     * @return the statement that ended on this line, or null to read the next line
+     */
+    private String scanLine() {
+        String text = line;
+        int length = text.length();
+        int i = position;
+        while (i < length) {
+            char c = text.charAt(i);
+            switch (state) {
+                case NORMAL:
+                    if (c == delimiterStart && (delimiter.length() == 1 || text.startsWith(delimiter, i))) {
+                        position = i + delimiter.length();
+                        String sql = statement.toString().trim();
+                        statement.setLength(0);
+                        inStatement = false;
+                        if (!sql.isEmpty()) {
+                            return sql;
+                        }
+                        i = position;
+                        continue;
+                    }
+                    if (c == '\'' || c == '"' || c == '`') {
+                        startStatement();
+                        state = State.QUOTED;
+                        quote = c;
+                        quoteLine = lineNumber;
+                        statement.append(c);
+                    } else if (c == '-' && i + 1 < length && text.charAt(i + 1) == '-'
+                            && (i + 2 == length || Character.isWhitespace(text.charAt(i + 2)))) {
+                        i = length;   // comment to the end of the line
+                        continue;
+                    } else if (c == '#') {
+                        i = length;
+                        continue;
+                    } else if (c == '/' && i + 1 < length && text.charAt(i + 1) == '*') {
+                        if (i + 2 < length && (text.charAt(i + 2) == '!' || text.charAt(i + 2) == '+')) {
+                            startStatement();
+                            state = State.KEPT_COMMENT;
+                            statement.append("/*");
+                        } else {
+                            state = State.BLOCK_COMMENT;
+                            statement.append(' ');
+                        }
+                        i += 2;
+                        continue;
+                    } else if (!Character.isWhitespace(c)) {
+                        startStatement();
+                        // Copy the run of plain characters up to the next one that matters
+                        int end = i + 1;
+                        while (end < length && !isSpecial(text.charAt(end))) {
+                            end++;
+                        }
+                        statement.append(text, i, end);
+                        i = end;
+                        continue;
+                    } else if (inStatement) {
+                        statement.append(c);
+                    }
+                    break;
+                case QUOTED:
+                    if (c != quote && c != '\\') {
+                        int end = i + 1;
+                        while (end < length && text.charAt(end) != quote && text.charAt(end) != '\\') {
+                            end++;
+                        }
+                        statement.append(text, i, end);
+                        i = end;
+                        continue;
+                    }
+                    statement.append(c);
+                    if (c == '\\' && quote != '`' && i + 1 < length) {
+                        statement.append(text.charAt(++i));
+                    } else if (c == quote) {
+                        if (i + 1 < length && text.charAt(i + 1) == quote) {
+                            statement.append(text.charAt(++i));   // '' inside '...'
+                        } else {
+                            state = State.NORMAL;
+                        }
+                    }
+                    break;
+                case BLOCK_COMMENT:
+                    if (c == '*' && i + 1 < length && text.charAt(i + 1) == '/') {
+                        state = State.NORMAL;
+                        i += 2;
+                        continue;
+                    }
+                    break;
+                case KEPT_COMMENT:
+                    statement.append(c);
+                    if (c == '*' && i + 1 < length && text.charAt(i + 1) == '/') {
+                        statement.append('/');
+                        state = State.NORMAL;
+                        i += 2;
+                        continue;
+                    }
+                    break;
+            }
+            i++;
+        }
+        if (state != State.BLOCK_COMMENT && inStatement) {
+            statement.append('\n');
+        }
+        line = null;
+        return null;
+    }
+
+    /** Characters that may start a quote, comment or terminator */
+    private boolean isSpecial(char c) {
+        return c == delimiterStart || c == '\'' || c == '"' || c == '`' || c == '-' || c == '#' || c == '/'
+            || Character.isWhitespace(c);
+    }
+
+    private void startStatement() {
+        if (!inStatement) {
+            inStatement = true;
+            statementLine = lineNumber;
+        }
+    }
+
+    private boolean changesDelimiter(String text) {
+        String trimmed = text.trim();
+        if (trimmed.length() < 10 || !trimmed.substring(0, 9).toUpperCase(Locale.ROOT).equals("DELIMITER")
+                || !Character.isWhitespace(trimmed.charAt(9))) {
+            return false;
+        }
+        String value = trimmed.substring(10).trim();
+        if (value.isEmpty()) {
+            return false;
+        }
+        delimiter = value;
+        delimiterStart = value.charAt(0);
+        return true;
+    }
+
+    private String finish() throws IOException {
+        if (state == State.QUOTED) {
+            throw new IOException("Unterminated " + quote + " quote starting on line " + quoteLine);
+        }
+        if (state != State.NORMAL) {
+            throw new IOException("Unterminated comment at the end of the script");
+        }
+        String sql = statement.toString().trim();
+        statement.setLength(0);
+        inStatement = false;
+        return sql.isEmpty() ? null : sql;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,223 @@
+package Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Runs a SQL script (schema, seed data) through one connection, fast
+ *
+ * Statements come from SqlScriptReader, so the script is streamed and never
+ * held in memory as a whole. Runs of INSERT/UPDATE/DELETE/REPLACE statements
+ * are sent as JDBC batches of up to batchSize; with
+ * rewriteBatchedStatements=true (see DatabaseConnection.URL) the MySQL
+ * driver sends a whole batch in one round trip. Everything else (CREATE,
+ * USE, SET, ...) is executed on its own, after the pending batch.
+ *
+ * The script runs in one transaction: a failing statement rolls back what
+ * can be rolled back and is reported with its line number. MySQL commits
+ * implicitly on DDL, so tables a script created before the failure stay.
+ *
+ * From the command line, against the configured database:
+ *   java -cp bin;lib/mysql-connector-j-9.4.0.jar Util.SqlScriptRunner database/schema.sql [more.sql ...]
+ */
+public class SqlScriptRunner {
+    private static final Logger log = Logger.get(SqlScriptRunner.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    /** How much of a failed statement goes into the error message */
+    private static final int QUOTED_SQL_LENGTH = 200;
+
+    /** What a run did */
+    public static class Result {
+        private final int statements;
+        private final int batches;
+        private final long nanos;
+
+        Result(int statements, int batches, long nanos) {
+            this.statements = statements;
+            this.batches = batches;
+            this.nanos = nanos;
+        }
+
+        public int getStatements() { return statements; }
+        public int getBatches() { return batches; }
+        public long getNanos() { return nanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements (%d batches) in %.1f ms", statements, batches, nanos / 1e6);
+        }
+    }
+
+    private final int batchSize;
+
+    public SqlScriptRunner() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public SqlScriptRunner(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public Result run(Connection conn, Path script) throws SQLException, IOException {
+        try (Reader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            return run(conn, reader, script.toString());
+        }
+    }
+
+    /**
+     * Run a script from the classpath, e.g. "/Util/seed.sql"
+     */
+    public Result runResource(Connection conn, String resourcePath) throws SQLException, IOException {
+        InputStream in = SqlScriptRunner.class.getResourceAsStream(resourcePath);
+        if (in == null) {
+            throw new IOException("SQL script not found on the classpath: " + resourcePath);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return run(conn, reader, resourcePath);
+        }
+    }
+
+    /**
+     * Run every statement of the script in one transaction
+     * @param name for log and error messages
+     */
+    public Result run(Connection conn, Reader script, String name) throws SQLException, IOException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        SqlScriptReader reader = new SqlScriptReader(script);
+        int statements = 0;
+        int batches = 0;
+        try (Statement stmt = conn.createStatement()) {
+            // Lines of the statements in the pending batch, to report which one failed
+            int[] batchLines = new int[batchSize];
+            int batched = 0;
+            String sql;
+            while ((sql = reader.next()) != null) {
+                statements++;
+                int line = reader.getStatementLine();
+                if (isBatchable(sql)) {
+                    stmt.addBatch(sql);
+                    batchLines[batched++] = line;
+                    if (batched == batchSize) {
+                        executeBatch(stmt, batchLines, name);
+                        batches++;
+                        batched = 0;
+                    }
+                    continue;
+                }
+                if (batched > 0) {
+                    executeBatch(stmt, batchLines, name);
+                    batches++;
+                    batched = 0;
+                }
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    throw failed(name, line, sql, e);
+                }
+            }
+            if (batched > 0) {
+                executeBatch(stmt, batchLines, name);
+                batches++;
+            }
+            conn.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            rollbackQuietly(conn);
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        Result result = new Result(statements, batches, System.nanoTime() - start);
+        log.info("Ran SQL script", "script", name, "statements", statements, "batches", batches,
+                "millis", result.getNanos() / 1_000_000);
+        return result;
+    }
+
+    private static void executeBatch(Statement stmt, int[] batchLines, String name) throws SQLException {
+        try {
+            stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            // Drivers that stop at the first failure report the statements before it
+            int[] counts = e.getUpdateCounts();
+            int failedAt = counts == null ? 0 : counts.length;
+            for (int i = 0; counts != null && i < counts.length; i++) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    failedAt = i;
+                    break;
+                }
+            }
+            int line = batchLines[Math.min(failedAt, batchLines.length - 1)];
+            throw new SQLException(name + ": statement on line " + line + " failed: " + e.getMessage(),
+                    e.getSQLState(), e.getErrorCode(), e);
+        } finally {
+            stmt.clearBatch();
+        }
+    }
+
+    /**
+     * Data changes that may share a batch; anything else is executed on its own
+     */
+    static boolean isBatchable(String sql) {
+        int end = 0;
+        while (end < sql.length() && end < 8 && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        switch (sql.substring(0, end).toUpperCase(Locale.ROOT)) {
+            case "INSERT":
+            case "UPDATE":
+            case "DELETE":
+            case "REPLACE":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static SQLException failed(String name, int line, String sql, SQLException cause) {
+        String quoted = sql.length() > QUOTED_SQL_LENGTH ? sql.substring(0, QUOTED_SQL_LENGTH) + "..." : sql;
+        return new SQLException(name + ": statement on line " + line + " failed: " + cause.getMessage()
+                + "\n" + quoted, cause.getSQLState(), cause.getErrorCode(), cause);
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            log.warn("Rollback after a failed script failed too", "error", e.getMessage());
+        }
+    }
+
+    /**
+     * Run the given script files, in order, against DatabaseConnection's database
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: java Util.SqlScriptRunner script.sql [more.sql ...]");
+            System.exit(2);
+        }
+        SqlScriptRunner runner = new SqlScriptRunner();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (String file : args) {
+                System.out.println(file + ": " + runner.run(conn, Paths.get(file)));
+            }
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package Util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of PreparedStatements for one pooled physical connection
+ *
+ * The DAOs prepare the same few SQL strings on every call. Preparing makes
+ * the driver parse the SQL and, with server-side prepared statements, costs
+ * a round trip for the server to parse and plan it. With this cache, the
+ * second prepareStatement() of the same SQL on the same physical connection
+ * returns the statement prepared the first time.
+ *
+ * Callers don't change. They get a wrapper whose close() closes the result
+ * sets it produced, clears the parameters and batch, and puts the
+ * statement back in the cache instead of closing it.
+ * A changed fetch size is put back to the default. A statement whose max
+ * rows, timeout, etc. were changed is really closed instead, so the next
+ * caller never inherits those settings.
+ *
+ * Only prepareStatement(sql), (sql, autoGeneratedKeys) and
+ * (sql, resultSetType, resultSetConcurrency) are cached. If the same SQL is
+ * prepared twice while the first copy is still open, the second one is a
+ * plain uncached statement.
+ *
+ * Used by one borrower at a time, like the connection itself.
+ */
+final class StatementCache {
+    /** Setters that change how a statement behaves beyond its parameters */
+    private static final Set<String> SETTINGS = Set.of("setFetchDirection", "setMaxRows",
+            "setLargeMaxRows", "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setPoolable",
+            "setCursorName", "closeOnCompletion");
+
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(int capacity, LongAdder hits, LongAdder misses) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * prepareStatement() on the physical connection, going through the cache when possible
+     * @param handle the pooled Connection the caller holds, returned by getConnection()
+     */
+    PreparedStatement prepare(Connection physical, Connection handle, Method method, Object[] args) throws Throwable {
+        String key = keyOf(args);
+        if (key == null) {
+            return (PreparedStatement) invoke(physical, method, args);
+        }
+
+        CachedStatement cached = statements.get(key);
+        if (cached != null && cached.inUse) {
+            misses.increment();
+            return (PreparedStatement) invoke(physical, method, args);
+        }
+        if (cached == null) {
+            misses.increment();
+            cached = new CachedStatement(key, (PreparedStatement) invoke(physical, method, args));
+            statements.put(key, cached);
+        } else {
+            hits.increment();
+        }
+        return cached.lend(handle);
+    }
+
+    /**
+     * The connection goes back to the pool; release statements the borrower left open
+     */
+    void releaseAll() {
+        for (CachedStatement cached : new ArrayList<>(statements.values())) {
+            if (cached.inUse) {
+                cached.release();
+            }
+        }
+    }
+
+    private static String keyOf(Object[] args) {
+        if (args == null || !(args[0] instanceof String)) {
+            return null;
+        }
+        switch (args.length) {
+            case 1:
+                return "0|" + args[0];
+            case 2:
+                return args[1] instanceof Integer ? "k" + args[1] + "|" + args[0] : null;
+            case 3:
+                return "t" + args[1] + "," + args[2] + "|" + args[0];
+            default:
+                return null;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One cached physical statement and the wrapper currently lent out for it
+     */
+    private final class CachedStatement {
+        final String key;
+        final PreparedStatement physical;
+        boolean inUse;
+        boolean settingsChanged;
+        boolean fetchSizeChanged;
+        boolean evicted;
+        Connection handle;
+        Lent lent;
+        final List<ResultSet> resultSets = new ArrayList<>(1);
+
+        CachedStatement(String key, PreparedStatement physical) {
+            this.key = key;
+            this.physical = physical;
+        }
+
+        PreparedStatement lend(Connection handle) {
+            this.handle = handle;
+            inUse = true;
+            settingsChanged = false;
+            fetchSizeChanged = false;
+            lent = new Lent(this);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, lent);
+        }
+
+        /** Back into the cache, or closed if it can't be reused */
+        void release() {
+            inUse = false;
+            lent.cached = null;   // the caller's wrapper is dead from here on
+            lent = null;
+            for (ResultSet rs : resultSets) {
+                closeQuietly(rs);
+            }
+            resultSets.clear();
+            handle = null;
+            if (evicted || settingsChanged) {
+                if (!evicted) {
+                    statements.remove(key);
+                }
+                closeQuietly(physical);
+                return;
+            }
+            try {
+                physical.clearParameters();
+                physical.clearBatch();
+                if (fetchSizeChanged) {
+                    physical.setFetchSize(0);
+                }
+            } catch (SQLException e) {
+                statements.remove(key);
+                closeQuietly(physical);
+            }
+        }
+
+        /** Pushed out of the LRU; closed now, or on release if lent out */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(physical);
+            }
+        }
+
+        /** Remember a result set to close on release; a batch loop mustn't make this grow */
+        void opened(ResultSet rs) {
+            if (resultSets.size() >= 4) {
+                resultSets.removeIf(StatementCache::isClosed);
+            }
+            resultSets.add(rs);
+        }
+    }
+
+    /**
+     * The PreparedStatement a caller sees; only valid until it is closed
+     */
+    private static final class Lent implements InvocationHandler {
+        private CachedStatement cached;
+
+        Lent(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (cached != null) {
+                        CachedStatement returning = cached;
+                        cached = null;
+                        returning.release();
+                    }
+                    return null;
+                case "isClosed":
+                    return cached == null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + (cached == null ? "closed" : cached.physical) + "]";
+                case "getConnection":
+                    if (cached == null) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    return cached.handle;
+                default:
+                    CachedStatement current = cached;
+                    if (current == null) {
+                        throw new SQLException("Statement is closed");
+                    }
+                    if (name.equals("setFetchSize")) {
+                        current.fetchSizeChanged = true;
+                    } else if (SETTINGS.contains(name)) {
+                        current.settingsChanged = true;
+                    }
+                    Object result = StatementCache.invoke(current.physical, method, args);
+                    if (result instanceof ResultSet) {
+                        current.opened((ResultSet) result);
+                    }
+                    return result;
+            }
+        }
+    }
+
+    private static boolean isClosed(ResultSet rs) {
+        try {
+            return rs.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Nothing useful to do; the physical connection closes it eventually
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package Data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Login against H2: hashing, timing of failed logins and the lockout
+ *
+ * The lockout lives in a static LoginThrottle, so every test uses its own
+ * username (or client) to start with a clean record.
+ */
+class AdminDAOTest {
+    private static final String USER_PREFIX = "test_admin_";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private final AdminDAO adminDAO = new AdminDAO();
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        BenchmarkDatabase.createSchema();
+        cleanUp();
+    }
+
+    @AfterAll
+    static void cleanUp() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM admin WHERE username LIKE ?")) {
+            stmt.setString(1, USER_PREFIX + "%");
+            stmt.executeUpdate();
+        }
+    }
+
+    private String newAdmin(String name) throws SQLException {
+        String username = USER_PREFIX + name;
+        assertTrue(adminDAO.addAdmin(username, PASSWORD));
+        return username;
+    }
+
+    @Test
+    void acceptsTheRightPasswordOnly() throws SQLException {
+        String username = newAdmin("valid");
+
+        assertTrue(adminDAO.login(username, PASSWORD).isSuccess());
+        assertEquals(LoginResult.Status.INVALID, adminDAO.login(username, "wrong password").getStatus());
+        assertEquals(LoginResult.Status.INVALID, adminDAO.login(USER_PREFIX + "nobody", PASSWORD).getStatus());
+    }
+
+    @Test
+    void storesAHashNotThePassword() throws SQLException {
+        String username = newAdmin("hashed");
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT password FROM admin WHERE username = ?")) {
+            stmt.setString(1, username);
+            try (var rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertTrue(rs.getString(1).startsWith("$scrypt$"));
+            }
+        }
+    }
+
+    @Test
+    void unknownUsernameTakesAsLongAsAWrongPassword() throws SQLException {
+        String username = newAdmin("timing");
+        // Each attempt from its own client, so the lockout never answers early
+        adminDAO.login(username, "warm up", "timing warm-up");
+
+        long[] wrongPassword = new long[5];
+        long[] unknownUser = new long[5];
+        for (int i = 0; i < wrongPassword.length; i++) {
+            long start = System.nanoTime();
+            adminDAO.login(username, "wrong " + i, "timing wrong " + i);
+            wrongPassword[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            adminDAO.login(USER_PREFIX + "unknown_" + i, "wrong " + i, "timing unknown " + i);
+            unknownUser[i] = System.nanoTime() - start;
+        }
+
+        long wrong = median(wrongPassword);
+        long unknown = median(unknownUser);
+        assertTrue(unknown > wrong / 2 && unknown < wrong * 2,
+                "unknown username took " + unknown / 1_000_000 + " ms, wrong password " + wrong / 1_000_000 + " ms");
+    }
+
+    @Test
+    void locksOutAfterTooManyFailures() throws SQLException {
+        String username = newAdmin("lockout");
+
+        for (int i = 0; i < LoginThrottle.FREE_ATTEMPTS; i++) {
+            assertEquals(LoginResult.Status.INVALID, adminDAO.login(username, "guess " + i).getStatus());
+        }
+        LoginResult locked = adminDAO.login(username, "one guess too many");
+        assertTrue(locked.isLocked());
+        assertTrue(locked.getRetryAfterMillis() > 0 && locked.getRetryAfterMillis() <= LoginThrottle.BASE_LOCK_MILLIS);
+
+        // While locked even the right password is refused, without hashing anything
+        long start = System.nanoTime();
+        assertTrue(adminDAO.login(username, PASSWORD).isLocked());
+        assertTrue(System.nanoTime() - start < 5_000_000, "a locked attempt should be answered from memory");
+    }
+
+    @Test
+    void lockoutOnlyAppliesToTheClientThatFailed() throws SQLException {
+        String username = newAdmin("per_client");
+
+        for (int i = 0; i <= LoginThrottle.FREE_ATTEMPTS; i++) {
+            adminDAO.login(username, "guess " + i, "attacker");
+        }
+        assertTrue(adminDAO.login(username, PASSWORD, "attacker").isLocked());
+        assertTrue(adminDAO.login(username, PASSWORD, "admin's desk").isSuccess());
+        assertTrue(adminDAO.login(username, PASSWORD, "attacker").isLocked());
+    }
+
+    @Test
+    void successClearsTheClientsFailures() throws SQLException, InterruptedException {
+        String username = newAdmin("cleared");
+
+        for (int i = 0; i <= LoginThrottle.FREE_ATTEMPTS; i++) {
+            adminDAO.login(username, "guess " + i);
+        }
+        Thread.sleep(LoginThrottle.BASE_LOCK_MILLIS + 100);
+        assertTrue(adminDAO.login(username, PASSWORD).isSuccess());
+
+        // Counting starts over: the next failure is a free one again
+        assertEquals(LoginResult.Status.INVALID, adminDAO.login(username, "typo").getStatus());
+        assertFalse(adminDAO.login(username, PASSWORD).isLocked());
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
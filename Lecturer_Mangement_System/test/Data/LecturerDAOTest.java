@@ -0,0 +1,161 @@
+package Data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import Model.Lecturer;
+import Model.LecturerField;
+import Util.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Optimistic locking in LecturerDAO.updateLecturer against H2
+ *
+ * Each test reads a fresh lecturer, lets "another desk" change it behind
+ * the DAO's back with plain SQL, and checks what the save does.
+ */
+class LecturerDAOTest {
+    private static final String SUFFIX = "@version.test";
+
+    private final LecturerDAO dao = new LecturerDAO();
+    private int id;
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        BenchmarkDatabase.createSchema();
+    }
+
+    @BeforeEach
+    void seed() throws SQLException {
+        id = BenchmarkDatabase.seed(1, SUFFIX, "Physics")[0];
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        BenchmarkDatabase.cleanUp(SUFFIX);
+    }
+
+    @Test
+    void savesOnTheVersionItWasReadWith() throws SQLException {
+        Lecturer read = dao.getLecturer(id);
+
+        UpdateResult result = dao.updateLecturer(withPhone(read, "555-0100"), read.getVersion());
+
+        assertEquals(UpdateResult.Status.UPDATED, result.getStatus());
+        assertEquals(read.getVersion() + 1, result.getVersion());
+        assertEquals("555-0100", stored().getPhone());
+        assertEquals(read.getVersion() + 1, stored().getVersion());
+    }
+
+    @Test
+    void refusesAStaleVersionAndReturnsTheWinningChange() throws SQLException {
+        Lecturer read = dao.getLecturer(id);
+        changeElsewhere("specialty", "Optics");
+
+        UpdateResult result = dao.updateLecturer(withPhone(read, "555-0101"), read.getVersion());
+
+        assertEquals(UpdateResult.Status.CONFLICT, result.getStatus());
+        assertEquals("Optics", result.getCurrent().getSpecialty());
+        assertEquals(read.getVersion() + 1, result.getVersion());
+        // Nothing of the refused save was written
+        assertNull(stored().getPhone());
+        assertEquals("Optics", stored().getSpecialty());
+    }
+
+    @Test
+    void secondOfTwoEditorsOnTheSameVersionConflicts() throws SQLException {
+        Lecturer first = dao.getLecturer(id);
+        Lecturer second = dao.getLecturer(id);
+
+        assertTrue(dao.updateLecturer(withPhone(first, "555-0102"), first.getVersion()).isUpdated());
+        UpdateResult late = dao.updateLecturer(withPhone(second, "555-0103"), second.getVersion());
+
+        assertTrue(late.isConflict());
+        assertEquals("555-0102", late.getCurrent().getPhone());
+        assertEquals("555-0102", stored().getPhone());
+
+        // Saving again on the version the conflict returned goes through
+        UpdateResult retry = dao.updateLecturer(withPhone(late.getCurrent(), "555-0103"), late.getVersion());
+        assertTrue(retry.isUpdated());
+        assertEquals("555-0103", stored().getPhone());
+    }
+
+    @Test
+    void reportsALecturerDeletedSinceItWasRead() throws SQLException {
+        Lecturer read = dao.getLecturer(id);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM lecturers WHERE lecturer_id = ?")) {
+            stmt.setInt(1, id);
+            stmt.executeUpdate();
+        }
+
+        UpdateResult result = dao.updateLecturer(withPhone(read, "555-0104"), read.getVersion());
+
+        assertEquals(UpdateResult.Status.NOT_FOUND, result.getStatus());
+        assertNull(result.getCurrent());
+    }
+
+    @Test
+    void writesOnlyTheChangedFields() throws SQLException {
+        Lecturer read = dao.getLecturer(id);
+        Lecturer edited = new Lecturer(id, "Changed", read.getLastName(), read.getEmail(),
+                "Changed too", "555-0105", read.getSpecialty(), read.getVersion());
+
+        Set<LecturerField> changed = EnumSet.of(LecturerField.PHONE);
+        assertTrue(dao.updateLecturer(edited, read.getVersion(), changed).isUpdated());
+
+        assertEquals("555-0105", stored().getPhone());
+        assertEquals(read.getFirstName(), stored().getFirstName());
+        assertEquals(read.getDepartment(), stored().getDepartment());
+    }
+
+    @Test
+    void sendsNothingWhenNoFieldChanged() throws SQLException {
+        Lecturer read = dao.getLecturer(id);
+        changeElsewhere("specialty", "Optics");
+
+        UpdateResult result = dao.updateLecturer(read, read.getVersion(), EnumSet.noneOf(LecturerField.class));
+
+        assertEquals(UpdateResult.Status.UNCHANGED, result.getStatus());
+        assertEquals(read.getVersion() + 1, stored().getVersion());
+    }
+
+    private static Lecturer withPhone(Lecturer lecturer, String phone) {
+        return new Lecturer(lecturer.getId(), lecturer.getFirstName(), lecturer.getLastName(), lecturer.getEmail(),
+                lecturer.getDepartment(), phone, lecturer.getSpecialty(), lecturer.getVersion());
+    }
+
+    /** Another desk's save: same column change and version bump as LecturerDAO's */
+    private void changeElsewhere(String column, String value) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "UPDATE lecturers SET " + column + " = ?, version = version + 1 WHERE lecturer_id = ?")) {
+            stmt.setString(1, value);
+            stmt.setInt(2, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** The row as the database has it, bypassing the DAO's cache */
+    private Lecturer stored() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT " + LecturerDAO.COLUMNS + " FROM lecturers WHERE lecturer_id = ?")) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                return LecturerDAO.readLecturer(rs);
+            }
+        }
+    }
+}
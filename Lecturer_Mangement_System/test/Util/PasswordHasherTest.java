@@ -0,0 +1,65 @@
+package Util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class PasswordHasherTest {
+    /** The default admin's hash from database/schema.sql, password MSI@2025 */
+    private static final String SCHEMA_HASH =
+            "$scrypt$ln=14,r=8,p=1$ZJTwez0bQQ4Nx/2PwWePsQ$R4jY02a+grXU/CKdOVngQHTjhtZ6bhdkKjxC9YTMIx8";
+
+    @Test
+    void verifiesWhatItHashed() {
+        String stored = PasswordHasher.hash("MSI@2025");
+
+        assertTrue(PasswordHasher.verify("MSI@2025", stored));
+        assertFalse(PasswordHasher.verify("MSI@2026", stored));
+        assertFalse(PasswordHasher.needsRehash(stored));
+    }
+
+    @Test
+    void saltsEveryHash() {
+        assertNotEquals(PasswordHasher.hash("same"), PasswordHasher.hash("same"));
+    }
+
+    @Test
+    void verifiesTheSeededAdmin() {
+        assertTrue(PasswordHasher.verify("MSI@2025", SCHEMA_HASH));
+    }
+
+    @Test
+    void plainTextIsNotAHash() {
+        assertFalse(PasswordHasher.isHash("MSI@2025"));
+        assertFalse(PasswordHasher.verify("MSI@2025", "MSI@2025"));
+        assertTrue(PasswordHasher.needsRehash("MSI@2025"));
+    }
+
+    @Test
+    void refusesCostsATamperedRowCouldAskFor() {
+        long start = System.nanoTime();
+        assertFalse(PasswordHasher.verify("MSI@2025", SCHEMA_HASH.replace("ln=14", "ln=30")));
+        assertFalse(PasswordHasher.verify("MSI@2025", SCHEMA_HASH.replace("r=8", "r=100000")));
+        assertFalse(PasswordHasher.verify("MSI@2025", SCHEMA_HASH.replace("p=1", "p=100000")));
+        // Each within bounds, together 4 GB
+        assertFalse(PasswordHasher.verify("MSI@2025", SCHEMA_HASH.replace("ln=14,r=8", "ln=20,r=32")));
+        assertFalse(PasswordHasher.verify("MSI@2025", SCHEMA_HASH.substring(0, SCHEMA_HASH.lastIndexOf('$') + 1) + "AAAAAAAA"));
+        assertTrue(System.nanoTime() - start < 50_000_000, "refusing should not hash anything");
+    }
+
+    @Test
+    void matchesTheRfc7914TestVector() {
+        byte[] key = PasswordHasher.scrypt("password".getBytes(StandardCharsets.US_ASCII),
+                "NaCl".getBytes(StandardCharsets.US_ASCII), 1024, 8, 16, 64);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : key) {
+            hex.append(String.format("%02x", b));
+        }
+        assertEquals("fdbabe1c9d3472007856e7190d01e9fe7c6ad7cbc8237830e77376634b373162"
+                + "2eaf30d92e22a3886ff109279d9830dac727afb94a83ee6d8360cbdfa2cc0640", hex.toString());
+    }
+}